@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Controls when observable values notify their change listeners, and
+ * optionally counts how often each binding recomputes its value.
+ * <p>
+ * By default an observable value notifies all of its listeners as soon as it
+ * becomes invalid. A change listener then recomputes a binding right away,
+ * while other bindings that depend on the same source may not have been
+ * invalidated yet. In a diamond shaped graph (B and C depend on A, D depends
+ * on B and C) a change of A makes D recompute twice, the first time from a
+ * new B and a stale C.
+ * <p>
+ * In glitch-free mode, enabled with the system property
+ * {@code javafx.binding.glitchFree}, the invalidation listeners of an
+ * {@link ExpressionHelper} are notified right away, but its change listeners
+ * are only notified once the outermost notification in progress on the
+ * current thread has finished. By then every binding that depends on the
+ * change has been marked invalid, so the change listeners see consistent
+ * values, and each dirty binding recomputes once, pulling its own
+ * dependencies first. All change listeners are still notified before the
+ * change that caused them, for example a call to a property setter, returns.
+ * The list, set and map change listeners of collection-valued observables are
+ * not deferred.
+ * <p>
+ * Recomputations are counted per binding if the system property
+ * {@code javafx.binding.countRecomputations} is set.
+ */
+public final class BindingEvaluation {
+
+    private static boolean glitchFree = getBoolean("javafx.binding.glitchFree");
+    private static boolean counting = getBoolean("javafx.binding.countRecomputations");
+
+    private static final ThreadLocal<BindingEvaluation> STATE = ThreadLocal.withInitial(BindingEvaluation::new);
+    private static final Map<Object, int[]> COUNTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private int depth;
+    private final ArrayDeque<ExpressionHelper<?>> deferred = new ArrayDeque<>();
+
+    private BindingEvaluation() {
+    }
+
+    private static boolean getBoolean(String key) {
+        @SuppressWarnings("removal")
+        boolean value = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean(key));
+        return value;
+    }
+
+    /**
+     * Returns whether change listeners of bindings are deferred until the
+     * outermost notification has finished.
+     */
+    public static boolean isGlitchFree() {
+        return glitchFree;
+    }
+
+    /**
+     * Enables or disables glitch-free mode. This must not be called while a
+     * notification is in progress.
+     */
+    public static void setGlitchFree(boolean value) {
+        glitchFree = value;
+    }
+
+    /**
+     * Marks the start of a notification. Every call must be followed by a call
+     * of {@link #endNotification()}, usually in a finally block.
+     */
+    public static void beginNotification() {
+        if (glitchFree) {
+            STATE.get().depth++;
+        }
+    }
+
+    /**
+     * Marks the end of a notification. If it was the outermost notification,
+     * all deferred change notifications are delivered.
+     */
+    public static void endNotification() {
+        if (glitchFree) {
+            BindingEvaluation state = STATE.get();
+            try {
+                if (state.depth == 1) {
+                    state.drain();
+                }
+            } finally {
+                state.depth--;
+            }
+        }
+    }
+
+    /**
+     * Defers the notification of the change listeners of the given helper
+     * until the outermost notification has finished. A helper that is already
+     * waiting is not added again.
+     */
+    static void defer(ExpressionHelper<?> helper) {
+        if (!helper.deferred) {
+            helper.deferred = true;
+            STATE.get().deferred.add(helper);
+        }
+    }
+
+    private void drain() {
+        // notifications triggered by the change listeners add to the queue
+        // and are delivered by this loop, as the depth is still 1
+        ExpressionHelper<?> next;
+        while ((next = deferred.poll()) != null) {
+            if (next.deferred) {
+                next.deferred = false;
+                next.fireChangeEvent();
+            }
+        }
+    }
+
+    /**
+     * Returns whether recomputations of bindings are counted.
+     */
+    public static boolean isCountingRecomputations() {
+        return counting;
+    }
+
+    /**
+     * Enables or disables counting recomputations. Disabling it discards the
+     * counts collected so far.
+     */
+    public static void setCountingRecomputations(boolean value) {
+        counting = value;
+        if (!value) {
+            COUNTS.clear();
+        }
+    }
+
+    /**
+     * Called by a binding whenever it computes its value.
+     */
+    public static void recomputed(Object binding) {
+        if (counting) {
+            COUNTS.computeIfAbsent(binding, b -> new int[1])[0]++;
+        }
+    }
+
+    /**
+     * Returns the number of times the given binding has computed its value
+     * since counting was enabled.
+     */
+    public static int getRecomputationCount(Object binding) {
+        int[] count = COUNTS.get(binding);
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Returns the bindings that have computed their value since counting was
+     * enabled, with the number of computations of each.
+     */
+    public static Map<Object, Integer> getRecomputationCounts() {
+        Map<Object, Integer> result = new IdentityHashMap<>();
+        synchronized (COUNTS) {
+            COUNTS.forEach((binding, count) -> result.put(binding, count[0]));
+        }
+        return result;
+    }
+}
@@ -62,34 +62,62 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             throw new NullPointerException();
         }
         observable.getValue(); // validate observable
-        return (helper == null)? new SingleInvalidation<>(observable, listener) : helper.addListener(listener);
+        return (helper == null)? new SingleInvalidation<>(observable, listener) : replace(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, InvalidationListener listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : replace(helper, helper.removeListener(listener));
     }
 
     public static <T> ExpressionHelper<T> addListener(ExpressionHelper<T> helper, ObservableValue<T> observable, ChangeListener<? super T> listener) {
         if ((observable == null) || (listener == null)) {
             throw new NullPointerException();
         }
-        return (helper == null)? new SingleChange<>(observable, observable.getValue(), listener) : helper.addListener(listener);
+        return (helper == null)? new SingleChange<>(observable, observable.getValue(), listener) : replace(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, ChangeListener<? super T> listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : replace(helper, helper.removeListener(listener));
     }
 
     public static <T> void fireValueChangedEvent(ExpressionHelper<T> helper) {
         if (helper != null) {
-            helper.fireValueChangedEvent();
+            if (BindingEvaluation.isGlitchFree()) {
+                BindingEvaluation.beginNotification();
+                try {
+                    // defer before notifying, so that the change listeners
+                    // of dependent values are notified after these ones
+                    if (!(helper instanceof SingleInvalidation)) {
+                        BindingEvaluation.defer(helper);
+                    }
+                    helper.fireInvalidationEvent();
+                } finally {
+                    BindingEvaluation.endNotification();
+                }
+            } else {
+                helper.fireValueChangedEvent();
+            }
+        }
+    }
+
+    /*
+     * A deferred change notification belongs to the observable, not to the
+     * helper instance, so it moves along when the helper is replaced.
+     */
+    private static <T> ExpressionHelper<T> replace(ExpressionHelper<T> helper, ExpressionHelper<T> result) {
+        if (helper.deferred && (result != helper)) {
+            helper.deferred = false;
+            if (result != null) {
+                BindingEvaluation.defer(result);
+            }
         }
+        return result;
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -97,6 +125,9 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     protected final ObservableValue<T> observable;
 
+    /** whether a change notification is waiting in glitch-free mode, see {@link BindingEvaluation} */
+    boolean deferred;
+
     private ExpressionHelper(ObservableValue<T> observable) {
         this.observable = observable;
     }
@@ -109,6 +140,17 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     protected abstract void fireValueChangedEvent();
 
+    /**
+     * Notifies the invalidation listeners only.
+     */
+    protected abstract void fireInvalidationEvent();
+
+    /**
+     * Notifies the change listeners only, if the value has changed since they
+     * were last notified.
+     */
+    protected abstract void fireChangeEvent();
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Implementations
 
@@ -149,6 +191,15 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
             }
         }
+
+        @Override
+        protected void fireInvalidationEvent() {
+            fireValueChangedEvent();
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+        }
     }
 
     private static class SingleChange<T> extends ExpressionHelper<T> {
@@ -195,6 +246,15 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 }
             }
         }
+
+        @Override
+        protected void fireInvalidationEvent() {
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            fireValueChangedEvent();
+        }
     }
 
     private static class Generic<T> extends ExpressionHelper<T> {
@@ -203,7 +263,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         private ChangeListener<? super T>[] changeListeners;
         private int invalidationSize;
         private int changeSize;
-        private boolean locked;
+        // The listener arrays are handed to notifications without copying them.
+        // The frozen length of each array is the part that running notifications
+        // iterate: listeners can be appended and removed after it in place, and
+        // only a removal inside it or growing the array replaces it with a copy.
+        private int notificationDepth;
+        private int invalidationFrozen;
+        private int changeFrozen;
         private T currentValue;
 
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -235,14 +301,14 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == oldCapacity) {
+                    if (invalidationFrozen == 0) {
+                        invalidationSize = trim(invalidationSize, invalidationListeners);
+                    }
                     if (invalidationSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                        invalidationFrozen = 0;
                     }
                 }
                 invalidationListeners[invalidationSize++] = listener;
@@ -261,22 +327,19 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                             }
                             invalidationListeners = null;
                             invalidationSize = 0;
+                            invalidationFrozen = 0;
                         } else if ((invalidationSize == 2) && (changeSize == 0)) {
                             return new SingleInvalidation<>(observable, invalidationListeners[1-index]);
                         } else {
-                            final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
+                            if (index < invalidationFrozen) {
+                                invalidationListeners = invalidationListeners.clone();
+                                invalidationFrozen = 0;
                             }
+                            final int numMoved = invalidationSize - index - 1;
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
+                                System.arraycopy(invalidationListeners, index+1, invalidationListeners, index, numMoved);
                             }
+                            invalidationListeners[--invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -292,14 +355,14 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
+                if (changeSize == oldCapacity) {
+                    if (changeFrozen == 0) {
+                        changeSize = trim(changeSize, changeListeners);
+                    }
                     if (changeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                        changeFrozen = 0;
                     }
                 }
                 changeListeners[changeSize++] = listener;
@@ -321,23 +384,20 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                             }
                             changeListeners = null;
                             changeSize = 0;
+                            changeFrozen = 0;
                             currentValue = null;  // clear current value to avoid stale reference
                         } else if ((changeSize == 2) && (invalidationSize == 0)) {
                             return new SingleChange<>(observable, currentValue, changeListeners[1-index]);
                         } else {
-                            final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index);
+                            if (index < changeFrozen) {
+                                changeListeners = changeListeners.clone();
+                                changeFrozen = 0;
                             }
+                            final int numMoved = changeSize - index - 1;
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
+                                System.arraycopy(changeListeners, index+1, changeListeners, index, numMoved);
                             }
+                            changeListeners[--changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -354,7 +414,9 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             final int curChangeSize = changeSize;
 
             try {
-                locked = true;
+                notificationDepth++;
+                invalidationFrozen = Math.max(invalidationFrozen, curInvalidationSize);
+                changeFrozen = Math.max(changeFrozen, curChangeSize);
                 for (int i = 0; i < curInvalidationSize; i++) {
                     try {
                         curInvalidationList[i].invalidated(observable);
@@ -377,7 +439,64 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                if (--notificationDepth == 0) {
+                    invalidationFrozen = 0;
+                    changeFrozen = 0;
+                }
+            }
+        }
+
+        @Override
+        protected void fireInvalidationEvent() {
+            final InvalidationListener[] curInvalidationList = invalidationListeners;
+            final int curInvalidationSize = invalidationSize;
+
+            try {
+                notificationDepth++;
+                invalidationFrozen = Math.max(invalidationFrozen, curInvalidationSize);
+                for (int i = 0; i < curInvalidationSize; i++) {
+                    try {
+                        curInvalidationList[i].invalidated(observable);
+                    } catch (Exception e) {
+                        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                    }
+                }
+            } finally {
+                if (--notificationDepth == 0) {
+                    invalidationFrozen = 0;
+                    changeFrozen = 0;
+                }
+            }
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            final ChangeListener<? super T>[] curChangeList = changeListeners;
+            final int curChangeSize = changeSize;
+            if (curChangeSize == 0) {
+                return;
+            }
+
+            try {
+                notificationDepth++;
+                changeFrozen = Math.max(changeFrozen, curChangeSize);
+                final T oldValue = currentValue;
+                currentValue = observable.getValue();
+                final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
+                if (changed) {
+                    for (int i = 0; i < curChangeSize; i++) {
+                        try {
+                            curChangeList[i].changed(observable, oldValue, currentValue);
+                        } catch (Exception e) {
+                            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                        }
+                    }
+                }
+            } finally {
+                if (--notificationDepth == 0) {
+                    invalidationFrozen = 0;
+                    changeFrozen = 0;
+                }
             }
         }
     }
@@ -98,13 +98,23 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
 
     public static <E> void fireValueChangedEvent(ListExpressionHelper<E> helper) {
         if (helper != null) {
-            helper.fireValueChangedEvent();
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent();
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
     public static <E> void fireValueChangedEvent(ListExpressionHelper<E> helper, Change<? extends E> change) {
         if (helper != null) {
-            helper.fireValueChangedEvent(change);
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent(change);
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
@@ -307,7 +317,14 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int listChangeSize;
-        private boolean locked;
+        // The listener arrays are handed to notifications without copying them.
+        // The frozen length of each array is the part that running notifications
+        // iterate: listeners can be appended and removed after it in place, and
+        // only a removal inside it or growing the array replaces it with a copy.
+        private int notificationDepth;
+        private int invalidationFrozen;
+        private int changeFrozen;
+        private int listChangeFrozen;
         private ObservableList<E> currentValue;
 
         private Generic(ObservableListValue<E> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -364,14 +381,14 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == oldCapacity) {
+                    if (invalidationFrozen == 0) {
+                        invalidationSize = trim(invalidationSize, invalidationListeners);
+                    }
                     if (invalidationSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                        invalidationFrozen = 0;
                     }
                 }
                 invalidationListeners[invalidationSize++] = listener;
@@ -392,22 +409,19 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                             }
                             invalidationListeners = null;
                             invalidationSize = 0;
+                            invalidationFrozen = 0;
                         } else if ((invalidationSize == 2) && (changeSize == 0) && (listChangeSize == 0)) {
                             return new SingleInvalidation<>(observable, invalidationListeners[1-index]);
                         } else {
-                            final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
+                            if (index < invalidationFrozen) {
+                                invalidationListeners = invalidationListeners.clone();
+                                invalidationFrozen = 0;
                             }
+                            final int numMoved = invalidationSize - index - 1;
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
+                                System.arraycopy(invalidationListeners, index+1, invalidationListeners, index, numMoved);
                             }
+                            invalidationListeners[--invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -423,14 +437,14 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
+                if (changeSize == oldCapacity) {
+                    if (changeFrozen == 0) {
+                        changeSize = trim(changeSize, changeListeners);
+                    }
                     if (changeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                        changeFrozen = 0;
                     }
                 }
                 changeListeners[changeSize++] = listener;
@@ -454,22 +468,19 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                             }
                             changeListeners = null;
                             changeSize = 0;
+                            changeFrozen = 0;
                         } else if ((changeSize == 2) && (invalidationSize == 0) && (listChangeSize == 0)) {
                             return new SingleChange<>(observable, changeListeners[1-index]);
                         } else {
-                            final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super ObservableList<E>>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
+                            if (index < changeFrozen) {
+                                changeListeners = changeListeners.clone();
+                                changeFrozen = 0;
                             }
+                            final int numMoved = changeSize - index - 1;
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
+                                System.arraycopy(changeListeners, index+1, changeListeners, index, numMoved);
                             }
+                            changeListeners[--changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -485,14 +496,14 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 listChangeSize = 1;
             } else {
                 final int oldCapacity = listChangeListeners.length;
-                if (locked) {
-                    final int newCapacity = (listChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    listChangeListeners = Arrays.copyOf(listChangeListeners, newCapacity);
-                } else if (listChangeSize == oldCapacity) {
-                    listChangeSize = trim(listChangeSize, listChangeListeners);
+                if (listChangeSize == oldCapacity) {
+                    if (listChangeFrozen == 0) {
+                        listChangeSize = trim(listChangeSize, listChangeListeners);
+                    }
                     if (listChangeSize == oldCapacity) {
                         final int newCapacity = (oldCapacity * 3)/2 + 1;
                         listChangeListeners = Arrays.copyOf(listChangeListeners, newCapacity);
+                        listChangeFrozen = 0;
                     }
                 }
                 listChangeListeners[listChangeSize++] = listener;
@@ -516,22 +527,19 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                             }
                             listChangeListeners = null;
                             listChangeSize = 0;
+                            listChangeFrozen = 0;
                         } else if ((listChangeSize == 2) && (invalidationSize == 0) && (changeSize == 0)) {
                             return new SingleListChange<>(observable, listChangeListeners[1-index]);
                         } else {
-                            final int numMoved = listChangeSize - index - 1;
-                            final ListChangeListener<? super E>[] oldListeners = listChangeListeners;
-                            if (locked) {
-                                listChangeListeners = new ListChangeListener[listChangeListeners.length];
-                                System.arraycopy(oldListeners, 0, listChangeListeners, 0, index+1);
+                            if (index < listChangeFrozen) {
+                                listChangeListeners = listChangeListeners.clone();
+                                listChangeFrozen = 0;
                             }
+                            final int numMoved = listChangeSize - index - 1;
                             if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, listChangeListeners, index, numMoved);
-                            }
-                            listChangeSize--;
-                            if (!locked) {
-                                listChangeListeners[listChangeSize] = null; // Let gc do its work
+                                System.arraycopy(listChangeListeners, index+1, listChangeListeners, index, numMoved);
                             }
+                            listChangeListeners[--listChangeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -577,7 +585,10 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             final ListChangeListener<? super E>[] curListChangeList = listChangeListeners;
             final int curListChangeSize = listChangeSize;
             try {
-                locked = true;
+                notificationDepth++;
+                invalidationFrozen = Math.max(invalidationFrozen, curInvalidationSize);
+                changeFrozen = Math.max(changeFrozen, curChangeSize);
+                listChangeFrozen = Math.max(listChangeFrozen, curListChangeSize);
                 for (int i = 0; i < curInvalidationSize; i++) {
                     curInvalidationList[i].invalidated(observable);
                 }
@@ -593,7 +604,11 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                if (--notificationDepth == 0) {
+                    invalidationFrozen = 0;
+                    changeFrozen = 0;
+                    listChangeFrozen = 0;
+                }
             }
         }
 
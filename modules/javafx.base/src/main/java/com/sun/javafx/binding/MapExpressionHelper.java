@@ -86,13 +86,23 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
 
     public static <K, V> void fireValueChangedEvent(MapExpressionHelper<K, V> helper) {
         if (helper != null) {
-            helper.fireValueChangedEvent();
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent();
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
     public static <K, V> void fireValueChangedEvent(MapExpressionHelper<K, V> helper, MapChangeListener.Change<? extends K, ? extends V> change) {
         if (helper != null) {
-            helper.fireValueChangedEvent(change);
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent(change);
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
@@ -85,13 +85,23 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
 
     public static <E> void fireValueChangedEvent(SetExpressionHelper<E> helper) {
         if (helper != null) {
-            helper.fireValueChangedEvent();
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent();
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
     public static <E> void fireValueChangedEvent(SetExpressionHelper<E> helper, SetChangeListener.Change<? extends E> change) {
         if (helper != null) {
-            helper.fireValueChangedEvent(change);
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent(change);
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
@@ -24,6 +24,7 @@
  */
 package com.sun.javafx.collections;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.ExpressionHelperBase;
 import java.util.Arrays;
 import javafx.beans.InvalidationListener;
@@ -67,7 +68,12 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
 
     public static <T extends ObservableArray<T>> void fireValueChangedEvent(ArrayListenerHelper<T> helper, boolean sizeChanged, int from, int to) {
         if (helper != null && (from < to || sizeChanged)) {
-            helper.fireValueChangedEvent(sizeChanged, from, to);
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent(sizeChanged, from, to);
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
@@ -25,6 +25,7 @@
 
 package com.sun.javafx.collections;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.ExpressionHelperBase;
 import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
@@ -67,8 +68,13 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
 
     public static <E> void fireValueChangedEvent(ListListenerHelper<E> helper, ListChangeListener.Change<? extends E> change) {
         if (helper != null) {
-            change.reset();
-            helper.fireValueChangedEvent(change);
+            BindingEvaluation.beginNotification();
+            try {
+                change.reset();
+                helper.fireValueChangedEvent(change);
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
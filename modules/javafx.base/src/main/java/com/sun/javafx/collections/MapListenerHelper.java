@@ -25,6 +25,7 @@
 
 package com.sun.javafx.collections;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.ExpressionHelperBase;
 import javafx.beans.InvalidationListener;
 import javafx.collections.MapChangeListener;
@@ -67,7 +68,12 @@ public abstract class MapListenerHelper<K, V> extends ExpressionHelperBase {
 
     public static <K, V> void fireValueChangedEvent(MapListenerHelper<K, V> helper, MapChangeListener.Change<? extends K, ? extends V> change) {
         if (helper != null) {
-            helper.fireValueChangedEvent(change);
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent(change);
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Objects;
+import javafx.collections.ObservableDoubleList;
+
+/**
+ * ObservableDoubleList default implementation.
+ */
+public final class ObservableDoubleListImpl extends ObservablePrimitiveListBase<Double, double[]> implements ObservableDoubleList {
+
+    /**
+     * Creates empty observable double list
+     */
+    public ObservableDoubleListImpl() {
+    }
+
+    /**
+     * Creates observable double list with copy of given initial values
+     * @param elements initial values to copy to observable double list
+     */
+    public ObservableDoubleListImpl(double... elements) {
+        insert(0, elements, 0, elements.length);
+    }
+
+    @Override
+    double[] newArray(int length) {
+        return new double[length];
+    }
+
+    @Override
+    int length(double[] array) {
+        return array.length;
+    }
+
+    @Override
+    Double box(double[] array, int index) {
+        return array[index];
+    }
+
+    @Override
+    void unbox(double[] array, int index, Double element) {
+        array[index] = element;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size());
+        return array()[index];
+    }
+
+    @Override
+    public double setDouble(int index, double value) {
+        Objects.checkIndex(index, size());
+        double[] a = array();
+        double old = a[index];
+        if (Double.doubleToLongBits(old) != Double.doubleToLongBits(value)) {
+            a[index] = value;
+            // the previous value is only boxed when a change is reported
+            if (hasListeners()) {
+                beginChange();
+                nextSet(index, old);
+                endChange();
+            }
+        }
+        return old;
+    }
+
+    @Override
+    public void addDouble(double value) {
+        addDouble(size(), value);
+    }
+
+    @Override
+    public void addDouble(int index, double value) {
+        addRangeCheck(index);
+        makeRoom(index, 1)[index] = value;
+        added(index, 1);
+    }
+
+    @Override
+    public void addAll(double[] src, int srcIndex, int length) {
+        insert(size(), src, srcIndex, length);
+    }
+
+    @Override
+    public void addAll(int index, double[] src, int srcIndex, int length) {
+        insert(index, src, srcIndex, length);
+    }
+
+    @Override
+    public void setAll(double[] src, int srcIndex, int length) {
+        replaceAll(src, srcIndex, length);
+    }
+
+    @Override
+    public void set(int destIndex, double[] src, int srcIndex, int length) {
+        replace(destIndex, src, srcIndex, length);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Double) {
+            long bits = Double.doubleToLongBits((Double) o);
+            double[] a = array();
+            for (int i = 0, size = size(); i < size; ++i) {
+                if (Double.doubleToLongBits(a[i]) == bits) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o instanceof Double) {
+            long bits = Double.doubleToLongBits((Double) o);
+            double[] a = array();
+            for (int i = size() - 1; i >= 0; --i) {
+                if (Double.doubleToLongBits(a[i]) == bits) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
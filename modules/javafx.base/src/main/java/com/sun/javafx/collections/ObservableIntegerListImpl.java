@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Objects;
+import javafx.collections.ObservableIntegerList;
+
+/**
+ * ObservableIntegerList default implementation.
+ */
+public final class ObservableIntegerListImpl extends ObservablePrimitiveListBase<Integer, int[]> implements ObservableIntegerList {
+
+    /**
+     * Creates empty observable int list
+     */
+    public ObservableIntegerListImpl() {
+    }
+
+    /**
+     * Creates observable int list with copy of given initial values
+     * @param elements initial values to copy to observable int list
+     */
+    public ObservableIntegerListImpl(int... elements) {
+        insert(0, elements, 0, elements.length);
+    }
+
+    @Override
+    int[] newArray(int length) {
+        return new int[length];
+    }
+
+    @Override
+    int length(int[] array) {
+        return array.length;
+    }
+
+    @Override
+    Integer box(int[] array, int index) {
+        return array[index];
+    }
+
+    @Override
+    void unbox(int[] array, int index, Integer element) {
+        array[index] = element;
+    }
+
+    @Override
+    public int getInt(int index) {
+        Objects.checkIndex(index, size());
+        return array()[index];
+    }
+
+    @Override
+    public int setInt(int index, int value) {
+        Objects.checkIndex(index, size());
+        int[] a = array();
+        int old = a[index];
+        if (old != value) {
+            a[index] = value;
+            // the previous value is only boxed when a change is reported
+            if (hasListeners()) {
+                beginChange();
+                nextSet(index, old);
+                endChange();
+            }
+        }
+        return old;
+    }
+
+    @Override
+    public void addInt(int value) {
+        addInt(size(), value);
+    }
+
+    @Override
+    public void addInt(int index, int value) {
+        addRangeCheck(index);
+        makeRoom(index, 1)[index] = value;
+        added(index, 1);
+    }
+
+    @Override
+    public void addAll(int[] src, int srcIndex, int length) {
+        insert(size(), src, srcIndex, length);
+    }
+
+    @Override
+    public void addAll(int index, int[] src, int srcIndex, int length) {
+        insert(index, src, srcIndex, length);
+    }
+
+    @Override
+    public void setAll(int[] src, int srcIndex, int length) {
+        replaceAll(src, srcIndex, length);
+    }
+
+    @Override
+    public void set(int destIndex, int[] src, int srcIndex, int length) {
+        replace(destIndex, src, srcIndex, length);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Integer) {
+            int value = (Integer) o;
+            int[] a = array();
+            for (int i = 0, size = size(); i < size; ++i) {
+                if (a[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o instanceof Integer) {
+            int value = (Integer) o;
+            int[] a = array();
+            for (int i = size() - 1; i >= 0; --i) {
+                if (a[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
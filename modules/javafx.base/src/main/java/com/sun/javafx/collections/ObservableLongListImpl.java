@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Objects;
+import javafx.collections.ObservableLongList;
+
+/**
+ * ObservableLongList default implementation.
+ */
+public final class ObservableLongListImpl extends ObservablePrimitiveListBase<Long, long[]> implements ObservableLongList {
+
+    /**
+     * Creates empty observable long list
+     */
+    public ObservableLongListImpl() {
+    }
+
+    /**
+     * Creates observable long list with copy of given initial values
+     * @param elements initial values to copy to observable long list
+     */
+    public ObservableLongListImpl(long... elements) {
+        insert(0, elements, 0, elements.length);
+    }
+
+    @Override
+    long[] newArray(int length) {
+        return new long[length];
+    }
+
+    @Override
+    int length(long[] array) {
+        return array.length;
+    }
+
+    @Override
+    Long box(long[] array, int index) {
+        return array[index];
+    }
+
+    @Override
+    void unbox(long[] array, int index, Long element) {
+        array[index] = element;
+    }
+
+    @Override
+    public long getLong(int index) {
+        Objects.checkIndex(index, size());
+        return array()[index];
+    }
+
+    @Override
+    public long setLong(int index, long value) {
+        Objects.checkIndex(index, size());
+        long[] a = array();
+        long old = a[index];
+        if (old != value) {
+            a[index] = value;
+            // the previous value is only boxed when a change is reported
+            if (hasListeners()) {
+                beginChange();
+                nextSet(index, old);
+                endChange();
+            }
+        }
+        return old;
+    }
+
+    @Override
+    public void addLong(long value) {
+        addLong(size(), value);
+    }
+
+    @Override
+    public void addLong(int index, long value) {
+        addRangeCheck(index);
+        makeRoom(index, 1)[index] = value;
+        added(index, 1);
+    }
+
+    @Override
+    public void addAll(long[] src, int srcIndex, int length) {
+        insert(size(), src, srcIndex, length);
+    }
+
+    @Override
+    public void addAll(int index, long[] src, int srcIndex, int length) {
+        insert(index, src, srcIndex, length);
+    }
+
+    @Override
+    public void setAll(long[] src, int srcIndex, int length) {
+        replaceAll(src, srcIndex, length);
+    }
+
+    @Override
+    public void set(int destIndex, long[] src, int srcIndex, int length) {
+        replace(destIndex, src, srcIndex, length);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Long) {
+            long value = (Long) o;
+            long[] a = array();
+            for (int i = 0, size = size(); i < size; ++i) {
+                if (a[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o instanceof Long) {
+            long value = (Long) o;
+            long[] a = array();
+            for (int i = size() - 1; i >= 0; --i) {
+                if (a[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -31,7 +31,9 @@ import javafx.collections.ObservableMap;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -46,6 +48,13 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
     private MapListenerHelper<K, V> listenerHelper;
     private final Map<K, V> backingMap;
 
+    // marks the keys that were not in the map when the batch started
+    private static final Object ABSENT = new Object();
+
+    private int batchDepth;
+    // the value of each key changed in the current batch, as it was when the batch started
+    private Map<K, Object> batchOldValues;
+
     public ObservableMapWrapper(Map<K, V> map) {
         this.backingMap = map;
     }
@@ -112,9 +121,58 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
     }
 
     protected void callObservers(MapChangeListener.Change<K,V> change) {
+        if (batchDepth > 0) {
+            K key = change.getKey();
+            if (!batchOldValues.containsKey(key)) {
+                batchOldValues.put(key, change.wasRemoved() ? change.getValueRemoved() : ABSENT);
+            }
+            return;
+        }
         MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
     }
 
+    /**
+     * Starts a batch of changes. Until the matching {@link #endBatch()}, changes
+     * are not reported, but recorded per key. Batches can be nested.
+     */
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchOldValues = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Ends a batch of changes. When the outermost batch ends, a single change
+     * is reported for each key whose mapping differs from the one it had when
+     * the batch started, in the order in which the keys were first changed.
+     */
+    @SuppressWarnings("unchecked")
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch in progress");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+        Map<K, Object> oldValues = batchOldValues;
+        batchOldValues = null;
+        for (Map.Entry<K, Object> e : oldValues.entrySet()) {
+            K key = e.getKey();
+            boolean wasPresent = e.getValue() != ABSENT;
+            V old = wasPresent ? (V) e.getValue() : null;
+            if (backingMap.containsKey(key)) {
+                V value = backingMap.get(key);
+                if (!wasPresent) {
+                    callObservers(new SimpleChange(key, null, value, true, false));
+                } else if (!Objects.equals(old, value)) {
+                    callObservers(new SimpleChange(key, old, value, true, true));
+                }
+            } else if (wasPresent) {
+                callObservers(new SimpleChange(key, old, null, false, true));
+            }
+        }
+    }
+
     @Override
     public void addListener(InvalidationListener listener) {
         listenerHelper = MapListenerHelper.addListener(listenerHelper, listener);
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * Base class of the observable lists that store their elements in a primitive
+ * array. The element-wise {@link java.util.List} operations box and unbox the
+ * elements, while the bulk operations of the subclasses copy primitive arrays
+ * directly, without any per-element allocation.
+ *
+ * @param <E> the boxed element type
+ * @param <A> the primitive array type
+ */
+abstract class ObservablePrimitiveListBase<E, A> extends ModifiableObservableListBase<E> {
+
+    private A array;
+    private int size;
+
+    ObservablePrimitiveListBase() {
+        array = newArray(0);
+    }
+
+    abstract A newArray(int length);
+
+    abstract int length(A array);
+
+    abstract E box(A array, int index);
+
+    /**
+     * Stores the element at the given index of the array, throws a
+     * NullPointerException for null elements.
+     */
+    abstract void unbox(A array, int index, E element);
+
+    /**
+     * Returns the backing array, which may be longer than the list.
+     */
+    final A array() {
+        return array;
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return box(array, index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected void doAdd(int index, E element) {
+        addRangeCheck(index);
+        Objects.requireNonNull(element);
+        unbox(makeRoom(index, 1), index, element);
+    }
+
+    @Override
+    protected E doSet(int index, E element) {
+        Objects.checkIndex(index, size);
+        Objects.requireNonNull(element);
+        E old = box(array, index);
+        unbox(array, index, element);
+        return old;
+    }
+
+    @Override
+    protected E doRemove(int index) {
+        Objects.checkIndex(index, size);
+        E old = box(array, index);
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        --size;
+        return old;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        addRangeCheck(index);
+        // unbox everything first, so that a null element leaves the list unchanged
+        A src = newArray(c.size());
+        int length = 0;
+        for (E e : c) {
+            unbox(src, length++, e);
+        }
+        if (length == 0) {
+            return false;
+        }
+        insert(index, src, 0, length);
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        List<E> removed = hasListeners() ? copyOf(fromIndex, toIndex) : null;
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        ++modCount;
+        if (removed != null) {
+            beginChange();
+            nextRemove(fromIndex, removed);
+            endChange();
+        }
+    }
+
+    /**
+     * Inserts a portion of the given array at the given index.
+     */
+    final void insert(int index, A src, int srcIndex, int length) {
+        addRangeCheck(index);
+        Objects.checkFromIndexSize(srcIndex, length, length(src));
+        if (length == 0) {
+            return;
+        }
+        System.arraycopy(src, srcIndex, makeRoom(index, length), index, length);
+        added(index, length);
+    }
+
+    /**
+     * Replaces the elements starting at the given index by a portion of the
+     * given array.
+     */
+    final void replace(int destIndex, A src, int srcIndex, int length) {
+        Objects.checkFromIndexSize(destIndex, length, size);
+        Objects.checkFromIndexSize(srcIndex, length, length(src));
+        if (length == 0) {
+            return;
+        }
+        List<E> removed = hasListeners() ? copyOf(destIndex, destIndex + length) : null;
+        System.arraycopy(src, srcIndex, array, destIndex, length);
+        if (removed != null) {
+            beginChange();
+            nextReplace(destIndex, destIndex + length, removed);
+            endChange();
+        }
+    }
+
+    /**
+     * Replaces the content of this list by a portion of the given array.
+     */
+    final void replaceAll(A src, int srcIndex, int length) {
+        Objects.checkFromIndexSize(srcIndex, length, length(src));
+        if (length == 0 && size == 0) {
+            return;
+        }
+        List<E> removed = hasListeners() && size > 0 ? copyOf(0, size) : null;
+        if (length(array) < length) {
+            array = newArray(length);
+        }
+        System.arraycopy(src, srcIndex, array, 0, length);
+        size = length;
+        ++modCount;
+        beginChange();
+        if (removed != null) {
+            nextRemove(0, removed);
+        }
+        if (length > 0) {
+            nextAdd(0, length);
+        }
+        endChange();
+    }
+
+    /**
+     * Opens a gap of the given length at the given index, growing the array
+     * if needed, and returns the backing array. The caller fills the gap and
+     * calls {@link #added(int, int)}.
+     */
+    final A makeRoom(int index, int length) {
+        growCapacity(length);
+        System.arraycopy(array, index, array, index + length, size - index);
+        size += length;
+        return array;
+    }
+
+    final void added(int index, int length) {
+        ++modCount;
+        beginChange();
+        nextAdd(index, index + length);
+        endChange();
+    }
+
+    final void addRangeCheck(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    public void copyTo(int srcIndex, A dest, int destIndex, int length) {
+        Objects.checkFromIndexSize(srcIndex, length, size);
+        System.arraycopy(array, srcIndex, dest, destIndex, length);
+    }
+
+    public A toArray(A dest) {
+        if (dest == null || length(dest) < size) {
+            dest = newArray(size);
+        }
+        System.arraycopy(array, 0, dest, 0, size);
+        return dest;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (length(array) < capacity) {
+            A replacement = newArray(capacity);
+            System.arraycopy(array, 0, replacement, 0, size);
+            array = replacement;
+        }
+    }
+
+    public void trimToSize() {
+        if (length(array) != size) {
+            A replacement = newArray(size);
+            System.arraycopy(array, 0, replacement, 0, size);
+            array = replacement;
+        }
+    }
+
+    private void growCapacity(int length) {
+        int minCapacity = size + length;
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        int oldCapacity = length(array);
+        if (minCapacity > oldCapacity) {
+            int newCapacity = oldCapacity + (oldCapacity >> 1);
+            ensureCapacity(newCapacity - minCapacity < 0 || newCapacity < 0 ? minCapacity : newCapacity);
+        }
+    }
+
+    /**
+     * Returns a list with a copy of the given range, which only boxes the
+     * elements that are accessed.
+     */
+    private List<E> copyOf(int from, int to) {
+        final A copy = newArray(to - from);
+        System.arraycopy(array, from, copy, 0, to - from);
+        return new AbstractList<E>() {
+            @Override
+            public E get(int index) {
+                Objects.checkIndex(index, size());
+                return box(copy, index);
+            }
+
+            @Override
+            public int size() {
+                return length(copy);
+            }
+        };
+    }
+}
@@ -31,6 +31,8 @@ import javafx.collections.SetChangeListener;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -42,6 +44,10 @@ public class ObservableSetWrapper<E> implements ObservableSet<E> {
 
     private SetListenerHelper<E> listenerHelper;
 
+    private int batchDepth;
+    // whether each element changed in the current batch was in the set when the batch started
+    private Map<E, Boolean> batchChanges;
+
     /**
      * Creates new instance of ObservableSet that wraps
      * the particular set specified by the parameter set.
@@ -125,9 +131,48 @@ public class ObservableSetWrapper<E> implements ObservableSet<E> {
     }
 
     private void callObservers(SetChangeListener.Change<E> change) {
+        if (batchDepth > 0) {
+            E element = change.wasAdded() ? change.getElementAdded() : change.getElementRemoved();
+            batchChanges.putIfAbsent(element, change.wasRemoved());
+            return;
+        }
         SetListenerHelper.fireValueChangedEvent(listenerHelper, change);
     }
 
+    /**
+     * Starts a batch of changes. Until the matching {@link #endBatch()}, changes
+     * are not reported, but recorded per element. Batches can be nested.
+     */
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchChanges = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Ends a batch of changes. When the outermost batch ends, a single change
+     * is reported for each element that was added or removed in the batch and
+     * is not back to its initial state, in the order in which the elements were
+     * first changed.
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("No batch in progress");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+        Map<E, Boolean> changes = batchChanges;
+        batchChanges = null;
+        for (Map.Entry<E, Boolean> e : changes.entrySet()) {
+            E element = e.getKey();
+            boolean wasPresent = e.getValue();
+            if (backingSet.contains(element) != wasPresent) {
+                callObservers(wasPresent ? new SimpleRemoveChange(element) : new SimpleAddChange(element));
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
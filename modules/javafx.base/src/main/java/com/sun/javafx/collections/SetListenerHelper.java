@@ -25,6 +25,7 @@
 
 package com.sun.javafx.collections;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.ExpressionHelperBase;
 import javafx.beans.InvalidationListener;
 import javafx.collections.SetChangeListener;
@@ -67,7 +68,12 @@ public abstract class SetListenerHelper<E> extends ExpressionHelperBase {
 
     public static <E> void fireValueChangedEvent(SetListenerHelper<E> helper, SetChangeListener.Change<? extends E> change) {
         if (helper != null) {
-            helper.fireValueChangedEvent(change);
+            BindingEvaluation.beginNotification();
+            try {
+                helper.fireValueChangedEvent(change);
+            } finally {
+                BindingEvaluation.endNotification();
+            }
         }
     }
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Structured counters and phase timings for pulse processing. Values are
+ * kept per thread and only ever grow, so that the FX thread and the render
+ * thread each have a single writer and a reader on the same thread can take
+ * the difference of two {@link #snapshot(long[]) snapshots} to get the work
+ * done in between. Counting is off unless it has been {@link #enable()
+ * enabled}, in which case the cost is a thread-local lookup per update.
+ */
+public final class PulseCounters {
+
+    /**
+     * The counters. The first three are updated on the FX thread, the
+     * others on the render thread.
+     */
+    public enum Counter {
+        /** Nodes that had css applied */
+        NODES_STYLED,
+        /** Parents that laid out their children */
+        NODES_LAID_OUT,
+        /** Nodes whose state was copied to the render graph */
+        PEERS_SYNCED,
+        /** Area of the dirty regions that were painted, in pixels */
+        DIRTY_REGION_AREA,
+        /** Batches of geometry submitted to the graphics pipeline */
+        DRAW_CALLS,
+        /** Pixel uploads to textures */
+        TEXTURE_UPLOADS,
+        /** Paints from cached images instead of from the node */
+        CACHE_HITS
+    }
+
+    /**
+     * The pulse phases that are timed. Time spent in a pulse outside of
+     * the css, layout and sync phases is accounted to the animation phase.
+     */
+    public enum Phase {
+        ANIMATION,
+        CSS,
+        LAYOUT,
+        SYNC,
+        RENDER,
+        PRESENT
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * The size of the arrays used by {@link #snapshot(long[])}: the counter
+     * values, indexed by {@link #counterIndex(Counter)}, followed by the
+     * accumulated phase times in nanoseconds, indexed by {@link #phaseIndex(Phase)}.
+     */
+    public static final int SIZE = COUNTERS.length + PHASES.length;
+
+    private static final AtomicInteger users = new AtomicInteger();
+    private static volatile boolean enabled;
+    // incremented whenever counting is turned on, values of a thread from an
+    // earlier period of counting are discarded on first use
+    private static volatile int epoch;
+
+    private static final ThreadLocal<Values> values = ThreadLocal.withInitial(Values::new);
+
+    private static final class Values {
+        final long[] data = new long[SIZE];
+        int epoch;
+        Phase phase;
+        long phaseStart;
+    }
+
+    private static Values values() {
+        final Values v = values.get();
+        final int e = epoch;
+        if (v.epoch != e) {
+            v.epoch = e;
+            Arrays.fill(v.data, 0L);
+            v.phase = null;
+        }
+        return v;
+    }
+
+    private PulseCounters() {
+    }
+
+    public static int counterIndex(Counter counter) {
+        return counter.ordinal();
+    }
+
+    public static int phaseIndex(Phase phase) {
+        return COUNTERS.length + phase.ordinal();
+    }
+
+    /**
+     * Turns counting on until a matching call to {@link #disable()}.
+     */
+    public static void enable() {
+        if (users.getAndIncrement() == 0) {
+            epoch++;
+            enabled = true;
+        }
+    }
+
+    public static void disable() {
+        if (users.decrementAndGet() == 0) {
+            enabled = false;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the number of times counting has been turned on. Snapshots taken
+     * with different epochs can't be compared, as the values of a thread
+     * start over at zero when counting is turned on again.
+     *
+     * @return the current epoch
+     */
+    public static int getEpoch() {
+        return epoch;
+    }
+
+    public static void increment(Counter counter) {
+        if (enabled) {
+            values().data[counter.ordinal()]++;
+        }
+    }
+
+    public static void add(Counter counter, long amount) {
+        if (enabled) {
+            values().data[counter.ordinal()] += amount;
+        }
+    }
+
+    /**
+     * Ends the current phase of this thread, if any, and starts the given
+     * phase, or no phase if {@code phase} is null.
+     */
+    public static void phase(Phase phase) {
+        if (enabled) {
+            final Values v = values();
+            final long now = System.nanoTime();
+            if (v.phase != null) {
+                v.data[phaseIndex(v.phase)] += now - v.phaseStart;
+            }
+            v.phase = phase;
+            v.phaseStart = now;
+        }
+    }
+
+    /**
+     * Copies the values of this thread into {@code snapshot}, which must
+     * have a length of at least {@link #SIZE}. The time of a phase that is
+     * in progress is included up to now.
+     */
+    public static void snapshot(long[] snapshot) {
+        final Values v = values();
+        System.arraycopy(v.data, 0, snapshot, 0, SIZE);
+        if (v.phase != null) {
+            snapshot[phaseIndex(v.phase)] += System.nanoTime() - v.phaseStart;
+        }
+    }
+}
@@ -25,6 +25,7 @@
 package com.sun.javafx.logging.jfr;
 
 import com.sun.javafx.logging.Logger;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.logging.PulseLogger;
 
 import jdk.jfr.FlightRecorder;
@@ -32,6 +33,7 @@ import jdk.jfr.FlightRecorder;
 public final class JFRPulseLogger extends Logger {
     private final ThreadLocal<JFRPulsePhaseEvent> currentPulsePhaseEvent;
     private final ThreadLocal<JFRInputEvent> currentInputEvent;
+    private final ThreadLocal<long[][]> phaseCounters;
 
     private int pulseNumber;
     private int fxPulseNumber;
@@ -60,6 +62,14 @@ public final class JFRPulseLogger extends Logger {
                 return new JFRInputEvent();
             }
         };
+        // counter snapshots at the start and the end of the current phase
+        phaseCounters = new ThreadLocal<>() {
+            @Override
+            public long[][] initialValue() {
+                return new long[2][PulseCounters.SIZE];
+            }
+        };
+        PulseCounters.enable();
     }
 
     @Override
@@ -104,8 +114,12 @@ public final class JFRPulseLogger extends Logger {
             return;
         }
 
+        final long[][] counters = phaseCounters.get();
+
         /* If there is an ongoing event, commit it */
         if (event.getPhaseName() != null) {
+            PulseCounters.snapshot(counters[1]);
+            event.setCounters(counters[0], counters[1]);
             event.commit();
         }
 
@@ -115,6 +129,7 @@ public final class JFRPulseLogger extends Logger {
             return;
         }
 
+        PulseCounters.snapshot(counters[0]);
         event = new JFRPulsePhaseEvent();
         event.begin();
         event.setPhaseName(phaseName);
@@ -25,6 +25,9 @@
 
 package com.sun.javafx.logging.jfr;
 
+import com.sun.javafx.logging.PulseCounters;
+import com.sun.javafx.logging.PulseCounters.Counter;
+
 import jdk.jfr.Category;
 import jdk.jfr.Description;
 import jdk.jfr.Enabled;
@@ -47,6 +50,28 @@ public final class JFRPulsePhaseEvent extends Event {
     @Label("Phase Name")
     private String phaseName;
 
+    @Label("Nodes Styled")
+    private long nodesStyled;
+
+    @Label("Nodes Laid Out")
+    private long nodesLaidOut;
+
+    @Label("Peers Synced")
+    private long peersSynced;
+
+    @Label("Dirty Region Area")
+    @Description("Area of the painted dirty regions in pixels")
+    private long dirtyRegionArea;
+
+    @Label("Draw Calls")
+    private long drawCalls;
+
+    @Label("Texture Uploads")
+    private long textureUploads;
+
+    @Label("Cache Hits")
+    private long cacheHits;
+
     public int getPulseId() {
         return pulseId;
     }
@@ -62,4 +87,23 @@ public final class JFRPulsePhaseEvent extends Event {
     public void setPhaseName(String phaseName) {
         this.phaseName = phaseName;
     }
+
+    /**
+     * Sets the counters of this phase from two snapshots taken by
+     * {@link PulseCounters#snapshot(long[])} at the start and at the end of the phase.
+     */
+    void setCounters(long[] start, long[] end) {
+        nodesStyled = delta(start, end, Counter.NODES_STYLED);
+        nodesLaidOut = delta(start, end, Counter.NODES_LAID_OUT);
+        peersSynced = delta(start, end, Counter.PEERS_SYNCED);
+        dirtyRegionArea = delta(start, end, Counter.DIRTY_REGION_AREA);
+        drawCalls = delta(start, end, Counter.DRAW_CALLS);
+        textureUploads = delta(start, end, Counter.TEXTURE_UPLOADS);
+        cacheHits = delta(start, end, Counter.CACHE_HITS);
+    }
+
+    private static long delta(long[] start, long[] end, Counter counter) {
+        final int index = PulseCounters.counterIndex(counter);
+        return end[index] - start[index];
+    }
 }
@@ -31,6 +31,7 @@ import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ExpressionHelper;
 
@@ -211,6 +212,7 @@ public abstract class DoubleBinding extends DoubleExpression implements
     public final double get() {
         if (!valid) {
             value = computeValue();
+            BindingEvaluation.recomputed(this);
             valid = true;
         }
         return value;
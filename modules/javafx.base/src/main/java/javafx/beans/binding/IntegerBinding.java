@@ -31,6 +31,7 @@ import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ExpressionHelper;
 
@@ -161,6 +162,7 @@ public abstract class IntegerBinding extends IntegerExpression implements
     public final int get() {
         if (!valid) {
             value = computeValue();
+            BindingEvaluation.recomputed(this);
             valid = true;
         }
         return value;
@@ -25,6 +25,7 @@
 
 package javafx.beans.binding;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ListExpressionHelper;
 import javafx.beans.InvalidationListener;
@@ -251,6 +252,7 @@ public abstract class ListBinding<E> extends ListExpression<E> implements Bindin
     public final ObservableList<E> get() {
         if (!valid) {
             value = computeValue();
+            BindingEvaluation.recomputed(this);
             valid = true;
             if (value != null) {
                 value.addListener(listChangeListener);
@@ -25,6 +25,7 @@
 
 package javafx.beans.binding;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.MapExpressionHelper;
 import javafx.beans.InvalidationListener;
@@ -248,6 +249,7 @@ public abstract class MapBinding<K, V> extends MapExpression<K, V> implements Bi
     public final ObservableMap<K, V> get() {
         if (!valid) {
             value = computeValue();
+            BindingEvaluation.recomputed(this);
             valid = true;
             if (value != null) {
                 value.addListener(mapChangeListener);
@@ -31,6 +31,7 @@ import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ExpressionHelper;
 
@@ -166,6 +167,7 @@ public abstract class ObjectBinding<T> extends ObjectExpression<T> implements
     public final T get() {
         if (!valid) {
             T computed = computeValue();
+            BindingEvaluation.recomputed(this);
 
             if (!allowValidation()) {
                 return computed;
@@ -25,6 +25,7 @@
 
 package javafx.beans.binding;
 
+import com.sun.javafx.binding.BindingEvaluation;
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.SetExpressionHelper;
 import javafx.beans.InvalidationListener;
@@ -246,6 +247,7 @@ public abstract class SetBinding<E> extends SetExpression<E> implements Binding<
     public final ObservableSet<E> get() {
         if (!valid) {
             value = computeValue();
+            BindingEvaluation.recomputed(this);
             valid = true;
             if (value != null) {
                 value.addListener(setChangeListener);
@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 
@@ -53,7 +54,10 @@ import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
+import com.sun.javafx.collections.ObservableDoubleListImpl;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
+import com.sun.javafx.collections.ObservableIntegerListImpl;
+import com.sun.javafx.collections.ObservableLongListImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
@@ -307,6 +311,66 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable list that stores its elements in a double array.
+     * @return a newly created ObservableDoubleList
+     * @since 21
+     */
+    public static ObservableDoubleList observableDoubleList() {
+        return new ObservableDoubleListImpl();
+    }
+
+    /**
+     * Creates a new observable list that stores its elements in a double array,
+     * with {@code values} set to it.
+     * @param values the values that will be in the new observable double list
+     * @return a newly created ObservableDoubleList
+     * @since 21
+     */
+    public static ObservableDoubleList observableDoubleList(double... values) {
+        return new ObservableDoubleListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable list that stores its elements in a long array.
+     * @return a newly created ObservableLongList
+     * @since 21
+     */
+    public static ObservableLongList observableLongList() {
+        return new ObservableLongListImpl();
+    }
+
+    /**
+     * Creates a new observable list that stores its elements in a long array,
+     * with {@code values} set to it.
+     * @param values the values that will be in the new observable long list
+     * @return a newly created ObservableLongList
+     * @since 21
+     */
+    public static ObservableLongList observableLongList(long... values) {
+        return new ObservableLongListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable list that stores its elements in an int array.
+     * @return a newly created ObservableIntegerList
+     * @since 21
+     */
+    public static ObservableIntegerList observableIntegerList() {
+        return new ObservableIntegerListImpl();
+    }
+
+    /**
+     * Creates a new observable list that stores its elements in an int array,
+     * with {@code values} set to it.
+     * @param values the values that will be in the new observable int list
+     * @return a newly created ObservableIntegerList
+     * @since 21
+     */
+    public static ObservableIntegerList observableIntegerList(int... values) {
+        return new ObservableIntegerListImpl(values);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an array list.
      * @see #observableList(java.util.List)
@@ -698,6 +762,101 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Runs the given action, reporting all the changes it makes to the list as <b>one</b>
+     * change notification, which is fired when the action completes. Changes of adjacent
+     * elements are merged into single sub-changes, and the sub-changes are ordered by index.
+     * <p>
+     * Batches can be nested, in which case the notification is fired when the outermost batch
+     * completes. Changes made before the action throws an exception are still reported.
+     * <p>
+     * Only lists that extend {@link ObservableListBase}, like the lists created by this class,
+     * coalesce their changes. For other lists, the action is run and each change is reported
+     * as it happens. The changes of a {@link javafx.collections.transformation.TransformationList}
+     * are caused by changes of its source, so it is the source that should be batched.
+     *
+     * @param list the list to change
+     * @param action the action that changes the list
+     * @throws NullPointerException if {@code list} or {@code action} is null
+     * @since 21
+     */
+    public static void batch(ObservableList<?> list, Runnable action) {
+        Objects.requireNonNull(action);
+        if (Objects.requireNonNull(list) instanceof ObservableListBase<?> base) {
+            base.beginChange();
+            try {
+                action.run();
+            } finally {
+                base.endChange();
+            }
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Runs the given action, reporting the changes it makes to the map when the action
+     * completes. Each key whose mapping differs from the one it had before the action
+     * is reported by <b>one</b> change, regardless of how many times it was changed;
+     * keys whose changes cancel each other out are not reported at all.
+     * <p>
+     * Batches can be nested, in which case the changes are reported when the outermost batch
+     * completes. Changes made before the action throws an exception are still reported.
+     * <p>
+     * Only maps created by {@link #observableMap(Map)} and {@link #observableHashMap()}
+     * are batched. For other maps, the action is run
+     * and each change is reported as it happens.
+     *
+     * @param map the map to change
+     * @param action the action that changes the map
+     * @throws NullPointerException if {@code map} or {@code action} is null
+     * @since 21
+     */
+    public static void batch(ObservableMap<?, ?> map, Runnable action) {
+        Objects.requireNonNull(action);
+        if (Objects.requireNonNull(map) instanceof ObservableMapWrapper<?, ?> wrapper) {
+            wrapper.beginBatch();
+            try {
+                action.run();
+            } finally {
+                wrapper.endBatch();
+            }
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Runs the given action, reporting the changes it makes to the set when the action
+     * completes. Each element that was added or removed by the action is reported by
+     * <b>one</b> change; elements that were added and removed again (or the other way
+     * around) are not reported at all.
+     * <p>
+     * Batches can be nested, in which case the changes are reported when the outermost batch
+     * completes. Changes made before the action throws an exception are still reported.
+     * <p>
+     * Only sets created by {@link #observableSet(Set)} and {@link #observableSet(Object[])}
+     * are batched. For other sets, the action is run and each change is reported as it happens.
+     *
+     * @param set the set to change
+     * @param action the action that changes the set
+     * @throws NullPointerException if {@code set} or {@code action} is null
+     * @since 21
+     */
+    public static void batch(ObservableSet<?> set, Runnable action) {
+        Objects.requireNonNull(action);
+        if (Objects.requireNonNull(set) instanceof ObservableSetWrapper<?> wrapper) {
+            wrapper.beginBatch();
+            try {
+                action.run();
+            } finally {
+                wrapper.endBatch();
+            }
+        } else {
+            action.run();
+        }
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private final ListIterator<E> iterator = new ListIterator<>() {
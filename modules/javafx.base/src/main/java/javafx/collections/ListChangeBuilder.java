@@ -113,7 +113,7 @@ final class ListChangeBuilder<E> {
             SubChange<E> change = addRemoveChanges.get(idx);
             change.to--; // Removed one element from the previously added list
             if (change.from == change.to && (change.removed == null || change.removed.isEmpty())) {
-                    addRemoveChanges.remove(idx);
+                addRemoveChanges.remove(idx--); // the following changes still have to be shifted
             }
         }
         for (int i = idx + 1; i < addRemoveChanges.size(); ++i) {
@@ -202,7 +202,8 @@ final class ListChangeBuilder<E> {
 
         if (last != null && last.to == idx) {
             last.removed.add(removed);
-        } else if (last != null && last.from == idx + 1) {
+        } else if (last != null && last.from == idx + 1
+                && (addRemoveChanges.size() == 1 || addRemoveChanges.get(addRemoveChanges.size() - 2).to < idx)) {
             last.from--;
             last.to--;
             last.removed.add(0, removed);
@@ -450,9 +451,40 @@ final class ListChangeBuilder<E> {
     }
 
     public void nextSet(int idx, E old) {
-        nextRemove(idx, old);
-        nextAdd(idx, idx + 1);
+        if (updateChanges != null && !updateChanges.isEmpty()) {
+            nextRemove(idx, old);
+            nextAdd(idx, idx + 1);
+            return;
+        }
 
+        // Unlike a removal followed by an addition, a replacement does not shift the
+        // following sub-changes, so only the sub-change at (or next to) idx is touched.
+        // This keeps batches of many scattered replacements linear.
+        checkState();
+        checkAddRemoveList();
+        int pos = findSubChange(idx, addRemoveChanges);
+        if (pos >= 0) {
+            return; // the replaced element was added in this change
+        }
+        pos = ~pos;
+        SubChange<E> change;
+        if (pos > 0 && (change = addRemoveChanges.get(pos - 1)).to == idx) {
+            if (change.removed == null) {
+                change.removed = new ArrayList<>();
+            }
+            change.removed.add(old);
+            change.to = idx + 1;
+        } else if (pos < addRemoveChanges.size() && (change = addRemoveChanges.get(pos)).from == idx + 1) {
+            if (change.removed == null) {
+                change.removed = new ArrayList<>();
+            }
+            change.removed.add(0, old);
+            change.from = idx;
+        } else {
+            ArrayList<E> removedList = new ArrayList<>();
+            removedList.add(old);
+            addRemoveChanges.add(pos, new SubChange<>(idx, idx + 1, removedList, EMPTY_PERM, false));
+        }
     }
 
     public void nextUpdate(int idx) {
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+/**
+ * {@code ObservableIntegerList} is an {@code ObservableList<Integer>} that stores its
+ * elements in a {@code int[]} array. In addition to the {@link java.util.List}
+ * operations, which box and unbox the elements, it offers primitive accessors
+ * and bulk operations that copy {@code int[]} arrays directly, without any
+ * per-element allocation. All modifications are reported to
+ * {@link ListChangeListener}s like those of any other {@code ObservableList}.
+ * <p>
+ * The list does not permit {@code null} elements.
+ *
+ * @see FXCollections#observableIntegerList()
+ * @since 21
+ */
+public interface ObservableIntegerList extends ObservableList<Integer> {
+
+    /**
+     * Gets a single value of the list without boxing it.
+     * @param index index of the element to get
+     * @return value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside
+     * of the list
+     */
+    public int getInt(int index);
+
+    /**
+     * Sets a single value of the list, and reports it as replaced if it differs from the previous value.
+     * @param index index of the value to set
+     * @param value new value for the given index
+     * @return the previous value at the given index
+     * @throws IndexOutOfBoundsException if {@code index} is outside
+     * of the list
+     */
+    public int setInt(int index, int value);
+
+    /**
+     * Appends a single value to the end of this list.
+     * @param value the value to append
+     */
+    public void addInt(int value);
+
+    /**
+     * Inserts a single value at the given position of this list.
+     * @param index the position at which the value is inserted
+     * @param value the value to insert
+     * @throws IndexOutOfBoundsException if {@code index} is outside
+     * of the range {@code [0, size()]}
+     */
+    public void addInt(int index, int value);
+
+    /**
+     * Appends a portion of given array to the end of this list, which is
+     * reported as a single addition.
+     * Capacity is increased if necessary to match the new size of the data.
+     * @param src source array
+     * @param srcIndex starting position in source array
+     * @param length length of portion to append
+     * @throws IndexOutOfBoundsException if the portion is outside of
+     * the source array
+     */
+    public void addAll(int[] src, int srcIndex, int length);
+
+    /**
+     * Inserts a portion of given array at the given position of this list,
+     * which is reported as a single addition.
+     * Capacity is increased if necessary to match the new size of the data.
+     * @param index the position at which the values are inserted
+     * @param src source array
+     * @param srcIndex starting position in source array
+     * @param length length of portion to insert
+     * @throws IndexOutOfBoundsException if {@code index} is outside of the
+     * range {@code [0, size()]}, or if the portion is outside of the source array
+     */
+    public void addAll(int index, int[] src, int srcIndex, int length);
+
+    /**
+     * Replaces the content of this list with a copy of a portion of the given
+     * array, which is reported as a single replacement.
+     * Capacity is increased if necessary to match the new size of the data.
+     * @param src source array to copy
+     * @param srcIndex starting position in source array
+     * @param length length of a portion to copy
+     * @throws NullPointerException if {@code src} is null
+     * @throws IndexOutOfBoundsException if the portion is outside of
+     * the source array
+     */
+    public void setAll(int[] src, int srcIndex, int length);
+
+    /**
+     * Copies a portion of specified array into this list, replacing the
+     * elements starting at {@code destIndex}, which is reported as a single
+     * replacement. The size of the list does not change.
+     * @param destIndex the starting destination position in this list
+     * @param src source array to copy
+     * @param srcIndex starting position in source array
+     * @param length length of portion to copy
+     * @throws IndexOutOfBoundsException if the portion is outside of
+     * this list or of the source array
+     */
+    public void set(int destIndex, int[] src, int srcIndex, int length);
+
+    /**
+     * Copies specified portion of this list into {@code dest} array.
+     * @param srcIndex starting position in this list
+     * @param dest destination array
+     * @param destIndex starting position in destination array
+     * @param length length of portion to copy
+     * @throws IndexOutOfBoundsException if the portion is outside of this
+     * list or of the destination array
+     */
+    public void copyTo(int srcIndex, int[] dest, int destIndex, int length);
+
+    /**
+     * Returns an array containing a copy of this list.
+     * If the list fits in the specified array, it is copied therein.
+     * Otherwise, a new array is allocated with the size of the list.
+     *
+     * @param dest the array into which the list is copied, if it is big
+     *          enough; otherwise, a new int array is allocated.
+     *          Ignored, if null.
+     * @return an int array containing the copy of this list
+     */
+    public int[] toArray(int[] dest);
+
+    /**
+     * Grows the capacity of this list if the current capacity is less than
+     * the given {@code capacity}, does nothing if it is already bigger.
+     * @param capacity requested capacity
+     */
+    public void ensureCapacity(int capacity);
+
+    /**
+     * Shrinks the capacity to the current size of data in the list.
+     */
+    public void trimToSize();
+}
@@ -32,10 +32,15 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Predicate;
 import javafx.beans.NamedArg;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 
@@ -54,6 +59,9 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
     private SortHelper helper;
 
+    // the minimal source size for which a parallel refilter is used
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
     /**
      * Constructs a new FilteredList wrapper around the source list.
      * The provided predicate will match the elements in the source list that will be visible.
@@ -124,6 +132,42 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         predicateProperty().set(predicate);
     }
 
+    /**
+     * Whether the predicate may be evaluated in parallel when it changes.
+     * <p>
+     * By default, a change of the predicate re-evaluates it on every element of the source list, one after
+     * the other, on the calling thread. When this property is set to true and the source list is large and
+     * supports fast random access, the source list is split into chunks that are evaluated concurrently in
+     * the {@link ForkJoinPool#commonPool() common pool}, while the calling thread waits for the result. The
+     * new content of this list and the single change that reports it are still built on the calling thread.
+     * <p>
+     * Setting this property to true declares that the predicate is thread-safe: it must be side-effect free,
+     * and it must support being tested on different elements concurrently from threads other than the
+     * JavaFX Application Thread. Neither the source list nor its elements may be modified during the
+     * evaluation.
+     * <p>
+     * Changes of the source list are always evaluated on the calling thread.
+     *
+     * @defaultValue false
+     * @since 21
+     */
+    private BooleanProperty parallelRefilter;
+
+    public final BooleanProperty parallelRefilterProperty() {
+        if (parallelRefilter == null) {
+            parallelRefilter = new SimpleBooleanProperty(this, "parallelRefilter");
+        }
+        return parallelRefilter;
+    }
+
+    public final boolean isParallelRefilter() {
+        return parallelRefilter != null && parallelRefilter.get();
+    }
+
+    public final void setParallelRefilter(boolean value) {
+        parallelRefilterProperty().set(value);
+    }
+
     private Predicate<? super E> getPredicateImpl() {
         if (getPredicate() != null) {
             return getPredicate();
@@ -321,19 +365,72 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         if (hasListeners()) {
             removed = new ArrayList<>(this);
         }
-        size = 0;
-        int i = 0;
         Predicate<? super E> pred = getPredicateImpl();
-        for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
-            final E next = it.next();
-            if (pred.test(next)) {
-                filtered[size++] = i;
+        List<? extends E> source = getSource();
+        if (getPredicate() != null && isParallelRefilter()
+                && source.size() >= PARALLEL_THRESHOLD && source instanceof RandomAccess) {
+            // evaluate the predicate before touching the current state, so that a failing
+            // predicate leaves this list unchanged
+            long[] matches = new long[(source.size() + 63) >>> 6];
+            ForkJoinPool.commonPool().invoke(new FilterTask<>(source, pred, matches, 0, source.size()));
+            size = 0;
+            for (int w = 0; w < matches.length; ++w) {
+                for (long bits = matches[w]; bits != 0; bits &= bits - 1) {
+                    filtered[size++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        } else {
+            size = 0;
+            int i = 0;
+            for (Iterator<? extends E> it = source.iterator();it.hasNext(); ) {
+                final E next = it.next();
+                if (pred.test(next)) {
+                    filtered[size++] = i;
+                }
+                ++i;
             }
-            ++i;
         }
         if (hasListeners()) {
             fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
         }
     }
 
+    /**
+     * Tests the predicate on a range of the source list and records the matches in a bit set.
+     * Ranges are only split at multiples of 64, so that each task writes its own words of the bit set.
+     */
+    @SuppressWarnings("serial") // never serialized, holds the source list and the predicate
+    private static final class FilterTask<E> extends RecursiveAction {
+        private static final int CHUNK_SIZE = 1 << 12;
+
+        private final List<? extends E> source;
+        private final Predicate<? super E> predicate;
+        private final long[] matches;
+        private final int from;
+        private final int to;
+
+        FilterTask(List<? extends E> source, Predicate<? super E> predicate, long[] matches, int from, int to) {
+            this.source = source;
+            this.predicate = predicate;
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                for (int i = from; i < to; ++i) {
+                    if (predicate.test(source.get(i))) {
+                        matches[i >>> 6] |= 1L << i;
+                    }
+                }
+            } else {
+                int mid = ((from + to) >>> 1) & ~63;
+                invokeAll(new FilterTask<>(source, predicate, matches, from, mid),
+                          new FilterTask<>(source, predicate, matches, mid, to));
+            }
+        }
+    }
+
 }
@@ -35,7 +35,9 @@ import java.util.Comparator;
 import java.util.List;
 
 import javafx.beans.NamedArg;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
@@ -53,14 +55,23 @@ import javafx.collections.ObservableList;
  */
 public final class SortedList<E> extends TransformationList<E, E>{
 
-    private Comparator<Element<E>> elementComparator;
-    private Element<E>[] sorted;
+    private Comparator<? super E> elementComparator;
+    // the elements in view order
+    private E[] sorted;
+    // the source index of the element at each view index
+    private int[] sourceIndices;
+    // the view index of the element at each source index
     private int[] perm;
     private int size;
 
     private final SortHelper helper = new SortHelper();
 
-    private final Element<E> tempElement = new Element<>(null, -1);
+    // in incremental mode, updates of at most 1 / INCREMENTAL_UPDATE_RATIO of the list avoid a full re-sort
+    private static final int INCREMENTAL_UPDATE_RATIO = 16;
+
+    // up to this number of elements, added or removed elements are mapped by shifting the
+    // affected view indices once per element, rather than by rebuilding the whole mapping
+    private static final int SHIFT_THRESHOLD = 8;
 
 
     /**
@@ -73,11 +84,13 @@ public final class SortedList<E> extends TransformationList<E, E>{
     @SuppressWarnings("unchecked")
     public SortedList(@NamedArg("source") ObservableList<? extends E> source, @NamedArg("comparator") Comparator<? super E> comparator) {
         super(source);
-        sorted = new Element[source.size() *3/2 + 1];
+        sorted = (E[]) new Object[source.size() *3/2 + 1];
+        sourceIndices = new int[sorted.length];
         perm = new int[sorted.length];
         size = source.size();
         for (int i = 0; i < size; ++i) {
-            sorted[i] = new Element<>(source.get(i), i);
+            sorted[i] = source.get(i);
+            sourceIndices[i] = i;
             perm[i] = i;
         }
         if (comparator != null) {
@@ -99,6 +112,15 @@ public final class SortedList<E> extends TransformationList<E, E>{
     protected void sourceChanged(Change<? extends E> c) {
         if (elementComparator != null) {
             beginChange();
+            if (isIncremental()) {
+                int[] updated = getUpdatedIndices(c);
+                if (updated != null) {
+                    updateIncremental(updated);
+                    endChange();
+                    return;
+                }
+                c.reset();
+            }
             while (c.next()) {
                 if (c.wasPermutated()) {
                     updatePermutationIndexes(c);
@@ -128,7 +150,7 @@ public final class SortedList<E> extends TransformationList<E, E>{
                 @Override
                 protected void invalidated() {
                     Comparator<? super E> current = get();
-                    elementComparator = current != null ? new ElementComparator<>(current) : null;
+                    elementComparator = current;
                     doSortWithPermutationChange();
                 }
 
@@ -155,6 +177,37 @@ public final class SortedList<E> extends TransformationList<E, E>{
         comparatorProperty().set(comparator);
     }
 
+    /**
+     * Whether updates of source elements are handled incrementally.
+     * <p>
+     * By default, an update of an element in the source list re-sorts the whole list and reports a permutation
+     * of the entire list, followed by the update. In incremental mode, the updated elements are moved to their
+     * new positions against the existing ordering (by binary search for a single element), and the reported
+     * permutation only covers the range of the list that actually changed. This avoids the O(n log n) re-sort
+     * and the large change events for sources that frequently update a few elements at a time.
+     * <p>
+     * Updates that affect a large part of the source list are still handled by a full re-sort.
+     *
+     * @defaultValue false
+     * @since 21
+     */
+    private BooleanProperty incremental;
+
+    public final BooleanProperty incrementalProperty() {
+        if (incremental == null) {
+            incremental = new SimpleBooleanProperty(this, "incremental");
+        }
+        return incremental;
+    }
+
+    public final boolean isIncremental() {
+        return incremental != null && incremental.get();
+    }
+
+    public final void setIncremental(boolean value) {
+        incrementalProperty().set(value);
+    }
+
     /**
      * Returns the element at the specified position in this list.
      *
@@ -167,7 +220,7 @@ public final class SortedList<E> extends TransformationList<E, E>{
         if (index >= size) {
             throw new IndexOutOfBoundsException();
         }
-        return sorted[index].e;
+        return sorted[index];
     }
 
     /**
@@ -183,37 +236,26 @@ public final class SortedList<E> extends TransformationList<E, E>{
     private void doSortWithPermutationChange() {
         if (elementComparator != null) {
             int[] perm = helper.sort(sorted, 0, size, elementComparator);
-            for (int i = 0; i < size; i++) {
-                this.perm[sorted[i].index] = i;
-            }
+            applyPermutation(perm);
             fireChange(new SimplePermutationChange<>(0, size, perm, this));
         } else {
+            // restore the order of the source list
             int[] perm = new int[size];
-            int[] rperm = new int[size];
-            for (int i = 0; i < size; ++i) {
-                perm[i] = rperm[i] = i;
-            }
             boolean changed = false;
-            int idx = 0;
-            while (idx < size) {
-                final int otherIdx = sorted[idx].index;
-                if (otherIdx == idx) {
-                    ++idx;
-                    continue;
-                }
-                Element<E> other = sorted[otherIdx];
-                sorted[otherIdx] = sorted[idx];
-                sorted[idx] = other;
-                this.perm[idx] = idx;
-                this.perm[otherIdx] = otherIdx;
-                perm[rperm[idx]] = otherIdx;
-                perm[rperm[otherIdx]] = idx;
-                int tp = rperm[idx];
-                rperm[idx] = rperm[otherIdx];
-                rperm[otherIdx] = tp;
-                changed = true;
+            for (int i = 0; i < size; ++i) {
+                perm[i] = sourceIndices[i];
+                changed |= perm[i] != i;
             }
             if (changed) {
+                E[] unsorted = newArray(sorted.length);
+                for (int i = 0; i < size; ++i) {
+                    unsorted[sourceIndices[i]] = sorted[i];
+                }
+                sorted = unsorted;
+                for (int i = 0; i < size; ++i) {
+                    sourceIndices[i] = i;
+                    this.perm[i] = i;
+                }
                 fireChange(new SimplePermutationChange<>(0, size, perm, this));
             }
         }
@@ -221,7 +263,10 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     @Override
     public int getSourceIndex(int index) {
-        return sorted[index].index;
+        if (index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return sourceIndices[index];
     }
 
     @Override
@@ -229,96 +274,73 @@ public final class SortedList<E> extends TransformationList<E, E>{
         return perm[index];
     }
 
+    /**
+     * Moves the source indices of the view according to a permutation of the view (as returned by the
+     * SortHelper, where the element at {@code i} was moved to {@code perm[i]}), and updates the reverse mapping.
+     */
+    private void applyPermutation(int[] perm) {
+        int[] indices = new int[sourceIndices.length];
+        for (int i = 0; i < size; ++i) {
+            indices[perm[i]] = sourceIndices[i];
+        }
+        sourceIndices = indices;
+        updatePerm(0, size);
+    }
+
     private void updatePermutationIndexes(Change<? extends E> change) {
         for (int i = 0; i < size; ++i) {
-            int p = change.getPermutation(sorted[i].index);
-            sorted[i].index = p;
+            int p = change.getPermutation(sourceIndices[i]);
+            sourceIndices[i] = p;
             perm[p] = i;
         }
     }
 
     private void updateUnsorted(Change<? extends E> c) {
+        // the view is equal to the source, so sourceIndices and perm are the identity
         while (c.next()) {
             if (c.wasPermutated()) {
-                Element<E>[] sortedTmp = new Element[sorted.length];
-                for (int i = 0; i < size; ++i) {
-                    if (i >= c.getFrom() && i < c.getTo()) {
-                        int p = c.getPermutation(i);
-                        sortedTmp[p] = sorted[i];
-                        sortedTmp[p].index = p;
-                        perm[i] = i;
-                    } else {
-                        sortedTmp[i] = sorted[i];
-                    }
+                E[] sortedTmp = Arrays.copyOfRange(sorted, c.getFrom(), c.getTo());
+                for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                    sorted[c.getPermutation(i)] = sortedTmp[i - c.getFrom()];
                 }
-                sorted = sortedTmp;
             }
             if (c.wasRemoved()) {
                 final int removedTo = c.getFrom() + c.getRemovedSize();
                 System.arraycopy(sorted, removedTo, sorted, c.getFrom(), size - removedTo);
-                System.arraycopy(perm, removedTo, perm, c.getFrom(), size - removedTo);
                 size -= c.getRemovedSize();
-                updateIndices(removedTo, removedTo, -c.getRemovedSize());
+                Arrays.fill(sorted, size, size + c.getRemovedSize(), null);
             }
             if (c.wasAdded()) {
                 ensureSize(size + c.getAddedSize());
-                updateIndices(c.getFrom(), c.getFrom(), c.getAddedSize());
                 System.arraycopy(sorted, c.getFrom(), sorted, c.getTo(), size - c.getFrom());
-                System.arraycopy(perm, c.getFrom(), perm, c.getTo(), size - c.getFrom());
-                size += c.getAddedSize();
                 for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                    sorted[i] = new Element<>(c.getList().get(i), i);
+                    sorted[i] = c.getList().get(i);
+                }
+                for (int i = size; i < size + c.getAddedSize(); ++i) {
+                    sourceIndices[i] = i;
                     perm[i] = i;
                 }
+                size += c.getAddedSize();
             }
         }
     }
 
-    private static class Element<E> {
-
-        public Element(E e, int index) {
-            this.e = e;
-            this.index = index;
-        }
-
-        private E e;
-        private int index;
-    }
-
-    private static class ElementComparator<E> implements Comparator<Element<E>> {
-
-        private final Comparator<? super E> comparator;
-
-        public ElementComparator(Comparator<? super E> comparator) {
-            this.comparator = comparator;
-        }
-
-        @Override
-        public int compare(Element<E> o1, Element<E> o2) {
-            return comparator.compare(o1.e, o2.e);
-        }
-
+    @SuppressWarnings("unchecked")
+    private E[] newArray(int length) {
+        return (E[]) new Object[length];
     }
 
     private void ensureSize(int size) {
         if (sorted.length < size) {
-            Element<E>[] replacement = new Element[size * 3/2 + 1];
-            System.arraycopy(sorted, 0, replacement, 0, this.size);
-            sorted = replacement;
-            int[] replacementPerm = new int[size * 3/2 + 1];
-            System.arraycopy(perm, 0, replacementPerm, 0, this.size);
-            perm = replacementPerm;
+            sorted = Arrays.copyOf(sorted, size * 3/2 + 1);
+            sourceIndices = Arrays.copyOf(sourceIndices, sorted.length);
+            perm = Arrays.copyOf(perm, sorted.length);
         }
     }
 
-    private void updateIndices(int from, int viewFrom, int difference) {
-        for (int i = 0 ; i < size; ++i) {
-            if (sorted[i].index >= from) {
-                sorted[i].index += difference;
-            }
-            if (perm[i] >= viewFrom) {
-                perm[i] += difference;
-            }
+    private void updatePerm(int from, int to) {
+        for (int i = from; i < to; ++i) {
+            perm[sourceIndices[i]] = i;
         }
     }
 
@@ -326,84 +348,283 @@ public final class SortedList<E> extends TransformationList<E, E>{
         if (sorted.length == 0) {
             return 0;
         }
-        tempElement.e = e;
-        int pos = Arrays.binarySearch(sorted, 0, size, tempElement, elementComparator);
+        int pos = Arrays.binarySearch(sorted, 0, size, e, elementComparator);
         return pos;
     }
 
-    private void insertToMapping(E e, int idx) {
-        int pos = findPosition(e);
-        if (pos < 0) {
-            pos = ~pos;
+    private void insertToMapping(List<? extends E> list, int from, int to) {
+        final int count = to - from;
+        final int newSize = size + count;
+        ensureSize(newSize);
+        // shift the source indices once for the whole range, rather than once per element
+        for (int i = 0; i < size; ++i) {
+            if (sourceIndices[i] >= from) {
+                sourceIndices[i] += count;
+            }
         }
-        ensureSize(size + 1);
-        updateIndices(idx, pos, 1);
-        System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
-        sorted[pos] = new Element<>(e, idx);
-        System.arraycopy(perm, idx, perm, idx + 1, size - idx);
-        perm[idx] = pos;
-        ++size;
-        nextAdd(pos, pos + 1);
+        System.arraycopy(perm, from, perm, to, size - from);
 
+        for (int i = from; i < to; ++i) {
+            E e = list.get(i);
+            int pos = findPosition(e);
+            if (pos < 0) {
+                pos = ~pos;
+            }
+            System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
+            System.arraycopy(sourceIndices, pos, sourceIndices, pos + 1, size - pos);
+            sorted[pos] = e;
+            sourceIndices[pos] = i;
+            ++size;
+            if (count <= SHIFT_THRESHOLD) {
+                for (int j = 0; j < newSize; ++j) {
+                    if (perm[j] >= pos) {
+                        perm[j]++;
+                    }
+                }
+                perm[i] = pos;
+            }
+            nextAdd(pos, pos + 1);
+        }
+        if (count > SHIFT_THRESHOLD) {
+            updatePerm(0, size);
+        }
     }
 
     private void setAllToMapping(List<? extends E> list, int to) {
         ensureSize(to);
         size = to;
         for (int i = 0; i < to; ++i) {
-            sorted[i] = new Element<>(list.get(i), i);
+            sorted[i] = list.get(i);
+            sourceIndices[i] = i;
         }
         int[] perm = helper.sort(sorted, 0, size, elementComparator);  // elementComparator is never null here
-        System.arraycopy(perm, 0, this.perm, 0, size);
+        applyPermutation(perm);
         nextAdd(0, size);
     }
 
-    private void removeFromMapping(int idx, E e) {
-        int pos = perm[idx];
-        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
-        System.arraycopy(perm, idx + 1, perm, idx, size - idx - 1);
-        --size;
-        sorted[size] = null;
-        updateIndices(idx + 1, pos, - 1);
+    private void removeFromMapping(int from, List<? extends E> removed) {
+        final int count = removed.size();
+        final int to = from + count;
+        int[] positions = Arrays.copyOfRange(perm, from, to);
 
-        nextRemove(pos, e);
+        // The elements are reported as removed one by one, in source order. Each position
+        // has to be adjusted by the number of elements removed before it at a lower position.
+        if (count == 1) {
+            nextRemove(positions[0], removed.get(0));
+        } else {
+            int[] sortedPositions = positions.clone();
+            Arrays.sort(sortedPositions);
+            int[] removedBefore = new int[count + 1]; // Fenwick tree over the ranks of the positions
+            for (int i = 0; i < count; ++i) {
+                int rank = Arrays.binarySearch(sortedPositions, positions[i]);
+                int before = 0;
+                for (int r = rank; r > 0; r -= r & -r) {
+                    before += removedBefore[r];
+                }
+                nextRemove(positions[i] - before, removed.get(i));
+                for (int r = rank + 1; r <= count; r += r & -r) {
+                    removedBefore[r]++;
+                }
+            }
+        }
+
+        // compact the view and shift the source indices in a single pass
+        int w = 0;
+        for (int i = 0; i < size; ++i) {
+            int index = sourceIndices[i];
+            if (index >= from && index < to) {
+                continue;
+            }
+            sorted[w] = sorted[i];
+            sourceIndices[w++] = index >= to ? index - count : index;
+        }
+        Arrays.fill(sorted, w, size, null);
+        System.arraycopy(perm, to, perm, from, size - to);
+        size = w;
+
+        if (count <= SHIFT_THRESHOLD) {
+            Arrays.sort(positions);
+            for (int k = count - 1; k >= 0; --k) {
+                final int pos = positions[k];
+                for (int j = 0; j < size; ++j) {
+                    if (perm[j] > pos) {
+                        perm[j]--;
+                    }
+                }
+            }
+        } else {
+            updatePerm(0, size);
+        }
     }
 
     private void removeAllFromMapping() {
         List<E> removed = new ArrayList<>(this);
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = null;
-        }
+        Arrays.fill(sorted, 0, size, null);
         size = 0;
         nextRemove(0, removed);
     }
 
     private void update(Change<? extends E> c) {
         int[] perm = helper.sort(sorted, 0, size, elementComparator);  // elementComparator is never null here
-        for (int i = 0; i < size; i++) {
-            this.perm[sorted[i].index] = i;
-        }
+        applyPermutation(perm);
         nextPermutation(0, size, perm);
         for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
             nextUpdate(this.perm[i]);
         }
     }
 
+    /**
+     * Returns the source indices of all elements updated by the change, in ascending order, or null
+     * if the change also adds, removes or permutates elements.
+     */
+    private int[] getUpdatedIndices(Change<? extends E> c) {
+        int[] indices = new int[0];
+        int count = 0;
+        while (c.next()) {
+            if (!c.wasUpdated()) {
+                return null;
+            }
+            final int from = c.getFrom();
+            final int to = c.getTo();
+            if (count + to - from > indices.length) {
+                indices = Arrays.copyOf(indices, Math.max(count + to - from, indices.length * 2));
+            }
+            for (int i = from; i < to; ++i) {
+                indices[count++] = i;
+            }
+        }
+        return count == indices.length ? indices : Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Repositions all elements updated by a change. The updated elements are not in order until all of
+     * them are repositioned, so they have to be handled together rather than one update subchange at a time.
+     */
+    private void updateIncremental(int[] indices) {
+        final int count = indices.length;
+        if (count == 1) {
+            updateSingle(indices[0]);
+        } else if (count > 1 && count * INCREMENTAL_UPDATE_RATIO <= size) {
+            updateRange(indices);
+        } else if (count > 1) {
+            int[] perm = helper.sort(sorted, 0, size, elementComparator);
+            applyPermutation(perm);
+            nextPermutation(0, size, perm);
+            for (int index : indices) {
+                nextUpdate(this.perm[index]);
+            }
+        }
+    }
+
+    /**
+     * Moves the updated element with the given source index to its new position, using a binary search
+     * against the (still sorted) rest of the list.
+     */
+    private void updateSingle(int sourceIndex) {
+        final int pos = perm[sourceIndex];
+        final E e = sorted[pos];
+        int newPos = pos;
+        if (pos > 0 && elementComparator.compare(sorted[pos - 1], e) > 0) {
+            int ins = Arrays.binarySearch(sorted, 0, pos, e, elementComparator);
+            newPos = ins < 0 ? ~ins : ins;
+            System.arraycopy(sorted, newPos, sorted, newPos + 1, pos - newPos);
+            System.arraycopy(sourceIndices, newPos, sourceIndices, newPos + 1, pos - newPos);
+        } else if (pos < size - 1 && elementComparator.compare(e, sorted[pos + 1]) > 0) {
+            int ins = Arrays.binarySearch(sorted, pos + 1, size, e, elementComparator);
+            newPos = (ins < 0 ? ~ins : ins) - 1;
+            System.arraycopy(sorted, pos + 1, sorted, pos, newPos - pos);
+            System.arraycopy(sourceIndices, pos + 1, sourceIndices, pos, newPos - pos);
+        }
+
+        if (newPos != pos) {
+            sorted[newPos] = e;
+            sourceIndices[newPos] = sourceIndex;
+            final int from = Math.min(pos, newPos);
+            final int to = Math.max(pos, newPos) + 1;
+            int[] p = new int[to - from];
+            final int shift = newPos < pos ? 1 : -1;
+            for (int i = from; i < to; ++i) {
+                p[i - from] = i + shift;
+            }
+            p[pos - from] = newPos;
+            updatePerm(from, to);
+            nextPermutation(from, to, p);
+        }
+        nextUpdate(newPos);
+    }
+
+    /**
+     * Takes the updated elements with the given source indices out of the list, sorts them and merges
+     * them back into the rest of the list, reporting a permutation of the range that changed.
+     */
+    private void updateRange(int[] updatedSourceIndices) {
+        final int count = updatedSourceIndices.length;
+        int[] positions = new int[count];
+        for (int k = 0; k < count; ++k) {
+            positions[k] = perm[updatedSourceIndices[k]];
+        }
+        Arrays.sort(positions);
+
+        E[] updated = newArray(count);
+        int[] updatedIndices = new int[count];
+        int w = positions[0];
+        for (int i = positions[0], k = 0; i < size; ++i) {
+            if (k < count && positions[k] == i) {
+                updated[k] = sorted[i];
+                updatedIndices[k++] = sourceIndices[i];
+            } else {
+                sorted[w] = sorted[i];
+                sourceIndices[w++] = sourceIndices[i];
+            }
+        }
+        int[] updatedPerm = helper.sort(updated, 0, count, elementComparator);
+        int[] indices = new int[count];
+        for (int k = 0; k < count; ++k) {
+            indices[updatedPerm[k]] = updatedIndices[k];
+        }
+
+        // merge from the back; the last "count" slots of the list are free now
+        int high = positions[count - 1];
+        int i = size - count - 1;
+        w = size - 1;
+        for (int j = count - 1; j >= 0; --w) {
+            if (i >= 0 && elementComparator.compare(sorted[i], updated[j]) > 0) {
+                sourceIndices[w] = sourceIndices[i];
+                sorted[w] = sorted[i--];
+            } else {
+                if (j == count - 1) {
+                    high = Math.max(high, w);
+                }
+                sourceIndices[w] = indices[j];
+                sorted[w] = updated[j--];
+            }
+        }
+        // everything outside of [low, high) is at its old position
+        final int low = Math.min(positions[0], w + 1);
+        high++;
+
+        int[] p = new int[high - low];
+        for (int k = low; k < high; ++k) {
+            p[perm[sourceIndices[k]] - low] = k;
+        }
+        updatePerm(low, high);
+        nextPermutation(low, high, p);
+        for (int index : updatedSourceIndices) {
+            nextUpdate(perm[index]);
+        }
+    }
+
     private void addRemove(Change<? extends E> c) {
         if (c.getFrom() == 0 && c.getRemovedSize() == size) {
             removeAllFromMapping();
-        } else {
-            for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
-                removeFromMapping(c.getFrom(), c.getRemoved().get(i));
-            }
+        } else if (c.wasRemoved()) {
+            removeFromMapping(c.getFrom(), c.getRemoved());
         }
         if (size == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
-        } else {
-            for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-                insertToMapping(c.getList().get(i), i);
-            }
+        } else if (c.wasAdded()) {
+            insertToMapping(c.getList(), c.getFrom(), c.getTo());
         }
     }
 
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.binding;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.javafx.binding.BindingEvaluation;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+public class BindingEvaluationTest {
+
+    private IntegerProperty a;
+    private IntegerBinding b;
+    private IntegerBinding c;
+    private IntegerBinding d;
+    private List<String> observed;
+
+    @Before
+    public void setUp() {
+        BindingEvaluation.setCountingRecomputations(true);
+
+        // diamond: b and c depend on a, d depends on b and c
+        a = new SimpleIntegerProperty(1);
+        b = Bindings.createIntegerBinding(() -> a.get() + 1, a);
+        c = Bindings.createIntegerBinding(() -> a.get() * 10, a);
+        d = Bindings.createIntegerBinding(() -> b.get() + c.get(), b, c);
+        observed = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        BindingEvaluation.setGlitchFree(false);
+        BindingEvaluation.setCountingRecomputations(false);
+    }
+
+    private void observe(ObservableValue<? extends Number> value) {
+        value.addListener((obs, oldValue, newValue) -> observed.add(oldValue + "->" + newValue));
+    }
+
+    @Test
+    public void testDiamondRecomputesTwiceByDefault() {
+        observe(d);
+        BindingEvaluation.setCountingRecomputations(false);
+        BindingEvaluation.setCountingRecomputations(true);
+
+        a.set(2);
+
+        // the first notification of d sees the new value of b and the old value of c
+        assertEquals(List.of("12->13", "13->23"), observed);
+        assertEquals(2, BindingEvaluation.getRecomputationCount(d));
+    }
+
+    @Test
+    public void testDiamondRecomputesOnceInGlitchFreeMode() {
+        BindingEvaluation.setGlitchFree(true);
+        observe(d);
+        BindingEvaluation.setCountingRecomputations(false);
+        BindingEvaluation.setCountingRecomputations(true);
+
+        a.set(2);
+
+        assertEquals(List.of("12->23"), observed);
+        assertEquals(1, BindingEvaluation.getRecomputationCount(b));
+        assertEquals(1, BindingEvaluation.getRecomputationCount(c));
+        assertEquals(1, BindingEvaluation.getRecomputationCount(d));
+    }
+
+    @Test
+    public void testChangeListenersAreNotifiedBeforeSetterReturns() {
+        BindingEvaluation.setGlitchFree(true);
+        observe(d);
+        observe(b);
+
+        a.set(2);
+        assertEquals(List.of("2->3", "12->23"), observed);
+
+        a.set(3);
+        assertEquals(List.of("2->3", "12->23", "3->4", "23->34"), observed);
+    }
+
+    @Test
+    public void testInvalidationListenersAreNotDeferred() {
+        BindingEvaluation.setGlitchFree(true);
+        d.addListener(obs -> observed.add("invalidated"));
+        d.get();
+
+        a.set(2);
+        assertEquals(List.of("invalidated"), observed);
+    }
+
+    @Test
+    public void testListenerRemovedBeforeDeferredNotification() {
+        BindingEvaluation.setGlitchFree(true);
+        ChangeListener<Number> listener = (obs, oldValue, newValue) -> observed.add("d");
+        d.addListener(listener);
+        // the change listeners of a run after d became invalid, but before its change listeners
+        a.addListener((obs, oldValue, newValue) -> d.removeListener(listener));
+
+        a.set(2);
+        assertEquals(List.of(), observed);
+    }
+
+    @Test
+    public void testListenerAddedBeforeDeferredNotification() {
+        BindingEvaluation.setGlitchFree(true);
+        observe(d);
+        a.addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> obs, Number oldValue, Number newValue) {
+                d.addListener((o, ov, nv) -> observed.add("added"));
+                a.removeListener(this);
+            }
+        });
+
+        a.set(2);
+        // the helper of d is replaced, the pending notification is neither lost nor repeated
+        assertEquals(List.of("12->23", "added"), observed);
+
+        a.set(3);
+        assertEquals(List.of("12->23", "added", "23->34", "added"), observed);
+    }
+
+    @Test
+    public void testCascadingChangesInGlitchFreeMode() {
+        BindingEvaluation.setGlitchFree(true);
+        IntegerProperty e = new SimpleIntegerProperty();
+        d.addListener((obs, oldValue, newValue) -> e.set(newValue.intValue() * 2));
+        e.addListener((obs, oldValue, newValue) -> observed.add("e=" + newValue));
+
+        a.set(2);
+        assertEquals(List.of("e=46"), observed);
+    }
+
+    @Test
+    public void testCountingDisabled() {
+        BindingEvaluation.setCountingRecomputations(false);
+        d.get();
+        assertEquals(0, BindingEvaluation.getRecomputationCount(d));
+        assertEquals(0, BindingEvaluation.getRecomputationCounts().size());
+    }
+
+    @Test
+    public void testRecomputationCounts() {
+        d.get();
+        a.set(2);
+        d.get();
+        assertEquals(2, BindingEvaluation.getRecomputationCount(d));
+        assertEquals(Integer.valueOf(2), BindingEvaluation.getRecomputationCounts().get(b));
+        assertEquals(3, BindingEvaluation.getRecomputationCounts().size());
+    }
+}
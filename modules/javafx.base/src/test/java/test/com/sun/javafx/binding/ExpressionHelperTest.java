@@ -351,6 +351,59 @@ public class ExpressionHelperTest {
         invalidationListener[2].check(null, 0);
     }
 
+    @Test
+    public void testRemoveInvalidationAfterNestedNotification() {
+        final InvalidationListener reentrantListener = new InvalidationListener() {
+            boolean nested = false;
+            @Override public void invalidated(Observable observable) {
+                if (!nested) {
+                    nested = true;
+                    ExpressionHelper.fireValueChangedEvent(helper);
+                    helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+                }
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, reentrantListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        // the outer notification must not be affected by the nested one
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 2);
+        invalidationListener[1].check(observable, 2);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+    }
+
+    @Test
+    public void testAddAndRemoveInvalidationRepeatedlyWhileLocked() {
+        final InvalidationListener churningListener = observable -> {
+            for (int i = 0; i < 10; i++) {
+                helper = ExpressionHelper.addListener(helper, this.observable, invalidationListener[2]);
+                helper = ExpressionHelper.removeListener(helper, invalidationListener[2]);
+            }
+            helper = ExpressionHelper.addListener(helper, this.observable, invalidationListener[3]);
+        };
+        helper = ExpressionHelper.addListener(helper, observable, churningListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(null, 0);
+
+        helper = ExpressionHelper.removeListener(helper, churningListener);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(observable, 1);
+    }
+
     @Test
     public void testAddChange() {
         final ChangeListener<Object> weakListener = new WeakChangeListenerMock();
@@ -540,6 +540,59 @@ public class ListExpressionHelperTest {
         invalidationListener[2].check(null, 0);
     }
 
+    @Test
+    public void testRemoveInvalidationAfterNestedNotification() {
+        final InvalidationListener reentrantListener = new InvalidationListener() {
+            boolean nested = false;
+            @Override public void invalidated(Observable observable) {
+                if (!nested) {
+                    nested = true;
+                    ListExpressionHelper.fireValueChangedEvent(helper);
+                    helper = ListExpressionHelper.removeListener(helper, invalidationListener[0]);
+                }
+            }
+        };
+        helper = ListExpressionHelper.addListener(helper, observable, reentrantListener);
+        helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        // the outer notification must not be affected by the nested one
+        ListExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 2);
+        invalidationListener[1].check(observable, 2);
+
+        ListExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+    }
+
+    @Test
+    public void testAddAndRemoveInvalidationRepeatedlyWhileLocked() {
+        final InvalidationListener churningListener = observable -> {
+            for (int i = 0; i < 10; i++) {
+                helper = ListExpressionHelper.addListener(helper, this.observable, invalidationListener[2]);
+                helper = ListExpressionHelper.removeListener(helper, invalidationListener[2]);
+            }
+            helper = ListExpressionHelper.addListener(helper, this.observable, invalidationListener[3]);
+        };
+        helper = ListExpressionHelper.addListener(helper, observable, churningListener);
+        helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ListExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ListExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(null, 0);
+
+        helper = ListExpressionHelper.removeListener(helper, churningListener);
+        ListExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 1);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(null, 0);
+        invalidationListener[3].check(observable, 1);
+    }
+
     @Test
     public void testAddChange() {
         final ChangeListener<Object> weakListener = new WeakChangeListenerMock();
@@ -928,4 +928,109 @@ public class FXCollectionsTest {
         }
 
     }
+
+    @Test
+    public void testBatchListFiresOneChange() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c", "d");
+        MockListObserver<String> observer = new MockListObserver<>();
+        int[] invalidations = new int[1];
+        list.addListener(observer);
+        list.addListener((InvalidationListener) o -> invalidations[0]++);
+
+        FXCollections.batch(list, () -> {
+            list.set(1, "x");
+            list.set(2, "y");
+            list.add("e");
+            list.remove(0);
+        });
+        assertEquals(Arrays.asList("x", "y", "d", "e"), list);
+        assertEquals(1, invalidations[0]);
+        observer.checkAddRemove(0, list, Arrays.asList("a", "b", "c"), 0, 2);
+        observer.checkAddRemove(1, list, Collections.emptyList(), 3, 4);
+    }
+
+    @Test
+    public void testNestedBatchList() {
+        ObservableList<String> list = FXCollections.observableArrayList("a");
+        MockListObserver<String> observer = new MockListObserver<>();
+        list.addListener(observer);
+        FXCollections.batch(list, () -> {
+            list.add("b");
+            FXCollections.batch(list, () -> list.add("c"));
+            observer.check0();
+        });
+        observer.check1AddRemove(list, Collections.emptyList(), 1, 3);
+    }
+
+    @Test
+    public void testBatchListReportsChangesOnException() {
+        ObservableList<String> list = FXCollections.observableArrayList("a");
+        MockListObserver<String> observer = new MockListObserver<>();
+        list.addListener(observer);
+        assertThrows(IllegalStateException.class, () -> FXCollections.batch(list, () -> {
+            list.add("b");
+            throw new IllegalStateException();
+        }));
+        observer.check1AddRemove(list, Collections.emptyList(), 1, 2);
+
+        observer.clear();
+        list.add("c");
+        observer.check1AddRemove(list, Collections.emptyList(), 2, 3);
+    }
+
+    @Test
+    public void testBatchMapCoalescesChangesPerKey() {
+        ObservableMap<String, String> map = FXCollections.observableHashMap();
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+        MockMapObserver<String, String> observer = new MockMapObserver<>();
+        map.addListener(observer);
+
+        FXCollections.batch(map, () -> {
+            map.put("a", "10");
+            map.put("a", "11");
+            map.put("b", "20");
+            map.put("b", "2");
+            map.remove("c");
+            map.put("d", "4");
+            map.put("e", "5");
+            map.remove("e");
+            assertEquals(0, observer.getCallsNumber());
+        });
+        observer.assertMultipleCalls(MockMapObserver.Call.call("a", "1", "11"),
+                MockMapObserver.Call.call("c", "3", null),
+                MockMapObserver.Call.call("d", null, "4"));
+
+        observer.clear();
+        map.put("a", "12");
+        observer.assertMultipleCalls(MockMapObserver.Call.call("a", "11", "12"));
+    }
+
+    @Test
+    public void testBatchSetCoalescesChangesPerElement() {
+        ObservableSet<String> set = FXCollections.observableSet("a", "b");
+        MockSetObserver<String> observer = new MockSetObserver<>();
+        set.addListener(observer);
+
+        FXCollections.batch(set, () -> {
+            set.remove("a");
+            set.add("a");
+            set.remove("b");
+            set.add("c");
+            FXCollections.batch(set, set::clear);
+            set.add("d");
+        });
+        observer.assertMultipleCalls(MockSetObserver.Call.call("b", null),
+                MockSetObserver.Call.call("a", null),
+                MockSetObserver.Call.call(null, "d"));
+    }
+
+    @Test
+    public void testBatchUnsupportedCollectionRunsAction() {
+        ObservableList<String> list = FXCollections.unmodifiableObservableList(FXCollections.observableArrayList("a"));
+        boolean[] run = new boolean[1];
+        FXCollections.batch(list, () -> run[0] = true);
+        assertTrue(run[0]);
+    }
 }
@@ -306,4 +306,56 @@ public class FilteredListTest {
         assertEquals(list, filteredList);
         compareIndices();
     }
+
+    @Test
+    public void testParallelRefilter() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 100_003; i++) {
+            source.add(i);
+        }
+        FilteredList<Integer> sequential = new FilteredList<>(source);
+        FilteredList<Integer> parallel = new FilteredList<>(source);
+        parallel.setParallelRefilter(true);
+        MockListObserver<Integer> observer = new MockListObserver<>();
+        parallel.addListener(observer);
+
+        sequential.setPredicate(i -> i % 7 == 3 || i == 100_002);
+        parallel.setPredicate(i -> i % 7 == 3 || i == 100_002);
+        assertEquals(sequential, parallel);
+        compareIndices(parallel);
+        observer.check1AddRemove(parallel, source, 0, parallel.size());
+
+        observer.clear();
+        parallel.setPredicate(i -> i < 64 || i > 99_000);
+        assertEquals(64 + 100_002 - 99_000, parallel.size());
+        compareIndices(parallel);
+        observer.check1();
+
+        source.remove(5);
+        assertEquals(63 + 100_001 - 98_999, parallel.size());
+        compareIndices(parallel);
+    }
+
+    @Test
+    public void testParallelRefilterFailingPredicate() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 50_000; i++) {
+            source.add(i);
+        }
+        FilteredList<Integer> parallel = new FilteredList<>(source, i -> i % 2 == 0);
+        parallel.setParallelRefilter(true);
+        try {
+            parallel.setPredicate(i -> {
+                if (i == 40_000) {
+                    throw new IllegalStateException();
+                }
+                return true;
+            });
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(25_000, parallel.size());
+        compareIndices(parallel);
+    }
 }
@@ -52,6 +52,80 @@ public class ListChangeBuilderTest {
         builder = new ListChangeBuilderShim<>(observableList);
     }
 
+    @Test
+    public void testScatteredSets() {
+        list.addAll(Arrays.asList("e", "f", "g"));
+        builder.beginChange();
+        list.set(5, "ff");
+        builder.nextSet(5, "f");
+        list.set(1, "bb");
+        builder.nextSet(1, "b");
+        list.set(2, "cc");
+        builder.nextSet(2, "c");
+        list.set(0, "aa");
+        builder.nextSet(0, "a");
+        list.set(1, "bbb");
+        builder.nextSet(1, "bb");
+        list.set(4, "ee");
+        builder.nextSet(4, "e");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("aa", "bbb", "cc", "d", "ee", "ff", "g"), list);
+        observer.checkAddRemove(0, observableList, Arrays.asList("a", "b", "c"), 0, 3);
+        observer.checkAddRemove(1, observableList, Arrays.asList("e", "f"), 4, 6);
+    }
+
+    @Test
+    public void testSetAfterAddAndRemove() {
+        builder.beginChange();
+        list.add(1, "x");
+        builder.nextAdd(1, 2);
+        list.set(1, "y");
+        builder.nextSet(1, "x");
+        list.remove(3);
+        builder.nextRemove(3, "c");
+        list.set(3, "dd");
+        builder.nextSet(3, "d");
+        list.set(2, "bb");
+        builder.nextSet(2, "b");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("a", "y", "bb", "dd"), list);
+        observer.checkAddRemove(0, observableList, Arrays.asList("b", "c", "d"), 1, 4);
+    }
+
+    @Test
+    public void testRemoveOfAddedElementShiftsFollowingChanges() {
+        builder.beginChange();
+        list.add(2, "x");
+        builder.nextAdd(2, 3);
+        list.add(0, "y");
+        builder.nextAdd(0, 1);
+        list.remove(0);
+        builder.nextRemove(0, "y");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("a", "b", "x", "c", "d"), list);
+        observer.check1AddRemove(observableList, Collections.EMPTY_LIST, 2, 3);
+    }
+
+    @Test
+    public void testRemoveBeforeTwoRemovals() {
+        builder.beginChange();
+        list.remove(3);
+        builder.nextRemove(3, "d");
+        list.remove(1);
+        builder.nextRemove(1, "b");
+        list.remove(1);
+        builder.nextRemove(1, "c");
+        list.remove(0);
+        builder.nextRemove(0, "a");
+        builder.endChange();
+
+        assertEquals(Collections.EMPTY_LIST, list);
+        observer.check1AddRemove(observableList, Arrays.asList("a", "b", "c", "d"), 0, 0);
+    }
+
     @Test
     public void testAddRemove() {
         builder.beginChange();
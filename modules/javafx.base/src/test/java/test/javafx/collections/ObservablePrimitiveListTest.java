@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableDoubleList;
+import javafx.collections.ObservableIntegerList;
+import javafx.collections.ObservableLongList;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObservablePrimitiveListTest {
+
+    private ObservableDoubleList list;
+    private MockListObserver<Double> mlo;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableDoubleList(1, 2, 3);
+        mlo = new MockListObserver<>();
+        list.addListener(mlo);
+    }
+
+    @Test
+    public void testInitialContent() {
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), list);
+        assertEquals(2.0, list.getDouble(1), 0);
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0).hashCode(), list.hashCode());
+        mlo.check0();
+    }
+
+    @Test
+    public void testAddPrimitive() {
+        list.addDouble(4);
+        mlo.check1AddRemove(list, Collections.emptyList(), 3, 4);
+        mlo.clear();
+        list.addDouble(0, 0);
+        mlo.check1AddRemove(list, Collections.emptyList(), 0, 1);
+        assertEquals(Arrays.asList(0.0, 1.0, 2.0, 3.0, 4.0), list);
+    }
+
+    @Test
+    public void testAddAllArrayIsSingleChange() {
+        double[] values = { 9, 10, 11, 12 };
+        list.addAll(1, values, 1, 2);
+        assertEquals(Arrays.asList(1.0, 10.0, 11.0, 2.0, 3.0), list);
+        mlo.check1AddRemove(list, Collections.emptyList(), 1, 3);
+        mlo.clear();
+        list.addAll(values, 0, 4);
+        mlo.check1AddRemove(list, Collections.emptyList(), 5, 9);
+        assertEquals(9, list.size());
+    }
+
+    @Test
+    public void testAddAllArrayGrowsCapacity() {
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        for (int i = 0; i < 100; i++) {
+            list.addAll(values, 0, values.length);
+        }
+        assertEquals(3 + 100 * 1000, list.size());
+        assertEquals(999, list.getDouble(list.size() - 1), 0);
+        list.trimToSize();
+        assertEquals(999, list.getDouble(list.size() - 1), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddAllArrayOutOfRange() {
+        list.addAll(new double[2], 1, 2);
+    }
+
+    @Test
+    public void testSetPrimitive() {
+        assertEquals(2.0, list.setDouble(1, 5), 0);
+        assertEquals(Arrays.asList(1.0, 5.0, 3.0), list);
+        mlo.check1AddRemove(list, Arrays.asList(2.0), 1, 2);
+    }
+
+    @Test
+    public void testSetPrimitiveToSameValue() {
+        assertEquals(2.0, list.setDouble(1, 2), 0);
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), list);
+        mlo.check0();
+    }
+
+    @Test
+    public void testSetPrimitiveToNegativeZero() {
+        list.setDouble(0, 0);
+        mlo.clear();
+        assertEquals(0.0, list.setDouble(0, -0.0), 0);
+        mlo.check1AddRemove(list, Arrays.asList(0.0), 0, 1);
+    }
+
+    @Test
+    public void testSetRange() {
+        list.set(1, new double[] { 7, 8 }, 0, 2);
+        assertEquals(Arrays.asList(1.0, 7.0, 8.0), list);
+        mlo.check1AddRemove(list, Arrays.asList(2.0, 3.0), 1, 3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetRangeBeyondSize() {
+        list.set(2, new double[] { 7, 8 }, 0, 2);
+    }
+
+    @Test
+    public void testSetAllArray() {
+        list.setAll(new double[] { 4, 5, 6, 7 }, 1, 3);
+        assertEquals(Arrays.asList(5.0, 6.0, 7.0), list);
+        mlo.check1AddRemove(list, Arrays.asList(1.0, 2.0, 3.0), 0, 3);
+    }
+
+    @Test
+    public void testListOperations() {
+        list.add(4.0);
+        mlo.check1AddRemove(list, Collections.emptyList(), 3, 4);
+        list.add(0, 0.0);
+        list.set(2, 6.0);
+        list.remove(Double.valueOf(3.0));
+        assertEquals(Arrays.asList(0.0, 1.0, 6.0, 4.0), list);
+        assertEquals(2, list.indexOf(6.0));
+        assertFalse(list.contains(3.0));
+
+        mlo.clear();
+        list.setAll(Arrays.asList(8.0, 9.0));
+        mlo.check1AddRemove(list, Arrays.asList(0.0, 1.0, 6.0, 4.0), 0, 2);
+    }
+
+    @Test
+    public void testRemoveRange() {
+        list.addAll(new double[] { 4, 5, 6 }, 0, 3);
+        mlo.clear();
+        list.remove(1, 4);
+        assertEquals(Arrays.asList(1.0, 5.0, 6.0), list);
+        mlo.check1AddRemove(list, Arrays.asList(2.0, 3.0, 4.0), 1, 1);
+
+        mlo.clear();
+        list.subList(1, 3).clear();
+        assertEquals(Arrays.asList(1.0), list);
+        mlo.check1AddRemove(list, Arrays.asList(5.0, 6.0), 1, 1);
+
+        mlo.clear();
+        list.clear();
+        assertTrue(list.isEmpty());
+        mlo.check1AddRemove(list, Arrays.asList(1.0), 0, 0);
+    }
+
+    @Test
+    public void testNullElementsAreRejected() {
+        try {
+            list.add(null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            // expected
+        }
+        try {
+            list.addAll(Arrays.asList(4.0, null));
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), list);
+        mlo.check0();
+    }
+
+    @Test
+    public void testNaN() {
+        list.addDouble(Double.NaN);
+        assertEquals(3, list.indexOf(Double.NaN));
+        assertTrue(list.contains(Double.NaN));
+    }
+
+    @Test
+    public void testToArrayAndCopyTo() {
+        assertArrayEquals(new double[] { 1, 2, 3 }, list.toArray((double[]) null), 0);
+        double[] dest = new double[5];
+        assertSame(dest, list.toArray(dest));
+        list.copyTo(1, dest, 3, 2);
+        assertArrayEquals(new double[] { 1, 2, 3, 2, 3 }, dest, 0);
+    }
+
+    @Test
+    public void testIntegerList() {
+        ObservableIntegerList ints = FXCollections.observableIntegerList();
+        MockListObserver<Integer> observer = new MockListObserver<>();
+        ints.addListener(observer);
+        ints.addAll(new int[] { 1, 2, 3, 4 }, 0, 4);
+        observer.check1AddRemove(ints, Collections.emptyList(), 0, 4);
+        ints.addInt(1, 7);
+        ints.remove(0);
+        assertEquals(7, ints.getInt(0));
+        assertEquals(Integer.valueOf(7), ints.get(0));
+        List<Integer> expected = Arrays.asList(7, 2, 3, 4);
+        assertEquals(expected, ints);
+        assertEquals(3, ints.indexOf(4));
+        assertArrayEquals(new int[] { 7, 2, 3, 4 }, ints.toArray(new int[0]));
+    }
+
+    @Test
+    public void testLongList() {
+        ObservableLongList longs = FXCollections.observableLongList(1L, 2L);
+        MockListObserver<Long> observer = new MockListObserver<>();
+        longs.addListener(observer);
+        assertEquals(1L, longs.setLong(0, Long.MAX_VALUE));
+        observer.check1AddRemove(longs, Arrays.asList(1L), 0, 1);
+        longs.addLong(3L);
+        assertEquals(Arrays.asList(Long.MAX_VALUE, 2L, 3L), longs);
+        assertTrue(longs.contains(Long.MAX_VALUE));
+        assertFalse(longs.contains(1));
+    }
+}
@@ -595,4 +595,181 @@ public class SortedListTest {
         mockListObserver.check1Permutation(sortedList, new int[] {0, 3, 2, 1});
         compareIndices();
     }
+
+    @Test
+    public void testIncrementalMutableElement() {
+        ObservableList<Person> list = createPersonsList();
+
+        SortedList<Person> sorted = list.sorted();
+        sorted.setIncremental(true);
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(3).name.set("zero"); // four -> zero
+        ObservableList<Person> expected = FXCollections.observableArrayList(
+                new Person("five"), new Person("one"), new Person("three"),
+                new Person("two"), new Person("zero"));
+        listener.checkPermutation(0, expected, 1, 5, new int[]{4, 1, 2, 3});
+        listener.checkUpdate(1, expected, 4, 5);
+        assertEquals(expected, sorted);
+
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testIncrementalMutableElementMovingBackwards() {
+        ObservableList<Person> list = createPersonsList();
+
+        SortedList<Person> sorted = list.sorted();
+        sorted.setIncremental(true);
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(1).name.set("eight"); // two -> eight
+        ObservableList<Person> expected = FXCollections.observableArrayList(
+                new Person("eight"), new Person("five"), new Person("four"),
+                new Person("one"), new Person("three"));
+        listener.checkPermutation(0, expected, 0, 5, new int[]{1, 2, 3, 4, 0});
+        listener.checkUpdate(1, expected, 0, 1);
+        assertEquals(expected, sorted);
+
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testIncrementalMutableElementKeepingPosition() {
+        ObservableList<Person> list = createPersonsList();
+
+        SortedList<Person> sorted = list.sorted();
+        sorted.setIncremental(true);
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        list.get(3).name.set("fox"); // four -> fox
+        ObservableList<Person> expected = FXCollections.observableArrayList(
+                new Person("five"), new Person("fox"), new Person("one"),
+                new Person("three"), new Person("two"));
+        listener.check1Update(expected, 1, 2);
+        assertEquals(expected, sorted);
+
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testIncrementalRandomUpdates() {
+        ObservableList<Person> list = FXCollections.observableArrayList((Person p) -> new Observable[]{p.name});
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < 500; i++) {
+            list.add(new Person(Integer.toString(random.nextInt(1000))));
+        }
+        SortedList<Person> sorted = list.sorted(Comparator.comparing(p -> p.name.get()));
+        sorted.setIncremental(true);
+        List<Person> mirror = new ArrayList<>(sorted);
+        sorted.addListener((ListChangeListener<Person>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    List<Person> copy = new ArrayList<>(mirror);
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        mirror.set(c.getPermutation(i), copy.get(i));
+                    }
+                } else if (!c.wasUpdated()) {
+                    mirror.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                    mirror.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            list.get(random.nextInt(list.size())).name.set(Integer.toString(random.nextInt(1000)));
+            if (i % 10 == 0) {
+                list.add(random.nextInt(list.size()), new Person(Integer.toString(random.nextInt(1000))));
+            } else if (i % 10 == 5) {
+                list.remove(random.nextInt(list.size()));
+            }
+        }
+
+        List<Person> expected = new ArrayList<>(list);
+        expected.sort(Comparator.comparing(p -> p.name.get()));
+        assertEquals(expected, sorted);
+        assertEquals(mirror, sorted);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testIncrementalNonAdjacentUpdatesInOneChange() {
+        ObservableList<Person> list = createPersonsList();
+
+        SortedList<Person> sorted = list.sorted();
+        sorted.setIncremental(true);
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+        FXCollections.batch(list, () -> {
+            list.get(0).name.set("cat"); // one -> cat
+            list.get(3).name.set("bee"); // four -> bee
+        });
+        ObservableList<Person> expected = FXCollections.observableArrayList(
+                new Person("bee"), new Person("cat"), new Person("five"),
+                new Person("three"), new Person("two"));
+        assertEquals(expected, sorted);
+        listener.checkPermutation(0, expected, 0, 5, new int[]{2, 0, 1, 3, 4});
+        listener.checkUpdate(1, expected, 0, 2);
+
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testIncrementalBatchedRandomUpdates() {
+        ObservableList<Person> list = FXCollections.observableArrayList((Person p) -> new Observable[]{p.name});
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < 500; i++) {
+            list.add(new Person(Integer.toString(random.nextInt(1000))));
+        }
+        SortedList<Person> sorted = list.sorted(Comparator.comparing(p -> p.name.get()));
+        sorted.setIncremental(true);
+        List<Person> mirror = new ArrayList<>(sorted);
+        sorted.addListener((ListChangeListener<Person>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    List<Person> copy = new ArrayList<>(mirror);
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        mirror.set(c.getPermutation(i), copy.get(i));
+                    }
+                }
+            }
+        });
+
+        // 2 to 40 scattered updates per change, covering both the merge and the full sort
+        for (int i = 0; i < 200; i++) {
+            final int count = 2 + random.nextInt(39);
+            FXCollections.batch(list, () -> {
+                for (int k = 0; k < count; k++) {
+                    list.get(random.nextInt(list.size())).name.set(Integer.toString(random.nextInt(1000)));
+                }
+            });
+        }
+
+        List<Person> expected = new ArrayList<>(list);
+        expected.sort(Comparator.comparing(p -> p.name.get()));
+        assertEquals(expected, sorted);
+        assertEquals(mirror, sorted);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testRemoveRange() {
+        list.addAll("b", "e");  // a, c, d, c, b, e
+        mockListObserver.clear();
+        list.remove(1, 5);      // removes c, d, c, b
+        assertEquals(Arrays.asList("a", "e"), sortedList);
+        assertEquals(1, sortedList.getViewIndex(1));
+        assertEquals(1, sortedList.getSourceIndex(1));
+        mockListObserver.check1AddRemove(sortedList, Arrays.asList("b", "c", "c", "d"), 1, 1);
+        compareIndices();
+    }
+
+    @Test
+    public void testAddAllInTheMiddle() {
+        list.addAll(2, Arrays.asList("e", "b", "c"));  // a, c, e, b, c, d, c
+        assertEquals(Arrays.asList("a", "b", "c", "c", "c", "d", "e"), sortedList);
+        assertEquals(6, sortedList.getViewIndex(2));
+        assertEquals(5, sortedList.getViewIndex(5));
+        compareIndices();
+    }
 }
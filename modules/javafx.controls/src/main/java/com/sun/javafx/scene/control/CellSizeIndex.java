@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.scene.control;
+
+import java.util.Arrays;
+
+/**
+ * A cache of cell sizes (height for vertical, width for horizontal flows)
+ * indexed by item index, backed by a Fenwick (binary indexed) tree.
+ *
+ * <p>Only some of the sizes are expected to be known. Unknown sizes are
+ * replaced by an estimate that is supplied by the caller of each query, so that
+ * the estimate can change without touching the tree. Prefix sums and the
+ * reverse lookup from an offset to an item index run in O(log n), and are
+ * exact for all cells whose size has been measured.</p>
+ *
+ * <p>Like the list it replaces, the index has a {@link #size() size}, which is
+ * one more than the highest index that has ever been set since the last
+ * {@link #clear() clear}. Indices at or beyond the size are treated as unknown.</p>
+ */
+public final class CellSizeIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** the raw sizes, NaN for unknown sizes */
+    private double[] sizes = new double[0];
+
+    /** Fenwick tree holding the sum of the known sizes of each node range */
+    private double[] sumTree = new double[1];
+
+    /** Fenwick tree holding the number of known sizes of each node range */
+    private int[] countTree = new int[1];
+
+    private int size;
+
+    public CellSizeIndex() {
+    }
+
+    /**
+     * Returns one more than the highest index that has been set, or 0.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all sizes from this index.
+     */
+    public void clear() {
+        sizes = new double[0];
+        sumTree = new double[1];
+        countTree = new int[1];
+        size = 0;
+    }
+
+    /**
+     * Returns the size stored at the given index, or -1 if the size at that
+     * index is not known.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) return -1;
+        double s = sizes[index];
+        return Double.isNaN(s) ? -1 : s;
+    }
+
+    /**
+     * Returns whether the size at the given index is known.
+     */
+    public boolean isKnown(int index) {
+        return index >= 0 && index < size && !Double.isNaN(sizes[index]);
+    }
+
+    /**
+     * Stores the size of the item at the given index, growing the index if
+     * needed. A size of NaN makes the size at that index unknown.
+     */
+    public void set(int index, double value) {
+        if (index < 0) throw new IndexOutOfBoundsException(index);
+        ensureCapacity(index + 1);
+        if (index >= size) size = index + 1;
+
+        double old = sizes[index];
+        sizes[index] = value;
+        if (Double.isNaN(old)) {
+            if (!Double.isNaN(value)) {
+                update(index + 1, value, 1);
+            }
+        } else if (Double.isNaN(value)) {
+            update(index + 1, -old, -1);
+        } else if (old != value) {
+            update(index + 1, value - old, 0);
+        }
+    }
+
+    /**
+     * Returns the number of known sizes in the range [0, count).
+     */
+    public int knownCount(int count) {
+        int n = Math.min(count, size);
+        int result = 0;
+        for (int i = n; i > 0; i -= i & -i) {
+            result += countTree[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sum of the known sizes in the range [0, count).
+     */
+    public double knownSum(int count) {
+        int n = Math.min(count, size);
+        double result = 0;
+        for (int i = n; i > 0; i -= i & -i) {
+            result += sumTree[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total size of the items in the range [0, count), using the
+     * given estimate for each item whose size is not known.
+     */
+    public double prefixSum(int count, double estimate) {
+        if (count <= 0) return 0d;
+        int n = Math.min(count, size);
+        double sum = 0;
+        int known = 0;
+        for (int i = n; i > 0; i -= i & -i) {
+            sum += sumTree[i];
+            known += countTree[i];
+        }
+        return sum + (count - known) * estimate;
+    }
+
+    /**
+     * Returns the index of the item that contains the given offset, that is
+     * the lowest index {@code i} for which {@code prefixSum(i + 1, estimate)}
+     * is greater than the offset. If no such index exists in the range
+     * [0, count), {@code count} is returned.
+     */
+    public int indexOf(double offset, int count, double estimate) {
+        if (count <= 0) return count;
+        int n = Math.min(count, size);
+
+        // walk down the tree over [0, n)
+        int pos = 0;
+        double remaining = offset;
+        for (int step = Integer.highestOneBit(Math.max(n, 1)); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= n) {
+                double length = sumTree[next] + (step - countTree[next]) * estimate;
+                if (length <= remaining) {
+                    pos = next;
+                    remaining -= length;
+                }
+            }
+        }
+        if (pos < n || n == count) {
+            return pos;
+        }
+
+        // the offset lies beyond the known part of the index, where all
+        // items have the estimated size
+        if (estimate <= 0) return count;
+        double skip = Math.floor(remaining / estimate);
+        return skip >= count - n ? count : n + (int) skip;
+    }
+
+    private void update(int node, double delta, int countDelta) {
+        for (int i = node; i < sumTree.length; i += i & -i) {
+            sumTree[i] += delta;
+            countTree[i] += countDelta;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= sizes.length) return;
+
+        int newCapacity = Math.max(INITIAL_CAPACITY, sizes.length);
+        while (newCapacity < capacity) {
+            newCapacity = newCapacity > (Integer.MAX_VALUE >> 1) ? Integer.MAX_VALUE - 8 : newCapacity << 1;
+        }
+        int oldCapacity = sizes.length;
+        sizes = Arrays.copyOf(sizes, newCapacity);
+        Arrays.fill(sizes, oldCapacity, newCapacity, Double.NaN);
+
+        // rebuild both trees in O(n)
+        sumTree = new double[newCapacity + 1];
+        countTree = new int[newCapacity + 1];
+        for (int i = 0; i < oldCapacity; i++) {
+            if (!Double.isNaN(sizes[i])) {
+                sumTree[i + 1] += sizes[i];
+                countTree[i + 1]++;
+            }
+        }
+        for (int i = 1; i <= newCapacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= newCapacity) {
+                sumTree[parent] += sumTree[i];
+                countTree[parent] += countTree[i];
+            }
+        }
+    }
+}
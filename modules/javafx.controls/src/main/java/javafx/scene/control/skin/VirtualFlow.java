@@ -26,6 +26,7 @@
 package javafx.scene.control.skin;
 
 import com.sun.javafx.scene.ParentHelper;
+import com.sun.javafx.scene.control.CellSizeIndex;
 import com.sun.javafx.scene.control.Logging;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.VirtualScrollBar;
@@ -58,6 +59,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Cell;
+import javafx.scene.control.IndexRange;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.input.MouseEvent;
@@ -73,6 +75,8 @@ import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 /**
  * Implementation of a virtualized container using a cell based mechanism. This
@@ -273,15 +277,16 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     double estimatedSize = -1d;
 
     /**
-     * A list containing the cached version of the calculated size (height for
+     * An index containing the cached version of the calculated size (height for
      * vertical, width for horizontal) for a (fictive or real) cell for
      * each element of the backing data.
-     * This list is used to calculate the estimatedSize.
-     * The list is not expected to be complete, but it is always up to date.
-     * When the size of the items in the backing list changes, this list is
+     * This index is used to calculate the estimatedSize, and to map between
+     * offsets and cell indices in O(log n).
+     * The index is not expected to be complete, but it is always up to date.
+     * When the size of the items in the backing list changes, this index is
      * cleared.
      */
-    private ArrayList<Double> itemSizeCache = new ArrayList<>();
+    private final CellSizeIndex itemSizeCache = new CellSizeIndex();
 
     // used for panning the virtual flow
     private double lastX;
@@ -306,6 +311,17 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     private boolean tempVisibility = false;
     private boolean suppressBreadthBar;
 
+    // used to predict the cells that will become visible next, see prefetchHandler
+    private static final double PREFETCH_LOOKAHEAD_MILLIS = 300;
+    private static final double PREFETCH_IDLE_MILLIS = 250;
+    private static final int PREFETCH_MAX_VIEWPORTS = 4;
+    private IndexRange prefetchRange;
+    private double prefetchLastOffset;
+    private long prefetchLastTime;
+    private double scrollVelocity; // pixels per millisecond
+    // time source in nanoseconds for the scroll velocity, replaced in tests
+    LongSupplier prefetchClock = System::nanoTime;
+
 
     /* *************************************************************************
      *                                                                         *
@@ -997,6 +1013,52 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
 
+    // --- Prefetch Handler
+    /**
+     * A handler that is notified of the range of cell indices that is expected
+     * to become visible next. The range is predicted from the direction and the
+     * velocity of scrolling, and is reported after a layout pass whenever it
+     * changes. The handler is called on the JavaFX Application Thread.
+     *
+     * <p>This allows a model to prepare the display data for the predicted
+     * cells ahead of time, for example by formatting the items on a worker
+     * thread, so that {@link IndexedCell#updateItem(Object, boolean) updateItem}
+     * has less work to do once the cells become visible. The prepared data
+     * must be handed back on the JavaFX Application Thread, preferably in
+     * batches that can be processed within a single pulse.
+     *
+     * <p>While a prefetch handler is set, recycled cells that already
+     * represent an index within the predicted range are kept on the pile in
+     * preference to other recycled cells, so that they can be reused without
+     * being updated.
+     *
+     * <p>The default value is {@code null}, in which case no prediction is
+     * made.
+     *
+     * @since 21
+     */
+    private ObjectProperty<Consumer<IndexRange>> prefetchHandler;
+    public final void setPrefetchHandler(Consumer<IndexRange> value) {
+        prefetchHandlerProperty().set(value);
+    }
+    public final Consumer<IndexRange> getPrefetchHandler() {
+        return prefetchHandler == null ? null : prefetchHandler.get();
+    }
+    public final ObjectProperty<Consumer<IndexRange>> prefetchHandlerProperty() {
+        if (prefetchHandler == null) {
+            prefetchHandler = new SimpleObjectProperty<>(this, "prefetchHandler") {
+                @Override protected void invalidated() {
+                    prefetchRange = null;
+                    prefetchLastOffset = absoluteOffset;
+                    prefetchLastTime = prefetchClock.getAsLong();
+                    scrollVelocity = 0;
+                }
+            };
+        }
+        return prefetchHandler;
+    }
+
+
 
     /* *************************************************************************
      *                                                                         *
@@ -1334,6 +1396,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         lastPosition = getPosition();
         recalculateEstimatedSize();
         cleanPile();
+        updatePrefetchRange();
     }
 
     /** {@inheritDoc} */
@@ -1378,7 +1441,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         }
 
         if (cell == null && !pile.isEmpty()) {
-            cell = pile.removeLast();
+            cell = removeFromPile();
         }
 
         if (cell == null) {
@@ -2804,6 +2867,24 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         pile.addLast(cell);
     }
 
+    /**
+     * Removes a cell from the pile, preferring cells that don't represent an
+     * index in the current prefetch range, so that those stay warm.
+     */
+    private T removeFromPile() {
+        if (prefetchRange != null) {
+            final int start = prefetchRange.getStart();
+            final int end = prefetchRange.getEnd();
+            for (int i = pile.size() - 1; i >= 0; i--) {
+                int index = getCellIndex(pile.get(i));
+                if (index < start || index >= end) {
+                    return pile.remove(i);
+                }
+            }
+        }
+        return pile.removeLast();
+    }
+
     private void cleanPile() {
         boolean wasFocusOwner = false;
 
@@ -2821,6 +2902,59 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         }
     }
 
+    /**
+     * Estimates the scroll velocity from the change of the absoluteOffset since
+     * the previous layout pass, and notifies the prefetch handler of the range
+     * of cells that is expected to become visible next.
+     */
+    private void updatePrefetchRange() {
+        final Consumer<IndexRange> handler = getPrefetchHandler();
+        if (handler == null) return;
+
+        final long now = prefetchClock.getAsLong();
+        final double elapsed = (now - prefetchLastTime) / 1_000_000d;
+        final double distance = absoluteOffset - prefetchLastOffset;
+        prefetchLastTime = now;
+        prefetchLastOffset = absoluteOffset;
+
+        if (distance == 0 && elapsed > PREFETCH_IDLE_MILLIS) {
+            scrollVelocity = 0;
+        } else {
+            double velocity = distance / com.sun.javafx.util.Utils.clamp(1, elapsed, PREFETCH_IDLE_MILLIS);
+            scrollVelocity = (scrollVelocity + velocity) / 2;
+        }
+
+        final int cellCount = getCellCount();
+        final T firstCell = getFirstVisibleCell();
+        final T lastCell = getLastVisibleCell();
+        if (cellCount <= 0 || firstCell == null || lastCell == null || Math.abs(scrollVelocity) < 0.01) {
+            return;
+        }
+
+        final double viewportLength = getViewportLength();
+        final double lookahead = com.sun.javafx.util.Utils.clamp(viewportLength,
+                Math.abs(scrollVelocity) * PREFETCH_LOOKAHEAD_MILLIS,
+                viewportLength * PREFETCH_MAX_VIEWPORTS);
+        final double estSize = Math.max(1, estimatedSize / cellCount);
+        final int count = (int) Math.ceil(lookahead / estSize);
+
+        int start, end;
+        if (scrollVelocity > 0) {
+            start = getCellIndex(lastCell) + 1;
+            end = (int) Math.min(cellCount, (long) start + count);
+        } else {
+            end = getCellIndex(firstCell);
+            start = Math.max(0, end - count);
+        }
+        if (start >= end) return;
+
+        IndexRange range = new IndexRange(start, end);
+        if (! range.equals(prefetchRange)) {
+            prefetchRange = range;
+            handler.accept(range);
+        }
+    }
+
     private boolean doesCellContainFocus(Cell<?> c) {
         Scene scene = c.getScene();
         final Node focusOwner = scene == null ? null : scene.getFocusOwner();
@@ -2892,20 +3026,16 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     private double computeViewportOffset(double position) {
         double p = com.sun.javafx.util.Utils.clamp(0, position, 1);
-        double bound = 0d;
-        double estSize = estimatedSize / getCellCount();
+        int cellCount = getCellCount();
+        double estSize = estimatedSize / cellCount;
         double maxOff = estimatedSize - getViewportLength();
         if ((maxOff > 0) && (absoluteOffset > maxOff)) {
             return maxOff - absoluteOffset;
         }
 
-        for (int i = 0; i < getCellCount(); i++) {
-            double h = getCellSize(i);
-            if (h < 0) h = estSize;
-            if (bound + h > absoluteOffset) {
-                return absoluteOffset - bound;
-            }
-            bound += h;
+        int index = itemSizeCache.indexOf(absoluteOffset, cellCount, estSize);
+        if (index < cellCount) {
+            return absoluteOffset - itemSizeCache.prefixSum(index, estSize);
         }
         return 0d;
     }
@@ -2918,13 +3048,8 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (cellCount <= 0) {
             setPosition(0.0f);
         } else {
-            double targetOffset = 0;
             double estSize = estimatedSize/cellCount;
-            for (int i = 0; i < index; i++) {
-                double cz = getCellSize(i);
-                if (cz < 0) cz = estSize;
-                targetOffset = targetOffset+ cz;
-            }
+            double targetOffset = itemSizeCache.prefixSum(index, estSize);
             this.absoluteOffset = (estimatedSize < viewportLength)  ? 0  : targetOffset;
             adjustPosition();
         }
@@ -2979,18 +3104,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private int computeCurrentIndex() {
-        double total = 0;
         int currentCellCount = getCellCount();
+        if (currentCellCount == 0) return 0;
         double estSize = estimatedSize / currentCellCount;
-        for (int i = 0; i < currentCellCount; i++) {
-            double nextSize = getCellSize(i);
-            if (nextSize < 0) nextSize = estSize;
-            total = total + nextSize;
-            if (total > absoluteOffset) {
-                return i;
-            }
-        }
-        return currentCellCount == 0 ? 0 : currentCellCount - 1;
+        int index = itemSizeCache.indexOf(absoluteOffset, currentCellCount, estSize);
+        return index < currentCellCount ? index : currentCellCount - 1;
     }
 
     /**
@@ -3023,20 +3141,13 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     private double getOrCreateCellSize (int idx, boolean create) {
         if (idx < 0) return -1;
         // is the current cache long enough to contain idx?
-        if (itemSizeCache.size() > idx) {
-            // is there a non-null value stored in the cache?
-            if (itemSizeCache.get(idx) != null) {
-                return itemSizeCache.get(idx);
-            }
+        // is there a value stored in the cache?
+        if (itemSizeCache.isKnown(idx)) {
+            return itemSizeCache.get(idx);
         }
         if (!create) return -1;
         boolean doRelease = false;
 
-        // Make sure we have enough space in the cache to store this index
-        while (idx >= itemSizeCache.size()) {
-            itemSizeCache.add(itemSizeCache.size(), null);
-        }
-
         double answer = 1d;
         if (getFixedCellSize() > 0) {
             answer = getFixedCellSize();
@@ -3084,10 +3195,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
 
         if (itemSizeCache.size() > cellIndex) {
-            Double oldSize = itemSizeCache.get(cellIndex);
+            boolean known = itemSizeCache.isKnown(cellIndex);
+            double oldSize = itemSizeCache.get(cellIndex);
             double newSize = isVertical() ? cell.getLayoutBounds().getHeight() : cell.getLayoutBounds().getWidth();
             itemSizeCache.set(cellIndex, newSize);
-            if ((cellIndex == currentIndex) && (oldSize != null) && (oldOffset != 0)) {
+            if ((cellIndex == currentIndex) && known && (oldOffset != 0)) {
                 oldOffset = oldOffset + newSize - oldSize;
             }
         }
@@ -3128,28 +3240,13 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
                 getOrCreateCellSize(itemSizeCache.size());
                 added++;
             }
-            cacheCount = itemSizeCache.size();
-            int cnt = 0;
-            double tot = 0d;
-            for (int i = 0; (i < itemCount && i < cacheCount); i++) {
-                Double il = itemSizeCache.get(i);
-                if (il != null) {
-                    tot = tot + il;
-                    cnt++;
-                }
-            }
+            int cnt = itemSizeCache.knownCount(itemCount);
+            double tot = itemSizeCache.knownSum(itemCount);
             this.estimatedSize = cnt == 0 ? 1d : tot * itemCount / cnt;
             double estSize = estimatedSize / itemCount;
 
             if (keepRatio) {
-                double newOffset = 0;
-                for (int i = 0; i < oldIndex; i++) {
-                    double h = getCellSize(i);
-                    if (h < 0) {
-                        h = estSize;
-                    }
-                    newOffset += h;
-                }
+                double newOffset = itemSizeCache.prefixSum(oldIndex, estSize);
                 this.absoluteOffset = newOffset + oldOffset;
                 adjustPosition();
             }
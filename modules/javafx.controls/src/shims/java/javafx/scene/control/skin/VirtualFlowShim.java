@@ -25,6 +25,7 @@
 package javafx.scene.control.skin;
 
 import java.util.List;
+import java.util.function.LongSupplier;
 
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
@@ -80,6 +81,10 @@ public class VirtualFlowShim<T extends IndexedCell> extends VirtualFlow<T> {
         return super.getVbar();
     }
 
+    public void setPrefetchClock(LongSupplier clock) {
+        prefetchClock = clock;
+    }
+
     public ClippedContainer get_clipView() {
         return super.clipView;
     }
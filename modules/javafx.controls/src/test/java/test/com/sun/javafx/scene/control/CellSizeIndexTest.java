@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.scene.control;
+
+import com.sun.javafx.scene.control.CellSizeIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CellSizeIndexTest {
+
+    private CellSizeIndex index;
+
+    @Before
+    public void setup() {
+        index = new CellSizeIndex();
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        assertEquals(0, index.size());
+        assertEquals(-1, index.get(0), 0);
+        assertFalse(index.isKnown(0));
+        assertEquals(0, index.knownCount(10));
+        assertEquals(50, index.prefixSum(10, 5), 0);
+        assertEquals(2, index.indexOf(12, 10, 5));
+        assertEquals(10, index.indexOf(50, 10, 5));
+    }
+
+    @Test
+    public void testSetGrowsSize() {
+        index.set(40, 20);
+        assertEquals(41, index.size());
+        assertEquals(20, index.get(40), 0);
+        assertFalse(index.isKnown(39));
+        assertEquals(1, index.knownCount(41));
+        assertEquals(0, index.knownCount(40));
+        assertEquals(20, index.knownSum(100), 0);
+    }
+
+    @Test
+    public void testReplaceSize() {
+        index.set(3, 20);
+        index.set(3, 30);
+        assertEquals(30, index.get(3), 0);
+        assertEquals(1, index.knownCount(4));
+        assertEquals(30, index.knownSum(4), 0);
+    }
+
+    @Test
+    public void testNaNSizeIsUnknown() {
+        index.set(3, Double.NaN);
+        assertEquals(4, index.size());
+        assertFalse(index.isKnown(3));
+        assertEquals(-1, index.get(3), 0);
+        assertEquals(0, index.knownCount(4));
+
+        index.set(1, 10);
+        index.set(3, 20);
+        index.set(3, Double.NaN);
+        assertFalse(index.isKnown(3));
+        assertEquals(1, index.knownCount(4));
+        assertEquals(10, index.knownSum(4), 0);
+        assertEquals(10 + 3 * 5, index.prefixSum(4, 5), 0);
+    }
+
+    @Test
+    public void testClear() {
+        index.set(3, 20);
+        index.clear();
+        assertEquals(0, index.size());
+        assertFalse(index.isKnown(3));
+        assertEquals(0, index.knownSum(4), 0);
+    }
+
+    @Test
+    public void testPrefixSumMixesKnownAndEstimatedSizes() {
+        index.set(0, 10);
+        index.set(2, 30);
+        // 10 + 5 + 30 + 5 + 5
+        assertEquals(55, index.prefixSum(5, 5), 0);
+        assertEquals(10, index.prefixSum(1, 5), 0);
+        assertEquals(0, index.prefixSum(0, 5), 0);
+    }
+
+    @Test
+    public void testIndexOfHonoursCellBoundaries() {
+        index.set(0, 10);
+        index.set(1, 20);
+        index.set(2, 30);
+        assertEquals(0, index.indexOf(0, 3, 1));
+        assertEquals(0, index.indexOf(9.99, 3, 1));
+        assertEquals(1, index.indexOf(10, 3, 1));
+        assertEquals(2, index.indexOf(30, 3, 1));
+        assertEquals(2, index.indexOf(59.99, 3, 1));
+        assertEquals(3, index.indexOf(60, 3, 1));
+    }
+
+    @Test
+    public void testIndexOfBeyondKnownSizes() {
+        index.set(0, 10);
+        index.set(1, 20);
+        assertEquals(2, index.indexOf(30, 100, 5));
+        assertEquals(3, index.indexOf(35, 100, 5));
+        assertEquals(99, index.indexOf(30 + 97 * 5 + 1, 100, 5));
+        assertEquals(100, index.indexOf(30 + 98 * 5, 100, 5));
+    }
+
+    @Test
+    public void testIndexOfWithZeroEstimate() {
+        index.set(0, 10);
+        assertEquals(100, index.indexOf(10, 100, 0));
+    }
+
+    @Test
+    public void testMatchesLinearScan() {
+        Random random = new Random(1234);
+        for (int run = 0; run < 50; run++) {
+            index.clear();
+            List<Double> reference = new ArrayList<>();
+            int count = 1 + random.nextInt(500);
+            for (int i = 0; i < 300; i++) {
+                int idx = random.nextInt(count + 20);
+                double value = 1 + random.nextInt(40);
+                index.set(idx, value);
+                while (reference.size() <= idx) reference.add(null);
+                reference.set(idx, value);
+            }
+            double estimate = 1 + random.nextInt(20);
+            assertEquals(reference.size(), index.size());
+
+            for (int q = 0; q < 100; q++) {
+                int n = random.nextInt(count + 1);
+                double sum = 0;
+                for (int i = 0; i < n; i++) {
+                    Double size = i < reference.size() ? reference.get(i) : null;
+                    sum += size == null ? estimate : size;
+                }
+                assertEquals(sum, index.prefixSum(n, estimate), 0);
+
+                double offset = Math.floor(random.nextDouble() * sum * 1.2);
+                int expected = count;
+                double bound = 0;
+                for (int i = 0; i < count; i++) {
+                    Double size = i < reference.size() ? reference.get(i) : null;
+                    double h = size == null ? estimate : size;
+                    if (bound + h > offset) {
+                        expected = i;
+                        break;
+                    }
+                    bound += h;
+                }
+                assertEquals(expected, index.indexOf(offset, count, estimate));
+            }
+        }
+    }
+
+    @Test
+    public void testLargeIndex() {
+        int count = 2_000_000;
+        for (int i = 0; i < count; i += 2) {
+            index.set(i, 10);
+        }
+        assertTrue(index.isKnown(count - 2));
+        assertEquals(count / 2, index.knownCount(count));
+        // known cells are 10, unknown cells are estimated at 30
+        assertEquals(20 * count, index.prefixSum(count, 30), 0);
+        assertEquals(count / 2, index.indexOf(10 * count, count, 30));
+    }
+}
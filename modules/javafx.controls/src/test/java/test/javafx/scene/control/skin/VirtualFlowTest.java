@@ -26,6 +26,7 @@
 package test.javafx.scene.control.skin;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -38,6 +39,7 @@ import java.util.LinkedList;
 
 import javafx.beans.InvalidationListener;
 import javafx.event.Event;
+import javafx.scene.control.IndexRange;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -1491,6 +1493,89 @@ assertEquals(0, firstCell.getIndex());
         assertEquals(3, firstCell.getIndex());
         assertEquals(-10, firstCell.getLayoutY(),1);
     }
+
+    // the prefetch handler derives the scroll velocity from this clock,
+    // each pulse in the prefetch tests advances it by 100 milliseconds
+    private long prefetchNanos;
+
+    // cells reported per viewport of look ahead, the 300 pixel viewport
+    // divided by the average cell length of 25.75 pixels, rounded up
+    private static final int RANGE_LENGTH = 12;
+
+    private List<IndexRange> installPrefetchHandler() {
+        List<IndexRange> ranges = new ArrayList<>();
+        flow.setPrefetchClock(() -> prefetchNanos);
+        flow.setPrefetchHandler(ranges::add);
+        return ranges;
+    }
+
+    private void prefetchPulse() {
+        prefetchNanos += 100_000_000L;
+        pulse();
+    }
+
+    @Test public void testPrefetchHandlerNotCalledWithoutScrolling() {
+        List<IndexRange> ranges = installPrefetchHandler();
+        flow.requestLayout();
+        prefetchPulse();
+        assertEquals(List.of(), ranges);
+    }
+
+    @Test public void testPrefetchRangeWhenScrollingDown() {
+        List<IndexRange> ranges = installPrefetchHandler();
+        flow.scrollPixels(50);
+        prefetchPulse();
+
+        // 0.25 pixels per millisecond look ahead less than the viewport,
+        // so the next viewport of 25 pixel cells is reported
+        int start = flow.getLastVisibleCell().getIndex() + 1;
+        assertEquals(14, start);
+        assertEquals(List.of(new IndexRange(start, start + RANGE_LENGTH)), ranges);
+    }
+
+    @Test public void testPrefetchRangeWhenScrollingUp() {
+        flow.scrollTo(80);
+        pulse();
+
+        List<IndexRange> ranges = installPrefetchHandler();
+        flow.scrollPixels(-50);
+        prefetchPulse();
+
+        int end = flow.getFirstVisibleCell().getIndex();
+        assertEquals(78, end);
+        assertEquals(List.of(new IndexRange(end - RANGE_LENGTH, end)), ranges);
+    }
+
+    @Test public void testPrefetchRangeGrowsWithScrollVelocity() {
+        List<IndexRange> ranges = installPrefetchHandler();
+        flow.scrollPixels(600);
+        prefetchPulse();
+
+        // 3 pixels per millisecond look ahead 900 pixels, that is 3 viewports
+        int start = flow.getLastVisibleCell().getIndex() + 1;
+        assertEquals(List.of(new IndexRange(start, start + 3 * RANGE_LENGTH)), ranges);
+    }
+
+    @Test public void testPrefetchRangeIsNotReportedTwice() {
+        List<IndexRange> ranges = installPrefetchHandler();
+        flow.scrollPixels(5);
+        prefetchPulse();
+        flow.requestLayout();
+        prefetchPulse();
+
+        // the second pulse halves the velocity, which still looks ahead one
+        // viewport from the same cell, so the range is unchanged
+        int start = flow.getLastVisibleCell().getIndex() + 1;
+        assertEquals(List.of(new IndexRange(start, start + RANGE_LENGTH)), ranges);
+    }
+
+    @Test public void testRemovingPrefetchHandlerStopsNotifications() {
+        List<IndexRange> ranges = installPrefetchHandler();
+        flow.setPrefetchHandler(null);
+        flow.scrollPixels(50);
+        prefetchPulse();
+        assertEquals(List.of(), ranges);
+    }
 }
 
 class GraphicalCellStub extends IndexedCellShim<Node> {
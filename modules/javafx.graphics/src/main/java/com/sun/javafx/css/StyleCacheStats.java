@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.util.PlatformMBeans;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss and eviction counters and size limits for the style caches kept
+ * by {@link StyleManager}. The limits are read from system properties when
+ * this class is initialized and can be changed at runtime through the
+ * {@link StyleCacheStatsMBean} interface, under which {@link PlatformMBeans}
+ * registers the bean.
+ */
+public final class StyleCacheStats implements StyleCacheStatsMBean {
+
+    public static StyleCacheStats getDefaultBean() {
+        return StyleCacheStatsHolder.holder;
+    }
+    private static class StyleCacheStatsHolder {
+        private static final StyleCacheStats holder = new StyleCacheStats();
+        static {
+            PlatformMBeans.register("StyleCacheStats", holder);
+        }
+    }
+
+    /**
+     * The caches accounted for by this class.
+     */
+    enum Kind {
+        SHARED_STYLE("javafx.css.sharedStyleCacheLimit", 10_000),
+        SELECTOR("javafx.css.selectorCacheLimit", 5_000),
+        INLINE_STYLE("javafx.css.inlineStyleCacheLimit", 2_000),
+        STYLE_MAP("javafx.css.styleMapLimit", 50_000);
+
+        private final String property;
+        private final int defaultLimit;
+
+        Kind(String property, int defaultLimit) {
+            this.property = property;
+            this.defaultLimit = defaultLimit;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final LongAdder[] hits = new LongAdder[KINDS.length];
+    private final LongAdder[] misses = new LongAdder[KINDS.length];
+    private final LongAdder[] evictions = new LongAdder[KINDS.length];
+    private final AtomicIntegerArray limits = new AtomicIntegerArray(KINDS.length);
+
+    private StyleCacheStats() {
+        for (Kind kind : KINDS) {
+            hits[kind.ordinal()] = new LongAdder();
+            misses[kind.ordinal()] = new LongAdder();
+            evictions[kind.ordinal()] = new LongAdder();
+            @SuppressWarnings("removal")
+            int limit = AccessController.doPrivileged(
+                    (PrivilegedAction<Integer>) () -> Integer.getInteger(kind.property, kind.defaultLimit));
+            limits.set(kind.ordinal(), limit);
+        }
+    }
+
+    void hit(Kind kind) {
+        hits[kind.ordinal()].increment();
+    }
+
+    void miss(Kind kind) {
+        misses[kind.ordinal()].increment();
+    }
+
+    void evicted(Kind kind, int count) {
+        evictions[kind.ordinal()].add(count);
+    }
+
+    int getLimit(Kind kind) {
+        return limits.get(kind.ordinal());
+    }
+
+    private void setLimit(Kind kind, int limit) {
+        limits.set(kind.ordinal(), limit);
+    }
+
+    private long getSize(Kind kind) {
+        return StyleManager.getInstance().getCacheSizes()[kind.ordinal()];
+    }
+
+    @Override public int getContainerCount() {
+        return StyleManager.getInstance().getCacheContainerCount();
+    }
+
+    @Override public long getSharedStyleCacheSize() { return getSize(Kind.SHARED_STYLE); }
+    @Override public long getSharedStyleCacheHits() { return hits[Kind.SHARED_STYLE.ordinal()].sum(); }
+    @Override public long getSharedStyleCacheMisses() { return misses[Kind.SHARED_STYLE.ordinal()].sum(); }
+    @Override public long getSharedStyleCacheEvictions() { return evictions[Kind.SHARED_STYLE.ordinal()].sum(); }
+    @Override public int getSharedStyleCacheLimit() { return getLimit(Kind.SHARED_STYLE); }
+    @Override public void setSharedStyleCacheLimit(int limit) { setLimit(Kind.SHARED_STYLE, limit); }
+
+    @Override public long getSelectorCacheSize() { return getSize(Kind.SELECTOR); }
+    @Override public long getSelectorCacheHits() { return hits[Kind.SELECTOR.ordinal()].sum(); }
+    @Override public long getSelectorCacheMisses() { return misses[Kind.SELECTOR.ordinal()].sum(); }
+    @Override public long getSelectorCacheEvictions() { return evictions[Kind.SELECTOR.ordinal()].sum(); }
+    @Override public int getSelectorCacheLimit() { return getLimit(Kind.SELECTOR); }
+    @Override public void setSelectorCacheLimit(int limit) { setLimit(Kind.SELECTOR, limit); }
+
+    @Override public long getInlineStyleCacheSize() { return getSize(Kind.INLINE_STYLE); }
+    @Override public long getInlineStyleCacheHits() { return hits[Kind.INLINE_STYLE.ordinal()].sum(); }
+    @Override public long getInlineStyleCacheMisses() { return misses[Kind.INLINE_STYLE.ordinal()].sum(); }
+    @Override public long getInlineStyleCacheEvictions() { return evictions[Kind.INLINE_STYLE.ordinal()].sum(); }
+    @Override public int getInlineStyleCacheLimit() { return getLimit(Kind.INLINE_STYLE); }
+    @Override public void setInlineStyleCacheLimit(int limit) { setLimit(Kind.INLINE_STYLE, limit); }
+
+    @Override public long getStyleMapCount() { return getSize(Kind.STYLE_MAP); }
+    @Override public long getStyleMapHits() { return hits[Kind.STYLE_MAP.ordinal()].sum(); }
+    @Override public long getStyleMapMisses() { return misses[Kind.STYLE_MAP.ordinal()].sum(); }
+    @Override public long getStyleMapResets() { return evictions[Kind.STYLE_MAP.ordinal()].sum(); }
+    @Override public int getStyleMapLimit() { return getLimit(Kind.STYLE_MAP); }
+    @Override public void setStyleMapLimit(int limit) { setLimit(Kind.STYLE_MAP, limit); }
+
+    @Override public void resetCounters() {
+        for (Kind kind : KINDS) {
+            hits[kind.ordinal()].reset();
+            misses[kind.ordinal()].reset();
+            evictions[kind.ordinal()].reset();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+/**
+ * Management interface for the style caches kept by {@link StyleManager}.
+ * Sizes are the current number of entries summed over all cache containers,
+ * counters are totals since the last {@link #resetCounters()}. A limit of
+ * zero or less means the cache is unbounded.
+ */
+public interface StyleCacheStatsMBean {
+
+    public int getContainerCount();
+
+    // StyleCache.Key to StyleCache, per container
+
+    public long getSharedStyleCacheSize();
+
+    public long getSharedStyleCacheHits();
+
+    public long getSharedStyleCacheMisses();
+
+    public long getSharedStyleCacheEvictions();
+
+    public int getSharedStyleCacheLimit();
+
+    public void setSharedStyleCacheLimit(int limit);
+
+    // matched selectors for a node's type, id and style-classes, per container and set of parent stylesheets
+
+    public long getSelectorCacheSize();
+
+    public long getSelectorCacheHits();
+
+    public long getSelectorCacheMisses();
+
+    public long getSelectorCacheEvictions();
+
+    public int getSelectorCacheLimit();
+
+    public void setSelectorCacheLimit(int limit);
+
+    // parsed Node.style strings, per container
+
+    public long getInlineStyleCacheSize();
+
+    public long getInlineStyleCacheHits();
+
+    public long getInlineStyleCacheMisses();
+
+    public long getInlineStyleCacheEvictions();
+
+    public int getInlineStyleCacheLimit();
+
+    public void setInlineStyleCacheLimit(int limit);
+
+    // StyleMaps, per container. Style maps are not evicted one by one;
+    // a container that exceeds the limit is reset as a whole.
+
+    public long getStyleMapCount();
+
+    public long getStyleMapHits();
+
+    public long getStyleMapMisses();
+
+    public long getStyleMapResets();
+
+    public int getStyleMapLimit();
+
+    public void setStyleMapLimit(int limit);
+
+    public void resetCounters();
+}
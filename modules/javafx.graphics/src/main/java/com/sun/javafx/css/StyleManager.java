@@ -27,6 +27,7 @@ package com.sun.javafx.css;
 
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.scene.ParentHelper;
+import com.sun.javafx.tk.Toolkit;
 import com.sun.javafx.util.DataURI;
 import javafx.application.Application;
 import javafx.collections.FXCollections;
@@ -84,6 +85,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -202,7 +204,7 @@ final public class StyleManager {
         synchronized (styleLock) {
             CacheContainer container = cacheContainerMap.get(root);
             if (container == null) {
-                container = new CacheContainer();
+                container = new CacheContainer(root);
                 cacheContainerMap.put(root, container);
             }
 
@@ -219,16 +221,21 @@ final public class StyleManager {
         CacheContainer container = getCacheContainer(styleable, subScene);
         if (container == null) return null;
 
-        Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
-        if (styleCache == null) return null;
+        synchronized (styleLock) {
+            Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
+            if (styleCache == null) return null;
+
+            StyleCache sharedCache = styleCache.get(key);
+            if (sharedCache == null) {
+                cacheStats.miss(StyleCacheStats.Kind.SHARED_STYLE);
+                sharedCache = new StyleCache();
+                styleCache.put(new StyleCache.Key(key), sharedCache);
+            } else {
+                cacheStats.hit(StyleCacheStats.Kind.SHARED_STYLE);
+            }
 
-        StyleCache sharedCache = styleCache.get(key);
-        if (sharedCache == null) {
-            sharedCache = new StyleCache();
-            styleCache.put(new StyleCache.Key(key), sharedCache);
+            return sharedCache;
         }
-
-        return sharedCache;
     }
 
     public StyleMap getStyleMap(Styleable styleable, SubScene subScene, int smapId) {
@@ -241,6 +248,26 @@ final public class StyleManager {
         return container.getStyleMap(smapId);
     }
 
+    private static final StyleCacheStats cacheStats = StyleCacheStats.getDefaultBean();
+
+    // package for StyleCacheStats
+    int getCacheContainerCount() {
+        synchronized (styleLock) {
+            return cacheContainerMap.size();
+        }
+    }
+
+    // package for StyleCacheStats, indexed by StyleCacheStats.Kind
+    long[] getCacheSizes() {
+        final long[] sizes = new long[StyleCacheStats.Kind.values().length];
+        synchronized (styleLock) {
+            for (CacheContainer container : cacheContainerMap.values()) {
+                container.addCacheSizes(sizes);
+            }
+        }
+        return sizes;
+    }
+
     /**
      * A list of user-agent stylesheets from Scene or SubScene.
      * The order of the entries in this list does not matter since a Scene or
@@ -1070,6 +1097,19 @@ final public class StyleManager {
     }
 
 
+    /*
+     * Parses the stylesheet at the given url, through the stylesheet cache if
+     * it is enabled. The cache is bypassed while parse errors are collected,
+     * since a stylesheet loaded from the cache would not report them.
+     */
+    private static Stylesheet parseStylesheet(final java.net.URL url) throws IOException {
+        final StylesheetCache cache = StylesheetCache.getDefault();
+        if (cache == null || errors != null) {
+            return new CssParser().parse(url);
+        }
+        return cache.load(url);
+    }
+
     private static Stylesheet loadStylesheetUnPrivileged(final String fname) {
 
         synchronized (styleLock) {
@@ -1121,7 +1161,7 @@ final public class StyleManager {
                     DataURI dataUri = null;
 
                     if (url != null) {
-                        stylesheet = new CssParser().parse(url);
+                        stylesheet = parseStylesheet(url);
                     } else {
                         dataUri = DataURI.tryParse(fname);
                     }
@@ -1560,23 +1600,36 @@ final public class StyleManager {
         List<Parent> parents = new ArrayList<>();
 
         synchronized (styleLock) {
-            for (CacheContainer container : cacheContainerMap.values()) {
-                container.clearCache();
-            }
-
-            StyleConverter.clearCache();
-
-            for (Parent root : cacheContainerMap.keySet()) {
-                if (root == null) {
+            for (Entry<Parent,CacheContainer> entry : cacheContainerMap.entrySet()) {
+                final Parent root = entry.getKey();
+                // a scene or sub-scene with its own user-agent stylesheet does not
+                // use the platform user-agent stylesheets, so its cache is still good
+                if (root == null || hasUserAgentStylesheet(root)) {
                     continue;
                 }
+                entry.getValue().clearCache();
                 parents.add(root);
             }
+
+            StyleConverter.clearCache();
         }
 
         for (Parent root : parents) NodeHelper.reapplyCSS(root);
     }
 
+    private static boolean hasUserAgentStylesheet(Parent root) {
+        final SubScene subScene = NodeHelper.getSubScene(root);
+        if (subScene != null && subScene.getRoot() == root && isSet(subScene.getUserAgentStylesheet())) {
+            return true;
+        }
+        final Scene scene = root.getScene();
+        return scene != null && isSet(scene.getUserAgentStylesheet());
+    }
+
+    private static boolean isSet(String stylesheet) {
+        return stylesheet != null && !stylesheet.trim().isEmpty();
+    }
+
     private List<StylesheetContainer> processStylesheets(List<String> stylesheets, Parent parent) {
 
         synchronized (styleLock) {
@@ -1696,6 +1749,23 @@ final public class StyleManager {
             return StyleMap.EMPTY_MAP;
         }
 
+        synchronized (styleLock) {
+            // A container over its style map budget is reset when its root is
+            // matched since all of the nodes below the root are matched again.
+            if (cacheContainer.resetPending) {
+                if (cacheContainer.isRoot(node)) {
+                    cacheContainer.resetStyleMaps();
+                } else if (!cacheContainer.resetScheduled) {
+                    cacheContainer.scheduleReset();
+                }
+            }
+            return findMatchingStyles(node, subScene, scene, cacheContainer, triggerStates);
+        }
+    }
+
+    private StyleMap findMatchingStyles(Node node, SubScene subScene, Scene scene,
+            CacheContainer cacheContainer, Set<PseudoClass>[] triggerStates) {
+
         synchronized (styleLock) {
             final Parent parent =
                 (node instanceof Parent)
@@ -1780,10 +1850,12 @@ final public class StyleManager {
             Cache cache = cacheMap.get(key);
 
             if (cache != null) {
+                cacheStats.hit(StyleCacheStats.Kind.SELECTOR);
                 // key will be reused, so clear the styleClasses for next use
                 key.styleClasses.clear();
 
             } else {
+                cacheStats.miss(StyleCacheStats.Kind.SELECTOR);
 
                 // If the cache is null, then we need to create a new Cache and
                 // add it to the cache map
@@ -1963,8 +2035,13 @@ final public class StyleManager {
     // package for testing
     static class CacheContainer {
 
+        CacheContainer(Parent root) {
+            this.root = new WeakReference<>(root);
+            this.styleMapLimit = cacheStats.getLimit(StyleCacheStats.Kind.STYLE_MAP);
+        }
+
         private Map<StyleCache.Key,StyleCache> getStyleCache() {
-            if (styleCache == null) styleCache = new HashMap<>();
+            if (styleCache == null) styleCache = new LruMap<>(StyleCacheStats.Kind.SHARED_STYLE);
             return styleCache;
         }
 
@@ -1980,7 +2057,7 @@ final public class StyleManager {
 
                     Map<Key,Cache> cmap = cacheMap.get(null);
                     if (cmap == null) {
-                        cmap = new HashMap<>();
+                        cmap = new LruMap<>(StyleCacheStats.Kind.SELECTOR);
                         cacheMap.put(null, cmap);
                     }
                     return cmap;
@@ -2001,7 +2078,7 @@ final public class StyleManager {
                     }
                     Map<Key,Cache> cmap = cacheMap.get(cacheMapKey);
                     if (cmap == null) {
-                        cmap = new HashMap<>();
+                        cmap = new LruMap<>(StyleCacheStats.Kind.SELECTOR);
                         cacheMap.put(cacheMapKey, cmap);
                         // create a new cacheMapKey the next time this method is called
                         cacheMapKey = null;
@@ -2028,6 +2105,55 @@ final public class StyleManager {
 
         private void addStyleMap(StyleMap smap) {
             getStyleMapList().add(smap);
+            if (styleMapLimit > 0 && styleMapList.size() > styleMapLimit) {
+                resetPending = true;
+            }
+        }
+
+        private boolean isRoot(Node node) {
+            return node == root.get();
+        }
+
+        /*
+         * Style maps are referenced by id from the nodes' style helpers, so they
+         * can't be evicted one at a time. Instead, the root is asked to reapply
+         * css and the whole container is cleared when the root is matched again.
+         */
+        private void scheduleReset() {
+            resetScheduled = true;
+            final Reference<Parent> rootRef = root;
+            Toolkit.getToolkit().defer(() -> {
+                final Parent parent = rootRef.get();
+                if (parent != null) {
+                    NodeHelper.reapplyCSS(parent);
+                }
+            });
+        }
+
+        private void resetStyleMaps() {
+            cacheStats.evicted(StyleCacheStats.Kind.STYLE_MAP, 1);
+            clearCache();
+            // if the style maps in use by the scene don't fit the budget, don't
+            // reset the container over and over again
+            styleMapLimit = Math.max(cacheStats.getLimit(StyleCacheStats.Kind.STYLE_MAP),
+                    styleMapLimit > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : styleMapLimit * 2);
+        }
+
+        private void addCacheSizes(long[] sizes) {
+            if (styleCache != null) {
+                sizes[StyleCacheStats.Kind.SHARED_STYLE.ordinal()] += styleCache.size();
+            }
+            if (cacheMap != null) {
+                for (Map<Key,Cache> cmap : cacheMap.values()) {
+                    sizes[StyleCacheStats.Kind.SELECTOR.ordinal()] += cmap.size();
+                }
+            }
+            if (inlineStylesCache != null) {
+                sizes[StyleCacheStats.Kind.INLINE_STYLE.ordinal()] += inlineStylesCache.size();
+            }
+            if (styleMapList != null) {
+                sizes[StyleCacheStats.Kind.STYLE_MAP.ordinal()] += styleMapList.size();
+            }
         }
 
         public StyleMap getStyleMap(int smapId) {
@@ -2046,6 +2172,7 @@ final public class StyleManager {
             if (cacheMap != null) cacheMap.clear();
             if (styleCache != null) styleCache.clear();
             if (styleMapList != null) styleMapList.clear();
+            resetPending = resetScheduled = false;
 
             baseStyleMapId = styleMapId;
             // 7/8ths is totally arbitrary
@@ -2063,16 +2190,18 @@ final public class StyleManager {
             if ((inlineStyle == null) || inlineStyle.trim().isEmpty()) return null;
 
             if (inlineStylesCache != null && inlineStylesCache.containsKey(inlineStyle)) {
+                cacheStats.hit(StyleCacheStats.Kind.INLINE_STYLE);
                 // Value of Map entry may be null!
                 return inlineStylesCache.get(inlineStyle);
             }
+            cacheStats.miss(StyleCacheStats.Kind.INLINE_STYLE);
 
             //
             // inlineStyle wasn't in the inlineStylesCache, or inlineStylesCache was null
             //
 
             if (inlineStylesCache == null) {
-                inlineStylesCache = new HashMap<>();
+                inlineStylesCache = new LruMap<>(StyleCacheStats.Kind.INLINE_STYLE);
             }
 
             final Stylesheet inlineStylesheet =
@@ -2132,6 +2261,50 @@ final public class StyleManager {
         // cache and is no longer valid.
         private int baseStyleMapId = 0;
 
+        // The root of the scene or sub-scene this container belongs to
+        private final Reference<Parent> root;
+
+        // The number of style maps after which this container is reset
+        private int styleMapLimit;
+
+        // Set when the style maps exceed styleMapLimit
+        private boolean resetPending;
+
+        // Set when the root has been asked to reapply css for a pending reset
+        private boolean resetScheduled;
+
+    }
+
+    /*
+     * An access ordered map that drops its least recently used entries when it
+     * grows beyond the limit that StyleCacheStats has for its kind of cache.
+     */
+    private static final class LruMap<K,V> extends LinkedHashMap<K,V> {
+
+        private final StyleCacheStats.Kind kind;
+
+        LruMap(StyleCacheStats.Kind kind) {
+            super(16, 0.75f, true);
+            this.kind = kind;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
+            final int limit = cacheStats.getLimit(kind);
+            if (limit <= 0 || size() <= limit) {
+                return false;
+            }
+            // the limit may have been lowered, so trim down to it rather than removing just the eldest
+            int evicted = 0;
+            Iterator<K> iterator = keySet().iterator();
+            while (size() > limit && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evicted += 1;
+            }
+            cacheStats.evicted(kind, evicted);
+            return false;
+        }
     }
 
     /**
@@ -2255,6 +2428,7 @@ final public class StyleManager {
             final Key keyObj = new Key(key, inlineStyle);
 
             if (cache.containsKey(keyObj)) {
+                cacheStats.hit(StyleCacheStats.Kind.STYLE_MAP);
                 Integer styleMapId = cache.get(keyObj);
                 final StyleMap styleMap = styleMapId != null
                         ? cacheContainer.getStyleMap(styleMapId.intValue())
@@ -2286,6 +2460,7 @@ final public class StyleManager {
                 }
             }
 
+            cacheStats.miss(StyleCacheStats.Kind.STYLE_MAP);
             int id = cacheContainer.nextSmapId();
             cache.put(keyObj, Integer.valueOf(id));
 
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.logging.PlatformLogger;
+import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.runtime.VersionInfo;
+import com.sun.javafx.util.Logging;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.css.CssParser;
+import javafx.css.Stylesheet;
+
+/**
+ * A directory of compiled (binary) stylesheets, so that a stylesheet that has
+ * not changed since it was last loaded does not need to be parsed again.
+ * <p>
+ * An entry is keyed by the URL of the stylesheet, the JavaFX runtime version
+ * and the binary CSS format version, and records a digest of the CSS text it
+ * was compiled from. The rules of the stylesheets pulled in by {@code @import}
+ * are part of the compiled stylesheet, so the entry also records the URL and
+ * the digest of each of them. Loading a stylesheet always reads its text and
+ * the text of its imports; if all the digests match the entry, the binary
+ * form is read from the cache, otherwise the text is parsed and the entry is
+ * replaced.
+ * <p>
+ * The default cache is enabled by setting the system property
+ * {@code javafx.css.cacheDir} to the directory to use. Failing to read or
+ * write the cache is not an error, the stylesheet is parsed instead.
+ */
+public final class StylesheetCache {
+
+    private static final int MAGIC = 0x4A464332; // "JFC2"
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /* The URLs imported by the stylesheets being parsed on this thread, innermost first */
+    private static final ThreadLocal<ArrayDeque<Set<String>>> imports =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static StylesheetCache defaultCache;
+    private static boolean defaultCacheInitialized;
+
+    private final Path directory;
+    private final String version;
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * Creates a cache that stores its entries in the given directory, which is
+     * created when the first entry is written.
+     *
+     * @param directory the cache directory
+     * @param version the runtime version that entries are valid for
+     */
+    public StylesheetCache(Path directory, String version) {
+        this.directory = directory;
+        this.version = version + "-" + StylesheetHelper.getBinaryVersion();
+    }
+
+    /**
+     * Returns the cache in the directory given by the system property
+     * {@code javafx.css.cacheDir}, or {@code null} if the property is not set.
+     */
+    public static synchronized StylesheetCache getDefault() {
+        if (!defaultCacheInitialized) {
+            defaultCacheInitialized = true;
+            @SuppressWarnings("removal")
+            String dir = AccessController.doPrivileged(
+                    (PrivilegedAction<String>) () -> System.getProperty("javafx.css.cacheDir"));
+            if (dir != null && !dir.isEmpty()) {
+                defaultCache = new StylesheetCache(Paths.get(dir), VersionInfo.getRuntimeVersion());
+            }
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Loads the stylesheet at the given URL, from the cache if its text has
+     * not changed since it was cached, or by parsing it otherwise.
+     *
+     * @param url the URL of the CSS text
+     * @return the stylesheet
+     * @throws IOException if the stylesheet text cannot be read
+     */
+    public Stylesheet load(URL url) throws IOException {
+        final byte[] text;
+        try (InputStream stream = url.openStream()) {
+            text = stream.readAllBytes();
+        }
+
+        final String path = url.toExternalForm();
+        final byte[] digest = digest(text);
+        final Path entry = directory.resolve(entryName(path));
+
+        final List<String> cachedImports = new ArrayList<>();
+        Stylesheet stylesheet = read(entry, digest, path, cachedImports);
+        if (stylesheet != null) {
+            hitCount++;
+            addImports(cachedImports);
+            return stylesheet;
+        }
+
+        missCount++;
+        final ArrayDeque<Set<String>> stack = imports.get();
+        final Set<String> urls = new LinkedHashSet<>();
+        stack.push(urls);
+        try {
+            stylesheet = new CssParser().parse(path, new String(text, StandardCharsets.UTF_8));
+        } finally {
+            stack.pop();
+        }
+        addImports(urls);
+        write(entry, digest, urls, stylesheet);
+        return stylesheet;
+    }
+
+    /**
+     * Records that the stylesheet being parsed on this thread imports the
+     * stylesheet at the given URL, so that its cache entry can be checked
+     * against the imported text. Called by the parser for each {@code @import}.
+     *
+     * @param url the URL of the imported stylesheet
+     */
+    public static void recordImport(String url) {
+        final Set<String> urls = imports.get().peek();
+        if (urls != null && url != null && !url.startsWith("data:")) {
+            urls.add(url);
+        }
+    }
+
+    // the imports of a nested stylesheet are imports of the enclosing one too
+    private static void addImports(Collection<String> urls) {
+        final Set<String> enclosing = imports.get().peek();
+        if (enclosing != null) {
+            enclosing.addAll(urls);
+        }
+    }
+
+    /**
+     * Returns the number of stylesheets that were read from the cache.
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of stylesheets that had to be parsed.
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+
+    private String entryName(String path) {
+        byte[] key = digest((version + '\n' + path).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(key) + ".bss";
+    }
+
+    private Stylesheet read(Path entry, byte[] digest, String path, List<String> urls) {
+        try {
+            if (!Files.isRegularFile(entry)) {
+                return null;
+            }
+            try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+                if (stream.readInt() != MAGIC) {
+                    return null;
+                }
+                byte[] storedDigest = new byte[stream.readUnsignedShort()];
+                stream.readFully(storedDigest);
+                if (!Arrays.equals(storedDigest, digest)) {
+                    return null;
+                }
+                int count = stream.readInt();
+                for (int i = 0; i < count; i++) {
+                    String url = stream.readUTF();
+                    byte[] importDigest = new byte[stream.readUnsignedShort()];
+                    stream.readFully(importDigest);
+                    if (!Arrays.equals(importDigest, digestOf(url))) {
+                        return null;
+                    }
+                    urls.add(url);
+                }
+                return StylesheetHelper.loadBinary(stream, path);
+            }
+        } catch (IOException | RuntimeException e) {
+            // a corrupt or unreadable entry is replaced
+            log("Could not read cached stylesheet " + entry + " for " + path, e);
+            return null;
+        }
+    }
+
+    private void write(Path entry, byte[] digest, Set<String> urls, Stylesheet stylesheet) {
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            // write to a temporary file first, so that other processes never see a partial entry
+            temp = Files.createTempFile(directory, "css", ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp));
+                 DataOutputStream stream = new DataOutputStream(out)) {
+                stream.writeInt(MAGIC);
+                stream.writeShort(digest.length);
+                stream.write(digest);
+                stream.writeInt(urls.size());
+                for (String url : urls) {
+                    byte[] importDigest = digestOf(url);
+                    stream.writeUTF(url);
+                    stream.writeShort(importDigest.length);
+                    stream.write(importDigest);
+                }
+                StylesheetHelper.writeBinary(stylesheet, stream);
+            }
+            try {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException | RuntimeException e) {
+            log("Could not cache stylesheet " + stylesheet.getUrl() + " in " + directory, e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException | RuntimeException ignored) {
+                }
+            }
+        }
+    }
+
+    // an empty digest for a stylesheet that cannot be read
+    private static byte[] digestOf(String url) {
+        try (InputStream stream = new URL(url).openStream()) {
+            return digest(stream.readAllBytes());
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e); // every Java platform supports SHA-256
+        }
+    }
+
+    private static void log(String message, Throwable cause) {
+        PlatformLogger logger = Logging.getCSSLogger();
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(message + ": " + cause);
+        }
+    }
+}
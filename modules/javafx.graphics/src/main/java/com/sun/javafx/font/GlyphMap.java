@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.font;
+
+/**
+ * A bounded map from glyph codes to the data cached for the glyphs of a font
+ * or a strike. The glyph codes are the keys of an open addressing table, so
+ * a lookup neither boxes the code nor follows entry nodes. The data of a
+ * glyph is held in dense arrays, as an object and as a fixed number of ints.
+ * <p>
+ * The table grows up to a maximum capacity. Once that is reached, adding a
+ * glyph evicts one of the glyphs stored near its hash position. Entries are
+ * only ever replaced, never removed, so a lookup can stop at the first
+ * empty slot. Like the maps it replaces, the map is not synchronized.
+ */
+public final class GlyphMap<V> {
+
+    /* Slots looked at for a glyph, starting at its hash position */
+    private static final int PROBES = 8;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int intsPerGlyph;
+    private final int maxCapacity;
+
+    /* Glyph code + 1 of each slot, 0 for an empty slot */
+    private int[] keys;
+    private Object[] values;
+    private int[] ints;
+    private int shift;
+    private int size;
+    private int evictions;
+
+    /**
+     * Creates a map.
+     *
+     * @param intsPerGlyph the number of ints held for each glyph
+     * @param maxCapacity the maximum number of glyphs, rounded up to a power of two
+     */
+    public GlyphMap(int intsPerGlyph, int maxCapacity) {
+        if (intsPerGlyph < 0 || maxCapacity < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.intsPerGlyph = intsPerGlyph;
+        int max = Math.max(PROBES, Integer.highestOneBit(maxCapacity - 1) << 1);
+        this.maxCapacity = max;
+        allocate(Math.min(INITIAL_CAPACITY, max));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        ints = new int[capacity * intsPerGlyph];
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int hash(int glyphCode) {
+        return (glyphCode * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Returns the index of the slot of a glyph, to be passed to the accessors
+     * of the data. The index is only valid until the next call to {@link #add}.
+     *
+     * @param glyphCode the glyph code
+     * @return the index of the glyph, or -1 if the glyph is not in the map
+     */
+    public int indexOf(int glyphCode) {
+        final int[] keys = this.keys;
+        final int key = glyphCode + 1;
+        final int mask = keys.length - 1;
+        int index = hash(glyphCode);
+        for (int i = 0; i < PROBES; i++) {
+            int k = keys[index];
+            if (k == key) return index;
+            if (k == 0) return -1;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a glyph that is not in the map, with null data, evicting another
+     * glyph if the map is full.
+     *
+     * @param glyphCode the glyph code, non negative
+     * @return the index of the slot of the glyph
+     */
+    public int add(int glyphCode) {
+        int capacity = keys.length;
+        if (size >= capacity >> 1 && capacity < maxCapacity) {
+            rehash(capacity << 1);
+        }
+        int index = insert(glyphCode);
+        values[index] = null;
+        int start = index * intsPerGlyph;
+        for (int i = 0; i < intsPerGlyph; i++) {
+            ints[start + i] = 0;
+        }
+        return index;
+    }
+
+    private int insert(int glyphCode) {
+        final int mask = keys.length - 1;
+        final int home = hash(glyphCode);
+        int index = home;
+        for (int i = 0; i < PROBES; i++) {
+            if (keys[index] == 0) {
+                keys[index] = glyphCode + 1;
+                size++;
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        /* Replace a glyph of the probed slots, rotating among them so that
+         * glyphs with the same hash position don't keep evicting each other */
+        index = (home + (evictions++ & (PROBES - 1))) & mask;
+        keys[index] = glyphCode + 1;
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldInts = ints;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = insert(oldKeys[i] - 1);
+                values[index] = oldValues[i];
+                System.arraycopy(oldInts, i * intsPerGlyph,
+                                 ints, index * intsPerGlyph, intsPerGlyph);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getValue(int index) {
+        return (V)values[index];
+    }
+
+    public void setValue(int index, V value) {
+        values[index] = value;
+    }
+
+    public int getInt(int index, int i) {
+        return ints[index * intsPerGlyph + i];
+    }
+
+    public void setInt(int index, int i, int value) {
+        ints[index * intsPerGlyph + i] = value;
+    }
+
+    /**
+     * Gets the number of glyphs in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of glyphs the map can hold before it evicts glyphs.
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+}
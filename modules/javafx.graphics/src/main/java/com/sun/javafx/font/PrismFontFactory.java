@@ -56,6 +56,7 @@ public abstract class PrismFontFactory implements FontFactory {
     public static final boolean isAndroid;
     public static final boolean isEmbedded;
     public static final int cacheLayoutSize;
+    public static final boolean latinLayout;
     private static int subPixelMode;
     public static final int SUB_PIXEL_ON = 1;
     public static final int SUB_PIXEL_Y = 2;
@@ -90,6 +91,7 @@ public abstract class PrismFontFactory implements FontFactory {
         isAndroid = PlatformUtil.isAndroid();
         isEmbedded = PlatformUtil.isEmbedded();
         int[] tempCacheLayoutSize = {0x10000};
+        boolean[] tempLatinLayout = {true};
 
         @SuppressWarnings("removal")
         boolean tmp = AccessController.doPrivileged(
@@ -149,11 +151,17 @@ public abstract class PrismFontFactory implements FontFactory {
                         }
                     }
 
+                    s = System.getProperty("prism.latinLayout");
+                    if (s != null) {
+                        tempLatinLayout[0] = Boolean.parseBoolean(s);
+                    }
+
                     return debug;
                 }
         );
         debugFonts = tmp;
         cacheLayoutSize = tempCacheLayoutSize[0];
+        latinLayout = tempLatinLayout[0];
     }
 
     private static String getJDKFontDir() {
@@ -356,8 +356,9 @@ public abstract class PrismFontFile implements FontResource, FontConstants {
         return strike;
     }
 
-    HashMap<Integer, int[]> bbCache = null;
-    static final int[] EMPTY_BOUNDS = new int[4];
+    /* The bounds of a glyph, in font units, are held as 4 ints */
+    private static final int MAX_BOUNDS = 16384;
+    GlyphMap<Void> bbCache = null;
 
     protected abstract int[] createGlyphBoundingBox(int gc);
 
@@ -371,19 +372,23 @@ public abstract class PrismFontFile implements FontResource, FontConstants {
             return retArr;
         }
         if (bbCache == null) {
-            bbCache = new HashMap<>();
+            bbCache = new GlyphMap<>(4, MAX_BOUNDS);
         }
-        int[] bb = bbCache.get(gc);
-        if (bb == null) {
-            bb = createGlyphBoundingBox(gc);
-            if (bb == null) bb = EMPTY_BOUNDS;
-            bbCache.put(gc, bb);
+        int index = bbCache.indexOf(gc);
+        if (index == -1) {
+            int[] bb = createGlyphBoundingBox(gc);
+            index = bbCache.add(gc);
+            if (bb != null) {
+                for (int i = 0; i < 4; i++) {
+                    bbCache.setInt(index, i, bb[i]);
+                }
+            }
         }
         float scale = size / getUnitsPerEm();
-        retArr[0] = bb[0] * scale;
-        retArr[1] = bb[1] * scale;
-        retArr[2] = bb[2] * scale;
-        retArr[3] = bb[3] * scale;
+        retArr[0] = bbCache.getInt(index, 0) * scale;
+        retArr[1] = bbCache.getInt(index, 1) * scale;
+        retArr[2] = bbCache.getInt(index, 2) * scale;
+        retArr[3] = bbCache.getInt(index, 3) * scale;
         return retArr;
     }
 
@@ -25,9 +25,6 @@
 
 package com.sun.javafx.font;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.Shape;
@@ -36,9 +33,12 @@ import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.scene.text.GlyphList;
 
 public abstract class PrismFontStrike<T extends PrismFontFile> implements FontStrike {
+    /* Text with many distinct glyphs evicts glyphs rather than keeping all */
+    private static final int MAX_GLYPHS = 4096;
+
     private DisposerRecord disposer;
     private T fontResource;
-    private Map<Integer,Glyph> glyphMap = new HashMap<>();
+    private GlyphMap<Glyph> glyphMap = new GlyphMap<>(0, MAX_GLYPHS);
     private PrismMetrics metrics;
     protected boolean drawShapes = false;
     private float size;
@@ -176,11 +176,12 @@ public abstract class PrismFontStrike<T extends PrismFontFile> implements FontSt
 
     @Override
     public Glyph getGlyph(int glyphCode) {
-        Glyph glyph = glyphMap.get(glyphCode);
-        if (glyph == null) {
-            glyph = createGlyph(glyphCode);
-            glyphMap.put(glyphCode, glyph);
+        int index = glyphMap.indexOf(glyphCode);
+        if (index != -1) {
+            return glyphMap.getValue(index);
         }
+        Glyph glyph = createGlyph(glyphCode);
+        glyphMap.setValue(glyphMap.add(glyphCode), glyph);
         return glyph;
     }
 
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.geom;
+
+import java.util.Arrays;
+
+/**
+ * A bounding volume hierarchy over a set of axis aligned boxes, used to find
+ * the boxes that intersect an area without testing every box. The boxes are
+ * stored as minX, minY, maxX, maxY in an array and are identified by their
+ * number in that array. The hierarchy refers to the array, which must not be
+ * changed once the hierarchy is built.
+ */
+public final class BoxHierarchy {
+
+    private static final int LEAF_SIZE = 8;
+
+    private final float[] boxes;
+
+    // the hierarchy, in depth first order; the left subtree of an inner
+    // node follows it and next[] is the index of its right subtree,
+    // while a leaf holds the boxes in order[next .. next + size)
+    private float[] treeBoxes = new float[64];
+    private int[] next = new int[16];
+    private int[] size = new int[16];
+    private int treeSize;
+    private final int[] order;
+
+    private int[] found = new int[16];
+    private int[] stack = new int[64];
+
+    /**
+     * Builds the hierarchy over some of the given boxes.
+     *
+     * @param boxes minX, minY, maxX, maxY of each box
+     * @param numbers the numbers of the boxes to include in its first
+     * {@code count} entries, which are reordered by the hierarchy and must
+     * not be changed afterwards
+     * @param count the number of boxes to include
+     */
+    public BoxHierarchy(float[] boxes, int[] numbers, int count) {
+        this.boxes = boxes;
+        this.order = numbers;
+        if (count > 0) {
+            build(0, count);
+        }
+    }
+
+    /**
+     * Finds the boxes that intersect or touch the given area. The numbers
+     * of the boxes are returned by {@link #getFound(int)} until the next
+     * call, in no particular order.
+     *
+     * @return the number of boxes found
+     */
+    public int find(double minX, double minY, double maxX, double maxY) {
+        int count = 0;
+        if (treeSize == 0) {
+            return count;
+        }
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int t = stack[--top];
+            if (!intersects(treeBoxes, t, minX, minY, maxX, maxY)) {
+                continue;
+            }
+            if (size[t] > 0) {
+                for (int i = next[t], end = i + size[t]; i < end; i++) {
+                    final int c = order[i];
+                    if (intersects(boxes, c, minX, minY, maxX, maxY)) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = c;
+                    }
+                }
+            } else {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = next[t];
+                stack[top++] = t + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of the i-th box found by the last call to
+     * {@link #find}.
+     */
+    public int getFound(int i) {
+        return found[i];
+    }
+
+    // Builds the subtree for order[from .. to) and returns its index.
+    private int build(int from, int to) {
+        final int t = treeSize++;
+        if (t == next.length) {
+            next = Arrays.copyOf(next, t * 2);
+            size = Arrays.copyOf(size, t * 2);
+            treeBoxes = Arrays.copyOf(treeBoxes, t * 8);
+        }
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        float cMinX = Float.POSITIVE_INFINITY, cMinY = Float.POSITIVE_INFINITY;
+        float cMaxX = Float.NEGATIVE_INFINITY, cMaxY = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            final int b = order[i] * 4;
+            minX = Math.min(minX, boxes[b]);
+            minY = Math.min(minY, boxes[b + 1]);
+            maxX = Math.max(maxX, boxes[b + 2]);
+            maxY = Math.max(maxY, boxes[b + 3]);
+            final float cx = boxes[b] + boxes[b + 2];
+            final float cy = boxes[b + 1] + boxes[b + 3];
+            cMinX = Math.min(cMinX, cx);
+            cMinY = Math.min(cMinY, cy);
+            cMaxX = Math.max(cMaxX, cx);
+            cMaxY = Math.max(cMaxY, cy);
+        }
+        treeBoxes[t * 4] = minX;
+        treeBoxes[t * 4 + 1] = minY;
+        treeBoxes[t * 4 + 2] = maxX;
+        treeBoxes[t * 4 + 3] = maxY;
+
+        if (to - from <= LEAF_SIZE || (cMinX == cMaxX && cMinY == cMaxY)) {
+            next[t] = from;
+            size[t] = to - from;
+        } else {
+            // split at the median of the box centers along the wider axis
+            final int axis = (cMaxX - cMinX >= cMaxY - cMinY) ? 0 : 1;
+            final int mid = (from + to) >>> 1;
+            select(from, to - 1, mid, axis);
+            build(from, mid);
+            final int right = build(mid, to);
+            // the arrays may have grown while building the subtrees
+            size[t] = 0;
+            next[t] = right;
+        }
+        return t;
+    }
+
+    private float center(int c, int axis) {
+        return boxes[c * 4 + axis] + boxes[c * 4 + 2 + axis];
+    }
+
+    // Partially sorts order[lo .. hi] so that order[k] has the k-th smallest center.
+    private void select(int lo, int hi, int k, int axis) {
+        while (lo < hi) {
+            final float pivot = center(order[(lo + hi) >>> 1], axis);
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (center(order[i], axis) < pivot) i++;
+                while (center(order[j], axis) > pivot) j--;
+                if (i <= j) {
+                    final int tmp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean intersects(float[] boxes, int i,
+                                      double minX, double minY, double maxX, double maxY) {
+        final int b = i * 4;
+        return boxes[b] <= maxX && boxes[b + 1] <= maxY && boxes[b + 2] >= minX && boxes[b + 3] >= minY;
+    }
+}
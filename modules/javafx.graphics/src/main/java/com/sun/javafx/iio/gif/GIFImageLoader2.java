@@ -197,6 +197,40 @@ public class GIFImageLoader2 extends ImageLoaderImpl {
         return data;
     }
 
+    // skips the next image frame without decoding it,
+    // returns its delay time in milliseconds or -1 if no more
+    public int skipFrame() throws IOException {
+        int imageControlCode = waitForImageFrame();
+
+        if (imageControlCode < 0) {
+            return -1;
+        }
+
+        skipBytes(8); // left, top, w, h
+        int imgCtrl = readByte();
+        if ((imgCtrl & 0x80) != 0) {
+            skipBytes((2 << (imgCtrl & 7)) * 3); // local palette
+        }
+        readByte(); // LZW code size
+        consumeAnExtension(); // image data sub-blocks
+
+        return frameDelay(imageControlCode & 0xFFFF);
+    }
+
+    public int getScreenWidth() {
+        return screenW;
+    }
+
+    public int getScreenHeight() {
+        return screenH;
+    }
+
+    // the loop count of the animation, 0 if it loops forever; only known
+    // once the application extension has been read, usually before the first frame
+    public int getLoopCount() {
+        return loopCount;
+    }
+
     // loads next image frame or null if no more
     @Override
     public ImageFrame load(int imageIndex, int width, int height, boolean preserveAspectRatio, boolean smooth) throws IOException {
@@ -331,11 +365,15 @@ public class GIFImageLoader2 extends ImageLoaderImpl {
     // fill metadata
     private ImageMetadata updateMetadata(int w, int h, int delayTime) {
         ImageMetadata metaData = new ImageMetadata(null, true, null, null, null,
-                delayTime != 0 ? delayTime*10 : 1000/DEFAULT_FPS, loopCount, w, h, null, null, null);
+                frameDelay(delayTime), loopCount, w, h, null, null, null);
         updateImageMetadata(metaData);
         return metaData;
     }
 
+    private static int frameDelay(int delayTime) {
+        return delayTime != 0 ? delayTime*10 : 1000/DEFAULT_FPS;
+    }
+
     class LZWDecoder {
         private final int initCodeSize, clearCode, eofCode;
         private int codeSize, codeMask, tableIndex, oldCode;
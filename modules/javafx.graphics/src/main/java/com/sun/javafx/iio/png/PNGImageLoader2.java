@@ -536,7 +536,14 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         return start[mip] + pos * increment[mip];
     }
 
-    private void loadMip(byte image[], InputStream data, int mip) throws IOException {
+    /*
+     * Decodes one pass of an interlaced image, or the whole of a
+     * non-interlaced image (mip 7), into image. If scaler is not null, the
+     * image must be non-interlaced and image is a buffer for one line, each
+     * line is pushed into the scaler after it has been decoded.
+     */
+    private void loadMip(byte image[], InputStream data, int mip,
+            PushbroomScaler scaler) throws IOException {
 
         int mipWidth = mipSize(width, mip, starting_x, increment_x);
         int mipHeight = mipSize(height, mip, starting_y, increment_y);
@@ -548,6 +555,9 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         // numBands might be more than numBandsPerColorType[colorType]
         // to support tRNS
         int resultBpp = bpp(), srcBpp = numBandsPerColorType[colorType] * bytesPerColor();
+        byte rgbLine[] = (scaler != null && colorType == PNG_COLOR_PALETTE)
+                ? new byte[width * (tRNS_present ? 4 : 3)]
+                : null;
 
         for (int y = 0; y != mipHeight; ++y) {
             int filterByte = data.read();
@@ -561,7 +571,8 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
 
             doFilter(scanLine0, scanLine1, filterByte, srcBpp);
 
-            int pos = (mipPos(y, mip, starting_y, increment_y) * width + starting_x[mip]) * resultBpp;
+            int pos = (scaler != null) ? 0
+                    : (mipPos(y, mip, starting_y, increment_y) * width + starting_x[mip]) * resultBpp;
             int step = increment_x[mip];
 
             if (bitDepth == 16) {
@@ -572,6 +583,13 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 copy(scanLine0, image, pos, step, resultBpp);
             }
 
+            if (rgbLine != null) {
+                expandPalette(image, rgbLine, width);
+                scaler.putSourceScanline(rgbLine, 0);
+            } else if (scaler != null) {
+                scaler.putSourceScanline(image, 0);
+            }
+
             byte scanLineSwp[] = scanLine0;
             scanLine0 = scanLine1;
             scanLine1 = scanLineSwp;
@@ -582,22 +600,30 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         if (isInterlaced) {
             for (int mip = 0; mip != 7; ++mip) {
                 if (width > starting_x[mip] && height > starting_y[mip]) {
-                    loadMip(image, data, mip);
+                    loadMip(image, data, mip, null);
                 }
             }
         } else {
-            loadMip(image, data, 7);
+            loadMip(image, data, 7, null);
         }
     }
 
-    private ImageFrame decodePalette(byte srcImage[], ImageMetadata metadata) throws IOException {
-        int bpp = tRNS_present ? 4 : 3;
-        if (width >= (Integer.MAX_VALUE / height / bpp)) {
-            throw new IOException("Bad PNG image size!");
-        }
-        byte newImage[] = new byte[width * height * bpp];
-        int l = width * height;
+    /*
+     * Decodes a non-interlaced image line by line into a scaler, so that
+     * only the scaled image is held in memory.
+     */
+    private ByteBuffer loadScaled(InputStream data, int rWidth, int rHeight,
+            boolean smooth) throws IOException {
+        int numBands = colorType == PNG_COLOR_PALETTE
+                ? (tRNS_present ? 4 : 3)
+                : bpp();
+        PushbroomScaler scaler = ScalerFactory.createScaler(width, height,
+                numBands, rWidth, rHeight, smooth);
+        loadMip(new byte[width * bpp()], data, 7, scaler);
+        return scaler.getDestination();
+    }
 
+    private void expandPalette(byte srcImage[], byte newImage[], int l) {
         if (tRNS_present) {
             for (int i = 0, j = 0; i != l; j += 4, i++) {
                 int index = 0xFF & srcImage[i];
@@ -614,6 +640,15 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 newImage[j + 2] = palette[2][index];
             }
         }
+    }
+
+    private ImageFrame decodePalette(byte srcImage[], ImageMetadata metadata) throws IOException {
+        int bpp = tRNS_present ? 4 : 3;
+        if (width >= (Integer.MAX_VALUE / height / bpp)) {
+            throw new IOException("Bad PNG image size!");
+        }
+        byte newImage[] = new byte[width * height * bpp];
+        expandPalette(srcImage, newImage, width * height);
 
         ImageStorage.ImageType type = tRNS_present
                 ? ImageStorage.ImageType.RGBA
@@ -664,12 +699,28 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 null, null, null, null, null, rWidth, rHeight, null, null, null);
         updateImageMetadata(metaData);
 
-        ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
-
+        boolean scale = width != rWidth || height != rHeight;
         PNGIDATChunkInputStream iDat = new PNGIDATChunkInputStream(stream, dataSize);
         Inflater inf = new Inflater();
         InputStream data = new BufferedInputStream(new InflaterInputStream(iDat, inf));
 
+        if (scale && !isInterlaced) {
+            // The lines of a non-interlaced image come in order, they can
+            // be scaled as they are decoded
+            ByteBuffer scaled;
+            try {
+                scaled = loadScaled(data, rWidth, rHeight, smooth);
+            } finally {
+                inf.end();
+            }
+            ImageStorage.ImageType type = colorType != PNG_COLOR_PALETTE ? getType()
+                    : tRNS_present ? ImageStorage.ImageType.RGBA : ImageStorage.ImageType.RGB;
+            int numBands = ImageStorage.getInstance().getNumBands(type);
+            return new ImageFrame(type, scaled, rWidth, rHeight, rWidth * numBands, null, metaData);
+        }
+
+        ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
+
         try {
             load(bb.array(), data);
         } catch (IOException e) {
@@ -684,7 +735,7 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 ? decodePalette(bb.array(), metaData)
                 : new ImageFrame(getType(), bb, width, height, bpp * width, palette, metaData);
 
-        if (width != rWidth || height != rHeight) {
+        if (scale) {
             imgPNG = ImageTools.scaleImageFrame(imgPNG, rWidth, rHeight, smooth);
         }
 
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.runtime.async;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Runs the background loads of images a few at a time. Loads that are
+ * submitted while the maximum number of loads is running are queued and
+ * started in order of their {@link Priority} and, within a priority, in the
+ * order they were submitted. The maximum is a setting of
+ * {@link ImageLoadStats}. All methods are thread safe.
+ */
+public final class ImageLoadScheduler {
+
+    public static ImageLoadScheduler getInstance() {
+        return ImageLoadSchedulerHolder.holder;
+    }
+    private static class ImageLoadSchedulerHolder {
+        private static final ImageLoadScheduler holder = new ImageLoadScheduler();
+    }
+
+    public enum Priority {
+        /** The image is shown in a scene */
+        VISIBLE,
+        /** The default priority */
+        NORMAL,
+        /** The image was shown in a scene but is no longer, the load is not started until the priority is raised */
+        DEFERRED
+    }
+
+    private enum State {
+        NEW,
+        QUEUED,
+        DEFERRED,
+        RUNNING,
+        DONE
+    }
+
+    /**
+     * A load handled by the scheduler.
+     */
+    public static final class Task {
+        private final AsyncOperation operation;
+        private Priority priority;
+        private State state = State.NEW;
+        private long sequence;
+        private long startTime;
+
+        public Task(AsyncOperation operation, Priority priority) {
+            this.operation = operation;
+            this.priority = priority;
+        }
+    }
+
+    private static final Comparator<Task> ORDER = (t1, t2) -> {
+        int c = t1.priority.compareTo(t2.priority);
+        return (c != 0) ? c : Long.compare(t1.sequence, t2.sequence);
+    };
+
+    private final ImageLoadStats stats = ImageLoadStats.getDefaultBean();
+    private final PriorityQueue<Task> queue = new PriorityQueue<>(ORDER);
+    private int deferred;
+    private int running;
+    private long nextSequence;
+
+    private ImageLoadScheduler() {
+    }
+
+    synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    synchronized int getDeferredCount() {
+        return deferred;
+    }
+
+    synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * Starts the given task, or queues it if the maximum number of loads
+     * is running.
+     */
+    public synchronized void submit(Task task) {
+        if (task.state != State.NEW) {
+            throw new IllegalStateException("Task already submitted");
+        }
+        task.sequence = nextSequence++;
+        enqueue(task);
+        startQueued();
+    }
+
+    /**
+     * Changes the priority of the given task. A task that is queued is
+     * moved to its new place in the queue, a task that is lowered to
+     * {@link Priority#DEFERRED} is taken out of the queue until its priority
+     * is raised again. The priority of a task that is running or done is
+     * only recorded.
+     */
+    public synchronized void setPriority(Task task, Priority priority) {
+        if (task.priority == priority) {
+            return;
+        }
+        if (task.state == State.QUEUED) {
+            queue.remove(task);
+        } else if (task.state == State.DEFERRED) {
+            deferred--;
+        }
+        boolean waiting = task.state == State.QUEUED || task.state == State.DEFERRED;
+        task.priority = priority;
+        if (waiting) {
+            enqueue(task);
+            startQueued();
+        }
+    }
+
+    /**
+     * Cancels the given task. A task that hasn't been started is not going
+     * to be started, its operation is cancelled right away.
+     */
+    public void cancel(Task task) {
+        synchronized (this) {
+            if (task.state == State.QUEUED) {
+                queue.remove(task);
+            } else if (task.state == State.DEFERRED) {
+                deferred--;
+            }
+            if (task.state != State.RUNNING && task.state != State.DONE) {
+                task.state = State.DONE;
+                stats.cancelled();
+            }
+        }
+        // the operation may call its listener, and with that finished(),
+        // from cancel()
+        task.operation.cancel();
+    }
+
+    /**
+     * Called when the operation of the given task has completed, failed or
+     * has been cancelled, to start the next queued task.
+     *
+     * @param task the task
+     * @param succeeded whether the operation delivered its result
+     */
+    public synchronized void finished(Task task, boolean succeeded) {
+        if (task.state != State.RUNNING) {
+            return;
+        }
+        task.state = State.DONE;
+        running--;
+        long time = System.nanoTime() - task.startTime;
+        if (succeeded) {
+            stats.completed(time);
+        } else if (task.operation.isCancelled()) {
+            stats.cancelled();
+        } else {
+            stats.failed(time);
+        }
+        startQueued();
+    }
+
+    private void enqueue(Task task) {
+        if (task.priority == Priority.DEFERRED) {
+            task.state = State.DEFERRED;
+            deferred++;
+        } else {
+            task.state = State.QUEUED;
+            queue.add(task);
+        }
+    }
+
+    /*
+     * Starts queued tasks while less than the maximum number of loads are
+     * running. Also called when the maximum has been changed.
+     */
+    synchronized void startQueued() {
+        Task task;
+        while (running < stats.getMaxConcurrentLoads() && (task = queue.poll()) != null) {
+            task.state = State.RUNNING;
+            running++;
+            task.startTime = System.nanoTime();
+            task.operation.start();
+        }
+    }
+}
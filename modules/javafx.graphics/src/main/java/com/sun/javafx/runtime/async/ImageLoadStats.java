@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.runtime.async;
+
+import com.sun.javafx.util.PlatformMBeans;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue sizes, counters and the concurrency limit of the background loading
+ * of images by {@link ImageLoadScheduler}. The limit is read from the
+ * {@code javafx.image.maxConcurrentLoads} system property when this class
+ * is initialized and can be changed at runtime through the
+ * {@link ImageLoadStatsMBean} interface, under which {@link PlatformMBeans}
+ * registers the bean.
+ */
+public final class ImageLoadStats implements ImageLoadStatsMBean {
+
+    public static ImageLoadStats getDefaultBean() {
+        return ImageLoadStatsHolder.holder;
+    }
+    private static class ImageLoadStatsHolder {
+        private static final ImageLoadStats holder = new ImageLoadStats();
+        static {
+            PlatformMBeans.register("ImageLoadStats", holder);
+        }
+    }
+
+    // It has been shown that with large images, we can quickly use up the
+    // heap loading images, even if they result in thumbnails. The default
+    // is arbitrary, and was based on initial testing with about 60 2-6
+    // megapixel images.
+    private static final int DEFAULT_MAX_CONCURRENT_LOADS = 4;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+    private volatile int maxConcurrentLoads;
+
+    @SuppressWarnings("removal")
+    private ImageLoadStats() {
+        maxConcurrentLoads = Math.max(1, AccessController.doPrivileged(
+                (PrivilegedAction<Integer>) () -> Integer.getInteger(
+                        "javafx.image.maxConcurrentLoads", DEFAULT_MAX_CONCURRENT_LOADS)));
+    }
+
+    void completed(long nanos) {
+        completed.increment();
+        loadTime(nanos);
+    }
+
+    void failed(long nanos) {
+        failed.increment();
+        loadTime(nanos);
+    }
+
+    void cancelled() {
+        cancelled.increment();
+    }
+
+    private void loadTime(long nanos) {
+        totalTime.add(nanos);
+        maxTime.accumulate(nanos);
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static ImageLoadScheduler getScheduler() {
+        return ImageLoadScheduler.getInstance();
+    }
+
+    @Override public int getQueueDepth() { return getScheduler().getQueueDepth(); }
+    @Override public int getDeferredCount() { return getScheduler().getDeferredCount(); }
+    @Override public int getRunningCount() { return getScheduler().getRunningCount(); }
+    @Override public int getMaxConcurrentLoads() { return maxConcurrentLoads; }
+    @Override public long getCompletedCount() { return completed.sum(); }
+    @Override public long getFailedCount() { return failed.sum(); }
+    @Override public long getCancelledCount() { return cancelled.sum(); }
+    @Override public long getTotalLoadTimeMillis() { return toMillis(totalTime.sum()); }
+    @Override public long getMaxLoadTimeMillis() { return toMillis(maxTime.get()); }
+
+    @Override public void setMaxConcurrentLoads(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("max must be at least 1: " + max);
+        }
+        maxConcurrentLoads = max;
+        getScheduler().startQueued();
+    }
+
+    @Override public double getAverageLoadTimeMillis() {
+        long count = completed.sum() + failed.sum();
+        return (count == 0) ? 0.0 : totalTime.sum() / 1e6 / count;
+    }
+
+    @Override public void resetCounters() {
+        completed.reset();
+        failed.reset();
+        cancelled.reset();
+        totalTime.reset();
+        maxTime.reset();
+    }
+}
@@ -25,6 +25,7 @@
 
 package com.sun.javafx.sg.prism;
 
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.logging.PulseLogger;
 import javafx.scene.CacheHint;
 import java.util.List;
@@ -92,7 +93,6 @@ public class CacheFilter {
     // Fun with floating point
     private static final double EPSILON = 0.0000001;
 
-    private RTTexture tempTexture;
     private double lastXDelta;
     private double lastYDelta;
     private ScrollCacheState scrollCacheState = ScrollCacheState.CHECKING_PRECONDITIONS;
@@ -326,10 +326,6 @@ public class CacheFilter {
     }
 
     void imageDataUnref() {
-        if (tempTexture != null) {
-            tempTexture.dispose();
-            tempTexture = null;
-        }
         if (cachedImageData != null) {
             // While we hold on to this ImageData we leave the texture
             // unlocked so it can be reclaimed, but the default unref()
@@ -596,6 +592,7 @@ public class CacheFilter {
             cachedY = cachedBounds.y;
 
         } else {
+            PulseCounters.increment(PulseCounters.Counter.CACHE_HITS);
             if (scrollCacheState == ScrollCacheState.ENABLED &&
                     (lastXDelta != 0 || lastYDelta != 0) ) {
                 moveCacheBy(cachedImageData, lastXDelta, lastYDelta);
@@ -787,13 +784,15 @@ public class CacheFilter {
         int h = r.height - (int) Math.abs(yDelta);
 
         final Graphics g = drawable.createGraphics();
-        if (tempTexture != null) {
-            tempTexture.lock();
-            if (tempTexture.isSurfaceLost()) {
-                tempTexture = null;
-            }
-        }
-        if (tempTexture == null) {
+        // The scratch image is borrowed from the effect image pool, so that
+        // caches scrolled in turn share their scratch images
+        final FilterContext fctx = cachedImageData.getFilterContext();
+        final PrDrawable temp = (PrDrawable) Effect.getCompatibleImage(fctx,
+                drawable.getPhysicalWidth(), drawable.getPhysicalHeight());
+        final RTTexture tempTexture;
+        if (temp != null) {
+            tempTexture = temp.getTextureObject();
+        } else {
             tempTexture = g.getResourceFactory().
                 createRTTexture(drawable.getPhysicalWidth(), drawable.getPhysicalHeight(),
                                 Texture.WrapMode.CLAMP_NOT_NEEDED);
@@ -805,7 +804,11 @@ public class CacheFilter {
 
         g.clear();
         g.drawTexture(tempTexture, destX, destY, destX + w, destY + h, 0, 0, w, h);
-        tempTexture.unlock();
+        if (temp != null) {
+            Effect.releaseCompatibleImage(fctx, temp);
+        } else {
+            tempTexture.dispose();
+        }
     }
 
     /**
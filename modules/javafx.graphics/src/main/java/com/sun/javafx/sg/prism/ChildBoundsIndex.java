@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.sg.prism;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.BoxHierarchy;
+
+/**
+ * A bounding volume hierarchy over the children of an {@link NGGroup}, used
+ * to find the children that can intersect the dirty regions without visiting
+ * every child. It is built from the transformed bounds of the children, which
+ * are numbered in rendering order, and is kept up to date as children move:
+ * a child whose bounds have changed is tested on its own until so many
+ * children have changed that the hierarchy should be built again. Changes to
+ * the children list need a new index.
+ * <p>
+ * The index also keeps track of the children that are not clean, so that the
+ * dirty region accumulation only visits those, and so that the dirty children
+ * that are culled can have their dirty flags cleared like
+ * {@link NGNode#markCullRegions} would.
+ */
+final class ChildBoundsIndex {
+
+    // the children in rendering order when the index was built
+    private final NGNode[] nodes;
+    private final Map<NGNode, Integer> numbers;
+    private final float[] boxes; // minX, minY, maxX, maxY of each child
+
+    private final BoxHierarchy tree;
+
+    // children whose bounds have changed since the index was built
+    private final boolean[] moved;
+    private int[] movedList = new int[16];
+    private int movedCount;
+    private final int maxMoved;
+
+    // children that may not be clean, in no particular order
+    private final boolean[] dirty;
+    private int[] dirtyList = new int[16];
+    private int dirtyCount;
+
+    // children found by the last culling pass in rendering order, or -1
+    // if the children have not been culled with the index
+    private int[] candidates = new int[16];
+    private int candidateCount = -1;
+    private final int[] marks;
+    private int pass;
+
+    ChildBoundsIndex(List<NGNode> children) {
+        final int n = children.size();
+        nodes = children.toArray(new NGNode[n]);
+        numbers = new IdentityHashMap<>(n * 2);
+        boxes = new float[n * 4];
+        final int[] order = new int[n];
+        moved = new boolean[n];
+        dirty = new boolean[n];
+        marks = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            final NGNode node = nodes[i];
+            numbers.put(node, i);
+            final BaseBounds b = node.transformedBounds;
+            if (!b.isEmpty()) {
+                boxes[i * 4] = b.getMinX();
+                boxes[i * 4 + 1] = b.getMinY();
+                boxes[i * 4 + 2] = b.getMaxX();
+                boxes[i * 4 + 3] = b.getMaxY();
+                order[count++] = i;
+            }
+            if (!node.isClean()) {
+                addDirty(i);
+            }
+        }
+        maxMoved = Math.max(64, n / 64);
+        tree = new BoxHierarchy(boxes, order, count);
+    }
+
+    /**
+     * Records that the transformed bounds of a child have changed. Returns
+     * false if so many children have changed that the index should be built
+     * again.
+     */
+    boolean boundsChanged(NGNode node) {
+        final Integer number = numbers.get(node);
+        if (number != null && !moved[number]) {
+            moved[number] = true;
+            if (movedCount == movedList.length) {
+                movedList = Arrays.copyOf(movedList, movedCount * 2);
+            }
+            movedList[movedCount++] = number;
+        }
+        return movedCount <= maxMoved;
+    }
+
+    /**
+     * Records that a child, or one of its descendants, has become dirty.
+     */
+    void childMarkedDirty(NGNode node) {
+        final Integer number = numbers.get(node);
+        if (number != null && !dirty[number]) {
+            addDirty(number);
+        }
+    }
+
+    private void addDirty(int number) {
+        dirty[number] = true;
+        if (dirtyCount == dirtyList.length) {
+            dirtyList = Arrays.copyOf(dirtyList, dirtyCount * 2);
+        }
+        dirtyList[dirtyCount++] = number;
+    }
+
+    /**
+     * Drops the children that have become clean from the dirty children and
+     * puts the others in rendering order.
+     *
+     * @return the number of dirty children
+     */
+    int collectDirtyChildren() {
+        int count = 0;
+        for (int i = 0; i < dirtyCount; i++) {
+            final int c = dirtyList[i];
+            if (nodes[c].isClean()) {
+                dirty[c] = false;
+            } else {
+                dirtyList[count++] = c;
+            }
+        }
+        dirtyCount = count;
+        Arrays.sort(dirtyList, 0, count);
+        return count;
+    }
+
+    NGNode getDirtyChild(int i) {
+        return nodes[dirtyList[i]];
+    }
+
+    /**
+     * Finds the children whose transformed bounds intersect the given area,
+     * which is in the coordinates of the group. The dirty children outside
+     * of the area have their dirty flags cleared, as they won't be rendered.
+     */
+    void cull(BaseBounds area) {
+        final float minX = area.getMinX();
+        final float minY = area.getMinY();
+        final float maxX = area.getMaxX();
+        final float maxY = area.getMaxY();
+        final int p = ++pass;
+        int count = 0;
+        final int found = tree.find(minX, minY, maxX, maxY);
+        for (int i = 0; i < found; i++) {
+            final int c = tree.getFound(i);
+            if (!moved[c]) {
+                count = addCandidate(count, c, p);
+            }
+        }
+        for (int i = 0; i < movedCount; i++) {
+            final int c = movedList[i];
+            final BaseBounds b = nodes[c].transformedBounds;
+            if (!b.isEmpty() && b.getMinX() <= maxX && b.getMinY() <= maxY
+                    && b.getMaxX() >= minX && b.getMaxY() >= minY) {
+                count = addCandidate(count, c, p);
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+        candidateCount = count;
+
+        int remaining = 0;
+        for (int i = 0; i < dirtyCount; i++) {
+            final int c = dirtyList[i];
+            final NGNode node = nodes[c];
+            if (marks[c] != p && !node.isClean()) {
+                node.clearDirtyTree();
+            }
+            if (node.isClean()) {
+                dirty[c] = false;
+            } else {
+                dirtyList[remaining++] = c;
+            }
+        }
+        dirtyCount = remaining;
+    }
+
+    private int addCandidate(int count, int number, int p) {
+        if (count == candidates.length) {
+            candidates = Arrays.copyOf(candidates, count * 2);
+        }
+        candidates[count] = number;
+        marks[number] = p;
+        return count + 1;
+    }
+
+    /**
+     * Gets the number of children found by the last culling pass, or -1 if
+     * the children have not been culled since {@link #clearCandidates()}.
+     */
+    int getCandidateCount() {
+        return candidateCount;
+    }
+
+    NGNode getCandidate(int i) {
+        return nodes[candidates[i]];
+    }
+
+    int indexOfCandidate(NGNode node) {
+        for (int i = 0; i < candidateCount; i++) {
+            if (nodes[candidates[i]] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void clearCandidates() {
+        candidateCount = -1;
+    }
+}
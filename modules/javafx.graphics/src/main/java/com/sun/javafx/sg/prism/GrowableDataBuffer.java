@@ -232,6 +232,16 @@ public class GrowableDataBuffer {
         readobjpos = saveobjpos;
     }
 
+    /**
+     * Moves the read and saved positions of both the byte-encoding
+     * buffer and the {@code Object} buffer back to the start of the
+     * buffers so that the data that was written can be read again.
+     */
+    public void rewind() {
+        readvalpos = savevalpos = 0;
+        readobjpos = saveobjpos = 0;
+    }
+
     /**
      * Indicates whether or not there are values in the byte-encoding
      * buffer waiting to be read.
@@ -30,7 +30,12 @@ import javafx.scene.text.Font;
 import java.nio.IntBuffer;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
 import com.sun.javafx.font.PGFont;
 import com.sun.javafx.geom.Arc2D;
 import com.sun.javafx.geom.BaseBounds;
@@ -138,6 +143,9 @@ public class NGCanvas extends NGNode {
     public static final byte RESET           = UTIL_BASE + 0;
     public static final byte SET_DIMS        = UTIL_BASE + 1;
 
+    public static final byte                   LIST_BASE = 80;
+    public static final byte DRAW_LIST       = LIST_BASE + 0;
+
     public static final byte CAP_BUTT   = 0;
     public static final byte CAP_ROUND  = 1;
     public static final byte CAP_SQUARE = 2;
@@ -310,6 +318,36 @@ public class NGCanvas extends NGNode {
         }
     }
 
+    /**
+     * A named group of rendering commands. The commands are rendered into
+     * a layer the size of the canvas the first time that the list is drawn
+     * and from then on the layer is drawn, with the transform in effect,
+     * until the list or one of the lists that it draws is redefined, or the
+     * size of the canvas changes.
+     */
+    static final class DisplayList {
+        final GrowableDataBuffer commands;
+        // The names of the display lists that the commands draw
+        final Set<String> uses = new HashSet<>();
+        NGCanvas layer;
+        boolean valid;
+        boolean rendering;
+
+        DisplayList(GrowableDataBuffer commands) {
+            this.commands = commands;
+        }
+
+        void dispose() {
+            GrowableDataBuffer.returnBuffer(commands);
+            if (layer != null) {
+                layer.cv.dispose();
+                layer.temp.dispose();
+                layer.clip.dispose();
+                layer = null;
+            }
+        }
+    }
+
     private static Blend BLENDER = new MyBlend(Mode.SRC_OVER, null, null);
 
     private GrowableDataBuffer thebuf;
@@ -347,20 +385,24 @@ public class NGCanvas extends NGNode {
     private Rectangle clipRect;
     private Effect effect;
     private int arctype;
+    // The display lists of the canvas, which are shared with the canvases
+    // that render their layers, and the lists that were defined or removed
+    // (a null buffer) since the canvas last rendered.
+    private Map<String, DisplayList> displayLists;
+    private Map<String, GrowableDataBuffer> pendingLists;
+    // The display list whose layer this canvas renders, if any
+    private DisplayList owner;
 
     static float TEMP_COORDS[] = new float[6];
     private static Arc2D TEMP_ARC = new Arc2D();
     private static RectBounds TEMP_RECTBOUNDS = new RectBounds();
 
     public NGCanvas() {
-        Toolkit tk = Toolkit.getToolkit();
-        ScreenConfigurationAccessor screenAccessor = tk.getScreenConfigurationAccessor();
-        float hPS = 1.0f;
-        for (Object screen : tk.getScreens()) {
-            hPS = Math.max(screenAccessor.getRecommendedOutputScaleX(screen), hPS);
-            hPS = Math.max(screenAccessor.getRecommendedOutputScaleY(screen), hPS);
-        }
-        highestPixelScale = (float) Math.ceil(hPS);
+        this(getHighestPixelScale());
+    }
+
+    private NGCanvas(float highestPixelScale) {
+        this.highestPixelScale = highestPixelScale;
 
         cv = new RenderBuf(InitType.PRESERVE_UPPER_LEFT);
         temp = new RenderBuf(InitType.CLEAR);
@@ -374,6 +416,17 @@ public class NGCanvas extends NGNode {
         initAttributes();
     }
 
+    private static float getHighestPixelScale() {
+        Toolkit tk = Toolkit.getToolkit();
+        ScreenConfigurationAccessor screenAccessor = tk.getScreenConfigurationAccessor();
+        float hPS = 1.0f;
+        for (Object screen : tk.getScreens()) {
+            hPS = Math.max(screenAccessor.getRecommendedOutputScaleX(screen), hPS);
+            hPS = Math.max(screenAccessor.getRecommendedOutputScaleY(screen), hPS);
+        }
+        return (float) Math.ceil(hPS);
+    }
+
     private void initAttributes() {
         globalAlpha = 1.0f;
         blendmode = Mode.SRC_OVER;
@@ -607,6 +660,7 @@ public class NGCanvas extends NGNode {
         initCanvas(g);
         if (cv.tex != null) {
             if (thebuf != null) {
+                applyPendingLists();
                 renderStream(thebuf);
                 GrowableDataBuffer.returnBuffer(thebuf);
                 thebuf = null;
@@ -627,6 +681,7 @@ public class NGCanvas extends NGNode {
         if (thebuf != null) {
             initCanvas(gOptional);
             if (cv.tex != null) {
+                applyPendingLists();
                 renderStream(thebuf);
                 GrowableDataBuffer.returnBuffer(thebuf);
                 thebuf = null;
@@ -650,6 +705,105 @@ public class NGCanvas extends NGNode {
         }
     }
 
+    private void applyPendingLists() {
+        if (pendingLists == null) {
+            return;
+        }
+        if (displayLists == null) {
+            displayLists = new HashMap<>();
+        }
+        for (Map.Entry<String, GrowableDataBuffer> e : pendingLists.entrySet()) {
+            String name = e.getKey();
+            DisplayList old;
+            if (e.getValue() == null) {
+                old = displayLists.remove(name);
+            } else {
+                DisplayList dl = new DisplayList(e.getValue());
+                old = displayLists.put(name, dl);
+                if (old != null && old.layer != null) {
+                    // keep the textures of the layer, they are redrawn anyway
+                    dl.layer = old.layer;
+                    dl.layer.owner = dl;
+                    old.layer = null;
+                }
+            }
+            if (old != null) {
+                old.dispose();
+            }
+            invalidateUsers(name);
+        }
+        pendingLists = null;
+    }
+
+    private void invalidateUsers(String name) {
+        for (Map.Entry<String, DisplayList> e : displayLists.entrySet()) {
+            DisplayList dl = e.getValue();
+            if (dl.valid && dl.uses.contains(name)) {
+                dl.valid = false;
+                invalidateUsers(e.getKey());
+            }
+        }
+    }
+
+    /**
+     * Makes sure that the layer of the named display list is up to date
+     * before the list is drawn, rendering the commands of the list into
+     * the layer if needed.
+     */
+    private void validateDisplayList(String name) {
+        if (owner != null) {
+            owner.uses.add(name);
+        }
+        DisplayList dl = (displayLists == null) ? null : displayLists.get(name);
+        if (dl == null || dl.rendering) {
+            // not defined or drawn by itself, nothing will be drawn
+            return;
+        }
+        if (dl.layer == null) {
+            dl.layer = new NGCanvas(highestPixelScale);
+            dl.layer.owner = dl;
+        }
+        NGCanvas layer = dl.layer;
+        layer.displayLists = displayLists;
+        if (layer.tw != tw || layer.th != th) {
+            layer.tw = tw;
+            layer.th = th;
+            dl.valid = false;
+        }
+        layer.initCanvas(cv.g);
+        if (layer.cv.tex != null && !dl.valid) {
+            dl.rendering = true;
+            dl.uses.clear();
+            layer.renderLayer(dl.commands);
+            dl.rendering = false;
+            dl.valid = true;
+        }
+        layer.temp.g = layer.clip.g = layer.cv.g = null;
+    }
+
+    private void renderLayer(GrowableDataBuffer commands) {
+        initAttributes();
+        effect = null;
+        cw = tw;
+        ch = th;
+        clearCanvas(0, 0, tw, th);
+        commands.rewind();
+        renderStream(commands);
+        // Must save the pixels if RTT is volatile, the layer is not
+        // rendered again unless it changes.
+        cv.save(tw, th);
+    }
+
+    private DisplayList getDrawableList(String name) {
+        DisplayList dl = (displayLists == null) ? null : displayLists.get(name);
+        if (dl == null || dl.rendering || !dl.valid ||
+            dl.layer == null || dl.layer.cv.tex == null)
+        {
+            return null;
+        }
+        return dl;
+    }
+
     private void clearCanvas(int x, int y, int w, int h) {
         cv.g.setCompositeMode(CompositeMode.CLEAR);
         cv.g.setTransform(BaseTransform.IDENTITY_TRANSFORM);
@@ -872,8 +1026,11 @@ public class NGCanvas extends NGNode {
                 {
                     Path2D clippath = (Path2D) buf.getObject();
                     if (highestPixelScale != 1.0f) {
+                        // The path is copied rather than transformed in place
+                        // as the stream of a display list is played back more
+                        // than once.
                         TEMP_TX.setToScale(highestPixelScale, highestPixelScale);
-                        clippath.transform(TEMP_TX);
+                        clippath = new Path2D(clippath, TEMP_TX);
                     }
                     clipStack.addLast(clippath);
                     break;
@@ -1056,7 +1213,12 @@ public class NGCanvas extends NGNode {
                 case DRAW_SUBIMAGE:
                 case FILL_TEXT:
                 case STROKE_TEXT:
+                case DRAW_LIST:
                 {
+                    if (token == DRAW_LIST) {
+                        String name = (String) buf.peekObject(buf.readObjectPosition());
+                        validateDisplayList(name);
+                    }
                     RenderBuf dest;
                     boolean tempvalidated;
                     boolean clipvalidated = initClip();
@@ -1448,6 +1610,29 @@ public class NGCanvas extends NGNode {
                 }
                 break;
             }
+            case DRAW_LIST:
+            {
+                DisplayList dl = getDrawableList((String) buf.getObject());
+                if (dl == null) {
+                    if (bounds != null) {
+                        bounds.makeEmpty();
+                    }
+                    break;
+                }
+                NGCanvas layer = dl.layer;
+                float lw = layer.tw / highestPixelScale;
+                float lh = layer.th / highestPixelScale;
+                if (bounds != null) {
+                    bounds.setBounds(0, 0, lw, lh);
+                    transformBounds = true;
+                }
+                if (gr != null) {
+                    gr.drawTexture(layer.cv.tex,
+                                   0, 0, lw, lh,
+                                   0, 0, layer.tw, layer.th);
+                }
+                break;
+            }
             default:
                 throw new InternalError("Unrecognized PGCanvas rendering token: "+token);
         }
@@ -1536,6 +1721,26 @@ public class NGCanvas extends NGNode {
         geometryChanged();
     }
 
+    /**
+     * Receives the display lists that were defined or removed since the
+     * last synchronization. The changes take effect the next time that the
+     * canvas renders its commands.
+     *
+     * @param lists the commands of the defined lists by name, with a
+     *              {@code null} value for each list that was removed
+     */
+    public void updateDisplayLists(Map<String, GrowableDataBuffer> lists) {
+        if (pendingLists == null) {
+            pendingLists = new LinkedHashMap<>();
+        }
+        for (Map.Entry<String, GrowableDataBuffer> e : lists.entrySet()) {
+            GrowableDataBuffer old = pendingLists.put(e.getKey(), e.getValue());
+            if (old != null) {
+                GrowableDataBuffer.returnBuffer(old);
+            }
+        }
+    }
+
     // Returns true if we are falling behind in rendering (i.e. we
     // have unrendered data at the time of the synch.  This tells
     // the FX layer that it should consider emitting a RESET if it
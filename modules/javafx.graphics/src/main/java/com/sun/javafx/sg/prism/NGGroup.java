@@ -28,13 +28,17 @@ package com.sun.javafx.sg.prism;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.BoxBounds;
 import com.sun.javafx.geom.DirtyRegionContainer;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.geom.transform.NoninvertibleTransformException;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.prism.Graphics;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.scenario.effect.Blend;
 import com.sun.scenario.effect.Blend.Mode;
 import com.sun.scenario.effect.FilterContext;
@@ -74,6 +78,22 @@ public class NGGroup extends NGNode {
      */
     private static final int REGION_INTERSECTS_MASK = 0x15555555;
 
+    /**
+     * The number of children from which the children are indexed by their
+     * bounds, so that culling and dirty region accumulation don't have to
+     * visit every child. Zero turns the index off.
+     */
+    static int cullIndexThreshold = PrismSettings.cullIndexThreshold;
+
+    private static final RectBounds TEMP_CULL_AREA = new RectBounds();
+    private static final BoxBounds TEMP_LOCAL_AREA = new BoxBounds();
+
+    /**
+     * The index of the children, if there are enough of them. It is dropped
+     * whenever the children change and built again when it is needed.
+     */
+    private ChildBoundsIndex childIndex;
+
     /***************************************************************************
      *                                                                         *
      * Implementation of the PGGroup interface                                 *
@@ -119,6 +139,7 @@ public class NGGroup extends NGNode {
         } else {
             children.add(index, node);
         }
+        childIndex = null;
         child.markDirty();
         markTreeDirtyNoIncrement();
         geometryChanged();
@@ -127,6 +148,7 @@ public class NGGroup extends NGNode {
     public void clearFrom(int fromIndex) {
         if (fromIndex < children.size()) {
             children.subList(fromIndex, children.size()).clear();
+            childIndex = null;
             geometryChanged();
             childDirty = true;
             markTreeDirtyNoIncrement();
@@ -164,6 +186,7 @@ public class NGGroup extends NGNode {
         // as yet have this optimization (mostly because we didn't have it in
         // Scenario, mostly because it was hard to optimize correctly).
         children.remove(node);
+        childIndex = null;
         geometryChanged();
         childDirty = true;
         markTreeDirtyNoIncrement();
@@ -171,6 +194,7 @@ public class NGGroup extends NGNode {
 
     public void remove(int index) {
         children.remove(index);
+        childIndex = null;
         geometryChanged();
         childDirty = true;
         markTreeDirtyNoIncrement();
@@ -178,6 +202,7 @@ public class NGGroup extends NGNode {
 
     public void clear() {
         children.clear();
+        childIndex = null;
         childDirty = false;
         geometryChanged();
         markTreeDirtyNoIncrement();
@@ -200,11 +225,44 @@ public class NGGroup extends NGNode {
             NGNode childPeer = NodeHelper.getPeer(child);
             viewOrderChildren.add(childPeer);
         }
+        childIndex = null;
 
         // Mark visual dirty
         visualsChanged();
     }
 
+    /**
+     * Gets the index of the children, building it if needed. Returns null if
+     * there are too few children to index.
+     */
+    ChildBoundsIndex getChildIndex() {
+        final int threshold = cullIndexThreshold;
+        if (threshold <= 0 || children.size() < threshold) {
+            childIndex = null;
+        } else if (childIndex == null) {
+            childIndex = new ChildBoundsIndex(getOrderedChildren());
+        }
+        return childIndex;
+    }
+
+    // Gets the index if the children were culled with it in this render pass.
+    private ChildBoundsIndex getCulledChildIndex() {
+        final ChildBoundsIndex index = childIndex;
+        return index != null && index.getCandidateCount() >= 0 ? index : null;
+    }
+
+    void childBoundsChanged(NGNode child) {
+        if (childIndex != null && !childIndex.boundsChanged(child)) {
+            childIndex = null;
+        }
+    }
+
+    void childMarkedDirty(NGNode child) {
+        if (childIndex != null) {
+            childIndex.childMarkedDirty(child);
+        }
+    }
+
     /**
      * Set by the FX scene graph.
      * @param blendMode cannot be null
@@ -240,15 +298,22 @@ public class NGGroup extends NGNode {
             return;
         }
 
+        // If the children were culled with the index, only the children that
+        // were found can intersect the dirty region. This is only the case
+        // with the SRC_OVER blend mode.
+        final ChildBoundsIndex index = g.hasPreCullingBits() ? getCulledChildIndex() : null;
+        final int count = index != null ? index.getCandidateCount() : orderedChildren.size();
+
         NodePath renderRoot = g.getRenderRoot();
         int startPos = 0;
         if (renderRoot != null) {
             if (renderRoot.hasNext()) {
                 renderRoot.next();
-                startPos = orderedChildren.indexOf(renderRoot.getCurrentNode());
+                final NGNode rootNode = renderRoot.getCurrentNode();
+                startPos = index != null ? index.indexOfCandidate(rootNode) : orderedChildren.indexOf(rootNode);
 
                 for (int i = 0; i < startPos; ++i) {
-                    orderedChildren.get(i).clearDirtyTree();
+                    (index != null ? index.getCandidate(i) : orderedChildren.get(i)).clearDirtyTree();
                 }
             } else {
                 g.setRenderRoot(null);
@@ -258,10 +323,10 @@ public class NGGroup extends NGNode {
         if (blendMode == Blend.Mode.SRC_OVER ||
                 orderedChildren.size() < 2) {  // Blend modes only work "between" siblings
 
-            for (int i = startPos; i < orderedChildren.size(); i++) {
+            for (int i = startPos; i < count; i++) {
                 NGNode child;
                 try {
-                    child = orderedChildren.get(i);
+                    child = index != null ? index.getCandidate(i) : orderedChildren.get(i);
                 } catch (Exception e) {
                     child = null;
                 }
@@ -411,10 +476,14 @@ public class NGGroup extends NGNode {
         // True if every child _after_ the the found render root is clean
         boolean followingChildrenClean = true;
         // Iterate over all children, looking for a render root.
+        // The children that were not found when culling with the index are
+        // outside of the dirty regions and clean.
         List<NGNode> orderedChildren = getOrderedChildren();
-        for (int resultIdx = orderedChildren.size() - 1; resultIdx >= 0; resultIdx--) {
+        final ChildBoundsIndex index = cullingIndex != -1 ? getCulledChildIndex() : null;
+        final int count = index != null ? index.getCandidateCount() : orderedChildren.size();
+        for (int resultIdx = count - 1; resultIdx >= 0; resultIdx--) {
             // Get the render root result from the child
-            final NGNode child = orderedChildren.get(resultIdx);
+            final NGNode child = index != null ? index.getCandidate(resultIdx) : orderedChildren.get(resultIdx);
             result = child.computeRenderRoot(path, dirtyRegion, cullingIndex, chTx, pvTx);
             // Update this flag, which if true means that this child and all subsequent children
             // of this group are all clean.
@@ -451,6 +520,9 @@ public class NGGroup extends NGNode {
 
         //set culling bits for this group first.
         super.markCullRegions(drc, cullingRegionsBitsOfParent, tx, pvTx);
+        if (childIndex != null) {
+            childIndex.clearCandidates();
+        }
 
         //cullingRegionsBits == 0 group is outside all dirty regions
         // we can cull all children otherwise check children.
@@ -474,20 +546,74 @@ public class NGGroup extends NGNode {
             BaseTransform chTx = tx.deriveWithConcatenation(getTransform());
 
             NGNode child;
-            List<NGNode> orderedChildren = getOrderedChildren();
-            for (int chldIdx = 0; chldIdx < orderedChildren.size(); chldIdx++) {
-                child = orderedChildren.get(chldIdx);
-                child.markCullRegions(
-                        drc,
-                        cullingBits,
-                        chTx,
-                        pvTx);
+            if (cullChildren(drc, chTx, pvTx)) {
+                // The children that were not found are outside of the dirty
+                // regions. They keep their culling bits, which are not used.
+                for (int i = 0, n = childIndex.getCandidateCount(); i < n; i++) {
+                    child = childIndex.getCandidate(i);
+                    child.markCullRegions(
+                            drc,
+                            cullingBits,
+                            chTx,
+                            pvTx);
+                }
+            } else {
+                List<NGNode> orderedChildren = getOrderedChildren();
+                for (int chldIdx = 0; chldIdx < orderedChildren.size(); chldIdx++) {
+                    child = orderedChildren.get(chldIdx);
+                    child.markCullRegions(
+                            drc,
+                            cullingBits,
+                            chTx,
+                            pvTx);
+                }
             }
             // restore previous transform state
             tx.restoreTransform(mxx, mxy, mxz, mxt, myx, myy, myz, myt, mzx, mzy, mzz, mzt);
         }
     }
 
+    /**
+     * Finds the children that can intersect the dirty regions that intersect
+     * this group with the index of the children. Returns false if there is
+     * no index or if it can't be used, in which case every child has to be
+     * checked.
+     */
+    private boolean cullChildren(DirtyRegionContainer drc, BaseTransform chTx, GeneralTransform3D pvTx) {
+        if (blendMode != Blend.Mode.SRC_OVER || !pvTx.isIdentity() || !chTx.is2D()) {
+            return false;
+        }
+        final ChildBoundsIndex index = getChildIndex();
+        if (index == null) {
+            return false;
+        }
+        final RectBounds area = TEMP_CULL_AREA;
+        area.makeEmpty();
+        for (int i = 0; i < drc.size(); i++) {
+            final RectBounds region = drc.getDirtyRegion(i);
+            if (region == null || region.isEmpty()) {
+                break;
+            }
+            if ((cullingBits & (DIRTY_REGION_INTERSECTS_NODE_BOUNDS << (2 * i))) != 0) {
+                area.unionWith(region);
+            }
+        }
+        if (area.isEmpty()) {
+            return false;
+        }
+        // Grow the area by a pixel to allow for rounding errors when it is
+        // transformed back to the coordinates of the group
+        area.grow(1, 1);
+        final BaseBounds localArea;
+        try {
+            localArea = chTx.inverseTransform(area, TEMP_LOCAL_AREA);
+        } catch (NoninvertibleTransformException e) {
+            return false;
+        }
+        index.cull(localArea);
+        return true;
+    }
+
     @Override
     public void drawDirtyOpts(final BaseTransform tx, final GeneralTransform3D pvTx,
                               Rectangle clipBounds, int[] countBuffer, int dirtyRegionIndex) {
@@ -339,6 +339,9 @@ public abstract class NGNode {
         }
         dirtyBounds = dirtyBounds.deriveWithUnion(bounds);
         transformedBounds = transformedBounds.deriveWithNewBounds(bounds);
+        if (parent instanceof NGGroup) {
+            ((NGGroup) parent).childBoundsChanged(this);
+        }
         if (hasVisuals() && !byTransformChangeOnly) {
             markDirty();
         }
@@ -824,6 +827,7 @@ public abstract class NGNode {
         if (dirty == DirtyFlag.CLEAN) {
             if (parent != null && parent.dirty == DirtyFlag.CLEAN && !parent.childDirty) {
                 dirty = DirtyFlag.DIRTY_BY_TRANSLATION;
+                notifyParentOfDirtyChild();
                 parent.childDirty = true;
                 parent.dirtyChildrenAccumulated++;
                 parent.invalidateCacheByTranslation(hint);
@@ -840,6 +844,7 @@ public abstract class NGNode {
     // the dirty source of change, e.g. group knows it has new child
     // or one of it's child has been removed
     protected final void markTreeDirtyNoIncrement() {
+        notifyParentOfDirtyChild();
         if (parent != null && (!parent.childDirty || dirty == DirtyFlag.DIRTY_BY_TRANSLATION)) {
             markTreeDirty();
         }
@@ -861,6 +866,7 @@ public abstract class NGNode {
      * another bit).
      */
     protected final void markTreeDirty() {
+        notifyParentOfDirtyChild();
         NGNode p = parent;
         boolean atClip = isClip;
         boolean byTranslation = dirty == DirtyFlag.DIRTY_BY_TRANSLATION;
@@ -872,6 +878,7 @@ public abstract class NGNode {
                 p.dirtyChildrenAccumulated++;
             }
             p.invalidateCache();
+            p.notifyParentOfDirtyChild();
             atClip = p.isClip;
             byTranslation = p.dirty == DirtyFlag.DIRTY_BY_TRANSLATION;
             p = p.parent;
@@ -889,6 +896,16 @@ public abstract class NGNode {
         if (p != null) p.invalidateCache();
     }
 
+    /**
+     * Lets the parent know that this node, or one of its descendants, is no
+     * longer clean, in case the parent keeps track of its dirty children.
+     */
+    private void notifyParentOfDirtyChild() {
+        if (parent instanceof NGGroup) {
+            ((NGGroup) parent).childMarkedDirty(this);
+        }
+    }
+
     /**
      * Gets whether this SGNode is clean. This will return true only if
      * this node and any / all child nodes are clean.
@@ -1199,10 +1216,13 @@ public abstract class NGNode {
             }
         }
 
+        // A group that indexes its children keeps track of the children that
+        // are not clean, so that only those have to be visited.
+        final ChildBoundsIndex index = ((NGGroup) this).getChildIndex();
         List<NGNode> children = ((NGGroup) this).getChildren();
-        int num = children.size();
+        int num = index != null ? index.collectDirtyChildren() : children.size();
         for (int i=0; i<num && status == DirtyRegionContainer.DTR_OK; i++) {
-            NGNode child = children.get(i);
+            NGNode child = index != null ? index.getDirtyChild(i) : children.get(i);
             // The child will check the dirty bits itself. If we tested it here
             // (as we used to), we are just doing the check twice. True, it might
             // mean fewer method calls, but hotspot will probably inline this all
@@ -60,6 +60,7 @@ import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.Affine2D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.logging.PulseLogger;
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.javafx.scene.NodeHelper;
@@ -657,6 +658,7 @@ public class NGRegion extends NGGroup {
                 if (PULSE_LOGGING_ENABLED) {
                     PulseLogger.incrementCounter("Cached region shape image used");
                 }
+                PulseCounters.increment(PulseCounters.Counter.CACHE_HITS);
             } else {
                 // no cache, rendering backgrounds directly to graphics
                 renderBackgroundShape(g);
@@ -1077,6 +1079,7 @@ public class NGRegion extends NGGroup {
         if (PULSE_LOGGING_ENABLED) {
             PulseLogger.incrementCounter("Cached region background image used");
         }
+        PulseCounters.increment(PulseCounters.Counter.CACHE_HITS);
     }
 
     private void renderBackgroundRectanglesDirectly(Graphics g, float width, float height) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.text;
+
+import static com.sun.javafx.scene.text.TextLayout.DIRECTION_DEFAULT_RTL;
+import static com.sun.javafx.scene.text.TextLayout.DIRECTION_RTL;
+import static com.sun.javafx.scene.text.TextLayout.FLAGS_ANALYSIS_VALID;
+import static com.sun.javafx.scene.text.TextLayout.FLAGS_HAS_TABS;
+
+import com.sun.javafx.font.CharToGlyphMapper;
+import com.sun.javafx.font.FontResource;
+import com.sun.javafx.font.FontStrike;
+import com.sun.javafx.font.PGFont;
+import com.sun.javafx.font.PrismFontFactory;
+
+/**
+ * Breaks and shapes left to right text in a single font that only has
+ * Latin-1 characters, which is the case of most labels. Such text has no
+ * bidi levels, no complex scripts and no ideographs, so the runs only end at
+ * tabs and line breaks. The glyphs are mapped for the whole text at once and
+ * the runs are shaped with the glyphs and advances of the layout cache,
+ * without the per character analysis of {@link GlyphLayout#breakRuns}.
+ */
+final class LatinLayout {
+
+    /* Whether the fast path is used, see prism.latinLayout */
+    static boolean enabled = PrismFontFactory.latinLayout;
+
+    private LatinLayout() {
+    }
+
+    /**
+     * Builds the runs of the text, if the text qualifies.
+     *
+     * @return the new flags of the layout, or -1 if the text needs the
+     * analysis of {@link GlyphLayout}, in which case no run was added
+     */
+    static int breakRuns(PrismTextLayout layout, char[] chars, PGFont font,
+                         FontStrike strike, LayoutCache cache, int flags) {
+        if (!enabled) return -1;
+        if ((flags & (DIRECTION_RTL | DIRECTION_DEFAULT_RTL)) != 0) return -1;
+        FontResource fr = strike.getFontResource();
+        if ((font.getFeatures() & fr.getFeatures()) != 0) return -1;
+
+        int length = chars.length;
+        for (int i = 0; i < length; i++) {
+            if (chars[i] > 0xFF) return -1;
+        }
+
+        /* Emoji get runs of their own, leave them to GlyphLayout */
+        int[] glyphs = cache.glyphs;
+        CharToGlyphMapper mapper = fr.getGlyphMapper();
+        mapper.charsToGlyphs(length, chars, glyphs);
+        for (int i = 0; i < length; i++) {
+            if (fr.isColorGlyph(glyphs[i])) return -1;
+        }
+
+        float[] advances = cache.advances;
+        float fontSize = strike.getSize();
+        int start = 0;
+        float width = 0;
+        TextRun run = null;
+        int i = 0;
+        while (i < length) {
+            char ch = chars[i];
+            if (ch == '\t' || ch == '\n' || ch == '\r') {
+                if (i != start) {
+                    addTextRun(layout, start, i - start, width, cache);
+                    start = i;
+                }
+                i++;
+                if (ch == '\r' && i < length && chars[i] == '\n') {
+                    i++;
+                }
+                run = new TextRun(start, i - start, (byte)0, false,
+                                  ScriptMapper.COMMON, null, 0, false);
+                if (ch == '\t') {
+                    run.setTab();
+                    flags |= FLAGS_HAS_TABS;
+                } else {
+                    run.setLinebreak();
+                }
+                layout.addTextRun(run);
+                start = i;
+                width = 0;
+            } else {
+                float adv = fr.getAdvance(glyphs[i], fontSize);
+                advances[i] = adv;
+                width += adv;
+                i++;
+            }
+        }
+        if (start < length) {
+            addTextRun(layout, start, length - start, width, cache);
+        } else if (run == null || run.isLinebreak()) {
+            /* Ensure every lines has at least one run */
+            run = new TextRun(start, 0, (byte)0, false,
+                              ScriptMapper.COMMON, null, 0, false);
+            layout.addTextRun(run);
+        }
+        return flags | FLAGS_ANALYSIS_VALID;
+    }
+
+    private static void addTextRun(PrismTextLayout layout, int start, int length,
+                                   float width, LayoutCache cache) {
+        TextRun run = new TextRun(start, length, (byte)0, false, 0, null, 0, false);
+        run.setWidth(width);
+        run.shape(length, cache.glyphs, cache.advances);
+        layout.addTextRun(run);
+    }
+}
@@ -25,9 +25,62 @@
 
 package com.sun.javafx.text;
 
+import java.util.Arrays;
 import com.sun.javafx.font.PGFont;
 
 class LayoutCache {
+
+    /**
+     * The key of a layout in the shared cache. Besides the text and the font
+     * it holds the layout properties that the cached runs and lines depend
+     * on. The fonts have no configurable features, so the font identifies
+     * the shaping.
+     */
+    static final class Key {
+        private final char[] text;
+        private final PGFont font;
+        private final int direction;
+        private final int tabSize;
+        private final float spacing;
+        private final int hash;
+
+        Key(char[] text, PGFont font, int direction, int tabSize, float spacing) {
+            this.text = text;
+            this.font = font;
+            this.direction = direction;
+            this.tabSize = tabSize;
+            this.spacing = spacing;
+            int h = Arrays.hashCode(text);
+            h = 31 * h + font.hashCode();
+            h = 31 * h + direction;
+            h = 31 * h + tabSize;
+            h = 31 * h + Float.floatToIntBits(spacing);
+            hash = h;
+        }
+
+        int getLength() {
+            return text.length;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key)obj;
+            return hash == other.hash &&
+                   direction == other.direction &&
+                   tabSize == other.tabSize &&
+                   Float.floatToIntBits(spacing) == Float.floatToIntBits(other.spacing) &&
+                   font.equals(other.font) &&
+                   Arrays.equals(text, other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     int[] glyphs;
     float[] advances;
     boolean valid;
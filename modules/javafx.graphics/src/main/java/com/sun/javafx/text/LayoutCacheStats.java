@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.text;
+
+import com.sun.javafx.util.PlatformMBeans;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sizes and counters of the layouts of single font text that are shared by
+ * all {@link PrismTextLayout}s. The size of the cache, in characters, is set
+ * by the {@code prism.cacheLayoutSize} system property. {@link PlatformMBeans}
+ * registers the bean under the {@link LayoutCacheStatsMBean} interface.
+ */
+public final class LayoutCacheStats implements LayoutCacheStatsMBean {
+
+    public static LayoutCacheStats getDefaultBean() {
+        return LayoutCacheStatsHolder.holder;
+    }
+    private static class LayoutCacheStatsHolder {
+        private static final LayoutCacheStats holder = new LayoutCacheStats();
+        static {
+            PlatformMBeans.register("LayoutCacheStats", holder);
+        }
+    }
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private LayoutCacheStats() {
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void evicted() {
+        evictions.increment();
+    }
+
+    @Override public int getEntries() { return PrismTextLayout.getCacheEntries(); }
+    @Override public long getCachedChars() { return PrismTextLayout.getCacheSize(); }
+    @Override public long getMaxCachedChars() { return PrismTextLayout.getMaxCacheSize(); }
+    @Override public long getHits() { return hits.sum(); }
+    @Override public long getMisses() { return misses.sum(); }
+    @Override public long getEvictions() { return evictions.sum(); }
+
+    @Override public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return (total == 0) ? 0.0 : ((double) h) / total;
+    }
+
+    @Override public void resetCounters() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+}
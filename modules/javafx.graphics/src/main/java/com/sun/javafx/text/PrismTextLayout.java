@@ -50,7 +50,9 @@ import java.text.Bidi;
 import java.text.BreakIterator;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class PrismTextLayout implements TextLayout {
     private static final BaseTransform IDENTITY = BaseTransform.IDENTITY_TRANSFORM;
@@ -59,7 +61,10 @@ public class PrismTextLayout implements TextLayout {
     private static final int X_MAX_INDEX = 2;
     private static final int Y_MAX_INDEX = 3;
 
-    private static final Hashtable<Integer, LayoutCache> stringCache = new Hashtable<>();
+    /* Layouts of single font text shared by all instances, in least
+     * recently used order. Guarded by CACHE_SIZE_LOCK. */
+    private static final LinkedHashMap<LayoutCache.Key, LayoutCache> stringCache =
+            new LinkedHashMap<>(64, 0.75f, true);
     private static final Object  CACHE_SIZE_LOCK = new Object();
     private static int cacheSize = 0;
     private static final int MAX_STRING_SIZE = 256;
@@ -69,7 +74,8 @@ public class PrismTextLayout implements TextLayout {
     private TextSpan[] spans;   /* Rich text  (null for single font text) */
     private PGFont font;        /* Single font text (null for rich text) */
     private FontStrike strike;  /* cached strike of font (identity) */
-    private Integer cacheKey;
+    private boolean cacheable;
+    private LayoutCache.Key cacheKey;
     private TextLine[] lines;
     private TextRun[] runs;
     private int runCount;
@@ -128,6 +134,7 @@ public class PrismTextLayout implements TextLayout {
         this.font = null;
         this.strike = null;
         this.text = null;   /* Initialized in getText() */
+        this.cacheable = false;
         this.cacheKey = null;
         return true;
     }
@@ -139,12 +146,9 @@ public class PrismTextLayout implements TextLayout {
         this.font = (PGFont)font;
         this.strike = ((PGFont)font).getStrike(IDENTITY);
         this.text = text.toCharArray();
-        if (MAX_CACHE_SIZE > 0) {
-            int length = text.length();
-            if (0 < length && length <= MAX_STRING_SIZE) {
-                cacheKey = text.hashCode() * strike.hashCode();
-            }
-        }
+        this.cacheKey = null;
+        int length = text.length();
+        cacheable = MAX_CACHE_SIZE > 0 && 0 < length && length <= MAX_STRING_SIZE;
         return true;
     }
 
@@ -221,6 +225,8 @@ public class PrismTextLayout implements TextLayout {
     public boolean setLineSpacing(float spacing) {
         if (this.spacing == spacing) return false;
         this.spacing = spacing;
+        /* The cached lines depend on the spacing */
+        layoutCache = null;
         relayout();
         return true;
     }
@@ -671,6 +677,8 @@ public class PrismTextLayout implements TextLayout {
         }
         if (tabSize != spaces) {
             tabSize = spaces;
+            /* The cached lines depend on the tab size */
+            layoutCache = null;
             relayout();
             return true;
         }
@@ -696,6 +704,22 @@ public class PrismTextLayout implements TextLayout {
         return index;
     }
 
+    static int getCacheEntries() {
+        synchronized (CACHE_SIZE_LOCK) {
+            return stringCache.size();
+        }
+    }
+
+    static int getCacheSize() {
+        synchronized (CACHE_SIZE_LOCK) {
+            return cacheSize;
+        }
+    }
+
+    static int getMaxCacheSize() {
+        return MAX_CACHE_SIZE;
+    }
+
     private boolean copyCache() {
         int align = flags & ALIGN_MASK;
         int boundsType = flags & BOUNDS_MASK;
@@ -704,14 +728,21 @@ public class PrismTextLayout implements TextLayout {
     }
 
     private void initCache() {
-        if (cacheKey != null) {
+        if (cacheable) {
             if (layoutCache == null) {
-                LayoutCache cache = stringCache.get(cacheKey);
-                if (cache != null && cache.font.equals(font) && Arrays.equals(cache.text, text)) {
+                cacheKey = new LayoutCache.Key(text, font, flags & DIRECTION_MASK, tabSize, spacing);
+                LayoutCache cache;
+                synchronized (CACHE_SIZE_LOCK) {
+                    cache = stringCache.get(cacheKey);
+                }
+                if (cache != null) {
+                    LayoutCacheStats.getDefaultBean().hit();
                     layoutCache = cache;
                     runs = cache.runs;
                     runCount = cache.runCount;
                     flags |= cache.analysis;
+                } else {
+                    LayoutCacheStats.getDefaultBean().miss();
                 }
             }
             if (layoutCache != null) {
@@ -796,9 +827,24 @@ public class PrismTextLayout implements TextLayout {
             int count = Math.max(4, Math.min(chars.length / 16, 16));
             runs = new TextRun[count];
         }
-        GlyphLayout layout = GlyphLayout.getInstance();
-        flags = layout.breakRuns(this, chars, flags);
-        layout.dispose();
+        int latinFlags = -1;
+        if (spans == null && font != null && isSimpleLayout()) {
+            /* A new cache as the glyphs and advances are used by the runs */
+            LayoutCache cache = new LayoutCache();
+            cache.glyphs = new int[chars.length];
+            cache.advances = new float[chars.length];
+            latinFlags = LatinLayout.breakRuns(this, chars, font, strike, cache, flags);
+            if (latinFlags != -1) {
+                layoutCache = cache;
+            }
+        }
+        if (latinFlags != -1) {
+            flags = latinFlags;
+        } else {
+            GlyphLayout layout = GlyphLayout.getInstance();
+            flags = layout.breakRuns(this, chars, flags);
+            layout.dispose();
+        }
         for (int j = runCount; j < runs.length; j++) {
             runs[j] = null;
         }
@@ -1322,13 +1368,18 @@ public class PrismTextLayout implements TextLayout {
                 layoutCache.layoutHeight = layoutHeight;
                 layoutCache.analysis = flags & ANALYSIS_MASK;
                 synchronized (CACHE_SIZE_LOCK) {
-                    int charCount = chars.length;
-                    if (cacheSize + charCount > MAX_CACHE_SIZE) {
-                        stringCache.clear();
-                        cacheSize = 0;
+                    if (stringCache.put(cacheKey, layoutCache) == null) {
+                        cacheSize += cacheKey.getLength();
+                    }
+                    /* Evict the least recently used layouts */
+                    Iterator<Map.Entry<LayoutCache.Key, LayoutCache>> it =
+                            stringCache.entrySet().iterator();
+                    while (cacheSize > MAX_CACHE_SIZE && stringCache.size() > 1) {
+                        LayoutCache.Key key = it.next().getKey();
+                        it.remove();
+                        cacheSize -= key.getLength();
+                        LayoutCacheStats.getDefaultBean().evicted();
                     }
-                    stringCache.put(cacheKey, layoutCache);
-                    cacheSize += charCount;
                 }
             }
             layoutCache.valid = true;
@@ -34,4 +34,14 @@ public interface ImageLoader {
     public int getLoopCount();
     public double getWidth();
     public double getHeight();
+
+    /**
+     * Returns true if the frames of an animated image are decoded while it
+     * is animated rather than up front. Frames of such a loader must be
+     * requested in animation order, and {@link #getFrame(int)} returns null
+     * for a frame that isn't decoded yet.
+     */
+    public default boolean isStreaming() {
+        return false;
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.sun.javafx.logging.PulseCounters;
+
+/**
+ * Collects the {@link PulseCounters} of a pulse on the FX thread and of the
+ * rendering of that pulse on the render thread, and hands the combined values
+ * to a sink on the FX thread once both are done. The toolkit calls the hooks
+ * of this class only while it is {@link #isEnabled() enabled}.
+ */
+public final class PulseStatisticsCollector {
+
+    /**
+     * Receives the values of a pulse, indexed as described for
+     * {@link PulseCounters#snapshot(long[])}, on the FX thread.
+     */
+    public interface Sink {
+        void pulseCompleted(long pulseId, long[] values);
+    }
+
+    // pulses that are rendered but whose rendering hasn't finished yet are dropped after this many pulses
+    private static final int MAX_PENDING_PULSES = 16;
+
+    private static volatile Sink sink;
+
+    // FX thread state
+    private static long pulseId;
+    private static boolean inPulse;
+    private static boolean renderStarted;
+    private static final long[] fxStart = new long[PulseCounters.SIZE];
+    private static final long[] fxEnd = new long[PulseCounters.SIZE];
+
+    // the pulse being rendered, written on the FX thread and read on the render thread
+    private static volatile long renderPulseId;
+
+    // render thread state
+    private static int renderEpoch;
+    private static final long[] renderLast = new long[PulseCounters.SIZE];
+    private static final long[] renderEnd = new long[PulseCounters.SIZE];
+
+    // values of pulses for which only one of the two parts is done, guarded by itself
+    private static final Map<Long, long[]> pending = new HashMap<>();
+
+    private PulseStatisticsCollector() {
+    }
+
+    public static synchronized void setSink(Sink value) {
+        if (value != null && sink == null) {
+            PulseCounters.enable();
+        } else if (value == null && sink != null) {
+            PulseCounters.disable();
+        }
+        sink = value;
+    }
+
+    public static boolean isEnabled() {
+        return sink != null;
+    }
+
+    /**
+     * Called on the FX thread when a pulse starts.
+     */
+    public static void pulseStart() {
+        ++pulseId;
+        inPulse = true;
+        renderStarted = false;
+        PulseCounters.snapshot(fxStart);
+        PulseCounters.phase(PulseCounters.Phase.ANIMATION);
+    }
+
+    /**
+     * Called on the FX thread before the scenes of the current pulse are
+     * handed to the render thread.
+     */
+    public static void renderStart() {
+        if (!inPulse) {
+            return;
+        }
+        renderStarted = true;
+        renderPulseId = pulseId;
+    }
+
+    /**
+     * Called on the FX thread when a pulse ends.
+     */
+    public static void pulseEnd() {
+        if (!inPulse) {
+            // collection was turned on during this pulse
+            return;
+        }
+        inPulse = false;
+        PulseCounters.phase(null);
+        PulseCounters.snapshot(fxEnd);
+        final long[] values = difference(fxStart, fxEnd);
+        if (renderStarted) {
+            complete(pulseId, values);
+        } else {
+            deliver(pulseId, values);
+        }
+    }
+
+    /**
+     * Called on the render thread when all scenes of a pulse are rendered.
+     */
+    public static void renderEnd() {
+        PulseCounters.phase(null);
+        PulseCounters.snapshot(renderEnd);
+        if (renderEpoch != PulseCounters.getEpoch()) {
+            // the values of this thread started over since the last pulse
+            renderEpoch = PulseCounters.getEpoch();
+            Arrays.fill(renderLast, 0L);
+        }
+        final long[] values = difference(renderLast, renderEnd);
+        System.arraycopy(renderEnd, 0, renderLast, 0, renderEnd.length);
+        complete(renderPulseId, values);
+    }
+
+    private static long[] difference(long[] start, long[] end) {
+        final long[] values = new long[PulseCounters.SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = end[i] - start[i];
+        }
+        return values;
+    }
+
+    private static void complete(long id, long[] values) {
+        synchronized (pending) {
+            final long[] other = pending.remove(id);
+            if (other == null) {
+                pending.put(id, values);
+                // don't hold on to pulses whose other part never completed
+                for (Iterator<Long> i = pending.keySet().iterator(); i.hasNext(); ) {
+                    if (i.next() < id - MAX_PENDING_PULSES) {
+                        i.remove();
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] += other[i];
+            }
+        }
+        deliver(id, values);
+    }
+
+    private static void deliver(long id, long[] values) {
+        final Sink s = sink;
+        if (s == null) {
+            return;
+        }
+        final Toolkit toolkit = Toolkit.getToolkit();
+        if (toolkit.isFxUserThread()) {
+            s.pulseCompleted(id, values);
+        } else {
+            toolkit.defer(() -> s.pulseCompleted(id, values));
+        }
+    }
+}
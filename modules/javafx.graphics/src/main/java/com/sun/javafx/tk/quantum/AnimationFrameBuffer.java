@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk.quantum;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.common.ImageTools;
+import com.sun.javafx.iio.gif.GIFImageLoader2;
+import com.sun.prism.Image;
+
+/**
+ * Decodes the frames of a GIF animation while it is animated. Only the
+ * first frame and a few frames ahead of the animation are kept, so that the
+ * memory used doesn't depend on the number of frames. The frames are decoded
+ * in order on a background thread from the encoded image data, starting over
+ * when the animation loops, and frames the animation has passed are dropped.
+ * When the decoder falls behind the animation, the newest decoded frame
+ * before the requested one is shown, so that the animation keeps moving.
+ * <p>
+ * Animations are only decoded this way when all of their frames together
+ * would need more than {@code javafx.animatedImage.maxDecodedSize} megabytes
+ * (32 by default), as smaller animations are cheaper to decode once.
+ */
+final class AnimationFrameBuffer {
+
+    // the number of frames decoded ahead of the animation
+    private static final int AHEAD = 4;
+
+    private static final byte[] SIG87 = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] SIG89 = {'G', 'I', 'F', '8', '9', 'a'};
+
+    @SuppressWarnings("removal")
+    private static final long maxDecodedSize = AccessController.doPrivileged(
+            (PrivilegedAction<Long>) () -> Long.getLong("javafx.animatedImage.maxDecodedSize", 32)) * 1024 * 1024;
+
+    private static final ExecutorService DECODING_EXECUTOR = createExecutor();
+
+    private static final class Frame {
+        // the position of the frame in the animation, counting all loops
+        final long seq;
+        final Image image;
+
+        Frame(long seq, Image image) {
+            this.seq = seq;
+            this.image = image;
+        }
+    }
+
+    private final byte[] data;
+    private final int[] delays;
+    private final int loopCount;
+    private final int width, height;
+    private final boolean preserveRatio, smooth;
+    private final float pixelScale;
+    private final Image first;
+    private final Executor executor;
+
+    // only used by the decoding task
+    private GIFImageLoader2 decoder;
+    private int nextIndex;
+    private long nextSeq;
+
+    // guarded by this
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>(AHEAD);
+    private boolean decoding;
+    private boolean failed;
+    // the position of the last requested frame, counting all loops
+    private long position;
+
+    private AnimationFrameBuffer(byte[] data, int[] delays, int loopCount,
+                                 int width, int height, boolean preserveRatio,
+                                 float pixelScale, boolean smooth,
+                                 Executor executor) throws IOException
+    {
+        this.executor = executor;
+        this.data = data;
+        this.delays = delays;
+        this.loopCount = loopCount;
+        this.width = width;
+        this.height = height;
+        this.preserveRatio = preserveRatio;
+        this.pixelScale = pixelScale;
+        this.smooth = smooth;
+        first = decodeNext();
+        if (first == null) {
+            throw new EOFException();
+        }
+        requestFrames();
+    }
+
+    /**
+     * Returns true if {@code header}, the first bytes of an image, is the
+     * signature of a GIF image.
+     */
+    static boolean isGIF(byte[] header) {
+        return header.length >= 6 &&
+                (Arrays.equals(header, 0, 6, SIG87, 0, 6) || Arrays.equals(header, 0, 6, SIG89, 0, 6));
+    }
+
+    /**
+     * Returns a frame buffer for the GIF image in {@code data}, or null if
+     * it isn't an animation that is large enough to be decoded while it is
+     * animated.
+     */
+    static AnimationFrameBuffer create(byte[] data, double width, double height,
+                                       boolean preserveRatio, float pixelScale,
+                                       boolean smooth) throws IOException
+    {
+        return create(data, width, height, preserveRatio, pixelScale, smooth,
+                      maxDecodedSize, DECODING_EXECUTOR);
+    }
+
+    static AnimationFrameBuffer create(byte[] data, double width, double height,
+                                       boolean preserveRatio, float pixelScale,
+                                       boolean smooth, long maxDecodedSize,
+                                       Executor executor) throws IOException
+    {
+        // find the frames without decoding them
+        GIFImageLoader2 scanner = new GIFImageLoader2(new ByteArrayInputStream(data));
+        int[] delays = new int[16];
+        int count = 0;
+        try {
+            for (int delay; (delay = scanner.skipFrame()) >= 0; count++) {
+                if (count == delays.length) {
+                    delays = Arrays.copyOf(delays, count * 2);
+                }
+                delays[count] = delay;
+            }
+        } catch (IOException e) {
+            // allow partially loaded animated images
+            if (count == 0) {
+                throw e;
+            }
+        }
+        if (count < 2) {
+            return null;
+        }
+        int imgw = (int) Math.round(width * pixelScale);
+        int imgh = (int) Math.round(height * pixelScale);
+        int[] outWH = ImageTools.computeDimensions(scanner.getScreenWidth(), scanner.getScreenHeight(),
+                                                   imgw, imgh, preserveRatio);
+        if ((long) outWH[0] * outWH[1] * 4 * count <= maxDecodedSize) {
+            return null;
+        }
+        return new AnimationFrameBuffer(data, Arrays.copyOf(delays, count), scanner.getLoopCount(),
+                                        imgw, imgh, preserveRatio, pixelScale, smooth, executor);
+    }
+
+    int getFrameCount() {
+        return delays.length;
+    }
+
+    int getFrameDelay(int index) {
+        return delays[index];
+    }
+
+    int getLoopCount() {
+        return loopCount;
+    }
+
+    int getWidth() {
+        return first.getWidth();
+    }
+
+    int getHeight() {
+        return first.getHeight();
+    }
+
+    /**
+     * Returns the frame with the given index. If it hasn't been decoded yet,
+     * the newest decoded frame before it is returned, or null if there is
+     * none. The frames up to the returned one are dropped, the frames after
+     * the given index are kept.
+     */
+    Image getFrame(int index) {
+        Image image = null;
+        synchronized (this) {
+            // the animation only moves forward, so the index is that of the
+            // first frame at or after the last requested one
+            int count = delays.length;
+            position += Math.floorMod(index - (int) (position % count), count);
+            while (!frames.isEmpty() && frames.peekFirst().seq <= position) {
+                image = frames.removeFirst().image;
+            }
+        }
+        requestFrames();
+        return index == 0 ? first : image;
+    }
+
+    private synchronized void requestFrames() {
+        if (!decoding && !failed && frames.size() < AHEAD) {
+            decoding = true;
+            executor.execute(this::decodeAhead);
+        }
+    }
+
+    private void decodeAhead() {
+        while (true) {
+            synchronized (this) {
+                if (failed || frames.size() >= AHEAD) {
+                    decoding = false;
+                    return;
+                }
+            }
+            int index = nextIndex;
+            long seq = nextSeq;
+            Image image;
+            try {
+                image = decodeNext();
+            } catch (Exception e) {
+                image = null;
+            }
+            if (image == null) {
+                // the animation stops at the last frame that could be decoded
+                synchronized (this) {
+                    failed = true;
+                }
+                continue;
+            }
+            // the first frame is kept, but it still has to be decoded as
+            // the frames after it are drawn on top of it
+            if (index != 0) {
+                synchronized (this) {
+                    frames.addLast(new Frame(seq, image));
+                }
+            }
+        }
+    }
+
+    private Image decodeNext() throws IOException {
+        if (nextIndex == 0) {
+            decoder = new GIFImageLoader2(new ByteArrayInputStream(data));
+        }
+        ImageFrame frame = decoder.load(nextIndex, width, height, preserveRatio, smooth);
+        if (frame == null) {
+            return null;
+        }
+        frame.setPixelScale(pixelScale);
+        nextIndex = (nextIndex + 1) % delays.length;
+        nextSeq++;
+        return Image.convertImageFrame(frame);
+    }
+
+    @SuppressWarnings("removal")
+    private static ExecutorService createExecutor() {
+        final ExecutorService executor = Executors.newCachedThreadPool(
+                runnable -> AccessController.doPrivileged(
+                        (PrivilegedAction<Thread>) () -> {
+                            final Thread thread = new Thread(runnable, "Animated image decoding thread");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                ));
+        ((ThreadPoolExecutor) executor).setKeepAliveTime(1, TimeUnit.SECONDS);
+        return executor;
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk.quantum;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.sun.javafx.iio.common.ImageTools;
+import com.sun.javafx.util.DataURI;
+import com.sun.prism.Image;
+import com.sun.prism.PixelFormat;
+import com.sun.prism.impl.PrismSettings;
+
+/**
+ * An opt-in cache of decoded images on disk, so that images loaded from
+ * the same URL at the same size don't have to be read and decoded again
+ * when the application is restarted. The cache is enabled by setting the
+ * {@code javafx.image.diskCache} system property to a directory, its size
+ * is limited to {@code javafx.image.diskCache.maxSize} megabytes (64 by
+ * default) by removing the least recently used images.
+ * <p>
+ * An entry is keyed by the URL and the requested size, aspect ratio,
+ * pixel scale and smoothing, and stores the validator of the URL when it
+ * was loaded: the modification time and length of a file, the ETag or
+ * Last-Modified header of a http URL (found with a HEAD request) or the
+ * modification time reported by other connections. The validator is only
+ * looked up when there is an entry to check or an image to store, so an
+ * image that isn't cached costs no extra request before it is loaded,
+ * while a cached image of a http URL costs a HEAD request instead of a
+ * GET. URLs without a validator are not cached. Only single frame images are cached. The pixels
+ * are stored in the format of the loaded {@link Image} and are memory
+ * mapped when the image is read back.
+ */
+final class ImageDiskCache {
+
+    private static final int MAGIC = 0x4a465849; // "JFXI"
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".img";
+    private static final PixelFormat[] FORMATS = {
+        PixelFormat.BYTE_GRAY, PixelFormat.BYTE_RGB, PixelFormat.BYTE_BGRA_PRE
+    };
+
+    private static final ImageDiskCache instance = create();
+
+    @SuppressWarnings("removal")
+    private static ImageDiskCache create() {
+        return AccessController.doPrivileged((PrivilegedAction<ImageDiskCache>) () -> {
+            String dir = System.getProperty("javafx.image.diskCache");
+            if (dir == null || dir.isEmpty()) {
+                return null;
+            }
+            long maxSize = Long.getLong("javafx.image.diskCache.maxSize", 64) * 1024 * 1024;
+            try {
+                Path path = Path.of(dir);
+                Files.createDirectories(path);
+                return new ImageDiskCache(path, maxSize);
+            } catch (Exception e) {
+                if (PrismSettings.verbose) {
+                    System.err.println("Image disk cache disabled: " + e);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Returns the cache, or null if caching is not enabled.
+     */
+    static ImageDiskCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Identifies an image in the cache.
+     */
+    static final class Key {
+        private final String url;
+        private final float pixelScale;
+        private final String key;
+        private final String fileName;
+        // the validator of the url, looked up when it is first needed
+        private String validator;
+        private boolean validated;
+
+        private Key(String url, float pixelScale, String key) {
+            this.url = url;
+            this.pixelScale = pixelScale;
+            this.key = key;
+            this.fileName = hash(key) + SUFFIX;
+        }
+    }
+
+    private final Path dir;
+    private final long maxSize;
+    // the total size of the files, -1 until the directory has been scanned
+    private long size = -1;
+
+    ImageDiskCache(Path dir, long maxSize) {
+        this.dir = dir;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the key for an image loaded from url. This doesn't access
+     * the url, it is only validated when the key is used.
+     */
+    Key createKey(String url, double w, double h, boolean preserveRatio,
+                  float pixelScale, boolean smooth) {
+        String key = url + "\n" + w + "x" + h + "," + preserveRatio + "," + pixelScale + "," + smooth;
+        return new Key(url, pixelScale, key);
+    }
+
+    /*
+     * Returns the validator of the key's url, or null if the image can't be
+     * cached because the content of the url can't be validated.
+     */
+    private static String getValidator(Key key) {
+        if (!key.validated) {
+            key.validated = true;
+            key.validator = getValidator(key.url, key.pixelScale);
+        }
+        return key.validator;
+    }
+
+    private static String getValidator(String url, float pixelScale) {
+        try {
+            if (DataURI.matchScheme(url)) {
+                // the data is part of the URL
+                return "data";
+            }
+            String validator = getValidator(url);
+            if (validator != null && pixelScale >= 1.5f) {
+                // ImageStorage looks for a @2x variant of the image
+                String scaled = getValidator(ImageTools.getScaledImageName(url));
+                validator += "|" + (scaled != null ? scaled : "-");
+            }
+            return validator;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the cached image for the given key, or null if there is no
+     * valid entry.
+     */
+    Image get(Key key) {
+        Path file = dir.resolve(key.fileName);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String validator = getValidator(key);
+        if (validator == null) {
+            remove(file);
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || !key.key.equals(in.readUTF())
+                    || !validator.equals(in.readUTF())) {
+                remove(file);
+                return null;
+            }
+            int format = in.readInt();
+            int w = in.readInt();
+            int h = in.readInt();
+            int stride = in.readInt();
+            float pixelScale = in.readFloat();
+            long offset = channel.position();
+            if (format < 0 || format >= FORMATS.length || w <= 0 || h <= 0
+                    || stride < w * FORMATS[format].getBytesPerPixelUnit()
+                    || offset + (long) stride * h != channel.size()) {
+                remove(file);
+                return null;
+            }
+            MappedByteBuffer pixels = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) stride * h);
+            touch(file);
+            switch (FORMATS[format]) {
+                case BYTE_GRAY:
+                    return Image.fromByteGrayData(pixels, w, h, stride, pixelScale);
+                case BYTE_RGB:
+                    return Image.fromByteRgbData(pixels, w, h, stride, pixelScale);
+                default:
+                    return Image.fromByteBgraPreData(pixels, w, h, stride, pixelScale);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given image, unless its format can't be cached.
+     */
+    void put(Key key, Image image) {
+        int format = List.of(FORMATS).indexOf(image.getPixelFormat());
+        if (format < 0 || image.getMinX() != 0 || image.getMinY() != 0) {
+            return;
+        }
+        String validator = getValidator(key);
+        if (validator == null) {
+            return;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int stride = image.getScanlineStride();
+        ByteBuffer pixels = ((ByteBuffer) image.getPixelBuffer()).duplicate();
+        pixels.position(0);
+        pixels.limit(stride * h);
+
+        Path file = dir.resolve(key.fileName);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(dir, "tmp", null);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream os = Channels.newOutputStream(channel);
+                DataOutputStream out = new DataOutputStream(os);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(key.key);
+                out.writeUTF(validator);
+                out.writeInt(format);
+                out.writeInt(w);
+                out.writeInt(h);
+                out.writeInt(stride);
+                out.writeFloat(image.getPixelScale());
+                out.flush();
+                while (pixels.hasRemaining()) {
+                    channel.write(pixels);
+                }
+            }
+            long length = Files.size(temp);
+            long replaced = Files.exists(file) ? Files.size(file) : 0;
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            added(length - replaced);
+        } catch (IOException e) {
+            // the image will be decoded again next time
+        } finally {
+            if (temp != null) {
+                remove(temp);
+            }
+        }
+    }
+
+    private synchronized void added(long length) {
+        if (size < 0) {
+            size = scan();
+        } else {
+            size += length;
+        }
+        if (size > maxSize) {
+            trim();
+        }
+    }
+
+    private long scan() {
+        long total = 0;
+        for (Path file : list()) {
+            try {
+                total += Files.size(file);
+            } catch (IOException e) {
+            }
+        }
+        return total;
+    }
+
+    /*
+     * Removes the least recently used files until the cache uses no more
+     * than 3/4 of its maximum size, so that it isn't trimmed on every put.
+     */
+    private void trim() {
+        List<Path> files = list();
+        List<FileTime> times = new ArrayList<>();
+        for (Path file : files) {
+            try {
+                times.add(Files.getLastModifiedTime(file));
+            } catch (IOException e) {
+                times.add(FileTime.fromMillis(0));
+            }
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(times::get));
+        long target = maxSize / 4 * 3;
+        for (int i : order) {
+            if (size <= target) {
+                break;
+            }
+            Path file = files.get(i);
+            try {
+                long length = Files.size(file);
+                // a file that is mapped can't be deleted on some platforms
+                if (Files.deleteIfExists(file)) {
+                    size -= length;
+                }
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    private List<Path> list() {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(dir)) {
+            stream.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).forEach(files::add);
+        } catch (IOException e) {
+        }
+        return files;
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+        }
+    }
+
+    private synchronized void remove(Path file) {
+        try {
+            long length = Files.size(file);
+            if (Files.deleteIfExists(file) && size >= 0 && !file.getFileName().toString().startsWith("tmp")) {
+                size -= length;
+            }
+        } catch (IOException e) {
+        }
+    }
+
+    private static String getValidator(String url) throws IOException {
+        File file = new File(url);
+        if (!file.exists()) {
+            URL u = new URL(url);
+            if ("file".equals(u.getProtocol())) {
+                try {
+                    file = new File(u.toURI());
+                } catch (Exception e) {
+                    return null;
+                }
+            } else {
+                return getValidator(u);
+            }
+        }
+        if (!file.isFile()) {
+            return null;
+        }
+        return file.lastModified() + ":" + file.length();
+    }
+
+    private static String getValidator(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) connection;
+            http.setRequestMethod("HEAD");
+            try {
+                if (http.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                    return null;
+                }
+                String etag = http.getHeaderField("ETag");
+                if (etag != null) {
+                    return etag;
+                }
+                String lastModified = http.getHeaderField("Last-Modified");
+                if (lastModified != null) {
+                    return lastModified + ":" + http.getContentLengthLong();
+                }
+                return null;
+            } finally {
+                http.disconnect();
+            }
+        }
+        long lastModified = connection.getLastModified();
+        long length = connection.getContentLengthLong();
+        try (InputStream in = connection.getInputStream()) {
+            // only opened to release the connection
+        } catch (IOException e) {
+            return null;
+        }
+        return lastModified != 0 ? lastModified + ":" + length : null;
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
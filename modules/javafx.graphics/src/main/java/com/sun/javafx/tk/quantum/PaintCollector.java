@@ -35,6 +35,7 @@ import com.sun.javafx.PlatformUtil;
 import com.sun.glass.ui.Application;
 import com.sun.glass.ui.Window;
 import com.sun.javafx.tk.CompletionListener;
+import com.sun.javafx.tk.PulseStatisticsCollector;
 import com.sun.javafx.tk.RenderJob;
 
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
@@ -311,6 +312,9 @@ final class PaintCollector implements CompletionListener {
             if (PULSE_LOGGING_ENABLED) {
                 PulseLogger.renderEnd();
             }
+            if (PulseStatisticsCollector.isEnabled()) {
+                PulseStatisticsCollector.renderEnd();
+            }
         }
 
         // Count down the latch, indicating that drawing has
@@ -376,6 +380,9 @@ final class PaintCollector implements CompletionListener {
         if (PULSE_LOGGING_ENABLED) {
             PulseLogger.renderStart();
         }
+        if (PulseStatisticsCollector.isEnabled()) {
+            PulseStatisticsCollector.renderStart();
+        }
 
         // This part needs to be handled a bit differently depending on whether our platform has a native
         // window manager or not.
@@ -27,6 +27,7 @@ package com.sun.javafx.tk.quantum;
 
 import com.sun.javafx.logging.PulseLogger;
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
 import com.sun.prism.impl.Disposer;
@@ -96,6 +97,7 @@ final class PresentingPainter extends ViewPainter {
                 if (PULSE_LOGGING_ENABLED) {
                     PulseLogger.newPhase("Presenting");
                 }
+                PulseCounters.phase(PulseCounters.Phase.PRESENT);
                 if (!presentable.prepare(null)) {
                     disposePresentable();
                     sceneState.getScene().entireSceneNeedsRepaint();
@@ -25,6 +25,8 @@
 
 package com.sun.javafx.tk.quantum;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -34,9 +36,11 @@ import com.sun.javafx.iio.ImageLoader;
 import com.sun.javafx.iio.ImageMetadata;
 import com.sun.javafx.iio.ImageStorage;
 import com.sun.javafx.iio.ImageStorageException;
+import com.sun.javafx.iio.common.ImageTools;
 import com.sun.javafx.runtime.async.AbstractRemoteResource;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.tk.PlatformImage;
+import com.sun.javafx.util.DataURI;
 import com.sun.prism.Image;
 import com.sun.prism.impl.PrismSettings;
 import java.lang.reflect.UndeclaredThrowableException;
@@ -63,6 +67,8 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     private double height;
     private float pixelScale;
     private Exception exception;
+    // the frames of a large animation, decoded while it is animated
+    private AnimationFrameBuffer frameBuffer;
 
     public PrismImageLoader2(String url, double width, double height,
                              boolean preserveRatio, float pixelScale,
@@ -77,18 +83,31 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         loadAll(stream, width, height, preserveRatio, smooth);
     }
 
+    private PrismImageLoader2(Image image) {
+        setImage(image);
+    }
+
     @Override
     public double getWidth() {
+        if (frameBuffer != null) {
+            return frameBuffer.getWidth();
+        }
         return width;
     }
 
     @Override
     public double getHeight() {
+        if (frameBuffer != null) {
+            return frameBuffer.getHeight();
+        }
         return height;
     }
 
     @Override
     public int getFrameCount() {
+        if (frameBuffer != null) {
+            return frameBuffer.getFrameCount();
+        }
         if (images == null) {
             return 0;
         }
@@ -97,6 +116,9 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
 
     @Override
     public PlatformImage getFrame(int index) {
+        if (frameBuffer != null) {
+            return frameBuffer.getFrame(index);
+        }
         if (images == null) {
             return null;
         }
@@ -105,6 +127,9 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
 
     @Override
     public int getFrameDelay(int index) {
+        if (frameBuffer != null) {
+            return frameBuffer.getFrameDelay(index);
+        }
         if (images == null) {
             return 0;
         }
@@ -113,6 +138,9 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
 
     @Override
     public int getLoopCount() {
+        if (frameBuffer != null) {
+            return frameBuffer.getLoopCount();
+        }
         if (images == null) {
             return 0;
         }
@@ -124,15 +152,37 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         return exception;
     }
 
+    @Override
+    public boolean isStreaming() {
+        return frameBuffer != null;
+    }
+
     private void loadAll(String url, double w, double h,
                          boolean preserveRatio, float pixelScale,
                          boolean smooth)
     {
+        ImageDiskCache cache = ImageDiskCache.getInstance();
+        ImageDiskCache.Key key = null;
+        if (cache != null) {
+            key = cache.createKey(url, w, h, preserveRatio, pixelScale, smooth);
+            Image image = cache.get(key);
+            if (image != null) {
+                setImage(image);
+                return;
+            }
+        }
         ImageLoadListener listener = new PrismLoadListener();
         try {
-            ImageFrame[] imgFrames =
-                ImageStorage.getInstance().loadAll(url, listener, w, h, preserveRatio, pixelScale, smooth);
+            ImageFrame[] imgFrames = isGIF(url)
+                    ? loadGIF(url, listener, w, h, preserveRatio, pixelScale, smooth)
+                    : ImageStorage.getInstance().loadAll(url, listener, w, h, preserveRatio, pixelScale, smooth);
+            if (imgFrames == null) {
+                return;
+            }
             convertAll(imgFrames);
+            if (key != null && images.length == 1) {
+                cache.put(key, images[0]);
+            }
         } catch (ImageStorageException e) {
             handleException(e);
         } catch (Exception e) {
@@ -145,6 +195,10 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     {
         ImageLoadListener listener = new PrismLoadListener();
         try {
+            stream = loadAnimation(stream, w, h, preserveRatio, 1.0f, smooth);
+            if (stream == null) {
+                return;
+            }
             ImageFrame[] imgFrames =
                 ImageStorage.getInstance().loadAll(stream, listener, w, h, preserveRatio, 1.0f, smooth);
             convertAll(imgFrames);
@@ -155,6 +209,80 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         }
     }
 
+    // only a url that names a GIF is opened here to look for a large animation
+    private static boolean isGIF(String url) {
+        if (DataURI.matchScheme(url)) {
+            return false;
+        }
+        int end = url.indexOf('?');
+        String path = end < 0 ? url : url.substring(0, end);
+        return path.regionMatches(true, path.length() - 4, ".gif", 0, 4);
+    }
+
+    /*
+     * Loads a GIF image from url the way ImageStorage does, except that the
+     * frames of a large animation are decoded while it is animated. Returns
+     * null in that case.
+     */
+    private ImageFrame[] loadGIF(String url, ImageLoadListener listener,
+                                 double w, double h, boolean preserveRatio,
+                                 float pixelScale, boolean smooth)
+            throws IOException, ImageStorageException
+    {
+        float imgPixelScale = 1.0f;
+        InputStream stream = null;
+        if (pixelScale >= 1.5f) {
+            // Use Mac Retina conventions for >= 1.5f
+            try {
+                stream = ImageTools.createInputStream(ImageTools.getScaledImageName(url));
+                imgPixelScale = 2.0f;
+            } catch (IOException ignored) {
+            }
+        }
+        if (stream == null) {
+            stream = ImageTools.createInputStream(url);
+        }
+        try (InputStream in = stream) {
+            InputStream rest = loadAnimation(in, w, h, preserveRatio, imgPixelScale, smooth);
+            if (rest == null) {
+                return null;
+            }
+            return ImageStorage.getInstance().loadAll(rest, listener, w, h, preserveRatio, imgPixelScale, smooth);
+        }
+    }
+
+    /*
+     * Reads a GIF image from the stream and keeps it to decode its frames
+     * while it is animated if it is a large animation. Returns null in that
+     * case, otherwise a stream to load the image from.
+     */
+    private InputStream loadAnimation(InputStream stream, double w, double h,
+                                      boolean preserveRatio, float pixelScale,
+                                      boolean smooth) throws IOException
+    {
+        BufferedInputStream in = new BufferedInputStream(stream);
+        in.mark(6);
+        byte[] header = in.readNBytes(6);
+        in.reset();
+        if (!AnimationFrameBuffer.isGIF(header)) {
+            return in;
+        }
+        byte[] data = in.readAllBytes();
+        try {
+            frameBuffer = AnimationFrameBuffer.create(data, w, h, preserveRatio, pixelScale, smooth);
+        } catch (IOException e) {
+            // let the GIF loader report the error
+        }
+        return frameBuffer != null ? null : new ByteArrayInputStream(data);
+    }
+
+    private void setImage(Image image) {
+        images = new Image[] { image };
+        delayTimes = new int[1];
+        width = image.getWidth();
+        height = image.getHeight();
+    }
+
     private void handleException(final ImageStorageException isException) {
         // unwrap ImageStorageException if possible
         final Throwable exceptionCause = isException.getCause();
@@ -269,7 +397,7 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         public PrismImageLoader2 call() throws IOException {
             try {
                 return AccessController.doPrivileged(
-                        (PrivilegedExceptionAction<PrismImageLoader2>) () -> AsyncImageLoader.super.call(), acc);
+                        (PrivilegedExceptionAction<PrismImageLoader2>) this::load, acc);
             } catch (final PrivilegedActionException e) {
                 final Throwable cause = e.getCause();
 
@@ -281,6 +409,23 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
             }
         }
 
+        private PrismImageLoader2 load() throws IOException {
+            ImageDiskCache cache = ImageDiskCache.getInstance();
+            if (cache == null) {
+                return super.call();
+            }
+            ImageDiskCache.Key key = cache.createKey(url, width, height, preserveRatio, 1.0f, smooth);
+            Image image = cache.get(key);
+            if (image != null) {
+                return new PrismImageLoader2(image);
+            }
+            PrismImageLoader2 loader = super.call();
+            if (loader.getFrameCount() == 1) {
+                cache.put(key, loader.images[0]);
+            }
+            return loader;
+        }
+
         @Override
         public void start() {
             BG_LOADING_EXECUTOR.execute(future);
@@ -102,6 +102,7 @@ import com.sun.javafx.tk.FileChooserType;
 import com.sun.javafx.tk.FontLoader;
 import com.sun.javafx.tk.ImageLoader;
 import com.sun.javafx.tk.PlatformImage;
+import com.sun.javafx.tk.PulseStatisticsCollector;
 import com.sun.javafx.tk.RenderJob;
 import com.sun.javafx.tk.ScreenConfigurationAccessor;
 import com.sun.javafx.tk.TKClipboard;
@@ -578,6 +579,9 @@ public final class QuantumToolkit extends Toolkit {
             if (PULSE_LOGGING_ENABLED) {
                 PulseLogger.pulseStart();
             }
+            if (PulseStatisticsCollector.isEnabled()) {
+                PulseStatisticsCollector.pulseStart();
+            }
 
             if (!toolkitRunning.get()) {
                 return;
@@ -596,6 +600,9 @@ public final class QuantumToolkit extends Toolkit {
             if (PULSE_LOGGING_ENABLED) {
                 PulseLogger.pulseEnd();
             }
+            if (PulseStatisticsCollector.isEnabled()) {
+                PulseStatisticsCollector.pulseEnd();
+            }
         }
     }
 
@@ -51,6 +51,7 @@ import com.sun.prism.paint.Color;
 import com.sun.prism.paint.Paint;
 import com.sun.javafx.logging.PulseLogger;
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import com.sun.javafx.logging.PulseCounters;
 
 /**
  * Responsible for "painting" a scene. It invokes as appropriate API on the root NGNode
@@ -163,6 +164,8 @@ abstract class ViewPainter implements Runnable {
     }
 
     protected void paintImpl(final Graphics backBufferGraphics) {
+        PulseCounters.phase(PulseCounters.Phase.RENDER);
+
         // We should not be painting anything with a width / height
         // that is <= 0, so we might as well bail right off.
         if (width <= 0 || height <= 0 || backBufferGraphics == null) {
@@ -318,6 +321,7 @@ abstract class ViewPainter implements Runnable {
                     dirtyRect.height = (int) Math.ceil (dirtyRegion.getMaxY() * pixelScaleY) - y0;
                     g.setClipRect(dirtyRect);
                     g.setClipRectIndex(i);
+                    PulseCounters.add(PulseCounters.Counter.DIRTY_REGION_AREA, (long) dirtyRect.width * dirtyRect.height);
                     doPaint(g, getRootPath(i));
                     getRootPath(i).clear();
                 }
@@ -326,6 +330,8 @@ abstract class ViewPainter implements Runnable {
             // There are no dirty regions, so just paint everything
             g.setHasPreCullingBits(false);
             g.setClipRect(null);
+            PulseCounters.add(PulseCounters.Counter.DIRTY_REGION_AREA,
+                    (long) Math.ceil(width * pixelScaleX) * (long) Math.ceil(height * pixelScaleY));
             this.doPaint(g, null);
         }
         root.renderForcedContent(g);
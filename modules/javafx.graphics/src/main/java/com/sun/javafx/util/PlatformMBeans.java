@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.util;
+
+import java.lang.management.ManagementFactory;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registers the statistics beans of JavaFX with the platform MBeanServer, so
+ * that they can be inspected with JConsole or any other JMX client. Starting
+ * the platform MBeanServer is not free, so the beans are only registered when
+ * the {@code javafx.mbeans.enabled} system property is set to true.
+ * <p>
+ * The java.management module is optional. If it is not present, nothing is
+ * registered.
+ */
+public final class PlatformMBeans {
+
+    @SuppressWarnings("removal")
+    private static final boolean ENABLED = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.mbeans.enabled"));
+
+    private PlatformMBeans() {
+    }
+
+    /**
+     * Registers the bean under the name {@code javafx:type=<type>}, unless a
+     * bean is already registered under that name.
+     *
+     * @param type the type key of the object name
+     * @param bean the bean to register, which implements a
+     *             {@code <class name>MBean} interface
+     */
+    public static void register(String type, Object bean) {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            Registrar.register(type, bean);
+        } catch (NoClassDefFoundError e) {
+            // java.management is not available
+        }
+    }
+
+    // The only class referring to java.management, so that it is loaded
+    // only when registration is enabled
+    private static final class Registrar {
+
+        @SuppressWarnings("removal")
+        static void register(String type, Object bean) {
+            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                try {
+                    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                    ObjectName name = new ObjectName("javafx", "type", type);
+                    if (!server.isRegistered(name)) {
+                        server.registerMBean(bean, name);
+                    }
+                } catch (JMException | SecurityException e) {
+                    Logging.getJavaFXLogger().warning("Cannot register the " + type + " MBean", e);
+                }
+                return null;
+            });
+        }
+    }
+}
@@ -25,6 +25,7 @@
 
 package com.sun.prism.d3d;
 
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.prism.MediaFrame;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.Texture;
@@ -88,6 +89,7 @@ class D3DTexture extends BaseTexture<D3DTextureResource>
     @Override
     public void update(MediaFrame frame, boolean skipFlush)
     {
+        PulseCounters.increment(PulseCounters.Counter.TEXTURE_UPLOADS);
         if (frame.getPixelFormat() == PixelFormat.MULTI_YCbCr_420) {
             // shouldn't have gotten this far
             throw new IllegalArgumentException("Unsupported format "+frame.getPixelFormat());
@@ -138,6 +140,7 @@ class D3DTexture extends BaseTexture<D3DTextureResource>
                        int srcscan,
                        boolean skipFlush)
     {
+        PulseCounters.increment(PulseCounters.Counter.TEXTURE_UPLOADS);
         checkUpdateParams(pixels, format,
                           dstx, dsty, srcx, srcy, srcw, srch, srcscan);
 
@@ -26,6 +26,7 @@
 package com.sun.prism.es2;
 
 import com.sun.javafx.PlatformUtil;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.prism.Image;
 import com.sun.prism.Texture;
 import com.sun.prism.MediaFrame;
@@ -657,6 +658,7 @@ class ES2Texture<T extends ES2TextureData> extends BaseTexture<ES2TextureResourc
             int srcw, int srch,
             int srcscan,
             boolean skipFlush) {
+        PulseCounters.increment(PulseCounters.Counter.TEXTURE_UPLOADS);
         checkUpdateParams(pixels, format,
                 dstx, dsty, srcx, srcy, srcw, srch, srcscan);
 
@@ -774,6 +776,7 @@ class ES2Texture<T extends ES2TextureData> extends BaseTexture<ES2TextureResourc
 
     @Override
     public void update(MediaFrame frame, boolean skipFlush) {
+        PulseCounters.increment(PulseCounters.Counter.TEXTURE_UPLOADS);
         if (!skipFlush) {
             context.flushVertexBuffer();
         }
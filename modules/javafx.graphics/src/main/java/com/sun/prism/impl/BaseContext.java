@@ -37,6 +37,7 @@ import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.image.ByteToBytePixelConverter;
 import com.sun.javafx.image.impl.ByteGray;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.sg.prism.NGCamera;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.RTTexture;
@@ -121,6 +122,7 @@ public abstract class BaseContext {
     }
 
     public void drawQuads(float coordArray[], byte colorArray[], int numVertices) {
+        PulseCounters.increment(PulseCounters.Counter.DRAW_CALLS);
         flushMask();
         renderQuads(coordArray, colorArray, numVertices);
     }
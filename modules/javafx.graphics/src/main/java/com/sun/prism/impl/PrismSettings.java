@@ -61,6 +61,7 @@ public final class PrismSettings {
     public static final boolean printRenderGraph;
     public static final int minRTTSize;
     public static final int dirtyRegionCount;
+    public static final int cullIndexThreshold;
     public static final boolean disableBadDriverWarning;
     public static final boolean forceGPU;
     public static final int maxTextureSize;
@@ -85,6 +86,8 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final int swRasterThreads;
+    public static final int swTileSize;
 
     public static enum RasterizerType {
         DoubleMarlin("Double Precision Marlin Rasterizer");
@@ -136,6 +139,10 @@ public final class PrismSettings {
         // support at present is 15.
         dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 15);
 
+        // The number of children from which a group indexes its children by
+        // their bounds for culling. Zero turns the index off.
+        cullIndexThreshold = Math.max(0, getInt(systemProperties, "prism.cullindexthreshold", 0, null));
+
         // Scrolling cache optimization
         // Disabled as a workaround for RT-39755.
         scrollCacheOpt = getBoolean(systemProperties, "prism.scrollcacheopt", false);
@@ -355,6 +362,15 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        // Number of threads rasterizing large shapes in tiles in the sw pipeline
+        // (1 = serial rasterization on the render thread)
+        swRasterThreads = Math.max(1, getInt(systemProperties, "prism.sw.threads", 1,
+                Runtime.getRuntime().availableProcessors(),
+                "Try -Dprism.sw.threads=<number>"));
+
+        // Height in pixels of the tiles rasterized in parallel in the sw pipeline
+        swTileSize = Math.max(16, getInt(systemProperties, "prism.sw.tilesize", 64,
+                "Try -Dprism.sw.tilesize=<number>"));
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
@@ -226,6 +226,7 @@ public final class DMarlinPrismUtils {
             final BasicStroke stroke,
             final BaseTransform tx,
             final Rectangle clip,
+            final Rectangle bounds,
             final int piRule,
             final MarlinRenderer renderer)
     {
@@ -259,7 +260,7 @@ public final class DMarlinPrismUtils {
         }
 
         if (stroke != null) {
-            renderer.init(clip.x, clip.y, clip.width, clip.height,
+            renderer.init(bounds.x, bounds.y, bounds.width, bounds.height,
                           MarlinConst.WIND_NON_ZERO);
 
             return initStroker(rdrCtx, stroke, stroke.getLineWidth(), tx, renderer);
@@ -268,7 +269,7 @@ public final class DMarlinPrismUtils {
             final int oprule = (piRule == PathIterator.WIND_EVEN_ODD) ?
                 MarlinConst.WIND_EVEN_ODD : MarlinConst.WIND_NON_ZERO;
 
-            renderer.init(clip.x, clip.y, clip.width, clip.height, oprule);
+            renderer.init(bounds.x, bounds.y, bounds.width, bounds.height, oprule);
 
             DPathConsumer2D pc = renderer;
 
@@ -297,6 +298,25 @@ public final class DMarlinPrismUtils {
             final BaseTransform xform,
             final Rectangle rclip,
             final boolean antialiasedShape)
+    {
+        return setupRenderer(rdrCtx, shape, stroke, xform, rclip, rclip, antialiasedShape);
+    }
+
+    /**
+     * Sets up the renderer to rasterize the part of the shape within
+     * {@code bounds}, while clipping the path to {@code rclip}. Rasterizing
+     * a shape in several parts this way gives the same coverage as
+     * rasterizing it at once, as the path is subdivided the same way for
+     * every part.
+     */
+    public static MarlinRenderer setupRenderer(
+            final RendererContext rdrCtx,
+            final Shape shape,
+            final BasicStroke stroke,
+            final BaseTransform xform,
+            final Rectangle rclip,
+            final Rectangle bounds,
+            final boolean antialiasedShape)
     {
         // Test if transform is identity:
         final BaseTransform tf = ((xform != null) && !xform.isIdentity()) ? xform : null;
@@ -306,11 +326,11 @@ public final class DMarlinPrismUtils {
 
         if (shape instanceof Path2D) {
             final Path2D p2d = (Path2D)shape;
-            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, p2d.getWindingRule(), r);
+            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, bounds, p2d.getWindingRule(), r);
             feedConsumer(rdrCtx, p2d, tf, pc2d);
         } else {
             final PathIterator pi = shape.getPathIterator(tf);
-            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, pi.getWindingRule(), r);
+            final DPathConsumer2D pc2d = initRenderer(rdrCtx, stroke, tf, rclip, bounds, pi.getWindingRule(), r);
             feedConsumer(rdrCtx, pi, pc2d);
         }
         return r;
@@ -29,6 +29,7 @@ import java.nio.IntBuffer;
 import com.sun.javafx.image.PixelConverter;
 import com.sun.javafx.image.PixelGetter;
 import com.sun.javafx.image.PixelUtils;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.image.impl.ByteBgraPre;
 import com.sun.javafx.image.impl.ByteGray;
 import com.sun.javafx.image.impl.ByteRgb;
@@ -78,6 +79,7 @@ class SWArgbPreTexture extends SWTexture {
     public void update(Buffer buffer, PixelFormat format, int dstx, int dsty,
                        int srcx, int srcy, int srcw, int srch, int srcscan, boolean skipFlush)
     {
+        PulseCounters.increment(PulseCounters.Counter.TEXTURE_UPLOADS);
         if (PrismSettings.debug) {
             System.out.println("ARGB_PRE TEXTURE, Pixel format: " + format + ", buffer: " + buffer);
             System.out.println("dstx:" + dstx + " dsty:" + dsty);
@@ -120,6 +122,7 @@ class SWArgbPreTexture extends SWTexture {
 
     @Override
     public void update(MediaFrame frame, boolean skipFlush) {
+        PulseCounters.increment(PulseCounters.Counter.TEXTURE_UPLOADS);
         if (PrismSettings.debug) {
             System.out.println("Media Pixel format: " + frame.getPixelFormat());
         }
@@ -48,6 +48,7 @@ final class SWContext {
 
     private final ResourceFactory factory;
     private final ShapeRenderer shapeRenderer;
+    private final SWTileRasterizer tileRasterizer;
     private SoftReference<SWRTTexture> readBackBufferRef;
     private SoftReference<SWArgbPreTexture> imagePaintTextureRef;
 
@@ -202,9 +203,15 @@ final class SWContext {
                 this.shapeRenderer = new DMarlinShapeRenderer();
                 break;
         }
+        this.tileRasterizer = SWTileRasterizer.isEnabled() ?
+                new SWTileRasterizer(PrismSettings.swRasterThreads, PrismSettings.swTileSize) : null;
     }
 
     void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
+        if (tileRasterizer != null &&
+                tileRasterizer.renderShape(pr, shape, stroke, tr, clip, antialiasedShape)) {
+            return;
+        }
         this.shapeRenderer.renderShape(pr, shape, stroke, tr, clip, antialiasedShape);
     }
 
@@ -27,6 +27,7 @@ package com.sun.prism.sw;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.prism.MediaFrame;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.Texture;
@@ -58,6 +59,7 @@ public class SWMaskTexture extends SWTexture {
     public void update(Buffer buffer, PixelFormat format, int dstx, int dsty,
                        int srcx, int srcy, int srcw, int srch, int srcscan, boolean skipFlush)
     {
+        PulseCounters.increment(PulseCounters.Counter.TEXTURE_UPLOADS);
         if (PrismSettings.debug) {
             System.out.println("MASK TEXTURE, Pixel format: " + format + ", buffer: " + buffer);
             System.out.println("dstx:" + dstx + " dsty:" + dsty);
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.MarlinRenderer;
+import com.sun.marlin.MaskMarlinAlphaConsumer;
+import com.sun.marlin.RendererContext;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.shape.DMarlinPrismUtils;
+import com.sun.prism.impl.shape.MaskData;
+
+/**
+ * Rasterizes large shapes in horizontal tiles of {@code prism.sw.tilesize}
+ * rows, using up to {@code prism.sw.threads} threads. Each tile is
+ * rasterized into its own coverage mask with its own Marlin renderer
+ * context; the masks are then composited into the target in order by the
+ * render thread, which also rasterizes tiles while it waits for the workers.
+ * The render graph itself is still traversed by the render thread only.
+ */
+final class SWTileRasterizer {
+
+    // shapes covering fewer tiles than this are rasterized serially
+    private static final int MIN_TILES = 2;
+
+    private static ExecutorService executor;
+
+    private final int threads;
+    private final int tileSize;
+
+    private MaskMarlinAlphaConsumer[] masks = new MaskMarlinAlphaConsumer[0];
+    private boolean[] empty = new boolean[0];
+
+    // the area covered by the tiles of the current shape
+    private int tileX, tileY, tileW, tileH, tileCount;
+
+    SWTileRasterizer(int threads, int tileSize) {
+        this.threads = threads;
+        this.tileSize = tileSize;
+    }
+
+    static boolean isEnabled() {
+        return PrismSettings.swRasterThreads > 1;
+    }
+
+    private static synchronized ExecutorService getExecutor(int threads) {
+        if (executor == null) {
+            final AtomicInteger count = new AtomicInteger();
+            @SuppressWarnings("removal")
+            final ThreadFactory factory = runnable -> AccessController.doPrivileged(
+                    (PrivilegedAction<Thread>) () -> {
+                        final Thread t = new Thread(runnable,
+                                "Prism SW Rasterizer-" + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            executor = Executors.newFixedThreadPool(threads, factory);
+        }
+        return executor;
+    }
+
+    /**
+     * Renders the shape in tiles if it is large enough for that to pay off.
+     *
+     * @return false if the shape should be rendered serially instead
+     */
+    boolean renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr,
+                        Rectangle clip, boolean antialiased)
+    {
+        if (!rasterize(shape, stroke, tr, clip, antialiased)) {
+            return false;
+        }
+        for (int i = 0; i < tileCount; i++) {
+            final MaskData mask = getTileMask(i);
+            if (mask != null) {
+                pr.fillAlphaMask(mask.getMaskBuffer().array(),
+                        mask.getOriginX(), mask.getOriginY(),
+                        mask.getWidth(), mask.getHeight(),
+                        0, mask.getWidth());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rasterizes the shape into the tile masks if it is large enough.
+     *
+     * @return false if the shape covers too few tiles
+     */
+    boolean rasterize(Shape shape, BasicStroke stroke, BaseTransform tr,
+                      Rectangle clip, boolean antialiased)
+    {
+        if (!computeTiles(shape, stroke, tr, clip)) {
+            return false;
+        }
+        if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
+            // see SWContext.DMarlinShapeRenderer
+            shape = stroke.createStrokedShape(shape);
+            stroke = null;
+        }
+        if (masks.length < tileCount) {
+            final MaskMarlinAlphaConsumer[] newMasks = new MaskMarlinAlphaConsumer[tileCount];
+            System.arraycopy(masks, 0, newMasks, 0, masks.length);
+            masks = newMasks;
+            empty = new boolean[tileCount];
+        }
+
+        final Job job = new Job(shape, stroke, tr, clip, antialiased);
+        final int helpers = Math.min(threads, tileCount) - 1;
+        final ExecutorService exec = getExecutor(threads - 1);
+        for (int i = 0; i < helpers; i++) {
+            exec.execute(job);
+        }
+        job.run();
+        job.await();
+        return true;
+    }
+
+    int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Gets the coverage of a tile of the last shape that was rasterized.
+     *
+     * @return the mask, or null if the shape doesn't cover the tile
+     */
+    MaskData getTileMask(int tile) {
+        return empty[tile] ? null : masks[tile].getMaskData();
+    }
+
+    /**
+     * Computes the area covered by the tiles from a conservative estimate of
+     * the device bounds of the shape.
+     *
+     * @return false if the shape covers too few tiles
+     */
+    private boolean computeTiles(Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip) {
+        final RectBounds bounds = shape.getBounds();
+        if (bounds.isEmpty()) {
+            return false;
+        }
+        float pad = 1f;
+        if (stroke != null) {
+            final double scale = (tr == null) ? 1.0 :
+                    Math.max(Math.hypot(tr.getMxx(), tr.getMyx()), Math.hypot(tr.getMxy(), tr.getMyy()));
+            float limit = (float) Math.sqrt(2.0);
+            if (stroke.getLineJoin() == BasicStroke.JOIN_MITER) {
+                limit = Math.max(limit, stroke.getMiterLimit());
+            }
+            final float w = (stroke.getType() == BasicStroke.TYPE_CENTERED) ?
+                                stroke.getLineWidth() / 2 : stroke.getLineWidth();
+            pad += (float) (w * limit * scale);
+        }
+        final BaseBounds dev = (tr == null) ? bounds : tr.transform(bounds, new RectBounds());
+        final int x0 = Math.max(clip.x, SWUtils.fastFloor(dev.getMinX() - pad));
+        final int y0 = Math.max(clip.y, SWUtils.fastFloor(dev.getMinY() - pad));
+        final int x1 = Math.min(clip.x + clip.width, SWUtils.fastCeil(dev.getMaxX() + pad));
+        final int y1 = Math.min(clip.y + clip.height, SWUtils.fastCeil(dev.getMaxY() + pad));
+        if (x1 <= x0 || y1 - y0 < MIN_TILES * tileSize) {
+            return false;
+        }
+        tileX = x0;
+        tileY = y0;
+        tileW = x1 - x0;
+        tileH = y1 - y0;
+        tileCount = (tileH + tileSize - 1) / tileSize;
+        return true;
+    }
+
+    /**
+     * The tiles of a single shape. Workers that only get to run after all
+     * tiles are taken find nothing left to do.
+     */
+    private final class Job implements Runnable {
+        private final Shape shape;
+        private final BasicStroke stroke;
+        private final BaseTransform tr;
+        private final Rectangle clip;
+        private final boolean antialiased;
+        private final int x, y, w, h, count;
+        private final MaskMarlinAlphaConsumer[] masks;
+        private final boolean[] empty;
+        private final AtomicInteger nextTile = new AtomicInteger();
+        private final CountDownLatch tilesDone;
+        private volatile Throwable failure;
+
+        Job(Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiased) {
+            this.shape = shape;
+            this.stroke = stroke;
+            this.tr = tr;
+            this.clip = new Rectangle(clip);
+            this.antialiased = antialiased;
+            this.x = tileX;
+            this.y = tileY;
+            this.w = tileW;
+            this.h = tileH;
+            this.count = tileCount;
+            this.masks = SWTileRasterizer.this.masks;
+            this.empty = SWTileRasterizer.this.empty;
+            this.tilesDone = new CountDownLatch(count);
+        }
+
+        @Override
+        public void run() {
+            int tile;
+            while ((tile = nextTile.getAndIncrement()) < count) {
+                try {
+                    if (failure == null) {
+                        rasterizeTile(tile);
+                    }
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    tilesDone.countDown();
+                }
+            }
+        }
+
+        void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    tilesDone.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            final Throwable t = failure;
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            } else if (t instanceof Error) {
+                throw (Error) t;
+            } else if (t != null) {
+                throw new RuntimeException(t);
+            }
+        }
+
+        private void rasterizeTile(int tile) {
+            final int ty = y + tile * tileSize;
+            final int th = Math.min(tileSize, y + h - ty);
+            final RendererContext rdrCtx = DMarlinRenderingEngine.getRendererContext();
+            MarlinRenderer renderer = null;
+            try {
+                final Rectangle bounds = rdrCtx.clip;
+                bounds.setBounds(x, ty, w, th);
+                // clip the path to the whole clip, so that it is subdivided
+                // the same way for every tile
+                renderer = DMarlinPrismUtils.setupRenderer(rdrCtx, shape, stroke, tr, clip, bounds, antialiased);
+                final int outpix_xmin = renderer.getOutpixMinX();
+                final int outpix_ymin = renderer.getOutpixMinY();
+                final int mw = renderer.getOutpixMaxX() - outpix_xmin;
+                final int mh = renderer.getOutpixMaxY() - outpix_ymin;
+                if ((mw <= 0) || (mh <= 0)) {
+                    empty[tile] = true;
+                    return;
+                }
+                MaskMarlinAlphaConsumer mask = masks[tile];
+                if (mask == null || (mw * mh) > mask.getAlphaLength()) {
+                    masks[tile] = mask = new MaskMarlinAlphaConsumer((mw * mh + 0xfff) & (~0xfff));
+                }
+                mask.setBoundsNoClone(outpix_xmin, outpix_ymin, mw, mh);
+                renderer.produceAlphas(mask);
+                empty[tile] = false;
+            } finally {
+                if (renderer != null) {
+                    renderer.dispose();
+                }
+                // recycle the RendererContext instance
+                DMarlinRenderingEngine.returnRendererContext(rdrCtx);
+            }
+        }
+    }
+}
@@ -28,9 +28,14 @@ package com.sun.scenario.effect.impl;
 import java.lang.ref.SoftReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import com.sun.scenario.effect.Filterable;
 
 /**
@@ -38,6 +43,12 @@ import com.sun.scenario.effect.Filterable;
  * various {@code EffectPeer} implementations.  Image allocation can be
  * a fairly expensive operation (in terms of footprint and performance),
  * especially for the GPU backends, so image reuse is critical.
+ * <p>
+ * Images are allocated in a fixed set of sizes (see {@link #QUANT}) and
+ * are reused for any request that rounds up to the same size. The images
+ * that are not in use are kept in least recently used order and are
+ * flushed when the images of the pool need more than the budget of
+ * {@link ImagePoolStats}.
  */
 public class ImagePool {
 
@@ -75,12 +86,59 @@ public class ImagePool {
         }
     }
 
+    /**
+     * The smallest image size. Images up to {@code 8 * QUANT} pixels are
+     * allocated in multiples of this size. Larger images are allocated in
+     * eight buckets for each power of two, i.e. 288, 320, ... 512, 576,
+     * 640, ... 1024, 1152, ... pixels, so that an image is less than
+     * 1/8 wider and higher than requested while the number of buckets,
+     * and with it the chance of reusing an image, stays reasonable for
+     * large images.
+     */
     static final int QUANT = 32;
 
-    private final List<SoftReference<PoolFilterable>> unlocked =
-        new ArrayList<>();
-    private final List<SoftReference<PoolFilterable>> locked =
-        new ArrayList<>();
+    /**
+     * Returns the bucket size used for an image dimension of {@code n}
+     * pixels.
+     *
+     * @param n the requested size, must be positive
+     * @return the size of the images allocated for that request
+     */
+    static int bucketSize(int n) {
+        if (n <= 8 * QUANT) {
+            return ((n + QUANT - 1) / QUANT) * QUANT;
+        }
+        int step = Integer.highestOneBit(n - 1) >> 3;
+        return (n + step - 1) & -step;
+    }
+
+    /**
+     * An image managed by the pool. The image is only softly referenced so
+     * that images the pool doesn't use can still be reclaimed by the GC.
+     */
+    private static final class Entry {
+        final SoftReference<PoolFilterable> ref;
+        final long key;
+        final long bytes;
+
+        Entry(PoolFilterable img, long key, long bytes) {
+            this.ref = new SoftReference<>(img);
+            this.key = key;
+            this.bytes = bytes;
+        }
+    }
+
+    private static long key(int w, int h) {
+        return (((long) w) << 32) | h;
+    }
+
+    private final ImagePoolStats stats = ImagePoolStats.getDefaultBean();
+
+    // the unlocked images for each bucket, the most recently used last
+    private final Map<Long, ArrayDeque<Entry>> unlocked = new HashMap<>();
+    // all unlocked images, the least recently used first
+    private final Set<Entry> lru = new LinkedHashSet<>();
+    private final List<Entry> locked = new ArrayList<>();
 
     // On Canmore with the PowerVR SGX chip, there is a driver issue
     // that causes incorrect rendering if one tries to reuse an FBO
@@ -98,8 +156,7 @@ public class ImagePool {
     // (where there would normally be reuse).
     private final boolean usePurgatory = Boolean.getBoolean("decora.purgatory");
     private final List<Filterable> hardPurgatory = new ArrayList<>();
-    private final List<SoftReference<PoolFilterable>> softPurgatory =
-        new ArrayList<>();
+    private final List<Entry> softPurgatory = new ArrayList<>();
 
     /**
      * Package-private constructor.
@@ -112,9 +169,9 @@ public class ImagePool {
             // if image is empty in any way, return a small non-empty image.
             w = h = 1;
         }
-        // Allocate images rounded up to the nearest quantum size threshold.
-        w = ((w + QUANT - 1) / QUANT) * QUANT;
-        h = ((h + QUANT - 1) / QUANT) * QUANT;
+        // Allocate images rounded up to the bucket size.
+        w = bucketSize(w);
+        h = bucketSize(h);
 
         // Adjust allocation sizes for platform requirements (pow2 etc.)
         w = renderer.getCompatibleWidth(w);
@@ -122,63 +179,44 @@ public class ImagePool {
 
         numAccessed++;
         pixelsAccessed += ((long) w) * h;
-        // first look for an already cached image of sufficient size,
-        // choosing the one that is closest in size to the requested dimensions
-        SoftReference<PoolFilterable> chosenEntry = null;
-        PoolFilterable chosenImage = null;
-        int mindiff = Integer.MAX_VALUE;
-        Iterator<SoftReference<PoolFilterable>> entries = unlocked.iterator();
-        while (entries.hasNext()) {
-            SoftReference<PoolFilterable> entry = entries.next();
-            PoolFilterable eimg = entry.get();
+        // first look for an unlocked image of the same bucket, choosing
+        // the one that was used most recently
+        long key = key(w, h);
+        ArrayDeque<Entry> bucket = unlocked.get(key);
+        while (bucket != null && !bucket.isEmpty()) {
+            Entry entry = bucket.pollLast();
+            lru.remove(entry);
+            PoolFilterable eimg = entry.ref.get();
             if (eimg == null) {
-                entries.remove();
+                released(entry, false);
                 continue;
             }
-            int ew = eimg.getMaxContentWidth();
-            int eh = eimg.getMaxContentHeight();
-            if (ew >= w && eh >= h && ew * eh / 2 <= w * h) {
-                int diff = (ew-w) * (eh-h);
-                if (chosenEntry == null || diff < mindiff) {
-                    eimg.lock();
-                    if (eimg.isLost()) {
-                        entries.remove();
-                        continue;
-                    }
-                    if (chosenImage != null) {
-                        chosenImage.unlock();
-                    }
-                    chosenEntry = entry;
-                    // The following calls to setContentWidth / setContentHeight
-                    // should be uncommented only after the rest of the imagepool
-                    // is fixed to handle a change in content size, and when both the
-                    // SW pipeline and J2D pipeline are able to handle the change.
-//                    eimg.setContentWidth(w);
-//                    eimg.setContentHeight(h);
-                    chosenImage = eimg;
-                    mindiff = diff;
-                }
+            eimg.lock();
+            if (eimg.isLost()) {
+                released(entry, false);
+                continue;
             }
-        }
-
-        if (chosenEntry != null) {
-            unlocked.remove(chosenEntry);
-            locked.add(chosenEntry);
-            renderer.clearImage(chosenImage);
-            return chosenImage;
+            locked.add(entry);
+            stats.hit(entry.bytes);
+            renderer.clearImage(eimg);
+            return eimg;
         }
 
         // get rid of expired entries from locked list
-        entries = locked.iterator();
+        Iterator<Entry> entries = locked.iterator();
         while (entries.hasNext()) {
-            SoftReference<PoolFilterable> entry = entries.next();
-            Filterable eimg = entry.get();
-            if (eimg == null) {
+            Entry entry = entries.next();
+            if (entry.ref.get() == null) {
                 entries.remove();
+                released(entry, true);
             }
         }
 
-        // if all else fails, just create a new one...
+        // if all else fails, just create a new one, making room for it
+        // if the pools would grow beyond their budget
+        long bytes = ((long) w) * h * 4;
+        stats.miss();
+        evict(stats.getLimit() - bytes);
         PoolFilterable img = null;
         try {
             img = renderer.createCompatibleImage(w, h);
@@ -193,7 +231,8 @@ public class ImagePool {
         }
         if (img != null) {
             img.setImagePool(this);
-            locked.add(new SoftReference<>(img));
+            locked.add(new Entry(img, key, bytes));
+            stats.allocated(bytes);
             numCreated++;
             pixelsCreated += ((long) w) * h;
         }
@@ -201,15 +240,17 @@ public class ImagePool {
     }
 
     public synchronized void checkIn(PoolFilterable img) {
-        SoftReference<PoolFilterable> chosenEntry = null;
+        Entry chosenEntry = null;
         Filterable chosenImage = null;
-        Iterator<SoftReference<PoolFilterable>> entries = locked.iterator();
+        Iterator<Entry> entries = locked.iterator();
         while (entries.hasNext()) {
-            SoftReference<PoolFilterable> entry = entries.next();
-            Filterable eimg = entry.get();
+            Entry entry = entries.next();
+            Filterable eimg = entry.ref.get();
             if (eimg == null) {
                 entries.remove();
+                released(entry, true);
             } else if (eimg == img) {
+                entries.remove();
                 chosenEntry = entry;
                 chosenImage = eimg;
                 img.unlock();
@@ -218,19 +259,53 @@ public class ImagePool {
         }
 
         if (chosenEntry != null) {
-            locked.remove(chosenEntry);
+            stats.checkedIn(chosenEntry.bytes);
             if (usePurgatory) {
                 // hold the entry in purgatory instead of releasing it back
                 // to the unlocked pool immediately; it will be released
                 // after the next call to releasePurgatory()...
-//                System.err.println("==> Adding image to purgatory: " +
-//                    chosenImage.getPhysicalWidth() + "x" +
-//                    chosenImage.getPhysicalHeight());
                 hardPurgatory.add(chosenImage);
                 softPurgatory.add(chosenEntry);
             } else {
-                unlocked.add(chosenEntry);
+                makeAvailable(chosenEntry);
+                evict(stats.getLimit());
+            }
+        }
+    }
+
+    private void makeAvailable(Entry entry) {
+        unlocked.computeIfAbsent(entry.key, k -> new ArrayDeque<>()).addLast(entry);
+        lru.add(entry);
+    }
+
+    /*
+     * Accounts for an image that is no longer in the pool.
+     */
+    private void released(Entry entry, boolean inUse) {
+        stats.released(entry.bytes, inUse);
+    }
+
+    /*
+     * Flushes the least recently used unlocked images of this pool until
+     * all pools hold no more than target bytes, or no unlocked images are
+     * left in this pool.
+     */
+    private void evict(long target) {
+        Iterator<Entry> entries = lru.iterator();
+        while (entries.hasNext() && stats.getAllocatedBytes() > target) {
+            Entry entry = entries.next();
+            entries.remove();
+            ArrayDeque<Entry> bucket = unlocked.get(entry.key);
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                unlocked.remove(entry.key);
+            }
+            Filterable image = entry.ref.get();
+            if (image != null) {
+                image.flush();
             }
+            released(entry, false);
+            stats.evicted();
         }
     }
 
@@ -238,35 +313,29 @@ public class ImagePool {
         if (usePurgatory && !softPurgatory.isEmpty()) {
 //            System.err.println("==> Releasing " + softPurgatory.size() + " entries from purgatory!");
             // release images kept in purgatory back into the unlocked pool
-            unlocked.addAll(softPurgatory);
+            for (Entry entry : softPurgatory) {
+                makeAvailable(entry);
+            }
             softPurgatory.clear();
             hardPurgatory.clear();
+            evict(stats.getLimit());
         }
     }
 
     private void pruneCache() {
         // flush all unlocked images
-        for (SoftReference<PoolFilterable> r : unlocked) {
-            Filterable image = r.get();
-            if (image != null) {
-                image.flush();
-            }
-        }
-        unlocked.clear();
+        evict(Long.MIN_VALUE);
         // this is to help to free up space held by those images that we no
         // longer have references to
         System.gc();
     }
 
     public synchronized void dispose() {
-        for (SoftReference<PoolFilterable> r : unlocked) {
-            Filterable image = r.get();
-            if (image != null) {
-                image.flush();
-            }
-        }
-        unlocked.clear();
+        evict(Long.MIN_VALUE);
         // not flushing the locked ones, just clearing references to them
+        for (Entry entry : locked) {
+            released(entry, true);
+        }
         locked.clear();
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl;
+
+import com.sun.javafx.util.PlatformMBeans;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sizes, counters and the budget of the images kept by the
+ * {@link ImagePool}s of all renderers. The budget is read from the
+ * {@code decora.pool.budget} system property, in megabytes, when this class
+ * is initialized and can be changed at runtime through the
+ * {@link ImagePoolStatsMBean} interface, under which {@link PlatformMBeans}
+ * registers the bean.
+ */
+public final class ImagePoolStats implements ImagePoolStatsMBean {
+
+    public static ImagePoolStats getDefaultBean() {
+        return ImagePoolStatsHolder.holder;
+    }
+    private static class ImagePoolStatsHolder {
+        private static final ImagePoolStats holder = new ImagePoolStats();
+        static {
+            PlatformMBeans.register("ImagePoolStats", holder);
+        }
+    }
+
+    private static final int DEFAULT_BUDGET_MB = 256;
+
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong inUse = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile long budget;
+
+    @SuppressWarnings("removal")
+    private ImagePoolStats() {
+        int mb = AccessController.doPrivileged(
+                (PrivilegedAction<Integer>) () -> Integer.getInteger("decora.pool.budget", DEFAULT_BUDGET_MB));
+        budget = mb * 1024L * 1024L;
+    }
+
+    void hit(long bytes) {
+        hits.increment();
+        inUse.addAndGet(bytes);
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void allocated(long bytes) {
+        allocated.addAndGet(bytes);
+        inUse.addAndGet(bytes);
+    }
+
+    void checkedIn(long bytes) {
+        inUse.addAndGet(-bytes);
+    }
+
+    void released(long bytes, boolean wasInUse) {
+        allocated.addAndGet(-bytes);
+        if (wasInUse) {
+            inUse.addAndGet(-bytes);
+        }
+    }
+
+    void evicted() {
+        evictions.increment();
+    }
+
+    /*
+     * Returns the number of bytes the pools may hold, Long.MAX_VALUE if
+     * they are unbounded.
+     */
+    long getLimit() {
+        long b = budget;
+        return (b > 0) ? b : Long.MAX_VALUE;
+    }
+
+    @Override public long getAllocatedBytes() { return allocated.get(); }
+    @Override public long getInUseBytes() { return inUse.get(); }
+    @Override public long getHits() { return hits.sum(); }
+    @Override public long getMisses() { return misses.sum(); }
+    @Override public long getEvictions() { return evictions.sum(); }
+    @Override public long getBudget() { return budget; }
+    @Override public void setBudget(long bytes) { budget = bytes; }
+
+    @Override public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return (total == 0) ? 0.0 : ((double) h) / total;
+    }
+
+    @Override public void resetCounters() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+}
@@ -26,6 +26,9 @@
 package com.sun.scenario.effect.impl.prism.sw;
 
 import java.lang.reflect.Constructor;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Optional;
 import com.sun.glass.ui.Screen;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -134,6 +137,38 @@ public class PSWRenderer extends PrRenderer {
         return ret;
     }
 
+    /**
+     * Returns a {@code VSW} (Vector API/CPU) renderer for the given screen.
+     * This fails unless the peers were compiled (see COMPILE_VECTOR_PEERS)
+     * and the {@code jdk.incubator.vector} module is present. The module
+     * is not required by javafx.graphics, so the read edge is added here.
+     *
+     * @return a {@code VSW} (Vector API/CPU) renderer
+     */
+    private synchronized static PSWRenderer createVectorInstance(Screen screen) {
+        Optional<Module> vector = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        if (vector.isEmpty()) {
+            return null;
+        }
+        PSWRenderer ret = null;
+        try {
+            PSWRenderer.class.getModule().addReads(vector.get());
+            Class klass = Class.forName(rootPkg + ".impl.sw.vector.VSWRendererDelegate");
+            RendererDelegate delegate = (RendererDelegate)klass.getDeclaredConstructor().newInstance();
+            ret = new PSWRenderer(screen, delegate);
+        } catch (Throwable e) {}
+        return ret;
+    }
+
+    /*
+     * Whether to use the Vector API peers: "false" never uses them, "true"
+     * prefers them to the native SSE peers and by default they are used
+     * when the SSE peers are not available.
+     */
+    @SuppressWarnings("removal")
+    private static final String vectorPeers = AccessController.doPrivileged(
+            (PrivilegedAction<String>) () -> System.getProperty("decora.vector"));
+
     public static Renderer createRenderer(FilterContext fctx) {
         Object ref = fctx.getReferent();
         GraphicsPipeline pipe = GraphicsPipeline.getPipeline();
@@ -141,7 +176,17 @@ public class PSWRenderer extends PrRenderer {
             return null;
         }
         Screen screen = (Screen)ref;
-        Renderer renderer = createSSEInstance(screen);
+        boolean useVector = !"false".equals(vectorPeers);
+        Renderer renderer = null;
+        if (useVector && "true".equals(vectorPeers)) {
+            renderer = createVectorInstance(screen);
+        }
+        if (renderer == null) {
+            renderer = createSSEInstance(screen);
+        }
+        if (renderer == null && useVector) {
+            renderer = createVectorInstance(screen);
+        }
         if (renderer == null) {
             renderer = createJSWInstance(screen);
         }
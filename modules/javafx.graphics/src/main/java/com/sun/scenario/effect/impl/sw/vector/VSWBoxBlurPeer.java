@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.vector;
+
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxBlurPeer;
+import static com.sun.scenario.effect.impl.sw.vector.VSWLoops.LANES;
+
+public class VSWBoxBlurPeer extends JSWBoxBlurPeer {
+
+    // the vector loops keep two sums of up to size * 255 in each int
+    private static final int MAX_SIZE = 0xffff / 255;
+
+    private int[] tin;
+    private int[] tout;
+
+    public VSWBoxBlurPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    @Override
+    protected void filterHorizontal(int dstPixels[], int dstw, int dsth, int dstscan,
+                                    int srcPixels[], int srcw, int srch, int srcscan)
+    {
+        if (dsth < LANES || dstw - srcw >= MAX_SIZE) {
+            super.filterHorizontal(dstPixels, dstw, dsth, dstscan,
+                                   srcPixels, srcw, srch, srcscan);
+            return;
+        }
+        int hsize = dstw - srcw + 1;
+        int kscale = 0x7fffffff / (hsize * 255);
+        if (tin == null || tin.length < srcw * LANES) {
+            tin = new int[srcw * LANES];
+        }
+        if (tout == null || tout.length < dstw * LANES) {
+            tout = new int[dstw * LANES];
+        }
+        for (int y = 0; y < dsth; y += LANES) {
+            int rows = Math.min(LANES, dsth - y);
+            VSWLoops.transposeIn(tin, srcPixels, y * srcscan, srcscan, rows, srcw);
+            VSWLoops.boxBlur(tout, 0, LANES, dstw,
+                             tin, 0, LANES, srcw,
+                             hsize, kscale);
+            VSWLoops.transposeOut(dstPixels, y * dstscan, dstscan, tout, rows, dstw);
+        }
+    }
+
+    @Override
+    protected void filterVertical(int dstPixels[], int dstw, int dsth, int dstscan,
+                                  int srcPixels[], int srcw, int srch, int srcscan)
+    {
+        if (dstw < LANES || dsth - srch >= MAX_SIZE) {
+            super.filterVertical(dstPixels, dstw, dsth, dstscan,
+                                 srcPixels, srcw, srch, srcscan);
+            return;
+        }
+        int vsize = dsth - srch + 1;
+        int kscale = 0x7fffffff / (vsize * 255);
+        for (int x = 0; x < dstw; x += LANES) {
+            // the last block overlaps the one before it if dstw is not
+            // a multiple of LANES
+            int col = Math.min(x, dstw - LANES);
+            VSWLoops.boxBlur(dstPixels, col, dstscan, dsth,
+                             srcPixels, col, srcscan, srch,
+                             vsize, kscale);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.vector;
+
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxShadowPeer;
+import static com.sun.scenario.effect.impl.sw.vector.VSWLoops.LANES;
+
+public class VSWBoxShadowPeer extends JSWBoxShadowPeer {
+
+    private int[] tin;
+    private int[] tout;
+
+    public VSWBoxShadowPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    @Override
+    protected void filterHorizontalBlack(int dstPixels[], int dstw, int dsth, int dstscan,
+                                         int srcPixels[], int srcw, int srch, int srcscan,
+                                         float spread)
+    {
+        if (dsth < LANES) {
+            super.filterHorizontalBlack(dstPixels, dstw, dsth, dstscan,
+                                        srcPixels, srcw, srch, srcscan,
+                                        spread);
+            return;
+        }
+        int hsize = dstw - srcw + 1;
+        // amax goes from hsize*255 to 255 as spread goes from 0 to 1
+        int amax = hsize * 255;
+        amax += (255 - amax) * spread;
+        int kscale = 0x7fffffff / amax;
+        int amin = (amax / 255);
+        if (tin == null || tin.length < srcw * LANES) {
+            tin = new int[srcw * LANES];
+        }
+        if (tout == null || tout.length < dstw * LANES) {
+            tout = new int[dstw * LANES];
+        }
+        for (int y = 0; y < dsth; y += LANES) {
+            int rows = Math.min(LANES, dsth - y);
+            VSWLoops.transposeIn(tin, srcPixels, y * srcscan, srcscan, rows, srcw);
+            VSWLoops.boxShadow(tout, 0, LANES, dstw,
+                               tin, 0, LANES, srcw,
+                               hsize, amin, amax, kscale, 0, 0, 0,
+                               0xff000000);
+            VSWLoops.transposeOut(dstPixels, y * dstscan, dstscan, tout, rows, dstw);
+        }
+    }
+
+    @Override
+    protected void filterVerticalBlack(int dstPixels[], int dstw, int dsth, int dstscan,
+                                       int srcPixels[], int srcw, int srch, int srcscan,
+                                       float spread)
+    {
+        if (dstw < LANES) {
+            super.filterVerticalBlack(dstPixels, dstw, dsth, dstscan,
+                                      srcPixels, srcw, srch, srcscan,
+                                      spread);
+            return;
+        }
+        int vsize = dsth - srch + 1;
+        // amax goes from hsize*255 to 255 as spread goes from 0 to 1
+        int amax = vsize * 255;
+        amax += (255 - amax) * spread;
+        int kscale = 0x7fffffff / amax;
+        int amin = (amax / 255);
+        for (int x = 0; x < dstw; x += LANES) {
+            // the last block overlaps the one before it if dstw is not
+            // a multiple of LANES
+            int col = Math.min(x, dstw - LANES);
+            VSWLoops.boxShadow(dstPixels, col, dstscan, dsth,
+                               srcPixels, col, srcscan, srch,
+                               vsize, amin, amax, kscale, 0, 0, 0,
+                               0xff000000);
+        }
+    }
+
+    @Override
+    protected void filterVertical(int dstPixels[], int dstw, int dsth, int dstscan,
+                                  int srcPixels[], int srcw, int srch, int srcscan,
+                                  float spread, float shadowColor[])
+    {
+        if (dstw < LANES) {
+            super.filterVertical(dstPixels, dstw, dsth, dstscan,
+                                 srcPixels, srcw, srch, srcscan,
+                                 spread, shadowColor);
+            return;
+        }
+        int vsize = dsth - srch + 1;
+        // amax goes from hsize*255 to 255 as spread goes from 0 to 1
+        int amax = vsize * 255;
+        amax += (255 - amax) * spread;
+        int kscalea = 0x7fffffff / amax;
+        int kscaler = (int) (kscalea * shadowColor[0]);
+        int kscaleg = (int) (kscalea * shadowColor[1]);
+        int kscaleb = (int) (kscalea * shadowColor[2]);
+        kscalea *= shadowColor[3];
+        int amin = (amax / 255);
+        int shadowRGB =
+            (((int) (shadowColor[0] * 255)) << 16) |
+            (((int) (shadowColor[1] * 255)) <<  8) |
+            (((int) (shadowColor[2] * 255))      ) |
+            (((int) (shadowColor[3] * 255)) << 24);
+        for (int x = 0; x < dstw; x += LANES) {
+            // the last block overlaps the one before it if dstw is not
+            // a multiple of LANES
+            int col = Math.min(x, dstw - LANES);
+            VSWLoops.boxShadow(dstPixels, col, dstscan, dsth,
+                               srcPixels, col, srcscan, srch,
+                               vsize, amin, amax,
+                               kscalea, kscaler, kscaleg, kscaleb,
+                               shadowRGB);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.vector;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.*;
+
+/**
+ * The loops shared by the box blur and box shadow peers. A box filter
+ * runs a sliding sum along the pixels of each row (or column) of an image.
+ * The rows are independent of one another, so the loops here process one
+ * row per vector lane: the pixel at step {@code t} of lane {@code l} is
+ * found at {@code off + t * stride + l}. For a vertical pass those are
+ * {@code LANES} adjacent columns of the image itself, for a horizontal
+ * pass a block of {@code LANES} rows is first transposed into a buffer.
+ * The loops always work on full vectors, the callers deal with images
+ * whose size is not a multiple of {@code LANES}.
+ * All of the arithmetic is the same integer arithmetic as in the scalar
+ * JSW loops, so the results are identical.
+ */
+final class VSWLoops {
+
+    static final VectorSpecies<Integer> IS = IntVector.SPECIES_PREFERRED;
+    static final int LANES = IS.length();
+
+    private VSWLoops() {
+    }
+
+    /**
+     * Box blurs all four channels of each lane. The sums of alpha and
+     * green and those of red and blue are kept in the two halves of an
+     * int, so {@code size * 255} must fit in 16 bits.
+     */
+    static void boxBlur(int[] dst, int dstoff, int dststride, int dststeps,
+                        int[] src, int srcoff, int srcstride, int srcsteps,
+                        int size, int kscale)
+    {
+        IntVector sumag = IntVector.zero(IS);
+        IntVector sumrb = sumag;
+        // The steps where data is only accumulated, then those where data
+        // is also un-accumulated from step t-size, or where the sums stay
+        // the same if the box is larger than the source, then those where
+        // data is only un-accumulated.
+        int t = 0;
+        for (int end = Math.min(size, srcsteps); t < end; t++) {
+            IntVector rgb = IntVector.fromArray(IS, src, srcoff + t * srcstride);
+            sumag = sumag.add(rgb.lanewise(LSHR, 8).and(0x00ff00ff));
+            sumrb = sumrb.add(rgb.and(0x00ff00ff));
+            blur(sumag, sumrb, kscale).intoArray(dst, dstoff + t * dststride);
+        }
+        for (; t < srcsteps; t++) {
+            IntVector rgb = IntVector.fromArray(IS, src, srcoff + (t - size) * srcstride);
+            sumag = sumag.sub(rgb.lanewise(LSHR, 8).and(0x00ff00ff));
+            sumrb = sumrb.sub(rgb.and(0x00ff00ff));
+            rgb = IntVector.fromArray(IS, src, srcoff + t * srcstride);
+            sumag = sumag.add(rgb.lanewise(LSHR, 8).and(0x00ff00ff));
+            sumrb = sumrb.add(rgb.and(0x00ff00ff));
+            blur(sumag, sumrb, kscale).intoArray(dst, dstoff + t * dststride);
+        }
+        if (t < size) {
+            IntVector res = blur(sumag, sumrb, kscale);
+            for (; t < size; t++) {
+                res.intoArray(dst, dstoff + t * dststride);
+            }
+        }
+        for (; t < dststeps; t++) {
+            IntVector rgb = IntVector.fromArray(IS, src, srcoff + (t - size) * srcstride);
+            sumag = sumag.sub(rgb.lanewise(LSHR, 8).and(0x00ff00ff));
+            sumrb = sumrb.sub(rgb.and(0x00ff00ff));
+            blur(sumag, sumrb, kscale).intoArray(dst, dstoff + t * dststride);
+        }
+    }
+
+    private static IntVector blur(IntVector sumag, IntVector sumrb, int kscale) {
+        // the sums are never more than size * 255 so the products are
+        // positive and the shifts can all be unsigned
+        return sumag.lanewise(LSHR, 16).mul(kscale).lanewise(LSHR, 23).lanewise(LSHL, 24)
+            .add(sumrb.lanewise(LSHR, 16).mul(kscale).lanewise(LSHR, 23).lanewise(LSHL, 16))
+            .add(sumag.and(0xffff).mul(kscale).lanewise(LSHR, 23).lanewise(LSHL, 8))
+            .add(sumrb.and(0xffff).mul(kscale).lanewise(LSHR, 23));
+    }
+
+    /**
+     * Box blurs the alpha channel of each lane and converts the clamped
+     * result into the shadow color, using the scale factors of the color
+     * components.
+     */
+    static void boxShadow(int[] dst, int dstoff, int dststride, int dststeps,
+                          int[] src, int srcoff, int srcstride, int srcsteps,
+                          int size, int amin, int amax,
+                          int kscalea, int kscaler, int kscaleg, int kscaleb,
+                          int shadowRGB)
+    {
+        IntVector suma = IntVector.zero(IS);
+        // The same steps as in boxBlur()
+        int t = 0;
+        for (int end = Math.min(size, srcsteps); t < end; t++) {
+            suma = suma.add(IntVector.fromArray(IS, src, srcoff + t * srcstride)
+                            .lanewise(LSHR, 24));
+            shadow(suma, amin, amax, kscalea, kscaler, kscaleg, kscaleb, shadowRGB)
+                .intoArray(dst, dstoff + t * dststride);
+        }
+        for (; t < srcsteps; t++) {
+            suma = suma.sub(IntVector.fromArray(IS, src, srcoff + (t - size) * srcstride)
+                            .lanewise(LSHR, 24));
+            suma = suma.add(IntVector.fromArray(IS, src, srcoff + t * srcstride)
+                            .lanewise(LSHR, 24));
+            shadow(suma, amin, amax, kscalea, kscaler, kscaleg, kscaleb, shadowRGB)
+                .intoArray(dst, dstoff + t * dststride);
+        }
+        if (t < size) {
+            IntVector res =
+                shadow(suma, amin, amax, kscalea, kscaler, kscaleg, kscaleb, shadowRGB);
+            for (; t < size; t++) {
+                res.intoArray(dst, dstoff + t * dststride);
+            }
+        }
+        for (; t < dststeps; t++) {
+            suma = suma.sub(IntVector.fromArray(IS, src, srcoff + (t - size) * srcstride)
+                            .lanewise(LSHR, 24));
+            shadow(suma, amin, amax, kscalea, kscaler, kscaleg, kscaleb, shadowRGB)
+                .intoArray(dst, dstoff + t * dststride);
+        }
+    }
+
+    private static IntVector shadow(IntVector suma, int amin, int amax,
+                                    int kscalea, int kscaler, int kscaleg, int kscaleb,
+                                    int shadowRGB)
+    {
+        // Clamp, scale and convert the sum into a color.
+        return suma.mul(kscalea).lanewise(ASHR, 23).lanewise(LSHL, 24)
+            .or(suma.mul(kscaler).lanewise(ASHR, 23).lanewise(LSHL, 16))
+            .or(suma.mul(kscaleg).lanewise(ASHR, 23).lanewise(LSHL, 8))
+            .or(suma.mul(kscaleb).lanewise(ASHR, 23))
+            .blend(shadowRGB, suma.compare(GE, amax))
+            .blend(0, suma.compare(LT, amin));
+    }
+
+    /**
+     * Copies {@code rows} rows of {@code cols} pixels from an image into
+     * the lanes of {@code buf}.
+     */
+    static void transposeIn(int[] buf, int[] src, int srcoff, int srcscan,
+                            int rows, int cols)
+    {
+        for (int l = 0; l < rows; l++) {
+            int off = srcoff + l * srcscan;
+            for (int x = 0, i = l; x < cols; x++, i += LANES) {
+                buf[i] = src[off + x];
+            }
+        }
+    }
+
+    /**
+     * Copies the first {@code rows} lanes of {@code buf} into rows of
+     * {@code cols} pixels of an image.
+     */
+    static void transposeOut(int[] dst, int dstoff, int dstscan,
+                             int[] buf, int rows, int cols)
+    {
+        for (int l = 0; l < rows; l++) {
+            int off = dstoff + l * dstscan;
+            for (int x = 0, i = l; x < cols; x++, i += LANES) {
+                dst[off + x] = buf[i];
+            }
+        }
+    }
+}
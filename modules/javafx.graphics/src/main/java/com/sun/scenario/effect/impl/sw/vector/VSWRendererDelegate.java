@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.vector;
+
+import com.sun.scenario.effect.Effect.AccelType;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.RendererDelegate;
+import jdk.incubator.vector.IntVector;
+
+/**
+ * A delegate for the peers that use the incubating Vector API of the JDK.
+ * Only the box blur and box shadow peers have vector implementations, the
+ * other effects use the {@code JSW} peers. The convolve peers sample at
+ * arbitrary positions, which needs gathers and float to int conversions
+ * that the JDK 17 compiler does not turn into vector instructions. Loading this class fails unless the
+ * {@code jdk.incubator.vector} module has been added to the runtime.
+ */
+public class VSWRendererDelegate implements RendererDelegate {
+
+    public VSWRendererDelegate() {
+        if (IntVector.SPECIES_PREFERRED.length() < 4) {
+            throw new UnsupportedOperationException("vector species too small" +
+                                                    " on this processor");
+        }
+    }
+
+    @Override
+    public AccelType getAccelType() {
+        return AccelType.SIMD;
+    }
+
+    @Override
+    public String getPlatformPeerName(String name, int unrollCount) {
+        switch (name) {
+            case "BoxBlur":
+            case "BoxShadow":
+                return Renderer.rootPkg + ".impl.sw.vector.VSW" + name + "Peer";
+            default:
+                return Renderer.rootPkg + ".impl.sw.java.JSW" + name + "Peer";
+        }
+    }
+}
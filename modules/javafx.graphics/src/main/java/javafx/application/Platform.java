@@ -26,8 +26,13 @@
 package javafx.application;
 
 import com.sun.javafx.application.PlatformImpl;
+import com.sun.javafx.tk.PulseStatisticsCollector;
 import com.sun.javafx.tk.Toolkit;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.scene.input.KeyCode;
@@ -407,6 +412,56 @@ public final class Platform {
         return Toolkit.getToolkit().canStartNestedEventLoop();
     }
 
+    private static final List<Consumer<PulseStatistics>> pulseStatisticsListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds a listener that receives the {@link PulseStatistics} of every
+     * pulse, once the pulse and the rendering of its scenes are finished.
+     * The listener is called on the JavaFX Application Thread.
+     * Pulse statistics are only collected while at least one listener is
+     * registered, so there is no cost to them otherwise.
+     * This method may be called on any thread.
+     *
+     * @param listener the listener to add
+     * @throws NullPointerException if {@code listener} is null
+     *
+     * @since 21
+     */
+    public static void addPulseStatisticsListener(Consumer<PulseStatistics> listener) {
+        Objects.requireNonNull(listener, "listener cannot be null");
+        synchronized (pulseStatisticsListeners) {
+            pulseStatisticsListeners.add(listener);
+            if (pulseStatisticsListeners.size() == 1) {
+                PulseStatisticsCollector.setSink(Platform::firePulseStatistics);
+            }
+        }
+    }
+
+    /**
+     * Removes a listener that was added with
+     * {@link #addPulseStatisticsListener(Consumer)}. If the listener was
+     * added more than once, only the first occurrence is removed.
+     * This method may be called on any thread.
+     *
+     * @param listener the listener to remove
+     *
+     * @since 21
+     */
+    public static void removePulseStatisticsListener(Consumer<PulseStatistics> listener) {
+        synchronized (pulseStatisticsListeners) {
+            if (pulseStatisticsListeners.remove(listener) && pulseStatisticsListeners.isEmpty()) {
+                PulseStatisticsCollector.setSink(null);
+            }
+        }
+    }
+
+    private static void firePulseStatistics(long pulseId, long[] values) {
+        final PulseStatistics statistics = new PulseStatistics(pulseId, values);
+        for (Consumer<PulseStatistics> listener : pulseStatisticsListeners) {
+            listener.accept(statistics);
+        }
+    }
+
     private static ReadOnlyBooleanWrapper accessibilityActiveProperty;
 
     public static boolean isAccessibilityActive() {
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.application;
+
+import com.sun.javafx.logging.PulseCounters;
+import com.sun.javafx.logging.PulseCounters.Counter;
+import com.sun.javafx.logging.PulseCounters.Phase;
+
+/**
+ * The work done in a single pulse, as reported to the listeners registered with
+ * {@link Platform#addPulseStatisticsListener(java.util.function.Consumer)}.
+ * A pulse consists of the animation phase, in which animations, timers and
+ * pulse listeners run, followed by the css, layout and sync phases of each
+ * scene, all on the JavaFX Application Thread. The render and present phases
+ * run on the render thread and are accounted to the pulse they render.
+ * Times are in nanoseconds and summed over all scenes.
+ *
+ * @since 21
+ */
+public final class PulseStatistics {
+
+    private final long pulseId;
+    private final long[] values;
+
+    PulseStatistics(long pulseId, long[] values) {
+        this.pulseId = pulseId;
+        this.values = values;
+    }
+
+    private long get(Counter counter) {
+        return values[PulseCounters.counterIndex(counter)];
+    }
+
+    private long get(Phase phase) {
+        return values[PulseCounters.phaseIndex(phase)];
+    }
+
+    /**
+     * Gets the number of this pulse. Pulses for which statistics are
+     * collected are numbered in increasing order.
+     *
+     * @return the number of this pulse
+     */
+    public long getPulseId() {
+        return pulseId;
+    }
+
+    /**
+     * Gets the time spent on animations, timers, pulse listeners and any other
+     * work of this pulse on the JavaFX Application Thread that is not part of
+     * the css, layout or sync phase.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getAnimationTime() {
+        return get(Phase.ANIMATION);
+    }
+
+    /**
+     * Gets the time spent applying css.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getCssTime() {
+        return get(Phase.CSS);
+    }
+
+    /**
+     * Gets the time spent on layout.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getLayoutTime() {
+        return get(Phase.LAYOUT);
+    }
+
+    /**
+     * Gets the time spent updating bounds and copying the state of the scene
+     * graph to the render thread, including the time spent waiting for the
+     * rendering of the previous pulse to finish.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getSyncTime() {
+        return get(Phase.SYNC);
+    }
+
+    /**
+     * Gets the time spent on the render thread painting the scenes of this pulse.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getRenderTime() {
+        return get(Phase.RENDER);
+    }
+
+    /**
+     * Gets the time spent on the render thread presenting the painted scenes
+     * on the screen.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getPresentTime() {
+        return get(Phase.PRESENT);
+    }
+
+    /**
+     * Gets the number of nodes that had css applied.
+     *
+     * @return the number of nodes styled
+     */
+    public long getNodesStyled() {
+        return get(Counter.NODES_STYLED);
+    }
+
+    /**
+     * Gets the number of parents that laid out their children.
+     *
+     * @return the number of nodes laid out
+     */
+    public long getNodesLaidOut() {
+        return get(Counter.NODES_LAID_OUT);
+    }
+
+    /**
+     * Gets the number of nodes whose state was copied to the render thread.
+     *
+     * @return the number of peers synchronized
+     */
+    public long getPeersSynced() {
+        return get(Counter.PEERS_SYNCED);
+    }
+
+    /**
+     * Gets the area of the regions that were painted, in pixels.
+     *
+     * @return the dirty region area
+     */
+    public long getDirtyRegionArea() {
+        return get(Counter.DIRTY_REGION_AREA);
+    }
+
+    /**
+     * Gets the number of batches of geometry submitted to the graphics
+     * pipeline.
+     *
+     * @return the number of draw calls
+     */
+    public long getDrawCalls() {
+        return get(Counter.DRAW_CALLS);
+    }
+
+    /**
+     * Gets the number of times pixels were uploaded to a texture.
+     *
+     * @return the number of texture uploads
+     */
+    public long getTextureUploads() {
+        return get(Counter.TEXTURE_UPLOADS);
+    }
+
+    /**
+     * Gets the number of times a node was painted from a cached image.
+     *
+     * @return the number of cache hits
+     */
+    public long getCacheHits() {
+        return get(Counter.CACHE_HITS);
+    }
+
+    /**
+     * Returns a string representation of this {@code PulseStatistics} object.
+     *
+     * @return a string representation of this {@code PulseStatistics} object
+     */
+    @Override
+    public String toString() {
+        return "PulseStatistics[pulseId=" + pulseId
+                + ", animationTime=" + getAnimationTime()
+                + ", cssTime=" + getCssTime()
+                + ", layoutTime=" + getLayoutTime()
+                + ", syncTime=" + getSyncTime()
+                + ", renderTime=" + getRenderTime()
+                + ", presentTime=" + getPresentTime()
+                + ", nodesStyled=" + getNodesStyled()
+                + ", nodesLaidOut=" + getNodesLaidOut()
+                + ", peersSynced=" + getPeersSynced()
+                + ", dirtyRegionArea=" + getDirtyRegionArea()
+                + ", drawCalls=" + getDrawCalls()
+                + ", textureUploads=" + getTextureUploads()
+                + ", cacheHits=" + getCacheHits()
+                + "]";
+    }
+}
@@ -29,6 +29,7 @@ import com.sun.javafx.css.Combinator;
 import com.sun.javafx.css.FontFaceImpl;
 import com.sun.javafx.css.ParsedValueImpl;
 import com.sun.javafx.css.StyleManager;
+import com.sun.javafx.css.StylesheetCache;
 import com.sun.javafx.util.Utils;
 import javafx.css.converter.BooleanConverter;
 import javafx.css.converter.DurationConverter;
@@ -4186,6 +4187,7 @@ final public class CssParser {
                     new ParsedValueImpl<>(uriValues, URLConverter.getInstance());
 
             String urlString = parsedValue.convert(null);
+            StylesheetCache.recordImport(urlString);
             importedStylesheet = StyleManager.loadStylesheet(urlString);
 
             // When we load an imported stylesheet, the sourceOfStylesheet field
@@ -68,6 +68,7 @@ import com.sun.javafx.util.Logging;
 import com.sun.javafx.util.Utils;
 
 import com.sun.javafx.logging.PlatformLogger;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.logging.PlatformLogger.Level;
 
 import static com.sun.javafx.css.CalculatedValue.*;
@@ -749,6 +750,8 @@ final class CssStyleHelper {
             return;
         }
 
+        PulseCounters.increment(PulseCounters.Counter.NODES_STYLED);
+
         //
         // If styleMap is null, then StyleManager has blown it away and we need to reapply CSS.
         //
@@ -162,6 +162,7 @@ import com.sun.scenario.effect.EffectHelper;
 import javafx.scene.shape.Shape3D;
 import com.sun.javafx.logging.PlatformLogger;
 import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.logging.PulseCounters;
 
 /**
  * Base class for scene graph nodes. A scene graph is a set of tree data structures
@@ -717,6 +718,7 @@ public abstract class Node implements EventTarget, Styleable {
                                      || isDirty(DirtyBits.NODE_VISIBLE)
                                      || isDirty(DirtyBits.NODE_FORCE_SYNC)))
         {
+            PulseCounters.increment(PulseCounters.Counter.PEERS_SYNCED);
             NodeHelper.updatePeer(this);
             clearDirty();
         }
@@ -46,8 +46,10 @@ import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Vec3d;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.scene.CssFlags;
 import com.sun.javafx.scene.DirtyBits;
 import com.sun.javafx.scene.input.PickResultChooser;
@@ -89,6 +91,13 @@ public abstract class Parent extends Node {
      */
     private static final int REMOVED_CHILDREN_THRESHOLD = 20;
 
+    /**
+     * The number of children from which a parent keeps a spatial index of
+     * its children for picking, or 0 if no parent does. Package private for
+     * testing.
+     */
+    static int pickIndexThreshold = PropertyHelper.getIntegerProperty("javafx.sg.pickIndexThreshold", 0);
+
     /**
      * Do not populate list of removed children when its number exceeds threshold,
      * but mark whole parent dirty.
@@ -264,6 +273,7 @@ public abstract class Parent extends Node {
 
     void markViewOrderChildrenDirty() {
         viewOrderChildren.clear();
+        pickIndex = null;
         NodeHelper.markDirty(this, DirtyBits.PARENT_CHILDREN_VIEW_ORDER);
     }
 
@@ -463,6 +473,7 @@ public abstract class Parent extends Node {
             if (viewOrderChildrenDirty) {
                 markViewOrderChildrenDirty();
             }
+            pickIndex = null;
         }
 
     }) {
@@ -801,7 +812,23 @@ public abstract class Parent extends Node {
         }
     }
 
+    // The spatial index of the children used for picking, null until a
+    // parent with enough children is picked and whenever the children change.
+    private PickIndex pickIndex;
+
     boolean pickChildrenNode(PickRay pickRay, PickResultChooser result) {
+        if (pickIndexThreshold > 0 && children.size() >= pickIndexThreshold) {
+            // only a ray parallel to the z axis can be tested against the
+            // bounds of the children in two dimensions
+            final Vec3d d = pickRay.getDirectionNoClone();
+            if (d.x == 0 && d.y == 0) {
+                // the index is dropped whenever the picking order changes
+                if (pickIndex == null) {
+                    pickIndex = new PickIndex(getOrderedChildren());
+                }
+                return pickIndex.pick(pickRay, result);
+            }
+        }
         List<Node> orderedChildren = getOrderedChildren();
         for (int i = orderedChildren.size() - 1; i >= 0; i--) {
             orderedChildren.get(i).pickNode(pickRay, result);
@@ -1206,6 +1233,7 @@ public abstract class Parent extends Node {
                 }
                 performingLayout = true;
                 layoutChildren();
+                PulseCounters.increment(PulseCounters.Counter.NODES_LAID_OUT);
                 // Intended fall-through
             case DIRTY_BRANCH:
                 for (int i = 0, max = children.size(); i < max; i++) {
@@ -1855,6 +1883,10 @@ public abstract class Parent extends Node {
      * Called by Node whenever its bounds have changed.
      */
     void childBoundsChanged(Node node) {
+        if (pickIndex != null && !pickIndex.boundsChanged(node)) {
+            pickIndex = null;
+        }
+
         // See comment above at "currentlyProcessedChild" field
         if (node == currentlyProcessedChild) {
             return;
@@ -1878,6 +1910,9 @@ public abstract class Parent extends Node {
      * Called by node whenever the visibility of the node changes.
      */
     void childVisibilityChanged(Node node) {
+        if (pickIndex != null && !pickIndex.boundsChanged(node)) {
+            pickIndex = null;
+        }
         if (node.isVisible()) {
             childIncluded(node);
         } else {
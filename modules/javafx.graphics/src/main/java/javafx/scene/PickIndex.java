@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.geometry.Bounds;
+
+import com.sun.javafx.geom.BoxHierarchy;
+import com.sun.javafx.geom.PickRay;
+import com.sun.javafx.geom.Vec3d;
+import com.sun.javafx.scene.input.PickResultChooser;
+
+/**
+ * A bounding volume hierarchy over the children of a {@link Parent}, used to
+ * find the children that a pick ray parallel to the z axis can hit without
+ * transforming the ray into every child. It is built from the bounds in
+ * parent of the children, which are numbered in picking order, and is kept
+ * up to date as children move: a child whose bounds have changed is tested
+ * on its own until so many children have changed that the hierarchy should
+ * be built again. Changes to the children list need a new index.
+ */
+final class PickIndex {
+
+    // the children in picking order when the index was built
+    private final Node[] nodes;
+    private final float[] boxes; // minX, minY, maxX, maxY of each child
+
+    private final BoxHierarchy tree;
+
+    // children whose bounds have changed since the index was built
+    private final Set<Node> changed = new HashSet<>();
+    private final int maxChanged;
+    private Map<Node, Integer> numbers;
+
+    private int[] hits = new int[16];
+
+    PickIndex(List<Node> children) {
+        final int n = children.size();
+        nodes = children.toArray(new Node[n]);
+        boxes = new float[n * 4];
+        final int[] order = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            final Bounds b = nodes[i].getBoundsInParent();
+            if (!b.isEmpty()) {
+                setBox(boxes, i, b);
+                order[count++] = i;
+            }
+        }
+        maxChanged = Math.max(64, n / 64);
+        tree = new BoxHierarchy(boxes, order, count);
+    }
+
+    /**
+     * Records that the bounds of a child have changed. Returns false if so
+     * many children have changed that the index should be built again.
+     */
+    boolean boundsChanged(Node node) {
+        changed.add(node);
+        return changed.size() <= maxChanged;
+    }
+
+    /**
+     * Picks the children whose bounds in parent contain the origin of the
+     * pick ray, in reverse picking order. The ray must be parallel to the
+     * z axis. Returns false if the result was closed by one of them.
+     */
+    boolean pick(PickRay pickRay, PickResultChooser result) {
+        final Vec3d o = pickRay.getOriginNoClone();
+        final double x = o.x;
+        final double y = o.y;
+        int hitCount = 0;
+        final int found = tree.find(x, y, x, y);
+        for (int i = 0; i < found; i++) {
+            final int c = tree.getFound(i);
+            if (!changed.contains(nodes[c])) {
+                hitCount = addHit(hitCount, c);
+            }
+        }
+        if (!changed.isEmpty()) {
+            for (Node node : changed) {
+                if (node.getBoundsInParent().contains(x, y)) {
+                    final Integer number = getNumber(node);
+                    if (number != null) {
+                        hitCount = addHit(hitCount, number);
+                    }
+                }
+            }
+        }
+        Arrays.sort(hits, 0, hitCount);
+        for (int i = hitCount - 1; i >= 0; i--) {
+            nodes[hits[i]].pickNode(pickRay, result);
+            if (result.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int addHit(int hitCount, int number) {
+        if (hitCount == hits.length) {
+            hits = Arrays.copyOf(hits, hitCount * 2);
+        }
+        hits[hitCount] = number;
+        return hitCount + 1;
+    }
+
+    private Integer getNumber(Node node) {
+        if (numbers == null) {
+            numbers = new IdentityHashMap<>(nodes.length * 2);
+            for (int i = 0; i < nodes.length; i++) {
+                numbers.put(nodes[i], i);
+            }
+        }
+        return numbers.get(node);
+    }
+
+    private static void setBox(float[] boxes, int i, Bounds b) {
+        // widened by a few ulps, as the bounds are rounded to floats
+        final float minX = (float) b.getMinX(), minY = (float) b.getMinY();
+        final float maxX = (float) b.getMaxX(), maxY = (float) b.getMaxY();
+        boxes[i * 4] = minX - 2 * Math.ulp(minX);
+        boxes[i * 4 + 1] = minY - 2 * Math.ulp(minY);
+        boxes[i * 4 + 2] = maxX + 2 * Math.ulp(maxX);
+        boxes[i * 4 + 3] = maxY + 2 * Math.ulp(maxY);
+    }
+}
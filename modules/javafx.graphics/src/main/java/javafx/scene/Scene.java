@@ -92,6 +92,7 @@ import java.security.PrivilegedAction;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import com.sun.javafx.logging.PulseCounters;
 import com.sun.javafx.logging.PulseLogger;
 
 import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
@@ -2592,12 +2593,15 @@ public class Scene implements EventTarget {
             if (PULSE_LOGGING_ENABLED) {
                 PulseLogger.newPhase("CSS Pass");
             }
+            PulseCounters.phase(PulseCounters.Phase.CSS);
             Scene.this.doCSSPass();
 
             if (PULSE_LOGGING_ENABLED) {
                 PulseLogger.newPhase("Layout Pass");
             }
+            PulseCounters.phase(PulseCounters.Phase.LAYOUT);
             Scene.this.doLayoutPass();
+            PulseCounters.phase(PulseCounters.Phase.ANIMATION);
 
             // run any scene post pulse listeners immediately _after_ css / layout,
             // and before scene synchronization
@@ -2612,6 +2616,7 @@ public class Scene implements EventTarget {
                 if (PULSE_LOGGING_ENABLED) {
                     PulseLogger.newPhase("Update bounds");
                 }
+                PulseCounters.phase(PulseCounters.Phase.SYNC);
                 getRoot().updateBounds();
                 if (peer != null) {
                     try {
@@ -2646,6 +2651,7 @@ public class Scene implements EventTarget {
                     NodeHelper.markDirty(Scene.this.getRoot(),
                             com.sun.javafx.scene.DirtyBits.NODE_CSS);
                 }
+                PulseCounters.phase(PulseCounters.Phase.ANIMATION);
             }
 
             // required for image cursor created from animated image
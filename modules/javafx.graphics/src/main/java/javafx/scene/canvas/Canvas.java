@@ -28,7 +28,13 @@ package javafx.scene.canvas;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.DoublePropertyBase;
 import javafx.geometry.NodeOrientation;
+import javafx.application.Platform;
 import javafx.scene.Node;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -107,6 +113,11 @@ public class Canvas extends Node {
     private int lastsizeindex;
 
     private GraphicsContext theContext;
+    // display lists defined or removed (null) since the last sync
+    private Map<String, GrowableDataBuffer> pendingLists;
+    // batches submitted by batch contexts from any thread
+    private final Queue<GrowableDataBuffer> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean batchesScheduled = new AtomicBoolean();
 
     {
         // To initialize the class helper at the begining each constructor of this class
@@ -153,6 +164,39 @@ public class Canvas extends Node {
         return current;
     }
 
+    void updateDisplayList(String name, GrowableDataBuffer commands) {
+        NodeHelper.markDirty(this, DirtyBits.NODE_CONTENTS);
+        NodeHelper.markDirty(this, DirtyBits.NODE_FORCE_SYNC);
+        if (pendingLists == null) {
+            pendingLists = new LinkedHashMap<>();
+        }
+        GrowableDataBuffer old = pendingLists.put(name, commands);
+        if (old != null) {
+            GrowableDataBuffer.returnBuffer(old);
+        }
+    }
+
+    void submitBatch(GrowableDataBuffer batch) {
+        batches.add(batch);
+        if (batchesScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::writeBatches);
+        }
+    }
+
+    void writeBatches() {
+        batchesScheduled.set(false);
+        GraphicsContext gc = getGraphicsContext2D();
+        if (gc.isRecordingDisplayList()) {
+            // written when the recording ends
+            return;
+        }
+        GrowableDataBuffer batch;
+        while ((batch = batches.poll()) != null) {
+            gc.writeBatch(batch);
+            GrowableDataBuffer.returnBuffer(batch);
+        }
+    }
+
     boolean isRendererFallingBehind() {
         return rendererBehind;
     }
@@ -168,6 +212,30 @@ public class Canvas extends Node {
         return theContext;
     }
 
+    /**
+     * Creates a new {@code GraphicsContext} that records batches of commands
+     * for this {@code Canvas} and that, unlike the
+     * {@link #getGraphicsContext2D() GraphicsContext of the canvas}, may be
+     * used from any thread. This allows the commands for one or more canvases
+     * to be generated in parallel on background threads.
+     * <p>
+     * Nothing is drawn until {@link GraphicsContext#submitBatch()} is
+     * called, which hands the commands recorded since the last submission
+     * to the canvas so that they are drawn, as a whole, at the next pulse.
+     * A batch context must only be used by one thread at a time and cannot
+     * define display lists. The images, paints, fonts and effects that are
+     * passed to it must not be modified until the batch has been drawn.
+     * Text is drawn with the effective node orientation that the canvas had
+     * when the batch context was created, so the context should be created
+     * on the JavaFX Application Thread.
+     *
+     * @return a new batch {@code GraphicsContext} for this canvas
+     * @since 21
+     */
+    public GraphicsContext createBatchGraphicsContext() {
+        return new GraphicsContext(this, true);
+    }
+
     /**
      * Defines the width of the canvas.
      *
@@ -267,6 +335,11 @@ public class Canvas extends Node {
         }
         if (NodeHelper.isDirty(this, DirtyBits.NODE_CONTENTS)) {
             NGCanvas peer = NodeHelper.getPeer(this);
+            if (pendingLists != null) {
+                // the lists go first so that the commands can draw them
+                peer.updateDisplayLists(pendingLists);
+                pendingLists = null;
+            }
             if (current != null && !current.isEmpty()) {
                 if (--lastsizeindex < 0) {
                     lastsizeindex = SIZE_HISTORY - 1;
@@ -488,6 +488,23 @@ public final class GraphicsContext {
     LinkedList<State> stateStack;
     LinkedList<Path2D> clipStack;
 
+    // The display list being recorded and the state that is restored
+    // when the recording ends
+    private String recordingName;
+    private GrowableDataBuffer recording;
+    private Path2D outerPath;
+    private State outerState;
+    private LinkedList<State> outerStateStack;
+    private LinkedList<Path2D> outerClipStack;
+    private boolean outerTxdirty;
+
+    // The commands recorded since the last submitBatch() by a context that
+    // was created with Canvas.createBatchGraphicsContext(), null otherwise
+    private GrowableDataBuffer batch;
+    // The node orientation of the canvas when the batch context was created,
+    // as the canvas cannot be queried from the threads that use the context
+    private boolean batchRightToLeft;
+
     GraphicsContext(Canvas theCanvas) {
         this.theCanvas = theCanvas;
         this.path = new Path2D();
@@ -498,6 +515,18 @@ public final class GraphicsContext {
         this.clipStack = new LinkedList<>();
     }
 
+    GraphicsContext(Canvas theCanvas, boolean batch) {
+        this(theCanvas);
+        if (batch) {
+            this.batch = GrowableDataBuffer.getBuffer(Canvas.DEFAULT_VAL_BUF_SIZE,
+                                                      Canvas.DEFAULT_OBJ_BUF_SIZE);
+            // the transform of the renderer is not reset before a batch
+            this.txdirty = true;
+            this.batchRightToLeft =
+                    theCanvas.getEffectiveNodeOrientation() == NodeOrientation.RIGHT_TO_LEFT;
+        }
+    }
+
     static class State {
         double globalAlpha;
         BlendMode blendop;
@@ -612,7 +641,10 @@ public final class GraphicsContext {
     }
 
     private GrowableDataBuffer getBuffer() {
-        return theCanvas.getBuffer();
+        if (recording != null) {
+            return recording;
+        }
+        return (batch != null) ? batch : theCanvas.getBuffer();
     }
 
     private float coords[] = new float[6];
@@ -777,7 +809,8 @@ public final class GraphicsContext {
         buf.putFloat((float) x);
         buf.putFloat((float) y);
         buf.putFloat((float) maxWidth);
-        buf.putBoolean(theCanvas.getEffectiveNodeOrientation() == NodeOrientation.RIGHT_TO_LEFT);
+        buf.putBoolean((batch != null) ? batchRightToLeft :
+                theCanvas.getEffectiveNodeOrientation() == NodeOrientation.RIGHT_TO_LEFT);
         buf.putObject(text);
     }
 
@@ -809,7 +842,7 @@ public final class GraphicsContext {
     }
 
     void updateDimensions() {
-        GrowableDataBuffer buf = getBuffer();
+        GrowableDataBuffer buf = theCanvas.getBuffer();
         buf.putByte(NGCanvas.SET_DIMS);
         buf.putFloat((float) theCanvas.getWidth());
         buf.putFloat((float) theCanvas.getHeight());
@@ -829,22 +862,53 @@ public final class GraphicsContext {
             buf.reset();
             buf.putByte(NGCanvas.RESET);
             updateDimensions();
-            txdirty = true;
-            pathDirty = true;
-            State s = this.curState;
-            int numClipPaths = this.curState.numClipPaths;
-            this.curState = new State();
-            for (int i = 0; i < numClipPaths; i++) {
-                Path2D clip = clipStack.get(i);
-                buf.putByte(NGCanvas.PUSH_CLIP);
-                buf.putObject(clip);
-            }
-            this.curState.numClipPaths = numClipPaths;
-            s.restore(this);
+            resendState(buf);
+        }
+    }
+
+    // Writes the whole state of the context to a renderer that is in the
+    // default state, as it is after a RESET.
+    private void resendState(GrowableDataBuffer buf) {
+        txdirty = true;
+        pathDirty = true;
+        State s = this.curState;
+        int numClipPaths = this.curState.numClipPaths;
+        this.curState = new State();
+        for (int i = 0; i < numClipPaths; i++) {
+            Path2D clip = clipStack.get(i);
+            buf.putByte(NGCanvas.PUSH_CLIP);
+            buf.putObject(clip);
+        }
+        this.curState.numClipPaths = numClipPaths;
+        s.restore(this);
+    }
+
+    // Brings the renderer back to the default state, but for the transform
+    // which is written before the next rendering operation, without changing
+    // the state of the context.
+    private void writeDefaultState(GrowableDataBuffer buf) {
+        State s = this.curState;
+        for (int i = 0; i < s.numClipPaths; i++) {
+            buf.putByte(NGCanvas.POP_CLIP);
         }
+        this.curState = s.copy();
+        this.curState.numClipPaths = 0;
+        new State().restore(this);
+        this.curState = s;
+        txdirty = true;
+    }
+
+    // Appends a batch that was submitted by a batch context of the canvas.
+    // Batches start from and end in the default state.
+    void writeBatch(GrowableDataBuffer commands) {
+        GrowableDataBuffer buf = getBuffer();
+        writeDefaultState(buf);
+        buf.append(commands);
+        resendState(buf);
     }
 
     private void resetIfCovers(Paint p, double x, double y, double w, double h) {
+        if (recording != null || batch != null) return;
         Affine2D tx = this.curState.transform;
         if (tx.isTranslateOrIdentity()) {
             x += tx.getMxt();
@@ -2988,6 +3052,167 @@ public final class GraphicsContext {
         return curState.effect == null ? null : EffectHelper.copy(curState.effect);
     }
 
+    /**
+     * Starts recording a display list with the given name. Until
+     * {@link #endDisplayList()} is called the rendering calls of this
+     * {@code GraphicsContext} are recorded into the list instead of being
+     * drawn onto the canvas.
+     * The recording starts with the default values for all of the
+     * attributes, an empty path, no clip and an empty state stack, and the
+     * attributes, path, clip and state stack in effect before the recording
+     * are restored when it ends.
+     * <p>
+     * The commands of a display list are rendered into an image the size of
+     * the canvas the first time that the list is drawn and that image is
+     * then drawn each time the list is drawn with
+     * {@link #drawDisplayList(String)}. The list is only rendered again when
+     * it, or a list that it draws, is redefined or the canvas changes size,
+     * which makes display lists useful for content that is drawn over and
+     * over again, such as the parts of a scene that do not change from one
+     * frame of an animation to the next.
+     *
+     * @param name the name of the display list, which replaces any display
+     *             list with the same name when the recording ends
+     * @throws NullPointerException if {@code name} is null
+     * @throws IllegalStateException if a display list is already being
+     *         recorded, or if this is a batch context
+     * @since 21
+     */
+    public void beginDisplayList(String name) {
+        if (name == null) throw new NullPointerException("Name cannot be null");
+        if (batch != null) {
+            throw new IllegalStateException("Display lists cannot be defined by a batch context");
+        }
+        if (recording != null) {
+            throw new IllegalStateException("Already recording display list " + recordingName);
+        }
+        recordingName = name;
+        recording = GrowableDataBuffer.getBuffer(Canvas.DEFAULT_VAL_BUF_SIZE,
+                                                 Canvas.DEFAULT_OBJ_BUF_SIZE);
+        outerPath = path;
+        outerState = curState;
+        outerStateStack = stateStack;
+        outerClipStack = clipStack;
+        outerTxdirty = txdirty;
+        path = new Path2D();
+        pathDirty = true;
+        curState = new State();
+        stateStack = new LinkedList<>();
+        clipStack = new LinkedList<>();
+        txdirty = true;
+    }
+
+    /**
+     * Ends the recording of the display list that was started with
+     * {@link #beginDisplayList(String)} and restores the state of this
+     * {@code GraphicsContext} to what it was before the recording started.
+     *
+     * @throws IllegalStateException if no display list is being recorded
+     * @since 21
+     */
+    public void endDisplayList() {
+        if (recording == null) {
+            throw new IllegalStateException("No display list is being recorded");
+        }
+        theCanvas.updateDisplayList(recordingName, recording);
+        recordingName = null;
+        recording = null;
+        path = outerPath;
+        // the path is sent again as it may have been changed in the list
+        pathDirty = true;
+        curState = outerState;
+        stateStack = outerStateStack;
+        clipStack = outerClipStack;
+        txdirty = outerTxdirty;
+        outerPath = null;
+        outerState = null;
+        outerStateStack = null;
+        outerClipStack = null;
+        // batches that were held back while recording
+        theCanvas.writeBatches();
+    }
+
+    /**
+     * Indicates whether a display list is being recorded.
+     *
+     * @return true if {@link #beginDisplayList(String)} was called without
+     *         a matching call to {@link #endDisplayList()}
+     * @since 21
+     */
+    public boolean isRecordingDisplayList() {
+        return recording != null;
+    }
+
+    /**
+     * Draws the display list with the given name.
+     * The contents of the list are drawn with the current transform, global
+     * alpha, global blend mode, clip and effect, and may be drawn while
+     * recording another display list.
+     * The list is looked up when the canvas renders the command, which means
+     * that the list is drawn as it was last recorded before the canvas was
+     * rendered, and that nothing is drawn if there is no list with the name
+     * at that point or if the list would end up drawing itself.
+     *
+     * @param name the name of the display list to draw
+     * @throws NullPointerException if {@code name} is null
+     * @since 21
+     */
+    public void drawDisplayList(String name) {
+        if (name == null) throw new NullPointerException("Name cannot be null");
+        updateTransform();
+        GrowableDataBuffer buf = getBuffer();
+        buf.putByte(NGCanvas.DRAW_LIST);
+        buf.putObject(name);
+    }
+
+    /**
+     * Removes the display list with the given name and releases the
+     * resources that it holds. Nothing happens if there is no display list
+     * with that name.
+     *
+     * @param name the name of the display list to remove
+     * @throws NullPointerException if {@code name} is null
+     * @throws IllegalStateException if this is a batch context
+     * @since 21
+     */
+    public void removeDisplayList(String name) {
+        if (name == null) throw new NullPointerException("Name cannot be null");
+        if (batch != null) {
+            throw new IllegalStateException("Display lists cannot be removed by a batch context");
+        }
+        theCanvas.updateDisplayList(name, null);
+    }
+
+    /**
+     * Submits the commands that this batch context recorded since it was
+     * created or since the last call to this method to the canvas.
+     * This method may be called from any thread. The commands of the batch
+     * are added to the canvas as a whole on the JavaFX Application Thread,
+     * after any batches that were submitted before, and are drawn at the
+     * next pulse.
+     * <p>
+     * Each batch is drawn as if it started with the state that this context
+     * had when the batch was started, and has no effect on the state used
+     * by the {@link Canvas#getGraphicsContext2D() GraphicsContext of the
+     * canvas}. The state of this context is not changed by this method.
+     *
+     * @throws IllegalStateException if this context was not created with
+     *         {@link Canvas#createBatchGraphicsContext()}
+     * @see Canvas#createBatchGraphicsContext()
+     * @since 21
+     */
+    public void submitBatch() {
+        if (batch == null) {
+            throw new IllegalStateException("Not a batch context");
+        }
+        GrowableDataBuffer commands = batch;
+        writeDefaultState(commands);
+        batch = GrowableDataBuffer.getBuffer(Canvas.DEFAULT_VAL_BUF_SIZE,
+                                             Canvas.DEFAULT_OBJ_BUF_SIZE);
+        resendState(batch);
+        theCanvas.submitBatch(commands);
+    }
+
     /**
      * Applies the given effect to the entire bounds of the canvas and stores
      * the result back into the same canvas.
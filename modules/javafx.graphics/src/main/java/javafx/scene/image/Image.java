@@ -32,8 +32,6 @@ import java.net.URL;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.CancellationException;
 import java.util.regex.Pattern;
 import javafx.animation.KeyFrame;
@@ -52,6 +50,7 @@ import javafx.scene.paint.Color;
 import javafx.util.Duration;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
+import com.sun.javafx.runtime.async.ImageLoadScheduler;
 import com.sun.javafx.tk.ImageLoader;
 import com.sun.javafx.tk.PlatformImage;
 import com.sun.javafx.tk.Toolkit;
@@ -101,6 +100,12 @@ import javafx.beans.property.SimpleIntegerProperty;
  * class. The same {@code Image} instance can be displayed by multiple
  * {@code ImageView}s.
  *
+ * <p>Images that are loaded in the background are loaded a few at a time.
+ * Loads of images that are displayed by an {@code ImageView} in a scene
+ * are started before other loads. A load that hasn't started yet is put
+ * on hold when all {@code ImageView}s displaying the image have been
+ * removed from their scenes, until the image is displayed in a scene again.
+ *
  *<p>Example code for loading images:
 
 <PRE>
@@ -857,14 +862,21 @@ public class Image {
     // the animation, so most of the data can be garbage collected while
     // the animation is still running.
     private PlatformImage[] animFrames;
+    // The loader of an animation whose frames are decoded while it is
+    // animated, in which case there are no animFrames.
+    private ImageLoader streamingLoader;
 
     // Generates the animation Timeline for multiframe images.
     private void initializeAnimatedImage(ImageLoader loader) {
         final int frameCount = loader.getFrameCount();
-        animFrames = new PlatformImage[frameCount];
+        if (loader.isStreaming()) {
+            streamingLoader = loader;
+        } else {
+            animFrames = new PlatformImage[frameCount];
 
-        for (int i = 0; i < frameCount; ++i) {
-            animFrames[i] = loader.getFrame(i);
+            for (int i = 0; i < frameCount; ++i) {
+                animFrames[i] = loader.getFrame(i);
+            }
         }
 
         PlatformImage zeroFrame = loader.getFrame(0);
@@ -920,8 +932,13 @@ public class Image {
         private void updateImage(final int frameIndex) {
             final Image image = imageRef.get();
             if (image != null) {
-                image.platformImagePropertyImpl().set(
-                        image.animFrames[frameIndex]);
+                final PlatformImage frame = image.animFrames != null
+                        ? image.animFrames[frameIndex]
+                        : image.streamingLoader.getFrame(frameIndex);
+                // a frame that isn't decoded in time is skipped
+                if (frame != null) {
+                    image.platformImagePropertyImpl().set(frame);
+                }
             } else {
                 timeline.stop();
             }
@@ -935,35 +952,41 @@ public class Image {
         }
     }
 
-    private void cycleTasks() {
-        synchronized (pendingTasks) {
-            runningTasks--;
-            // do we have any pending tasks to run ?
-            // we can assume we are under the throttle limit because
-            // one task just completed.
-            final ImageTask nextTask = pendingTasks.poll();
-            if (nextTask != null) {
-                runningTasks++;
-                nextTask.start();
+    private void loadInBackground() {
+        backgroundTask = new ImageTask();
+        ImageLoadScheduler.getInstance().submit(backgroundTask.task);
+    }
+
+    /*
+     * Called by ImageView when a view showing this image is added to or
+     * removed from a scene, to load the images that are shown first and
+     * to not start loading images that no longer are.
+     */
+    void viewShown(boolean shown) {
+        if (shown) {
+            if (shownCount++ == 0) {
+                wasShown = true;
+                updateLoadPriority();
+            }
+        } else {
+            if (--shownCount == 0) {
+                updateLoadPriority();
             }
         }
     }
 
-    private void loadInBackground() {
-        backgroundTask = new ImageTask();
-        // This is an artificial throttle on background image loading tasks.
-        // It has been shown that with large images, we can quickly use up the
-        // heap loading images, even if they result in thumbnails.
-        // The limit of MAX_RUNNING_TASKS is arbitrary, and was based on initial
-        // testing with
-        // about 60 2-6 megapixel images.
-        synchronized (pendingTasks) {
-            if (runningTasks >= MAX_RUNNING_TASKS) {
-                pendingTasks.offer(backgroundTask);
-            } else {
-                runningTasks++;
-                backgroundTask.start();
-            }
+    private int shownCount;
+    private boolean wasShown;
+
+    private ImageLoadScheduler.Priority getLoadPriority() {
+        return shownCount > 0 ? ImageLoadScheduler.Priority.VISIBLE
+                : wasShown ? ImageLoadScheduler.Priority.DEFERRED
+                : ImageLoadScheduler.Priority.NORMAL;
+    }
+
+    private void updateLoadPriority() {
+        if (backgroundTask != null) {
+            ImageLoadScheduler.getInstance().setPriority(backgroundTask.task, getLoadPriority());
         }
     }
 
@@ -1012,36 +1035,31 @@ public class Image {
         platformImage.set(newPlatformImage);
     }
 
-    private static final int MAX_RUNNING_TASKS = 4;
-    private static int runningTasks = 0;
-    private static final Queue<ImageTask> pendingTasks =
-            new LinkedList<>();
-
     private final class ImageTask
             implements AsyncOperationListener<ImageLoader> {
 
-        private final AsyncOperation peer;
+        private final ImageLoadScheduler.Task task;
 
         public ImageTask() {
-            peer = constructPeer();
+            task = new ImageLoadScheduler.Task(constructPeer(), getLoadPriority());
         }
 
         @Override
         public void onCancel() {
             finishImage(new CancellationException("Loading cancelled"));
-            cycleTasks();
+            ImageLoadScheduler.getInstance().finished(task, false);
         }
 
         @Override
         public void onException(Exception exception) {
             finishImage(exception);
-            cycleTasks();
+            ImageLoadScheduler.getInstance().finished(task, false);
         }
 
         @Override
         public void onCompletion(ImageLoader value) {
             finishImage(value);
-            cycleTasks();
+            ImageLoadScheduler.getInstance().finished(task, true);
         }
 
         @Override
@@ -1054,12 +1072,8 @@ public class Image {
             }
         }
 
-        public void start() {
-            peer.start();
-        }
-
         public void cancel() {
-            peer.cancel();
+            ImageLoadScheduler.getInstance().cancel(task);
         }
 
         private AsyncOperation constructPeer() {
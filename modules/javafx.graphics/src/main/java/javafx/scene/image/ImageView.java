@@ -167,6 +167,7 @@ public class ImageView extends Node {
     {
         // To initialize the class helper at the begining each constructor of this class
         ImageViewHelper.initHelper(this);
+        sceneProperty().addListener(o -> updateShownImage());
     }
     /**
      * Allocates a new ImageView object.
@@ -251,6 +252,7 @@ public class ImageView extends Node {
                         NodeHelper.geomChanged(ImageView.this);
                     }
                     NodeHelper.markDirty(ImageView.this, DirtyBits.NODE_CONTENTS);
+                    updateShownImage();
                 }
 
                 @Override
@@ -267,6 +269,23 @@ public class ImageView extends Node {
         return image;
     }
 
+    // The image this view reported as shown in a scene, so that the image
+    // can give priority to loading the images that are shown
+    private Image shownImage;
+
+    private void updateShownImage() {
+        Image newShownImage = getScene() != null ? getImage() : null;
+        if (newShownImage != shownImage) {
+            if (shownImage != null) {
+                shownImage.viewShown(false);
+            }
+            shownImage = newShownImage;
+            if (shownImage != null) {
+                shownImage.viewShown(true);
+            }
+        }
+    }
+
     private StringProperty imageUrl = null;
     /**
      * The imageUrl property is set from CSS and then the image property is
@@ -41,6 +41,7 @@
  */
 module javafx.graphics {
     requires java.desktop;
+    requires static java.management;
     requires java.xml;
     requires jdk.unsupported;
 
@@ -79,6 +80,7 @@ module javafx.graphics {
         javafx.swing,
         javafx.web;
     exports com.sun.javafx.css to
+        java.management,
         javafx.controls;
     exports com.sun.javafx.cursor to
         javafx.swing;
@@ -100,6 +102,8 @@ module javafx.graphics {
         javafx.web;
     exports com.sun.javafx.menu to
         javafx.controls;
+    exports com.sun.javafx.runtime.async to
+        java.management;
     exports com.sun.javafx.scene to
         javafx.controls,
         javafx.media,
@@ -126,6 +130,7 @@ module javafx.graphics {
         javafx.controls,
         javafx.swing;
     exports com.sun.javafx.text to
+        java.management,
         javafx.web;
     exports com.sun.javafx.tk to
         javafx.controls,
@@ -148,6 +153,7 @@ module javafx.graphics {
     exports com.sun.scenario.effect to
         javafx.web;
     exports com.sun.scenario.effect.impl to
+        java.management,
         javafx.web;
     exports com.sun.scenario.effect.impl.prism to
         javafx.web;
@@ -28,6 +28,7 @@
 #include <setjmp.h>
 #include <assert.h>
 #include <string.h>
+#include <math.h>
 
 #include "jni.h"
 
@@ -1568,27 +1569,28 @@ JNIEXPORT jint JNICALL Java_com_sun_javafx_iio_jpeg_JPEGImageLoader_startDecompr
      *     unsigned int scale_num, scale_denom
      *
      *     Scale the image by the fraction scale_num/scale_denom.  Default is
-     *     1/1, or no scaling.  Currently, the only supported scaling ratios
-     *     are 1/1, 1/2, 1/4, and 1/8.  (The library design allows for arbitrary
-     *     scaling ratios but this is not likely to be implemented any time soon.)
+     *     1/1, or no scaling.  Currently, the supported scaling ratios are
+     *     M/N with all M from 1 to 16, where N is the source DCT size, which
+     *     is 8 for baseline JPEG.
      *     Smaller scaling ratios permit significantly faster decoding since
      *     fewer pixels need be processed and a simpler IDCT method can be used.
+     *
+     * We pick the smallest ratio M/8 that doesn't make the image smaller
+     * than requested, the remaining scaling is done by the Java code.
      */
 
-    cinfo->scale_num = 1;
-
     x_scale = (jfloat) dest_width / (jfloat) cinfo->image_width;
     y_scale = (jfloat) dest_height / (jfloat) cinfo->image_height;
     max_scale = x_scale > y_scale ? x_scale : y_scale;
 
-    if (max_scale > 0.5) {
-        cinfo->scale_denom = 1;
-    } else if (max_scale > 0.25) {
-        cinfo->scale_denom = 2;
-    } else if (max_scale > 0.125) {
-        cinfo->scale_denom = 4;
+    cinfo->scale_denom = 8;
+    if (max_scale >= 1.0f) {
+        cinfo->scale_num = 8;
     } else {
-        cinfo->scale_denom = 8;
+        cinfo->scale_num = (unsigned int) ceil(max_scale * 8);
+        if (cinfo->scale_num < 1) {
+            cinfo->scale_num = 1;
+        }
     }
 
     jpeg_start_decompress(cinfo);
@@ -33,6 +33,14 @@ import com.sun.javafx.geom.transform.GeneralTransform3D;
 
 public class NGGroupShim extends NGGroup {
 
+    public static int getCullIndexThreshold() {
+        return cullIndexThreshold;
+    }
+
+    public static void setCullIndexThreshold(int threshold) {
+        cullIndexThreshold = threshold;
+    }
+
     @Override
     public int accumulateGroupDirtyRegion(
             final RectBounds clip,
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk.quantum;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import com.sun.prism.Image;
+
+public class AnimationFrameBufferShim {
+
+    private final AnimationFrameBuffer buffer;
+
+    private AnimationFrameBufferShim(AnimationFrameBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns a frame buffer that decodes on the given executor, or null
+     * if the image isn't an animation.
+     */
+    public static AnimationFrameBufferShim create(byte[] data, Executor executor) throws IOException {
+        AnimationFrameBuffer buffer = AnimationFrameBuffer.create(data, 0, 0, true, 1.0f, true, 0, executor);
+        return buffer != null ? new AnimationFrameBufferShim(buffer) : null;
+    }
+
+    public int getFrameCount() {
+        return buffer.getFrameCount();
+    }
+
+    public Image getFrame(int index) {
+        return buffer.getFrame(index);
+    }
+}
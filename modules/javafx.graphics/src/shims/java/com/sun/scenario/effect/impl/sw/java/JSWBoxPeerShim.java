@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import java.util.Optional;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+
+public class JSWBoxPeerShim {
+
+    private static final FilterContext FCTX = new FilterContext(new Object()) {};
+
+    /**
+     * Returns whether the Vector API peers were compiled and can be used,
+     * adding the read edge to {@code jdk.incubator.vector} like PSWRenderer.
+     */
+    public static boolean isVectorAvailable() {
+        Optional<Module> vector = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        if (vector.isEmpty()) {
+            return false;
+        }
+        try {
+            Class.forName("com.sun.scenario.effect.impl.sw.vector.VSWBoxBlurPeer",
+                          false, JSWBoxPeerShim.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        JSWBoxPeerShim.class.getModule().addReads(vector.get());
+        return true;
+    }
+
+    public static JSWBoxBlurPeer newBoxBlurPeer(String className) throws Exception {
+        return (JSWBoxBlurPeer) newPeer(className, "BoxBlur");
+    }
+
+    public static JSWBoxShadowPeer newBoxShadowPeer(String className) throws Exception {
+        return (JSWBoxShadowPeer) newPeer(className, "BoxShadow");
+    }
+
+    private static Object newPeer(String className, String name) throws Exception {
+        return Class.forName(className)
+                .getConstructor(FilterContext.class, Renderer.class, String.class)
+                .newInstance(FCTX, null, name);
+    }
+
+    public static void filterHorizontal(JSWBoxBlurPeer peer,
+            int dstPixels[], int dstw, int dsth, int dstscan,
+            int srcPixels[], int srcw, int srch, int srcscan) {
+        peer.filterHorizontal(dstPixels, dstw, dsth, dstscan,
+                              srcPixels, srcw, srch, srcscan);
+    }
+
+    public static void filterVertical(JSWBoxBlurPeer peer,
+            int dstPixels[], int dstw, int dsth, int dstscan,
+            int srcPixels[], int srcw, int srch, int srcscan) {
+        peer.filterVertical(dstPixels, dstw, dsth, dstscan,
+                            srcPixels, srcw, srch, srcscan);
+    }
+
+    public static void filterHorizontalBlack(JSWBoxShadowPeer peer,
+            int dstPixels[], int dstw, int dsth, int dstscan,
+            int srcPixels[], int srcw, int srch, int srcscan,
+            float spread) {
+        peer.filterHorizontalBlack(dstPixels, dstw, dsth, dstscan,
+                                   srcPixels, srcw, srch, srcscan, spread);
+    }
+
+    public static void filterVerticalBlack(JSWBoxShadowPeer peer,
+            int dstPixels[], int dstw, int dsth, int dstscan,
+            int srcPixels[], int srcw, int srch, int srcscan,
+            float spread) {
+        peer.filterVerticalBlack(dstPixels, dstw, dsth, dstscan,
+                                 srcPixels, srcw, srch, srcscan, spread);
+    }
+
+    public static void filterVertical(JSWBoxShadowPeer peer,
+            int dstPixels[], int dstw, int dsth, int dstscan,
+            int srcPixels[], int srcw, int srch, int srcscan,
+            float spread, float shadowColor[]) {
+        peer.filterVertical(dstPixels, dstw, dsth, dstscan,
+                            srcPixels, srcw, srch, srcscan, spread, shadowColor);
+    }
+}
@@ -52,4 +52,12 @@ public class ParentShim extends Parent {
     public static List<Node> test_getViewOrderChildren(Parent p) {
         return p.test_getViewOrderChildren();
     }
+
+    public static int getPickIndexThreshold() {
+        return Parent.pickIndexThreshold;
+    }
+
+    public static void setPickIndexThreshold(int threshold) {
+        Parent.pickIndexThreshold = threshold;
+    }
 }
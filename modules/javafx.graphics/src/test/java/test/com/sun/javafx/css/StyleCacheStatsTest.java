@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.StyleCacheStats;
+import com.sun.javafx.css.StyleManagerShim;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StyleCacheStatsTest {
+
+    private static final String STYLESHEET = toDataURI(
+            ".r0 { -fx-fill: #000001; } .r1 { -fx-fill: #000002; } .r2 { -fx-fill: #000003; } " +
+            ".r3 { -fx-fill: #000004; } .r4 { -fx-fill: #000005; } .r5 { -fx-fill: #000006; } " +
+            ".r6 { -fx-fill: #000007; } .r7 { -fx-fill: #000008; } .r8 { -fx-fill: #000009; } " +
+            ".r9 { -fx-fill: #00000a; }");
+
+    private final StyleCacheStats stats = StyleCacheStats.getDefaultBean();
+    private int sharedStyleCacheLimit;
+    private int selectorCacheLimit;
+    private int inlineStyleCacheLimit;
+    private int styleMapLimit;
+
+    private static String toDataURI(String css) {
+        return "data:text/css;base64," + Base64.getEncoder().encodeToString(css.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void resetStyleManager() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        sm.userAgentStylesheetContainers_clear();
+        sm.platformUserAgentStylesheetContainers_clear();
+        sm.stylesheetContainerMap_clear();
+        sm.cacheContainerMap_clear();
+        sm.set_hasDefaultUserAgentStylesheet(false);
+    }
+
+    @Before
+    public void setUp() {
+        resetStyleManager();
+        sharedStyleCacheLimit = stats.getSharedStyleCacheLimit();
+        selectorCacheLimit = stats.getSelectorCacheLimit();
+        inlineStyleCacheLimit = stats.getInlineStyleCacheLimit();
+        styleMapLimit = stats.getStyleMapLimit();
+        stats.resetCounters();
+    }
+
+    @After
+    public void tearDown() {
+        stats.setSharedStyleCacheLimit(sharedStyleCacheLimit);
+        stats.setSelectorCacheLimit(selectorCacheLimit);
+        stats.setInlineStyleCacheLimit(inlineStyleCacheLimit);
+        stats.setStyleMapLimit(styleMapLimit);
+        resetStyleManager();
+    }
+
+    private static List<Rectangle> createRectangles(Group root, int count) {
+        List<Rectangle> rectangles = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            Rectangle rectangle = new Rectangle();
+            rectangle.getStyleClass().add("r" + (n % 10));
+            rectangles.add(rectangle);
+        }
+        root.getChildren().addAll(rectangles);
+        return rectangles;
+    }
+
+    private static void assertStyled(List<Rectangle> rectangles) {
+        for (int n = 0; n < rectangles.size(); n++) {
+            assertEquals("rectangle " + n, Color.rgb(0, 0, n % 10 + 1), rectangles.get(n).getFill());
+        }
+    }
+
+    @Test
+    public void testCountersAndSizes() {
+        Group root = new Group();
+        List<Rectangle> rectangles = createRectangles(root, 20);
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(STYLESHEET);
+        root.applyCss();
+
+        assertStyled(rectangles);
+        assertEquals(1, stats.getContainerCount());
+        // the group and the 10 distinct style-classes
+        assertEquals(11, stats.getSelectorCacheMisses());
+        assertEquals(10, stats.getSelectorCacheHits());
+        assertEquals(11, stats.getSelectorCacheSize());
+        assertTrue(stats.getStyleMapCount() > 0);
+        assertTrue(stats.getSharedStyleCacheSize() > 0);
+        assertTrue(stats.getSharedStyleCacheHits() > 0);
+        assertEquals(0, stats.getSelectorCacheEvictions());
+
+        stats.resetCounters();
+        assertEquals(0, stats.getSelectorCacheMisses());
+        assertEquals(0, stats.getSelectorCacheHits());
+        assertEquals(11, stats.getSelectorCacheSize());
+    }
+
+    @Test
+    public void testSelectorCacheIsBounded() {
+        stats.setSelectorCacheLimit(4);
+
+        Group root = new Group();
+        List<Rectangle> rectangles = createRectangles(root, 20);
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(STYLESHEET);
+        root.applyCss();
+
+        assertStyled(rectangles);
+        assertEquals(4, stats.getSelectorCacheSize());
+        assertTrue(stats.getSelectorCacheEvictions() >= 7);
+    }
+
+    @Test
+    public void testSharedStyleCacheIsBounded() {
+        stats.setSharedStyleCacheLimit(2);
+
+        Group root = new Group();
+        List<Rectangle> rectangles = createRectangles(root, 20);
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(STYLESHEET);
+        root.applyCss();
+
+        assertStyled(rectangles);
+        assertEquals(2, stats.getSharedStyleCacheSize());
+        assertTrue(stats.getSharedStyleCacheEvictions() > 0);
+    }
+
+    @Test
+    public void testInlineStyleCacheIsBounded() {
+        stats.setInlineStyleCacheLimit(3);
+
+        Group root = new Group();
+        List<Rectangle> rectangles = new ArrayList<>();
+        for (int n = 0; n < 10; n++) {
+            Rectangle rectangle = new Rectangle();
+            rectangle.setStyle("-fx-fill: #0000" + String.format("%02x", n + 1) + ";");
+            rectangles.add(rectangle);
+        }
+        root.getChildren().addAll(rectangles);
+        new Scene(root);
+        root.applyCss();
+
+        assertStyled(rectangles);
+        assertEquals(10, stats.getInlineStyleCacheMisses());
+        assertEquals(3, stats.getInlineStyleCacheSize());
+        assertEquals(7, stats.getInlineStyleCacheEvictions());
+    }
+
+    @Test
+    public void testStyleMapsAreResetWhenOverLimit() {
+        stats.setStyleMapLimit(4);
+
+        Group root = new Group();
+        List<Rectangle> rectangles = createRectangles(root, 20);
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(STYLESHEET);
+        root.applyCss();
+        assertStyled(rectangles);
+        assertEquals(10, stats.getStyleMapCount());
+
+        // the container is reset when the root is matched again
+        root.setId("a");
+        root.applyCss();
+        assertEquals(1, stats.getStyleMapResets());
+        assertEquals(10, stats.getStyleMapCount());
+        assertStyled(rectangles);
+
+        // the container's limit doubles with every reset, so it is
+        // not reset over and over again
+        root.setId("b");
+        root.applyCss();
+        root.setId("c");
+        root.applyCss();
+        root.setId("d");
+        root.applyCss();
+        assertEquals(2, stats.getStyleMapResets());
+        assertStyled(rectangles);
+    }
+
+    @Test
+    public void testUserAgentStylesheetChangeKeepsSceneWithOwnUserAgentStylesheet() {
+        Group root = new Group();
+        List<Rectangle> rectangles = createRectangles(root, 20);
+        Scene scene = new Scene(root);
+        scene.setUserAgentStylesheet(STYLESHEET);
+        root.applyCss();
+        assertStyled(rectangles);
+
+        long styleMaps = stats.getStyleMapCount();
+        assertTrue(styleMaps > 0);
+
+        StyleManagerShim.getInstance().setDefaultUserAgentStylesheet("/test/com/sun/javafx/css/ua0.css");
+        assertEquals(styleMaps, stats.getStyleMapCount());
+        assertStyled(rectangles);
+    }
+
+    @Test
+    public void testUserAgentStylesheetChangeClearsSceneWithoutOwnUserAgentStylesheet() {
+        Group root = new Group();
+        Rectangle rectangle = new Rectangle();
+        rectangle.getStyleClass().add("rect");
+        root.getChildren().add(rectangle);
+        new Scene(root);
+
+        StyleManagerShim.getInstance().setDefaultUserAgentStylesheet("/test/com/sun/javafx/css/ua0.css");
+        root.applyCss();
+        assertEquals(Color.RED, rectangle.getFill());
+        assertTrue(stats.getStyleMapCount() > 0);
+
+        StyleManagerShim.getInstance().setDefaultUserAgentStylesheet("/test/com/sun/javafx/css/ua1.css");
+        root.applyCss();
+        assertEquals(Color.BLACK, rectangle.getFill());
+        assertEquals(Color.YELLOW, rectangle.getStroke());
+    }
+}
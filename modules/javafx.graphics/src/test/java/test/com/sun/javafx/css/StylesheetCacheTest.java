@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.javafx.css.StylesheetCache;
+
+import javafx.css.Stylesheet;
+
+public class StylesheetCacheTest {
+
+    private static final String CSS = ".root { -fx-font-size: 13px; } .button:hover { -fx-background-color: red; }";
+
+    // the values of blue and green in the declarations of a stylesheet
+    private static final String BLUE = "0x0000ffff";
+    private static final String GREEN = "0x008000ff";
+
+    private Path root;
+    private Path cacheDir;
+    private Path cssFile;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("StylesheetCacheTest");
+        cacheDir = root.resolve("cache");
+        cssFile = root.resolve("app.css");
+        Files.writeString(cssFile, CSS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String describe(Stylesheet stylesheet) {
+        // declarations of a binary stylesheet are read lazily, and are not in Rule.toString() until then
+        return stylesheet.getRules().stream()
+                .map(rule -> rule.getSelectors() + " " + rule.getDeclarations())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> paths = Files.list(cacheDir)) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testFirstLoadParsesAndCaches() throws IOException {
+        StylesheetCache cache = new StylesheetCache(cacheDir, "21");
+        Stylesheet stylesheet = cache.load(cssFile.toUri().toURL());
+
+        assertEquals(2, stylesheet.getRules().size());
+        assertEquals(cssFile.toUri().toURL().toExternalForm(), stylesheet.getUrl());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, entries().size());
+    }
+
+    @Test
+    public void testSecondLoadReadsFromCache() throws IOException {
+        Stylesheet parsed = new StylesheetCache(cacheDir, "21").load(cssFile.toUri().toURL());
+
+        StylesheetCache cache = new StylesheetCache(cacheDir, "21");
+        Stylesheet cached = cache.load(cssFile.toUri().toURL());
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+        assertEquals(describe(parsed), describe(cached));
+        assertEquals(parsed.getUrl(), cached.getUrl());
+    }
+
+    @Test
+    public void testChangedTextReplacesEntry() throws IOException {
+        StylesheetCache cache = new StylesheetCache(cacheDir, "21");
+        cache.load(cssFile.toUri().toURL());
+
+        Files.writeString(cssFile, ".label { -fx-text-fill: blue; }");
+        Stylesheet stylesheet = cache.load(cssFile.toUri().toURL());
+
+        assertEquals(1, stylesheet.getRules().size());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, entries().size());
+
+        cache.load(cssFile.toUri().toURL());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testChangedImportReplacesEntry() throws IOException {
+        Path imported = root.resolve("imported.css");
+        Files.writeString(imported, ".label { -fx-text-fill: blue; }");
+        Files.writeString(cssFile, "@import \"imported.css\";\n" + CSS);
+
+        StylesheetCache cache = new StylesheetCache(cacheDir, "21");
+        Stylesheet stylesheet = cache.load(cssFile.toUri().toURL());
+        assertTrue(describe(stylesheet).contains(BLUE));
+        cache.load(cssFile.toUri().toURL());
+        assertEquals(1, cache.getHitCount());
+
+        Files.writeString(imported, ".label { -fx-text-fill: green; }");
+        stylesheet = cache.load(cssFile.toUri().toURL());
+        assertTrue(describe(stylesheet).contains(GREEN));
+        assertFalse(describe(stylesheet).contains(BLUE));
+        assertEquals(2, cache.getMissCount());
+
+        cache.load(cssFile.toUri().toURL());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testChangedNestedImportReplacesEntry() throws IOException {
+        Path middle = root.resolve("middle.css");
+        Path inner = root.resolve("inner.css");
+        Files.writeString(inner, ".label { -fx-text-fill: blue; }");
+        Files.writeString(middle, "@import \"inner.css\";\n.button { -fx-padding: 2px; }");
+        Files.writeString(cssFile, "@import \"middle.css\";\n" + CSS);
+
+        StylesheetCache cache = new StylesheetCache(cacheDir, "21");
+        assertTrue(describe(cache.load(cssFile.toUri().toURL())).contains(BLUE));
+
+        Files.writeString(inner, ".label { -fx-text-fill: green; }");
+        assertTrue(describe(cache.load(cssFile.toUri().toURL())).contains(GREEN));
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testVersionIsPartOfTheKey() throws IOException {
+        new StylesheetCache(cacheDir, "21").load(cssFile.toUri().toURL());
+
+        StylesheetCache cache = new StylesheetCache(cacheDir, "22");
+        cache.load(cssFile.toUri().toURL());
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, entries().size());
+    }
+
+    @Test
+    public void testCorruptEntryIsReplaced() throws IOException {
+        new StylesheetCache(cacheDir, "21").load(cssFile.toUri().toURL());
+        Path entry = entries().get(0);
+        byte[] bytes = Files.readAllBytes(entry);
+        Files.write(entry, java.util.Arrays.copyOf(bytes, bytes.length / 2));
+
+        StylesheetCache cache = new StylesheetCache(cacheDir, "21");
+        Stylesheet stylesheet = cache.load(cssFile.toUri().toURL());
+        assertEquals(2, stylesheet.getRules().size());
+        assertEquals(1, cache.getMissCount());
+
+        assertNotEquals(bytes.length / 2, Files.size(entry));
+        cache.load(cssFile.toUri().toURL());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testUnwritableCacheDirectoryFallsBackToParsing() throws IOException {
+        // a file where the cache directory should be
+        Files.writeString(cacheDir, "not a directory", StandardCharsets.UTF_8);
+
+        StylesheetCache cache = new StylesheetCache(cacheDir, "21");
+        Stylesheet stylesheet = cache.load(cssFile.toUri().toURL());
+
+        assertEquals(2, stylesheet.getRules().size());
+        assertTrue(Files.isRegularFile(cacheDir));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.font;
+
+import com.sun.javafx.font.GlyphMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class GlyphMapTest {
+
+    @Test
+    public void testEmpty() {
+        GlyphMap<String> map = new GlyphMap<>(0, 100);
+        assertEquals(0, map.size());
+        assertEquals(-1, map.indexOf(0));
+        assertEquals(-1, map.indexOf(42));
+    }
+
+    @Test
+    public void testAddAndFind() {
+        GlyphMap<String> map = new GlyphMap<>(2, 1000);
+        for (int gc = 0; gc < 500; gc++) {
+            int index = map.add(gc);
+            map.setValue(index, "g" + gc);
+            map.setInt(index, 0, gc * 2);
+            map.setInt(index, 1, -gc);
+        }
+        assertEquals(500, map.size());
+        for (int gc = 0; gc < 500; gc++) {
+            int index = map.indexOf(gc);
+            assertTrue(index != -1);
+            assertEquals("g" + gc, map.getValue(index));
+            assertEquals(gc * 2, map.getInt(index, 0));
+            assertEquals(-gc, map.getInt(index, 1));
+        }
+        assertEquals(-1, map.indexOf(500));
+    }
+
+    @Test
+    public void testMaxCapacityIsPowerOfTwo() {
+        assertEquals(1024, new GlyphMap<>(0, 1000).getMaxCapacity());
+        assertEquals(1024, new GlyphMap<>(0, 1024).getMaxCapacity());
+    }
+
+    @Test
+    public void testEviction() {
+        GlyphMap<Integer> map = new GlyphMap<>(1, 256);
+        for (int gc = 0; gc < 10000; gc++) {
+            int index = map.add(gc);
+            map.setValue(index, gc);
+            map.setInt(index, 0, gc);
+        }
+        assertTrue(map.size() <= 256);
+        int found = 0;
+        for (int gc = 0; gc < 10000; gc++) {
+            int index = map.indexOf(gc);
+            if (index != -1) {
+                assertEquals(gc, (int)map.getValue(index));
+                assertEquals(gc, map.getInt(index, 0));
+                found++;
+            }
+        }
+        assertEquals(map.size(), found);
+
+        // the last glyph added is always found
+        int index = map.add(123456);
+        assertEquals(index, map.indexOf(123456));
+    }
+
+    @Test
+    public void testAddClearsEvictedData() {
+        GlyphMap<String> map = new GlyphMap<>(4, 8);
+        for (int gc = 0; gc < 100; gc++) {
+            int index = map.add(gc);
+            assertNull(map.getValue(index));
+            for (int i = 0; i < 4; i++) {
+                assertEquals(0, map.getInt(index, i));
+                map.setInt(index, i, gc + 1);
+            }
+            map.setValue(index, "g" + gc);
+        }
+    }
+}
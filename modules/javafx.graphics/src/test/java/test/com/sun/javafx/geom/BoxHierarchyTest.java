@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.geom;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import com.sun.javafx.geom.BoxHierarchy;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoxHierarchyTest {
+
+    private static int[] find(BoxHierarchy tree, double minX, double minY, double maxX, double maxY) {
+        int count = tree.find(minX, minY, maxX, maxY);
+        int[] found = new int[count];
+        for (int i = 0; i < count; i++) {
+            found[i] = tree.getFound(i);
+        }
+        Arrays.sort(found);
+        return found;
+    }
+
+    private static int[] findAll(float[] boxes, boolean[] included,
+                                 double minX, double minY, double maxX, double maxY) {
+        return IntStream.range(0, included.length)
+                .filter(i -> included[i]
+                        && boxes[i * 4] <= maxX && boxes[i * 4 + 1] <= maxY
+                        && boxes[i * 4 + 2] >= minX && boxes[i * 4 + 3] >= minY)
+                .toArray();
+    }
+
+    @Test
+    public void testEmpty() {
+        BoxHierarchy tree = new BoxHierarchy(new float[0], new int[0], 0);
+        assertEquals(0, tree.find(-1e9, -1e9, 1e9, 1e9));
+    }
+
+    @Test
+    public void testTouchingBoxesAreFound() {
+        float[] boxes = { 0, 0, 10, 10, 10, 0, 20, 10 };
+        BoxHierarchy tree = new BoxHierarchy(boxes, new int[] { 0, 1 }, 2);
+        assertArrayEquals(new int[] { 0, 1 }, find(tree, 10, 5, 10, 5));
+        assertArrayEquals(new int[] { 1 }, find(tree, 15, 10, 30, 30));
+        assertArrayEquals(new int[0], find(tree, 21, 0, 30, 30));
+    }
+
+    @Test
+    public void testSameCenters() {
+        // boxes with the same center can't be split and share a leaf
+        int n = 100;
+        float[] boxes = new float[n * 4];
+        int[] numbers = new int[n];
+        for (int i = 0; i < n; i++) {
+            boxes[i * 4] = -i;
+            boxes[i * 4 + 1] = -i;
+            boxes[i * 4 + 2] = i;
+            boxes[i * 4 + 3] = i;
+            numbers[i] = i;
+        }
+        BoxHierarchy tree = new BoxHierarchy(boxes, numbers, n);
+        assertEquals(n, tree.find(0, 0, 0, 0));
+        assertEquals(n - 50, tree.find(50, 50, 60, 60));
+    }
+
+    @Test
+    public void testFindMatchesLinearSearch() {
+        Random random = new Random(7);
+        int n = 2000;
+        float[] boxes = new float[n * 4];
+        boolean[] included = new boolean[n];
+        int[] numbers = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            float x = random.nextFloat() * 1000;
+            float y = random.nextFloat() * 1000;
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + random.nextFloat() * 50;
+            boxes[i * 4 + 3] = y + random.nextFloat() * 50;
+            // leave out some of the boxes, like empty bounds
+            if (random.nextInt(10) != 0) {
+                included[i] = true;
+                numbers[count++] = i;
+            }
+        }
+        BoxHierarchy tree = new BoxHierarchy(boxes, numbers, count);
+        for (int q = 0; q < 500; q++) {
+            double x = random.nextDouble() * 1100 - 50;
+            double y = random.nextDouble() * 1100 - 50;
+            double w = q % 2 == 0 ? 0 : random.nextDouble() * 200;
+            double h = q % 2 == 0 ? 0 : random.nextDouble() * 200;
+            assertArrayEquals(findAll(boxes, included, x, y, x + w, y + h),
+                              find(tree, x, y, x + w, y + h));
+        }
+    }
+}
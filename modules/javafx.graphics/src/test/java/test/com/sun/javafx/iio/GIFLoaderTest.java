@@ -235,6 +235,40 @@ public class GIFLoaderTest {
         }
     }
 
+    private static byte[] createAnimatedGIF(int frameCount) throws IOException {
+        javax.imageio.ImageWriter writer = javax.imageio.ImageIO.getImageWritersByFormatName("gif").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (javax.imageio.stream.ImageOutputStream ios = javax.imageio.ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < frameCount; i++) {
+                BufferedImage bimg = new BufferedImage(8, 4, BufferedImage.TYPE_INT_RGB);
+                bimg.setRGB(i, 0, 0xff0000);
+                writer.writeToSequence(new javax.imageio.IIOImage(bimg, null, null), null);
+            }
+            writer.endWriteSequence();
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testSkipFrame() throws IOException {
+        byte[] data = createAnimatedGIF(3);
+
+        GIFImageLoader2 scanner = new GIFImageLoader2(new TestStream(data));
+        assertEquals(8, scanner.getScreenWidth());
+        assertEquals(4, scanner.getScreenHeight());
+
+        GIFImageLoader2 loader = new GIFImageLoader2(new TestStream(data));
+        for (int i = 0; i < 3; i++) {
+            ImageFrame f = loader.load(i, 0, 0, true, false);
+            assertNotNull(f);
+            assertEquals(f.getMetadata().delayTime.intValue(), scanner.skipFrame());
+        }
+        assertNull(loader.load(3, 0, 0, true, false));
+        assertEquals(-1, scanner.skipFrame());
+    }
+
 //    public static void main(String[] args) throws IOException {
 //        new GIFLoaderTest().testReadGIFFile();
 //    }
@@ -25,13 +25,19 @@
 
 package test.com.sun.javafx.iio.png;
 
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.common.ImageTools;
 import com.sun.javafx.iio.png.PNGImageLoader2;
 import test.com.sun.javafx.iio.ImageTestHelper;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import org.junit.Test;
 
+import static org.junit.Assert.*;
+
 public class PNGImageLoaderTest {
 
     private void testImage(InputStream stream) throws IOException {
@@ -76,4 +82,39 @@ public class PNGImageLoaderTest {
         ByteArrayInputStream stream = ImageTestHelper.constructStreamFromInts(corruptedIDATLength);
         testImage(stream);
     }
+
+    private void testScaledLoad(int type, int dstW, int dstH, boolean smooth) throws IOException {
+        BufferedImage bImg = new BufferedImage(37, 23, type);
+        ImageTestHelper.drawImageRandom(bImg);
+        ByteArrayInputStream in = ImageTestHelper.writeImageToStream(bImg, "png", null);
+        ImageFrame full = new PNGImageLoader2(in).load(0, 0, 0, false, smooth);
+        in.reset();
+        ImageFrame scaled = new PNGImageLoader2(in).load(0, dstW, dstH, false, smooth);
+
+        // decoding line by line into the scaler gives the same result as
+        // scaling the decoded image
+        ImageFrame expected = ImageTools.scaleImageFrame(full, dstW, dstH, smooth);
+        assertEquals(expected.getImageType(), scaled.getImageType());
+        assertEquals(dstW, scaled.getWidth());
+        assertEquals(dstH, scaled.getHeight());
+        assertEquals(expected.getStride(), scaled.getStride());
+        assertEquals((ByteBuffer) expected.getImageData(), (ByteBuffer) scaled.getImageData());
+    }
+
+    @Test
+    public void testScaledLoad() throws IOException {
+        int[] types = {
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_USHORT_GRAY,
+            BufferedImage.TYPE_BYTE_BINARY,
+            BufferedImage.TYPE_BYTE_INDEXED
+        };
+        for (int type : types) {
+            testScaledLoad(type, 10, 7, true);
+            testScaledLoad(type, 10, 7, false);
+            testScaledLoad(type, 50, 40, true);
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.DirtyRegionContainer;
+import com.sun.javafx.geom.DirtyRegionPool;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.sg.prism.NGGroupShim;
+import com.sun.javafx.sg.prism.NGNode;
+import com.sun.javafx.sg.prism.NGNodeShim;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a group that indexes its children by their bounds culls,
+ * renders and accumulates dirty regions like a group that visits every child.
+ */
+public class CullIndexTest extends NGTestBase {
+
+    private static final int SIZE = 40;
+
+    private int oldThreshold;
+    private TestNGRectangle[] rects;
+    private TestNGGroup group;
+
+    @Before
+    public void setUp() {
+        oldThreshold = NGGroupShim.getCullIndexThreshold();
+        NGGroupShim.setCullIndexThreshold(100);
+        rects = new TestNGRectangle[SIZE * SIZE];
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = createRectangle((i % SIZE) * 12, (i / SIZE) * 12, 10, 10);
+        }
+        group = createGroup(rects);
+        NGNodeShim.clearDirty(group);
+        group.clearDirtyTree();
+    }
+
+    @After
+    public void tearDown() {
+        NGGroupShim.setCullIndexThreshold(oldThreshold);
+    }
+
+    private static DirtyRegionContainer regions(RectBounds... bounds) {
+        DirtyRegionContainer drc = new DirtyRegionContainer(bounds.length);
+        drc.deriveWithNewRegions(bounds);
+        return drc;
+    }
+
+    private void preCull(DirtyRegionContainer drc) {
+        group.doPreCulling(drc, BaseTransform.IDENTITY_TRANSFORM, new GeneralTransform3D());
+    }
+
+    private void render(int regionIndex) {
+        TestGraphics g = new TestGraphics();
+        g.setHasPreCullingBits(true);
+        g.setClipRectIndex(regionIndex);
+        group.render(g);
+    }
+
+    private static RectBounds bounds(NGNode node) {
+        return (RectBounds) node.getCompleteBounds(new RectBounds(), BaseTransform.IDENTITY_TRANSFORM);
+    }
+
+    private static boolean intersects(NGNode node, RectBounds region) {
+        return region.intersects(bounds(node));
+    }
+
+    @Test
+    public void testChildrenInDirtyRegionsHaveCullingBits() {
+        final RectBounds r0 = new RectBounds(100, 100, 130, 130);
+        final RectBounds r1 = new RectBounds(300, 20, 400, 30);
+        preCull(regions(r0, r1));
+        for (TestNGRectangle rect : rects) {
+            int expected = 0;
+            if (intersects(rect, r0)) {
+                expected |= r0.contains(bounds(rect)) ? 2 : 1;
+            }
+            if (intersects(rect, r1)) {
+                expected |= (r1.contains(bounds(rect)) ? 2 : 1) << 2;
+            }
+            if (expected != 0) {
+                assertEquals(expected, NGNodeShim.cullingBits(rect));
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyChildrenInDirtyRegionAreRendered() {
+        final RectBounds r = new RectBounds(100, 100, 130, 130);
+        preCull(regions(r));
+        render(0);
+        for (TestNGRectangle rect : rects) {
+            assertEquals(intersects(rect, r), rect.rendered());
+        }
+    }
+
+    @Test
+    public void testCulledDirtyChildrenAreCleared() {
+        rects[0].markDirty();
+        rects[SIZE * SIZE - 1].markDirty();
+        preCull(regions(new RectBounds(100, 100, 130, 130)));
+        assertTrue(rects[0].isClean());
+        assertTrue(rects[SIZE * SIZE - 1].isClean());
+    }
+
+    @Test
+    public void testMovedChildIsRendered() {
+        preCull(regions(new RectBounds(200, 200, 205, 205)));
+        render(0);
+        group.clearDirtyTree();
+
+        final TestNGRectangle rect = rects[SIZE * SIZE - 1];
+        translate(rect, -462, -462);
+        assertFalse(rect.rendered());
+        preCull(regions(new RectBounds(13, 13, 15, 15)));
+        render(0);
+        assertTrue(rect.rendered());
+    }
+
+    @Test
+    public void testOnlyDirtyChildrenAccumulateDirtyRegions() {
+        // build the index
+        preCull(regions(new RectBounds(0, 0, 5, 5)));
+        rects[5].markDirty();
+        rects[500].markDirty();
+        DirtyRegionContainer drc = new DirtyRegionContainer(6);
+        group.accumulateDirtyRegions(new RectBounds(0, 0, 1000, 1000), new RectBounds(), new DirtyRegionPool(6), drc,
+                BaseTransform.getTranslateInstance(0, 0), new GeneralTransform3D());
+        for (int i = 0; i < rects.length; i++) {
+            assertEquals(i == 5 || i == 500, rects[i].askedToAccumulateDirtyRegion());
+        }
+        assertEquals(2, drc.size());
+    }
+
+    @Test
+    public void testSmallGroupIsNotIndexed() {
+        NGGroupShim.setCullIndexThreshold(SIZE * SIZE + 1);
+        final RectBounds r = new RectBounds(100, 100, 130, 130);
+        preCull(regions(r));
+        for (TestNGRectangle rect : rects) {
+            if (!intersects(rect, r)) {
+                assertEquals(0, NGNodeShim.cullingBits(rect));
+            }
+        }
+    }
+}
@@ -413,4 +413,17 @@ public class GrowableDataBufferTest {
         assertFalse(gdb.hasValues());
         assertFalse(gdb.hasObjects());
     }
+
+    @Test public void testRewind() {
+        GrowableDataBuffer gdb = GrowableDataBuffer.getBuffer(NUM_BYTES, NUM_VALUES);
+        fill(gdb, true, true);
+        for (int i = 0; i < 3; i++) {
+            test(gdb, true, true);
+            assertFalse(gdb.hasValues());
+            assertFalse(gdb.hasObjects());
+            gdb.rewind();
+            assertTrue(gdb.hasValues());
+            assertTrue(gdb.hasObjects());
+        }
+    }
 }
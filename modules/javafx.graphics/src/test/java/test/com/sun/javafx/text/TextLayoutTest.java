@@ -26,15 +26,25 @@
 package test.com.sun.javafx.text;
 
 import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
 
+import java.lang.reflect.Proxy;
+
+import com.sun.javafx.font.FontResource;
+import com.sun.javafx.font.FontStrike;
+import com.sun.javafx.font.Metrics;
 import com.sun.javafx.font.PGFont;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.scene.text.GlyphList;
+import com.sun.javafx.scene.text.TextLayout;
 import com.sun.javafx.scene.text.TextSpan;
 import com.sun.javafx.scene.text.TextLine;
 import com.sun.javafx.scene.text.FontHelper;
 import com.sun.javafx.font.CharToGlyphMapper;
+import com.sun.javafx.text.LatinLayoutShim;
+import com.sun.javafx.text.LayoutCacheStats;
 import com.sun.javafx.text.PrismTextLayout;
+import com.sun.javafx.text.TextRun;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -224,4 +234,318 @@ public class TextLayoutTest {
 
     }
 
+    /*
+     * Creates a font that doesn't need the native font support. The glyph
+     * code of a character is the character, and every glyph has the given
+     * advance. Fonts are only equal to themselves, so that the shared layout
+     * cache has to tell fonts with the same hash code apart.
+     */
+    private static PGFont createTestFont(float advance, int hash) {
+        ClassLoader loader = TextLayoutTest.class.getClassLoader();
+        CharToGlyphMapper mapper = new CharToGlyphMapper() {
+            @Override public int getGlyphCode(int charCode) {
+                return charCode;
+            }
+        };
+        Metrics metrics = (Metrics) Proxy.newProxyInstance(loader, new Class<?>[] { Metrics.class },
+                (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getAscent": return -10f;
+                        case "getDescent": return 3f;
+                        case "getSize": return 12f;
+                    }
+                    return defaultValue(m.getReturnType());
+                });
+        FontResource resource = (FontResource) Proxy.newProxyInstance(loader, new Class<?>[] { FontResource.class },
+                (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getGlyphMapper": return mapper;
+                        case "getAdvance": return advance;
+                        case "hashCode": return hash;
+                        case "equals": return proxy == args[0];
+                    }
+                    return defaultValue(m.getReturnType());
+                });
+        FontStrike strike = (FontStrike) Proxy.newProxyInstance(loader, new Class<?>[] { FontStrike.class },
+                (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getFontResource": return resource;
+                        case "getMetrics": return metrics;
+                        case "getSize": return 12f;
+                        case "getCharAdvance": return advance;
+                        case "hashCode": return hash;
+                        case "equals": return proxy == args[0];
+                    }
+                    return defaultValue(m.getReturnType());
+                });
+        return (PGFont) Proxy.newProxyInstance(loader, new Class<?>[] { PGFont.class },
+                (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "getStrike": return strike;
+                        case "getFontResource": return resource;
+                        case "getSize": return 12f;
+                        case "hashCode": return hash;
+                        case "equals": return proxy == args[0];
+                        case "toString": return "TestFont[" + advance + "]";
+                    }
+                    return defaultValue(m.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == long.class) return 0L;
+        if (type == String.class) return "Test";
+        return null;
+    }
+
+    /*
+     * Lays out single font text the way that is cached, centered bounds
+     * and no wrapping, like the labels of the default theme.
+     */
+    private static PrismTextLayout layoutCached(String text, PGFont font) {
+        PrismTextLayout layout = new PrismTextLayout();
+        layout.setContent(text, font);
+        layout.setBoundsType(TextLayout.BOUNDS_CENTER);
+        return layout;
+    }
+
+    @Test public void sameTextAndFontShareLayout() {
+        LayoutCacheStats stats = LayoutCacheStats.getDefaultBean();
+        PGFont font = createTestFont(7, 1);
+        layoutCached("shared", font).getBounds();
+        long hits = stats.getHits();
+        long misses = stats.getMisses();
+        assertEquals(42, layoutCached("shared", font).getBounds().getWidth(), 0.001);
+        assertEquals(hits + 1, stats.getHits());
+        assertEquals(misses, stats.getMisses());
+    }
+
+    @Test public void cachedLayoutDependsOnFont() {
+        // the fonts have the same hash code, but are not equal
+        PGFont font = createTestFont(7, 1);
+        PGFont wide = createTestFont(9, 1);
+        assertEquals(21, layoutCached("abc", font).getBounds().getWidth(), 0.001);
+        assertEquals(27, layoutCached("abc", wide).getBounds().getWidth(), 0.001);
+        assertEquals(21, layoutCached("abc", font).getBounds().getWidth(), 0.001);
+    }
+
+    @Test public void cachedLayoutDependsOnDirection() {
+        PGFont font = createTestFont(7, 1);
+        PrismTextLayout ltr = layoutCached("direction", font);
+        assertEquals(0, ((TextRun) ltr.getRuns()[0]).getLevel());
+
+        PrismTextLayout rtl = layoutCached("direction", font);
+        rtl.setDirection(TextLayout.DIRECTION_RTL);
+        assertEquals(2, ((TextRun) rtl.getRuns()[0]).getLevel());
+
+        ltr = layoutCached("direction", font);
+        assertEquals(0, ((TextRun) ltr.getRuns()[0]).getLevel());
+    }
+
+    @Test public void cachedLayoutDependsOnTabSize() {
+        PGFont font = createTestFont(7, 1);
+        PrismTextLayout layout = layoutCached("a\tb", font);
+        layout.setTabSize(4);
+        float width4 = layout.getBounds().getWidth();
+
+        layout = layoutCached("a\tb", font);
+        layout.setTabSize(8);
+        float width8 = layout.getBounds().getWidth();
+        assertEquals(4 * 7, width8 - width4, 0.001);
+
+        // changing the tab size of a layout taken from the cache
+        layout = layoutCached("a\tb", font);
+        layout.setTabSize(4);
+        assertEquals(width4, layout.getBounds().getWidth(), 0.001);
+        layout.setTabSize(8);
+        assertEquals(width8, layout.getBounds().getWidth(), 0.001);
+    }
+
+    @Test public void cachedLayoutDependsOnLineSpacing() {
+        PGFont font = createTestFont(7, 1);
+        float height = layoutCached("a\nb", font).getBounds().getHeight();
+
+        PrismTextLayout layout = layoutCached("a\nb", font);
+        layout.setLineSpacing(5);
+        float spaced = layout.getBounds().getHeight();
+        assertTrue(spaced > height);
+
+        assertEquals(height, layoutCached("a\nb", font).getBounds().getHeight(), 0.001);
+        layout = layoutCached("a\nb", font);
+        layout.setLineSpacing(5);
+        assertEquals(spaced, layout.getBounds().getHeight(), 0.001);
+        layout.setLineSpacing(0);
+        assertEquals(height, layout.getBounds().getHeight(), 0.001);
+    }
+
+    @Test public void leastRecentlyUsedLayoutIsEvicted() {
+        LayoutCacheStats stats = LayoutCacheStats.getDefaultBean();
+        long max = stats.getMaxCachedChars();
+        assertTrue(max > 0);
+        PGFont font = createTestFont(7, 1);
+        // the longest text that is cached
+        String used = "u".repeat(256);
+        String unused = "n".repeat(256);
+        layoutCached(used, font).getBounds();
+        layoutCached(unused, font).getBounds();
+
+        long evictions = stats.getEvictions();
+        for (int i = 0; i * 256 < 2 * max; i++) {
+            String text = String.format("%08d", i).repeat(32);
+            layoutCached(text, font).getBounds();
+            layoutCached(used, font).getBounds();
+        }
+        assertTrue(stats.getEvictions() > evictions);
+        assertTrue(stats.getCachedChars() <= max);
+
+        long hits = stats.getHits();
+        long misses = stats.getMisses();
+        layoutCached(used, font).getBounds();
+        assertEquals(hits + 1, stats.getHits());
+        layoutCached(unused, font).getBounds();
+        assertEquals(misses + 1, stats.getMisses());
+    }
+
+    /*
+     * Describes the lines, runs and glyph positions of a layout.
+     */
+    private static String describe(PrismTextLayout layout) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(layout.getBounds()).append('\n');
+        for (TextLine line : layout.getLines()) {
+            sb.append("line ").append(line.getStart()).append(',').append(line.getLength())
+              .append(' ').append(line.getBounds()).append('\n');
+            for (GlyphList run : line.getRuns()) {
+                TextRun textRun = (TextRun) run;
+                sb.append("  run ").append(textRun.getStart()).append(',').append(textRun.getLength())
+                  .append(" level ").append(textRun.getLevel())
+                  .append(" at ").append(run.getLocation())
+                  .append(" width ").append(run.getWidth()).append(':');
+                for (int i = 0; i < run.getGlyphCount(); i++) {
+                    sb.append(' ').append(run.getGlyphCode(i))
+                      .append('@').append(run.getPosX(i)).append(',').append(run.getPosY(i))
+                      .append('/').append(run.getCharOffset(i));
+                }
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private interface LayoutSetup {
+        void setup(PrismTextLayout layout, PGFont font);
+    }
+
+    /*
+     * Lays out the text with the Latin-1 layout enabled and disabled, with
+     * fonts that are not equal so that the layouts aren't shared, and
+     * checks that the results are the same.
+     */
+    private static void assertSameLatinLayout(String message, LayoutSetup setup) {
+        boolean enabled = LatinLayoutShim.isEnabled();
+        try {
+            LatinLayoutShim.setEnabled(true);
+            PrismTextLayout latin = new PrismTextLayout();
+            setup.setup(latin, createTestFont(7, 1));
+            String expected = describe(latin);
+
+            LatinLayoutShim.setEnabled(false);
+            PrismTextLayout full = new PrismTextLayout();
+            setup.setup(full, createTestFont(7, 1));
+            assertEquals(message, describe(full), expected);
+        } finally {
+            LatinLayoutShim.setEnabled(enabled);
+        }
+    }
+
+    private static final String[] LATIN_TEXTS = {
+        "",
+        "hello",
+        "hello world, caf\u00e9 \u00bfqu\u00e9 tal?",
+        "\t", "\t\t", "a\tb\tc", "trailing\t", "\tleading",
+        "a\nb", "a\rb", "a\r\nb", "\n\n\r\r\n", "a\n\rb",
+        "line\n", "line\r", "line\r\n", "\n",
+        "The quick brown fox\tjumps over\nthe lazy dog\r\nagain and again ",
+    };
+
+    @Test public void latinLayoutMatchesFullLayout() {
+        for (String text : LATIN_TEXTS) {
+            for (int bounds : new int[] { 0, TextLayout.BOUNDS_CENTER }) {
+                for (int tabSize : new int[] { 1, 4, 8 }) {
+                    assertSameLatinLayout(text + " bounds " + bounds + " tab " + tabSize, (layout, font) -> {
+                        layout.setContent(text, font);
+                        layout.setBoundsType(bounds);
+                        layout.setTabSize(tabSize);
+                    });
+                }
+            }
+        }
+    }
+
+    @Test public void latinLayoutMatchesFullLayoutWrapped() {
+        for (String text : LATIN_TEXTS) {
+            for (float wrapWidth : new float[] { 1, 30, 50, 100 }) {
+                for (TextAlignment align : TextAlignment.values()) {
+                    assertSameLatinLayout(text + " wrap " + wrapWidth + " " + align, (layout, font) -> {
+                        layout.setContent(text, font);
+                        layout.setWrapWidth(wrapWidth);
+                        layout.setAlignment(align.ordinal());
+                        layout.setLineSpacing(2);
+                    });
+                }
+            }
+        }
+    }
+
+    @Test public void latinLayoutFallsBack() {
+        // text that isn't Latin-1 and text in right to left direction is
+        // laid out by the full analysis in both cases
+        String[] texts = { "price \u20ac 5", "x\u65e5\u672c y\nz", "\u0100\tb", "\u00ff\u0100" };
+        for (String text : texts) {
+            assertSameLatinLayout(text, (layout, font) -> layout.setContent(text, font));
+        }
+        assertSameLatinLayout("rtl", (layout, font) -> {
+            layout.setContent("left to right\tin rtl", font);
+            layout.setDirection(TextLayout.DIRECTION_RTL);
+        });
+    }
+
+    @Test public void latinLayoutMatchesFullLayoutWithSpans() {
+        // rich text with several fonts is never laid out as Latin-1 text
+        PGFont other = createTestFont(9, 2);
+        assertSameLatinLayout("spans", (layout, font) -> {
+            TextSpan[] spans = {
+                new TestSpanFont("hello\t", font),
+                new TestSpanFont("world\r\n", other),
+                new TestSpanFont("again", font)
+            };
+            layout.setContent(spans);
+        });
+    }
+
+    private static class TestSpanFont implements TextSpan {
+        private final String text;
+        private final Object font;
+
+        TestSpanFont(String text, Object font) {
+            this.text = text;
+            this.font = font;
+        }
+
+        @Override public String getText() {
+            return text;
+        }
+
+        @Override public Object getFont() {
+            return font;
+        }
+
+        @Override public RectBounds getBounds() {
+            return null;
+        }
+    }
 }
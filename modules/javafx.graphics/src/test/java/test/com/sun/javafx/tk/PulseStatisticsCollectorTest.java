@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.application.PulseStatistics;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+
+import com.sun.javafx.logging.PulseCounters;
+import com.sun.javafx.logging.PulseCounters.Counter;
+import com.sun.javafx.tk.PulseStatisticsCollector;
+import com.sun.javafx.tk.Toolkit;
+import test.com.sun.javafx.pgstub.StubToolkit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PulseStatisticsCollectorTest {
+
+    private final List<PulseStatistics> received = new ArrayList<>();
+    private final Consumer<PulseStatistics> listener = received::add;
+
+    @Before
+    public void setUp() {
+        Platform.addPulseStatisticsListener(listener);
+    }
+
+    @After
+    public void tearDown() {
+        Platform.removePulseStatisticsListener(listener);
+    }
+
+    @Test
+    public void testEnabledOnlyWhileListenerIsRegistered() {
+        assertTrue(PulseStatisticsCollector.isEnabled());
+        assertTrue(PulseCounters.isEnabled());
+        Platform.removePulseStatisticsListener(listener);
+        assertFalse(PulseStatisticsCollector.isEnabled());
+        assertFalse(PulseCounters.isEnabled());
+        Platform.addPulseStatisticsListener(listener);
+        assertTrue(PulseStatisticsCollector.isEnabled());
+    }
+
+    @Test
+    public void testPulseWithoutRenderingIsDeliveredAtPulseEnd() {
+        PulseStatisticsCollector.pulseStart();
+        PulseCounters.increment(Counter.NODES_LAID_OUT);
+        PulseCounters.increment(Counter.NODES_LAID_OUT);
+        PulseStatisticsCollector.pulseEnd();
+
+        assertEquals(1, received.size());
+        PulseStatistics stats = received.get(0);
+        assertEquals(2, stats.getNodesLaidOut());
+        assertEquals(0, stats.getNodesStyled());
+        assertEquals(0, stats.getRenderTime());
+        assertTrue(stats.getAnimationTime() >= 0);
+    }
+
+    @Test
+    public void testRenderThreadValuesAreMergedIntoPulse() throws Exception {
+        PulseStatisticsCollector.pulseStart();
+        PulseCounters.increment(Counter.PEERS_SYNCED);
+        PulseStatisticsCollector.renderStart();
+        PulseStatisticsCollector.pulseEnd();
+        assertTrue(received.isEmpty());
+
+        Thread renderThread = new Thread(() -> {
+            PulseCounters.phase(PulseCounters.Phase.RENDER);
+            PulseCounters.increment(Counter.DRAW_CALLS);
+            PulseCounters.add(Counter.DIRTY_REGION_AREA, 100);
+            PulseCounters.phase(PulseCounters.Phase.PRESENT);
+            PulseStatisticsCollector.renderEnd();
+
+            // the next pulse only reports what happened since
+            PulseCounters.increment(Counter.TEXTURE_UPLOADS);
+            PulseStatisticsCollector.renderEnd();
+        });
+        renderThread.start();
+        renderThread.join();
+
+        assertEquals(1, received.size());
+        PulseStatistics stats = received.get(0);
+        assertEquals(1, stats.getPeersSynced());
+        assertEquals(1, stats.getDrawCalls());
+        assertEquals(100, stats.getDirtyRegionArea());
+        assertEquals(0, stats.getTextureUploads());
+        assertTrue(stats.getRenderTime() >= 0);
+        assertTrue(stats.getPresentTime() >= 0);
+    }
+
+    @Test
+    public void testNothingIsCountedWhenDisabled() {
+        Platform.removePulseStatisticsListener(listener);
+        long[] before = new long[PulseCounters.SIZE];
+        long[] after = new long[PulseCounters.SIZE];
+        PulseCounters.snapshot(before);
+        PulseCounters.increment(Counter.NODES_STYLED);
+        PulseCounters.add(Counter.DIRTY_REGION_AREA, 10);
+        PulseCounters.snapshot(after);
+        assertArrayEquals(before, after);
+        Platform.addPulseStatisticsListener(listener);
+    }
+
+    @Test
+    public void testScenePulseIsCounted() {
+        Rectangle rect = new Rectangle(10, 10);
+        StackPane pane = new StackPane(new Group(rect));
+        Stage stage = new Stage();
+        stage.setScene(new Scene(pane, 100, 100));
+        stage.show();
+        received.clear();
+
+        PulseStatisticsCollector.pulseStart();
+        rect.setWidth(20);
+        pane.setStyle("-fx-padding: 5;");
+        ((StubToolkit) Toolkit.getToolkit()).firePulse();
+        PulseStatisticsCollector.pulseEnd();
+
+        assertEquals(1, received.size());
+        PulseStatistics stats = received.get(0);
+        assertTrue(stats.getNodesStyled() > 0);
+        assertTrue(stats.getNodesLaidOut() > 0);
+        assertTrue(stats.getPeersSynced() > 0);
+        assertTrue(stats.getCssTime() >= 0);
+        assertTrue(stats.getLayoutTime() >= 0);
+        assertTrue(stats.getSyncTime() >= 0);
+        stage.hide();
+    }
+}
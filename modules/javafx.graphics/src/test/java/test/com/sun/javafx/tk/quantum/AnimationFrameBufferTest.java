@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk.quantum;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import com.sun.javafx.tk.quantum.AnimationFrameBufferShim;
+import com.sun.prism.Image;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnimationFrameBufferTest {
+
+    private static final int WIDTH = 16;
+
+    /*
+     * Runs the decoding tasks only when the test asks for it, so that the
+     * test decides how far the decoder is ahead of or behind the animation.
+     */
+    private static final class TestExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.removeFirst().run();
+            }
+        }
+    }
+
+    /*
+     * Frame i adds a red pixel at (i, 0) on top of the frames before it.
+     */
+    private static byte[] createAnimatedGIF(int frameCount) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < frameCount; i++) {
+                BufferedImage bimg = new BufferedImage(WIDTH, 4, BufferedImage.TYPE_INT_RGB);
+                for (int x = 0; x <= i; x++) {
+                    bimg.setRGB(x, 0, 0xff0000);
+                }
+                writer.writeToSequence(new IIOImage(bimg, null, null), null);
+            }
+            writer.endWriteSequence();
+        }
+        return out.toByteArray();
+    }
+
+    private static int frameIndex(Image image) {
+        assertNotNull(image);
+        int index = -1;
+        for (int x = 0; x < WIDTH; x++) {
+            if (((image.getArgb(x, 0) >> 16) & 0xff) > 0x80) {
+                index = x;
+            }
+        }
+        return index;
+    }
+
+    private static AnimationFrameBufferShim create(int frameCount, TestExecutor executor) throws IOException {
+        AnimationFrameBufferShim buffer = AnimationFrameBufferShim.create(createAnimatedGIF(frameCount), executor);
+        assertNotNull(buffer);
+        assertEquals(frameCount, buffer.getFrameCount());
+        return buffer;
+    }
+
+    @Test
+    public void testFramesInOrder() throws IOException {
+        TestExecutor executor = new TestExecutor();
+        AnimationFrameBufferShim buffer = create(12, executor);
+        assertEquals(0, frameIndex(buffer.getFrame(0)));
+        for (int i = 1; i < 12; i++) {
+            executor.runAll();
+            assertEquals(i, frameIndex(buffer.getFrame(i)));
+        }
+        executor.runAll();
+        assertEquals(0, frameIndex(buffer.getFrame(0)));
+        assertEquals(1, frameIndex(buffer.getFrame(1)));
+    }
+
+    @Test
+    public void testLaggingDecoderReturnsNewestDecodedFrame() throws IOException {
+        TestExecutor executor = new TestExecutor();
+        AnimationFrameBufferShim buffer = create(12, executor);
+        assertNull(buffer.getFrame(1));
+        assertNull(buffer.getFrame(2));
+        executor.runAll();
+        // frames 1 to 4 are decoded, the animation is already at frame 6
+        assertEquals(4, frameIndex(buffer.getFrame(6)));
+        assertNull(buffer.getFrame(6));
+        executor.runAll();
+        assertEquals(7, frameIndex(buffer.getFrame(7)));
+        assertEquals(8, frameIndex(buffer.getFrame(8)));
+    }
+
+    @Test
+    public void testSkippedIndexKeepsFramesAhead() throws IOException {
+        TestExecutor executor = new TestExecutor();
+        AnimationFrameBufferShim buffer = create(12, executor);
+        executor.runAll();
+        // frames 1 to 4 are decoded, the animation skips frames 1 and 2
+        assertEquals(3, frameIndex(buffer.getFrame(3)));
+        assertEquals(4, frameIndex(buffer.getFrame(4)));
+        executor.runAll();
+        assertEquals(6, frameIndex(buffer.getFrame(6)));
+        assertEquals(7, frameIndex(buffer.getFrame(7)));
+    }
+
+    @Test
+    public void testFramesOfNextLoopAreKept() throws IOException {
+        TestExecutor executor = new TestExecutor();
+        AnimationFrameBufferShim buffer = create(3, executor);
+        executor.runAll();
+        // frames 1 and 2 of this loop and of the next one are decoded
+        assertEquals(1, frameIndex(buffer.getFrame(1)));
+        assertEquals(2, frameIndex(buffer.getFrame(2)));
+        assertEquals(0, frameIndex(buffer.getFrame(0)));
+        assertEquals(1, frameIndex(buffer.getFrame(1)));
+        assertEquals(2, frameIndex(buffer.getFrame(2)));
+        // the decoder is behind when the animation loops
+        assertEquals(0, frameIndex(buffer.getFrame(0)));
+        assertNull(buffer.getFrame(1));
+        executor.runAll();
+        assertEquals(2, frameIndex(buffer.getFrame(2)));
+    }
+}
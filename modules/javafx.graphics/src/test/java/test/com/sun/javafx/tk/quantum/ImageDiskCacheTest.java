@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk.quantum;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import com.sun.javafx.tk.quantum.ImageDiskCacheShim;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.prism.Image;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImageDiskCacheTest {
+
+    private static final int SIZE = 16;
+
+    private Path dir;
+    private Path source;
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("imagecache");
+        source = Files.createTempFile("image", ".png");
+        Files.write(source, new byte[] { 1, 2, 3 });
+        url = source.toUri().toString();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+        Files.deleteIfExists(source);
+    }
+
+    private static Image createImage(int seed) {
+        byte[] pixels = new byte[SIZE * SIZE * 4];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (byte) (i * 31 + seed);
+        }
+        return Image.fromByteBgraPreData(pixels, SIZE, SIZE);
+    }
+
+    private static void assertSamePixels(Image expected, Image actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getPixelFormat(), actual.getPixelFormat());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        ByteBuffer e = ((ByteBuffer) expected.getPixelBuffer()).duplicate();
+        ByteBuffer a = ((ByteBuffer) actual.getPixelBuffer()).duplicate();
+        int stride = actual.getScanlineStride();
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE * 4; x++) {
+                assertEquals(e.get(y * expected.getScanlineStride() + x), a.get(y * stride + x));
+            }
+        }
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        Image image = createImage(0);
+        assertNull(cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), image);
+        assertEquals(1, entries().size());
+        assertSamePixels(image, cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+    }
+
+    @Test
+    public void testKeyIncludesRequestedSize() {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        Image image = createImage(0);
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), image);
+        assertNull(cache.get(cache.createKey(url, 10, 0, true, 1.0f, true)));
+        assertNull(cache.get(cache.createKey(url, 0, 0, false, 1.0f, true)));
+        assertNull(cache.get(cache.createKey(url, 0, 0, true, 1.0f, false)));
+        assertSamePixels(image, cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+    }
+
+    @Test
+    public void testChangedFileLengthInvalidatesEntry() throws IOException {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        FileTime time = Files.getLastModifiedTime(source);
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), createImage(0));
+        Files.write(source, new byte[] { 1, 2, 3, 4 });
+        Files.setLastModifiedTime(source, time);
+        assertNull(cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+        assertTrue(entries().isEmpty());
+    }
+
+    @Test
+    public void testChangedFileTimeInvalidatesEntry() throws IOException {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), createImage(0));
+        FileTime time = Files.getLastModifiedTime(source);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(time.toMillis() + 10000));
+        assertNull(cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+        assertTrue(entries().isEmpty());
+    }
+
+    @Test
+    public void testMissingFileIsNotCached() throws IOException {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        Files.delete(source);
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), createImage(0));
+        assertTrue(entries().isEmpty());
+    }
+
+    @Test
+    public void testCorruptHeaderRemovesEntry() throws IOException {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), createImage(0));
+        Path entry = entries().get(0);
+        byte[] bytes = Files.readAllBytes(entry);
+        bytes[0] ^= 0xff;
+        Files.write(entry, bytes);
+        assertNull(cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+        assertTrue(entries().isEmpty());
+    }
+
+    @Test
+    public void testTruncatedEntryIsRemoved() throws IOException {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), createImage(0));
+        Path entry = entries().get(0);
+        byte[] bytes = Files.readAllBytes(entry);
+        Files.write(entry, Arrays.copyOf(bytes, bytes.length - 1));
+        assertNull(cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+        assertTrue(entries().isEmpty());
+    }
+
+    @Test
+    public void testMismatchedKeyRemovesEntry() throws IOException {
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+        cache.put(cache.createKey(url, 0, 0, true, 1.0f, true), createImage(0));
+        Path first = entries().get(0);
+        cache.put(cache.createKey(url, 10, 0, true, 1.0f, true), createImage(1));
+        Path second = entries().stream().filter(p -> !p.equals(first)).findFirst().get();
+        // the entry of the first key is found under the name of the second
+        Files.copy(first, second, StandardCopyOption.REPLACE_EXISTING);
+        assertNull(cache.get(cache.createKey(url, 10, 0, true, 1.0f, true)));
+        assertEquals(List.of(first), entries());
+    }
+
+    @Test
+    public void testTrimRemovesLeastRecentlyUsed() throws IOException {
+        int count = 8;
+        ImageDiskCacheShim probe = new ImageDiskCacheShim(dir, 1 << 20);
+        probe.put(probe.createKey(url, 0, 0, true, 1.0f, true), createImage(0));
+        long entrySize = Files.size(entries().get(0));
+        Files.delete(entries().get(0));
+
+        // room for count entries, but not for one more
+        long maxSize = entrySize * count + entrySize / 2;
+        ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, maxSize);
+        List<Path> files = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            Set<Path> before = new HashSet<>(entries());
+            cache.put(cache.createKey(url, i, 0, true, 1.0f, true), createImage(i));
+            Path file = entries().stream().filter(p -> !before.contains(p)).findFirst().get();
+            Files.setLastModifiedTime(file, FileTime.fromMillis(now - (count - i) * 60000L));
+            files.add(file);
+        }
+        assertEquals(count, entries().size());
+
+        // reading the oldest entry makes it the most recently used one
+        assertNotNull(cache.get(cache.createKey(url, 0, 0, true, 1.0f, true)));
+        cache.put(cache.createKey(url, count, 0, true, 1.0f, true), createImage(count));
+
+        long total = 0;
+        for (Path file : entries()) {
+            total += Files.size(file);
+        }
+        assertTrue(total <= maxSize / 4 * 3);
+        assertTrue(Files.exists(files.get(0)));
+        // the entries are removed from the least recently used one
+        int removed = 0;
+        for (int i = 1; i < count; i++) {
+            if (!Files.exists(files.get(i))) {
+                assertEquals(i - 1, removed);
+                removed++;
+            }
+        }
+        assertTrue(removed > 0);
+        assertEquals(count + 1 - removed, entries().size());
+    }
+
+    @Test
+    public void testHttpValidators() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        String[] etag = { "\"1\"" };
+        String[] lastModified = { null };
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            if (etag[0] != null) {
+                exchange.getResponseHeaders().set("ETag", etag[0]);
+            }
+            if (lastModified[0] != null) {
+                exchange.getResponseHeaders().set("Last-Modified", lastModified[0]);
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String httpUrl = "http://" + server.getAddress().getHostString() + ":"
+                    + server.getAddress().getPort() + "/image.png";
+            ImageDiskCacheShim cache = new ImageDiskCacheShim(dir, 1 << 20);
+            Image image = createImage(0);
+
+            // a missing entry is not validated
+            assertNull(cache.get(cache.createKey(httpUrl, 0, 0, true, 1.0f, true)));
+            assertEquals(0, requests.get());
+
+            cache.put(cache.createKey(httpUrl, 0, 0, true, 1.0f, true), image);
+            assertEquals(1, requests.get());
+            assertSamePixels(image, cache.get(cache.createKey(httpUrl, 0, 0, true, 1.0f, true)));
+            assertEquals(2, requests.get());
+
+            etag[0] = "\"2\"";
+            assertNull(cache.get(cache.createKey(httpUrl, 0, 0, true, 1.0f, true)));
+            assertTrue(entries().isEmpty());
+
+            etag[0] = null;
+            lastModified[0] = "Tue, 03 Oct 2023 10:00:00 GMT";
+            cache.put(cache.createKey(httpUrl, 0, 0, true, 1.0f, true), image);
+            assertSamePixels(image, cache.get(cache.createKey(httpUrl, 0, 0, true, 1.0f, true)));
+            lastModified[0] = "Wed, 04 Oct 2023 10:00:00 GMT";
+            assertNull(cache.get(cache.createKey(httpUrl, 0, 0, true, 1.0f, true)));
+            assertTrue(entries().isEmpty());
+
+            // a url without a validator is not cached
+            lastModified[0] = null;
+            cache.put(cache.createKey(httpUrl, 0, 0, true, 1.0f, true), image);
+            assertTrue(entries().isEmpty());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
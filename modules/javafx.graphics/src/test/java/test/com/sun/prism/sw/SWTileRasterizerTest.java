@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.sw;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.DMarlinRasterizer;
+import com.sun.prism.impl.shape.MaskData;
+import com.sun.prism.sw.SWTileRasterizerShim;
+
+/**
+ * Checks that the coverage of a shape rasterized in tiles is the same as
+ * the coverage of the shape rasterized serially.
+ */
+public class SWTileRasterizerTest {
+
+    private static final int TILE_SIZE = 32;
+    private static final Rectangle CLIP = new Rectangle(0, 0, 400, 300);
+
+    private static Shape star() {
+        Path2D p = new Path2D();
+        p.moveTo(200, 10);
+        p.lineTo(250, 290);
+        p.lineTo(20, 110);
+        p.lineTo(380, 110);
+        p.lineTo(150, 290);
+        p.closePath();
+        return p;
+    }
+
+    private static Shape curve() {
+        Path2D p = new Path2D();
+        p.moveTo(10, 20);
+        p.curveTo(400, 0, -50, 250, 390, 280);
+        p.quadTo(200, 350, 30, 200);
+        return p;
+    }
+
+    // the coverage of the whole clip, composed from the given masks
+    private static byte[] coverage(Rectangle clip, MaskData... masks) {
+        byte[] pixels = new byte[clip.width * clip.height];
+        for (MaskData mask : masks) {
+            if (mask == null) continue;
+            ByteBuffer buffer = mask.getMaskBuffer();
+            int w = mask.getWidth();
+            for (int y = 0; y < mask.getHeight(); y++) {
+                for (int x = 0; x < w; x++) {
+                    int px = mask.getOriginX() + x - clip.x;
+                    int py = mask.getOriginY() + y - clip.y;
+                    byte alpha = buffer.get(y * w + x);
+                    if (alpha != 0) {
+                        assertTrue(px >= 0 && px < clip.width && py >= 0 && py < clip.height);
+                        assertTrue("tiles overlap", pixels[py * clip.width + px] == 0);
+                        pixels[py * clip.width + px] = alpha;
+                    }
+                }
+            }
+        }
+        return pixels;
+    }
+
+    private static byte[] serial(Shape shape, BasicStroke stroke, BaseTransform tr,
+                                 Rectangle clip, boolean antialiased) {
+        RectBounds bounds = new RectBounds(clip.x, clip.y, clip.x + clip.width, clip.y + clip.height);
+        MaskData mask = new DMarlinRasterizer().getMaskData(shape, stroke, bounds,
+                tr == null ? BaseTransform.IDENTITY_TRANSFORM : tr, true, antialiased);
+        return coverage(clip, mask);
+    }
+
+    private static byte[] tiled(int threads, Shape shape, BasicStroke stroke, BaseTransform tr,
+                                Rectangle clip, boolean antialiased) {
+        SWTileRasterizerShim rasterizer = new SWTileRasterizerShim(threads, TILE_SIZE);
+        assertTrue(rasterizer.rasterize(shape, stroke, tr, clip, antialiased));
+        assertTrue(rasterizer.getTileCount() >= 2);
+        MaskData[] masks = new MaskData[rasterizer.getTileCount()];
+        for (int i = 0; i < masks.length; i++) {
+            MaskData mask = rasterizer.getTileMask(i);
+            // copy, as the serial rasterizer reuses its buffers
+            masks[i] = mask == null ? null : MaskData.create(copy(mask.getMaskBuffer()),
+                    mask.getOriginX(), mask.getOriginY(), mask.getWidth(), mask.getHeight());
+        }
+        return coverage(clip, masks);
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.capacity()];
+        buffer.duplicate().rewind().get(bytes);
+        return bytes;
+    }
+
+    private static void assertSameCoverage(Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip) {
+        for (boolean antialiased : new boolean[] { true, false }) {
+            byte[] expected = serial(shape, stroke, tr, clip, antialiased);
+            assertFalse(Arrays.equals(new byte[expected.length], expected));
+            for (int threads : new int[] { 2, 4 }) {
+                assertArrayEquals(expected, tiled(threads, shape, stroke, tr, clip, antialiased));
+            }
+        }
+    }
+
+    @Test
+    public void testFilledEllipse() {
+        assertSameCoverage(new Ellipse2D(15.3f, 7.7f, 370.5f, 280.2f), null, null, CLIP);
+    }
+
+    @Test
+    public void testFilledPathCrossingTileEdges() {
+        assertSameCoverage(star(), null, null, CLIP);
+    }
+
+    @Test
+    public void testStrokedCurve() {
+        BasicStroke stroke = new BasicStroke(9.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10f);
+        assertSameCoverage(curve(), stroke, null, CLIP);
+    }
+
+    @Test
+    public void testOuterStrokeWithMiterJoins() {
+        BasicStroke stroke = new BasicStroke(BasicStroke.TYPE_OUTER, 6f,
+                BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 10f);
+        assertSameCoverage(star(), stroke, null, CLIP);
+    }
+
+    @Test
+    public void testTransformedRoundRectangle() {
+        Affine2D tr = new Affine2D();
+        tr.translate(200, 150);
+        tr.rotate(Math.toRadians(30));
+        tr.scale(1.5, 0.8);
+        assertSameCoverage(new RoundRectangle2D(-100, -90, 200, 180, 40, 30), null, tr, CLIP);
+    }
+
+    @Test
+    public void testClipCutsShape() {
+        Rectangle clip = new Rectangle(57, 41, 211, 173);
+        assertSameCoverage(star(), null, null, clip);
+        BasicStroke stroke = new BasicStroke(12f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 10f);
+        assertSameCoverage(curve(), stroke, null, clip);
+    }
+
+    @Test
+    public void testSmallShapeIsNotTiled() {
+        SWTileRasterizerShim rasterizer = new SWTileRasterizerShim(4, TILE_SIZE);
+        assertFalse(rasterizer.rasterize(new Ellipse2D(10, 10, 40, 40), null, null, CLIP, true));
+    }
+}
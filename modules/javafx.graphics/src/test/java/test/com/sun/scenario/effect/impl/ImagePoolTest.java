@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect.impl;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.scenario.effect.Effect.AccelType;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.Filterable;
+import com.sun.scenario.effect.ImageData;
+import com.sun.scenario.effect.impl.EffectPeer;
+import com.sun.scenario.effect.impl.ImagePool;
+import com.sun.scenario.effect.impl.ImagePoolShim;
+import com.sun.scenario.effect.impl.ImagePoolStats;
+import com.sun.scenario.effect.impl.PoolFilterable;
+import com.sun.scenario.effect.impl.Renderer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImagePoolTest {
+
+    private static final ImagePoolStats stats = ImagePoolStats.getDefaultBean();
+
+    private TestRenderer renderer;
+    private long budget;
+
+    @Before
+    public void setUp() {
+        budget = stats.getBudget();
+        renderer = new TestRenderer();
+    }
+
+    @After
+    public void tearDown() {
+        stats.setBudget(budget);
+    }
+
+    @Test
+    public void testBucketSizes() {
+        assertEquals(32, ImagePoolShim.bucketSize(1));
+        assertEquals(32, ImagePoolShim.bucketSize(32));
+        assertEquals(64, ImagePoolShim.bucketSize(33));
+        assertEquals(128, ImagePoolShim.bucketSize(100));
+        assertEquals(256, ImagePoolShim.bucketSize(256));
+        assertEquals(288, ImagePoolShim.bucketSize(257));
+        assertEquals(512, ImagePoolShim.bucketSize(512));
+        assertEquals(576, ImagePoolShim.bucketSize(513));
+        assertEquals(704, ImagePoolShim.bucketSize(700));
+        assertEquals(1024, ImagePoolShim.bucketSize(1024));
+        assertEquals(1152, ImagePoolShim.bucketSize(1025));
+        assertEquals(2304, ImagePoolShim.bucketSize(2049));
+    }
+
+    @Test
+    public void testBucketSizeIsCloseToRequestedSize() {
+        for (int n = 8 * 32 + 1; n <= 8192; n++) {
+            int size = ImagePoolShim.bucketSize(n);
+            assertTrue(size >= n);
+            assertTrue("bucket " + size + " for " + n, (size - n) * 8 < n);
+        }
+    }
+
+    @Test
+    public void testImageIsReusedForSameBucket() {
+        Filterable a = renderer.getCompatibleImage(100, 70);
+        assertEquals(128, a.getPhysicalWidth());
+        assertEquals(96, a.getPhysicalHeight());
+        renderer.releaseCompatibleImage(a);
+
+        long hits = stats.getHits();
+        Filterable b = renderer.getCompatibleImage(110, 90);
+        assertSame(a, b);
+        assertEquals(hits + 1, stats.getHits());
+        assertEquals(1, renderer.created);
+        renderer.releaseCompatibleImage(b);
+    }
+
+    @Test
+    public void testImageIsNotReusedForOtherBucket() {
+        Filterable a = renderer.getCompatibleImage(100, 100);
+        renderer.releaseCompatibleImage(a);
+
+        long misses = stats.getMisses();
+        Filterable b = renderer.getCompatibleImage(100, 200);
+        assertNotSame(a, b);
+        assertEquals(misses + 1, stats.getMisses());
+        assertEquals(2, renderer.created);
+        renderer.releaseCompatibleImage(b);
+    }
+
+    @Test
+    public void testLockedImageIsNotReused() {
+        Filterable a = renderer.getCompatibleImage(64, 64);
+        Filterable b = renderer.getCompatibleImage(64, 64);
+        assertNotSame(a, b);
+        renderer.releaseCompatibleImage(a);
+        renderer.releaseCompatibleImage(b);
+    }
+
+    @Test
+    public void testInUseBytes() {
+        long inUse = stats.getInUseBytes();
+        long allocated = stats.getAllocatedBytes();
+        Filterable a = renderer.getCompatibleImage(64, 64);
+        assertEquals(inUse + 64 * 64 * 4, stats.getInUseBytes());
+        assertEquals(allocated + 64 * 64 * 4, stats.getAllocatedBytes());
+        renderer.releaseCompatibleImage(a);
+        assertEquals(inUse, stats.getInUseBytes());
+        assertEquals(allocated + 64 * 64 * 4, stats.getAllocatedBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedImageIsEvictedOverBudget() {
+        stats.setBudget(stats.getAllocatedBytes() + 2 * 64 * 64 * 4);
+        TestImage a = (TestImage) renderer.getCompatibleImage(64, 64);
+        TestImage b = (TestImage) renderer.getCompatibleImage(64, 64);
+        renderer.releaseCompatibleImage(a);
+        renderer.releaseCompatibleImage(b);
+        assertFalse(a.flushed);
+        assertFalse(b.flushed);
+
+        long evictions = stats.getEvictions();
+        // a is the least recently used one
+        TestImage c = (TestImage) renderer.getCompatibleImage(32, 32);
+        assertTrue(a.flushed);
+        assertFalse(b.flushed);
+        assertEquals(evictions + 1, stats.getEvictions());
+
+        // b is still pooled
+        assertSame(b, renderer.getCompatibleImage(64, 64));
+        renderer.releaseCompatibleImage(b);
+        renderer.releaseCompatibleImage(c);
+    }
+
+    @Test
+    public void testImagesInUseAreNotEvicted() {
+        stats.setBudget(1);
+        TestImage a = (TestImage) renderer.getCompatibleImage(64, 64);
+        TestImage b = (TestImage) renderer.getCompatibleImage(64, 64);
+        assertNotNull(b);
+        assertFalse(a.flushed);
+        renderer.releaseCompatibleImage(a);
+        assertTrue(a.flushed);
+        renderer.releaseCompatibleImage(b);
+    }
+
+    @Test
+    public void testHitRatio() {
+        stats.resetCounters();
+        Filterable a = renderer.getCompatibleImage(64, 64);
+        renderer.releaseCompatibleImage(a);
+        a = renderer.getCompatibleImage(64, 64);
+        renderer.releaseCompatibleImage(a);
+        a = renderer.getCompatibleImage(64, 64);
+        renderer.releaseCompatibleImage(a);
+        a = renderer.getCompatibleImage(64, 64);
+        renderer.releaseCompatibleImage(a);
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.75, stats.getHitRatio(), 0.0);
+    }
+
+    private static class TestImage implements PoolFilterable {
+        private final int w, h;
+        private ImagePool pool;
+        boolean flushed;
+
+        TestImage(int w, int h) {
+            this.w = w;
+            this.h = h;
+        }
+
+        @Override public void setImagePool(ImagePool pool) { this.pool = pool; }
+        @Override public ImagePool getImagePool() { return pool; }
+        @Override public Object getData() { return this; }
+        @Override public int getContentWidth() { return w; }
+        @Override public int getContentHeight() { return h; }
+        @Override public void setContentWidth(int contentW) { }
+        @Override public void setContentHeight(int contentH) { }
+        @Override public int getMaxContentWidth() { return w; }
+        @Override public int getMaxContentHeight() { return h; }
+        @Override public int getPhysicalWidth() { return w; }
+        @Override public int getPhysicalHeight() { return h; }
+        @Override public float getPixelScale() { return 1f; }
+        @Override public void flush() { flushed = true; }
+        @Override public void lock() { }
+        @Override public void unlock() { }
+        @Override public boolean isLost() { return flushed; }
+    }
+
+    private static class TestRenderer extends Renderer {
+        int created;
+
+        @Override public AccelType getAccelType() { return AccelType.NONE; }
+        @Override public int getCompatibleWidth(int w) { return w; }
+        @Override public int getCompatibleHeight(int h) { return h; }
+        @Override public void clearImage(Filterable image) { }
+        @Override public RendererState getRendererState() { return RendererState.OK; }
+        @Override protected Renderer getBackupRenderer() { return this; }
+        @Override public boolean isImageDataCompatible(ImageData id) { return true; }
+
+        @Override
+        public PoolFilterable createCompatibleImage(int w, int h) {
+            created++;
+            return new TestImage(w, h);
+        }
+
+        @Override
+        public ImageData createImageData(FilterContext fctx, Filterable src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Filterable transform(FilterContext fctx, Filterable original,
+                                    BaseTransform transform,
+                                    Rectangle origBounds, Rectangle xformBounds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ImageData transform(FilterContext fctx, ImageData original,
+                                   BaseTransform transform,
+                                   Rectangle origBounds, Rectangle xformBounds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected EffectPeer createPeer(FilterContext fctx, String name, int unrollCount) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
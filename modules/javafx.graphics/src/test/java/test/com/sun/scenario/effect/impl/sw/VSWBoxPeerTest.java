@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect.impl.sw;
+
+import java.util.Random;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxBlurPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxPeerShim;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxShadowPeer;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+/**
+ * Checks that the Vector API box peers produce the same pixels as the
+ * Java peers. Skipped unless the peers were compiled and the
+ * jdk.incubator.vector module is present.
+ */
+public class VSWBoxPeerTest {
+
+    private static final String JSW = "com.sun.scenario.effect.impl.sw.java.JSW";
+    private static final String VSW = "com.sun.scenario.effect.impl.sw.vector.VSW";
+
+    // the sizes include images narrower and shorter than a vector, sizes
+    // that are not a multiple of the vector length and large kernels
+    private static final int[] SIZES = { 1, 3, 17, 64, 100 };
+    private static final int[] KERNELS = { 1, 2, 5, 32, 300 };
+
+    private Random random;
+
+    @BeforeClass
+    public static void checkVector() {
+        assumeTrue(JSWBoxPeerShim.isVectorAvailable());
+    }
+
+    @Before
+    public void setUp() {
+        random = new Random(42);
+    }
+
+    private int[] randomImage(int w, int h) {
+        int[] pixels = new int[w * h];
+        for (int i = 0; i < pixels.length; i++) {
+            int a = random.nextInt(256);
+            int r = random.nextInt(a + 1);
+            int g = random.nextInt(a + 1);
+            int b = random.nextInt(a + 1);
+            pixels[i] = (a << 24) | (r << 16) | (g << 8) | b;
+        }
+        return pixels;
+    }
+
+    @Test
+    public void testBoxBlurHorizontal() throws Exception {
+        JSWBoxBlurPeer jsw = JSWBoxPeerShim.newBoxBlurPeer(JSW + "BoxBlurPeer");
+        JSWBoxBlurPeer vsw = JSWBoxPeerShim.newBoxBlurPeer(VSW + "BoxBlurPeer");
+        for (int w : SIZES) {
+            for (int h : SIZES) {
+                for (int k : KERNELS) {
+                    int[] src = randomImage(w, h);
+                    int dstw = w + k - 1;
+                    int[] expected = new int[dstw * h];
+                    int[] actual = new int[dstw * h];
+                    JSWBoxPeerShim.filterHorizontal(jsw, expected, dstw, h, dstw, src, w, h, w);
+                    JSWBoxPeerShim.filterHorizontal(vsw, actual, dstw, h, dstw, src, w, h, w);
+                    assertArrayEquals(w + "x" + h + " k=" + k, expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBoxBlurVertical() throws Exception {
+        JSWBoxBlurPeer jsw = JSWBoxPeerShim.newBoxBlurPeer(JSW + "BoxBlurPeer");
+        JSWBoxBlurPeer vsw = JSWBoxPeerShim.newBoxBlurPeer(VSW + "BoxBlurPeer");
+        for (int w : SIZES) {
+            for (int h : SIZES) {
+                for (int k : KERNELS) {
+                    int[] src = randomImage(w, h);
+                    int dsth = h + k - 1;
+                    int[] expected = new int[w * dsth];
+                    int[] actual = new int[w * dsth];
+                    JSWBoxPeerShim.filterVertical(jsw, expected, w, dsth, w, src, w, h, w);
+                    JSWBoxPeerShim.filterVertical(vsw, actual, w, dsth, w, src, w, h, w);
+                    assertArrayEquals(w + "x" + h + " k=" + k, expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBoxShadow() throws Exception {
+        JSWBoxShadowPeer jsw = JSWBoxPeerShim.newBoxShadowPeer(JSW + "BoxShadowPeer");
+        JSWBoxShadowPeer vsw = JSWBoxPeerShim.newBoxShadowPeer(VSW + "BoxShadowPeer");
+        float[] color = { 0.2f, 0.4f, 0.6f, 0.8f };
+        for (float spread : new float[] { 0f, 0.3f, 1f }) {
+            for (int w : SIZES) {
+                for (int h : SIZES) {
+                    for (int k : KERNELS) {
+                        String msg = w + "x" + h + " k=" + k + " spread=" + spread;
+                        int[] src = randomImage(w, h);
+                        int dstw = w + k - 1;
+                        int[] expected = new int[dstw * h];
+                        int[] actual = new int[dstw * h];
+                        JSWBoxPeerShim.filterHorizontalBlack(jsw, expected, dstw, h, dstw, src, w, h, w, spread);
+                        JSWBoxPeerShim.filterHorizontalBlack(vsw, actual, dstw, h, dstw, src, w, h, w, spread);
+                        assertArrayEquals(msg, expected, actual);
+
+                        int dsth = h + k - 1;
+                        expected = new int[w * dsth];
+                        actual = new int[w * dsth];
+                        JSWBoxPeerShim.filterVerticalBlack(jsw, expected, w, dsth, w, src, w, h, w, spread);
+                        JSWBoxPeerShim.filterVerticalBlack(vsw, actual, w, dsth, w, src, w, h, w, spread);
+                        assertArrayEquals(msg, expected, actual);
+
+                        expected = new int[w * dsth];
+                        actual = new int[w * dsth];
+                        JSWBoxPeerShim.filterVertical(jsw, expected, w, dsth, w, src, w, h, w, spread, color);
+                        JSWBoxPeerShim.filterVertical(vsw, actual, w, dsth, w, src, w, h, w, spread, color);
+                        assertArrayEquals(msg, expected, actual);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene;
+
+import java.util.Random;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.ParentShim;
+import javafx.scene.Scene;
+import javafx.scene.SceneShim;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Rotate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests picking of parents that keep a spatial index of their children.
+ */
+public class Parent_pickIndex_Test {
+
+    private int oldThreshold;
+    private Group root;
+    private Scene scene;
+
+    @Before
+    public void setUp() {
+        oldThreshold = ParentShim.getPickIndexThreshold();
+        ParentShim.setPickIndexThreshold(1);
+        root = new Group();
+        scene = new Scene(root, 1000, 1000);
+    }
+
+    @After
+    public void tearDown() {
+        ParentShim.setPickIndexThreshold(oldThreshold);
+    }
+
+    private Node pickWithoutIndex(double x, double y) {
+        ParentShim.setPickIndexThreshold(0);
+        try {
+            return SceneShim.test_pick(scene, x, y);
+        } finally {
+            ParentShim.setPickIndexThreshold(1);
+        }
+    }
+
+    @Test
+    public void testPickMatchesLinearSearch() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            Node node = random.nextBoolean()
+                    ? new Rectangle(random.nextInt(950), random.nextInt(950), 1 + random.nextInt(50), 1 + random.nextInt(50))
+                    : new Circle(random.nextInt(1000), random.nextInt(1000), 1 + random.nextInt(25));
+            if (random.nextInt(10) == 0) {
+                node.getTransforms().add(new Rotate(random.nextInt(360)));
+            }
+            root.getChildren().add(node);
+        }
+        for (int i = 0; i < 2000; i++) {
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 1000;
+            assertSame(pickWithoutIndex(x, y), SceneShim.test_pick(scene, x, y));
+        }
+    }
+
+    @Test
+    public void testTopmostChildIsPicked() {
+        Rectangle bottom = new Rectangle(0, 0, 100, 100);
+        Rectangle top = new Rectangle(50, 50, 100, 100);
+        root.getChildren().addAll(bottom, top);
+
+        assertSame(top, SceneShim.test_pick(scene, 75, 75));
+        assertSame(bottom, SceneShim.test_pick(scene, 25, 25));
+
+        top.toBack();
+        assertSame(bottom, SceneShim.test_pick(scene, 75, 75));
+
+        top.setViewOrder(-1);
+        assertSame(top, SceneShim.test_pick(scene, 75, 75));
+    }
+
+    @Test
+    public void testMovedChildIsPickedAtItsNewLocation() {
+        Rectangle[] rects = new Rectangle[100];
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = new Rectangle(i * 10, 0, 10, 10);
+            root.getChildren().add(rects[i]);
+        }
+        assertSame(rects[5], SceneShim.test_pick(scene, 55, 5));
+
+        rects[5].setTranslateY(500);
+        assertNull(SceneShim.test_pick(scene, 55, 5));
+        assertSame(rects[5], SceneShim.test_pick(scene, 55, 505));
+
+        // enough moves to build the index again
+        for (Rectangle rect : rects) {
+            rect.setTranslateY(rect.getTranslateY() + 100);
+        }
+        assertSame(rects[7], SceneShim.test_pick(scene, 75, 105));
+        assertSame(rects[5], SceneShim.test_pick(scene, 55, 605));
+    }
+
+    @Test
+    public void testAddedRemovedAndHiddenChildren() {
+        Rectangle rect = new Rectangle(0, 0, 10, 10);
+        root.getChildren().add(new Rectangle(500, 500, 10, 10));
+        assertNull(SceneShim.test_pick(scene, 5, 5));
+
+        root.getChildren().add(rect);
+        assertSame(rect, SceneShim.test_pick(scene, 5, 5));
+
+        rect.setVisible(false);
+        assertNull(SceneShim.test_pick(scene, 5, 5));
+        rect.setX(20);
+        rect.setVisible(true);
+        assertSame(rect, SceneShim.test_pick(scene, 25, 5));
+
+        root.getChildren().remove(rect);
+        assertNull(SceneShim.test_pick(scene, 25, 5));
+    }
+
+    @Test
+    public void testRayNotParallelToZ() {
+        Rectangle rect = new Rectangle(400, 400, 200, 200);
+        Group group = new Group(rect, new Rectangle(0, 0, 10, 10));
+        group.getTransforms().add(new Rotate(60, 500, 500, 0, Rotate.Y_AXIS));
+        root.getChildren().add(group);
+
+        assertSame(pickWithoutIndex(450, 500), SceneShim.test_pick(scene, 450, 500));
+        assertSame(rect, SceneShim.test_pick(scene, 500, 500));
+    }
+}
@@ -508,6 +508,94 @@ public class CanvasTest {
         gc.drawImage(image, 0, 0, 100, 100, 0, 0, 100, 100);
     }
 
+    @Test public void testGCdisplayList_basic() {
+        gc.beginDisplayList("list");
+        assertTrue(gc.isRecordingDisplayList());
+        gc.fillRect(0, 0, 10, 10);
+        gc.drawDisplayList("other");
+        gc.endDisplayList();
+        assertFalse(gc.isRecordingDisplayList());
+        gc.drawDisplayList("list");
+        gc.removeDisplayList("list");
+    }
+
+    @Test public void testGCdisplayList_restoresState() {
+        gc.setFill(Color.RED);
+        gc.translate(10, 20);
+        gc.save();
+        gc.beginDisplayList("list");
+        assertEquals(Color.BLACK, gc.getFill());
+        assertMatrix(new Affine(), gc.getTransform());
+        gc.setFill(Color.GREEN);
+        gc.scale(2, 2);
+        gc.save();
+        gc.endDisplayList();
+        assertEquals(Color.RED, gc.getFill());
+        assertMatrix(new Affine(Transform.translate(10, 20)), gc.getTransform());
+        gc.setFill(Color.BLUE);
+        gc.restore();
+        assertEquals(Color.RED, gc.getFill());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGCdisplayList_nestedBegin() {
+        gc.beginDisplayList("a");
+        gc.beginDisplayList("b");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGCdisplayList_endWithoutBegin() {
+        gc.endDisplayList();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGCdisplayList_nullName() {
+        gc.beginDisplayList(null);
+    }
+
+    @Test public void testGCbatch_basic() throws Exception {
+        gc.setFill(Color.RED);
+        GraphicsContext batch = canvas.createBatchGraphicsContext();
+        assertNotNull(batch);
+        assertTrue(batch != gc);
+        assertEquals(canvas, batch.getCanvas());
+        Thread t = new Thread(() -> {
+            batch.setFill(Color.GREEN);
+            batch.translate(10, 10);
+            batch.fillRect(0, 0, 10, 10);
+            batch.submitBatch();
+            batch.fillOval(0, 0, 10, 10);
+            batch.submitBatch();
+        });
+        t.start();
+        t.join();
+        assertEquals(Color.GREEN, batch.getFill());
+        assertMatrix(new Affine(Transform.translate(10, 10)), batch.getTransform());
+        assertEquals(Color.RED, gc.getFill());
+        assertMatrix(new Affine(), gc.getTransform());
+        gc.fillRect(0, 0, 10, 10);
+    }
+
+    @Test public void testGCbatch_whileRecordingDisplayList() {
+        GraphicsContext batch = canvas.createBatchGraphicsContext();
+        gc.beginDisplayList("list");
+        batch.fillRect(0, 0, 10, 10);
+        batch.submitBatch();
+        gc.fillRect(0, 0, 10, 10);
+        gc.endDisplayList();
+        assertFalse(gc.isRecordingDisplayList());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGCbatch_submitWithoutBatch() {
+        gc.submitBatch();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGCbatch_displayList() {
+        canvas.createBatchGraphicsContext().beginDisplayList("list");
+    }
+
     public static void assertMatrix(Transform expected,
             Transform result) {
         assertEquals(expected.getMxx(), result.getMxx(), 0.00001);
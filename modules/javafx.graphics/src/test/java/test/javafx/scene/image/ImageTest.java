@@ -32,8 +32,11 @@ import test.com.sun.javafx.pgstub.StubAsyncImageLoader;
 import test.com.sun.javafx.pgstub.StubImageLoaderFactory;
 import test.com.sun.javafx.pgstub.StubToolkit;
 import test.com.sun.javafx.test.PropertyInvalidationCounter;
+import com.sun.javafx.runtime.async.ImageLoadStats;
 import com.sun.javafx.tk.Toolkit;
 import javafx.beans.InvalidationListener;
+import javafx.scene.Group;
+import javafx.scene.Scene;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -43,6 +46,7 @@ import java.util.LinkedList;
 import java.util.Queue;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageShim;
+import javafx.scene.image.ImageView;
 
 import static org.junit.Assert.*;
 
@@ -553,6 +557,109 @@ public final class ImageTest {
         new Image("unsupported:image.png");
     }
 
+    private StubAsyncImageLoader loadInBackground(final String url) {
+        registerImage(url, 100, 100);
+        new Image(url, true);
+        return imageLoaderFactory.getLastAsyncImageLoader();
+    }
+
+    private ImageView createView(final String url) {
+        registerImage(url, 100, 100);
+        return new ImageView(new Image(url, true));
+    }
+
+    @Test
+    public void loadImageAsyncShownImagesFirstTest() {
+        final ImageLoadStats stats = ImageLoadStats.getDefaultBean();
+        final int max = stats.getMaxConcurrentLoads();
+        stats.setMaxConcurrentLoads(stats.getRunningCount() + 1);
+        try {
+            final StubAsyncImageLoader loader1 = loadInBackground("file:shown1.png");
+            final StubAsyncImageLoader loader2 = loadInBackground("file:shown2.png");
+            final ImageView view = createView("file:shown3.png");
+            final StubAsyncImageLoader loader3 = imageLoaderFactory.getLastAsyncImageLoader();
+            assertTrue(loader1.isStarted());
+            assertFalse(loader2.isStarted());
+            assertFalse(loader3.isStarted());
+
+            new Scene(new Group(view));
+            loader1.finish();
+            assertFalse(loader2.isStarted());
+            assertTrue(loader3.isStarted());
+
+            loader3.finish();
+            assertTrue(loader2.isStarted());
+            loader2.finish();
+        } finally {
+            stats.setMaxConcurrentLoads(max);
+        }
+    }
+
+    @Test
+    public void loadImageAsyncNoLongerShownTest() {
+        final ImageLoadStats stats = ImageLoadStats.getDefaultBean();
+        final int max = stats.getMaxConcurrentLoads();
+        stats.setMaxConcurrentLoads(stats.getRunningCount() + 1);
+        try {
+            final StubAsyncImageLoader loader1 = loadInBackground("file:hidden1.png");
+            final ImageView view = createView("file:hidden2.png");
+            final StubAsyncImageLoader loader2 = imageLoaderFactory.getLastAsyncImageLoader();
+            final StubAsyncImageLoader loader3 = loadInBackground("file:hidden3.png");
+
+            final Group root = new Group(view);
+            new Scene(root);
+            root.getChildren().clear();
+            final int deferred = stats.getDeferredCount();
+            assertTrue(deferred > 0);
+
+            loader1.finish();
+            assertFalse(loader2.isStarted());
+            assertTrue(loader3.isStarted());
+            loader3.finish();
+            assertFalse(loader2.isStarted());
+
+            root.getChildren().add(view);
+            assertEquals(deferred - 1, stats.getDeferredCount());
+            assertTrue(loader2.isStarted());
+            loader2.finish();
+            verifyLoadedImage(view.getImage(), 0, 0, false, false, 100, 100);
+        } finally {
+            stats.setMaxConcurrentLoads(max);
+        }
+    }
+
+    @Test
+    public void loadImageAsyncCancelQueuedTest() {
+        final ImageLoadStats stats = ImageLoadStats.getDefaultBean();
+        final int max = stats.getMaxConcurrentLoads();
+        stats.setMaxConcurrentLoads(stats.getRunningCount() + 1);
+        try {
+            final StubAsyncImageLoader loader1 = loadInBackground("file:queued1.png");
+            registerImage("file:queued2.png", 100, 100);
+            final Image image2 = new Image("file:queued2.png", true);
+            final StubAsyncImageLoader loader2 = imageLoaderFactory.getLastAsyncImageLoader();
+            final int queued = stats.getQueueDepth();
+
+            final long cancelled = stats.getCancelledCount();
+            image2.cancel();
+            assertTrue(image2.isError());
+            assertFalse(loader2.isStarted());
+            assertEquals(queued - 1, stats.getQueueDepth());
+            assertEquals(cancelled + 1, stats.getCancelledCount());
+
+            final long completed = stats.getCompletedCount();
+            loader1.finish();
+            assertEquals(completed + 1, stats.getCompletedCount());
+
+            // the cancelled load didn't take up a slot
+            final StubAsyncImageLoader loader3 = loadInBackground("file:queued3.png");
+            assertTrue(loader3.isStarted());
+            loader3.finish();
+        } finally {
+            stats.setMaxConcurrentLoads(max);
+        }
+    }
+
     @Test(expected=IllegalArgumentException.class)
     public void createImageAsyncFromUnsupportedUrlTest() {
         new Image("unsupported:image.png", true);
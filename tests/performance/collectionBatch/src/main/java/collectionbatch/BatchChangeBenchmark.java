@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package collectionbatch;
+
+import java.util.Random;
+
+import javafx.beans.InvalidationListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+
+/**
+ * Measures the cost of the change notifications of an observable list and an
+ * observable map, for a number of listeners and a number of mutations per
+ * "tick", once with every mutation reported on its own and once with all the
+ * mutations of a tick in one {@link FXCollections#batch} call. Each listener
+ * does a fixed amount of work per notification, standing in for the layout
+ * that a skin requests when its items change.
+ *
+ * Usage: BatchChangeBenchmark [ticks]
+ */
+public class BatchChangeBenchmark {
+
+    private static final int DEFAULT_TICKS = 200;
+    private static final int ROWS = 100_000;
+    private static final int[] LISTENER_COUNTS = { 1, 4, 16 };
+    private static final int[] MUTATION_COUNTS = { 10, 100, 1_000, 10_000 };
+    private static final int WORK_PER_NOTIFICATION = 500;
+
+    private static long notifications;
+    private static long sink;
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+
+        // warm up both paths
+        for (int i = 0; i < 5; i++) {
+            runList(4, 1_000, ticks, false);
+            runList(4, 1_000, ticks, true);
+            runMap(4, 1_000, ticks, false);
+            runMap(4, 1_000, ticks, true);
+        }
+
+        System.out.printf("%-5s %9s %9s %14s %14s %14s %14s%n", "", "listeners", "mutations",
+                "single us/tick", "batch us/tick", "single events", "batch events");
+        for (int listeners : LISTENER_COUNTS) {
+            for (int mutations : MUTATION_COUNTS) {
+                report("list", listeners, mutations, runList(listeners, mutations, ticks, false), runList(listeners, mutations, ticks, true), ticks);
+            }
+        }
+        for (int listeners : LISTENER_COUNTS) {
+            for (int mutations : MUTATION_COUNTS) {
+                report("map", listeners, mutations, runMap(listeners, mutations, ticks, false), runMap(listeners, mutations, ticks, true), ticks);
+            }
+        }
+        System.out.println(sink == 42 ? "" : " ");
+    }
+
+    private static void work() {
+        long x = sink;
+        for (int i = 0; i < WORK_PER_NOTIFICATION; i++) {
+            x = x * 31 + i;
+        }
+        sink = x;
+    }
+
+    private static void report(String name, int listeners, int mutations, long[] single, long[] batch, int ticks) {
+        System.out.printf("%-5s %9d %9d %14.1f %14.1f %14d %14d%n", name, listeners, mutations,
+                single[0] / 1000.0 / ticks, batch[0] / 1000.0 / ticks, single[1] / ticks, batch[1] / ticks);
+    }
+
+    /**
+     * Returns the elapsed time and the number of change notifications received by all listeners.
+     */
+    private static long[] runList(int listeners, int mutations, int ticks, boolean batch) {
+        ObservableList<Integer> list = FXCollections.observableArrayList();
+        for (int i = 0; i < ROWS; i++) {
+            list.add(i);
+        }
+        for (int l = 0; l < listeners; l++) {
+            list.addListener((ListChangeListener<Integer>) c -> {
+                notifications++;
+                while (c.next()) {
+                    sink += c.getFrom() + c.getTo();
+                }
+                work();
+            });
+            list.addListener((InvalidationListener) o -> sink++);
+        }
+
+        Random random = new Random(42);
+        notifications = 0;
+        long start = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            Runnable tick = () -> {
+                for (int m = 0; m < mutations; m++) {
+                    list.set(random.nextInt(ROWS), m);
+                }
+            };
+            if (batch) {
+                FXCollections.batch(list, tick);
+            } else {
+                tick.run();
+            }
+        }
+        return new long[] { System.nanoTime() - start, notifications };
+    }
+
+    private static long[] runMap(int listeners, int mutations, int ticks, boolean batch) {
+        ObservableMap<Integer, Integer> map = FXCollections.observableHashMap();
+        for (int i = 0; i < ROWS; i++) {
+            map.put(i, i);
+        }
+        for (int l = 0; l < listeners; l++) {
+            map.addListener((MapChangeListener<Integer, Integer>) c -> {
+                notifications++;
+                sink += c.getKey();
+                work();
+            });
+        }
+
+        // a few hot keys, that are updated many times per tick
+        Random random = new Random(42);
+        int hotKeys = Math.max(1, mutations / 10);
+        notifications = 0;
+        long start = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            Runnable tick = () -> {
+                for (int m = 0; m < mutations; m++) {
+                    map.put(random.nextInt(hotKeys), m);
+                }
+            };
+            if (batch) {
+                FXCollections.batch(map, tick);
+            } else {
+                tick.run();
+            }
+        }
+        return new long[] { System.nanoTime() - start, notifications };
+    }
+}
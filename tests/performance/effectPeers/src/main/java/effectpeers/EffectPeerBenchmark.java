@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package effectpeers;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.BoxBlur;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.InnerShadow;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+
+/**
+ * Renders a grid of rectangles with box blur and box shadow effects and
+ * reports the frame rate of the software pipeline for each effect. Run it
+ * with and without the Vector API effect peers, which are built with
+ * -PCOMPILE_VECTOR_PEERS=true, e.g.:
+ *
+ * <pre>
+ * java -Dprism.order=sw -Ddecora.vector=false effectpeers.EffectPeerBenchmark
+ * java -Dprism.order=sw -Ddecora.vector=true --add-modules jdk.incubator.vector effectpeers.EffectPeerBenchmark
+ * </pre>
+ *
+ * Usage: EffectPeerBenchmark [seconds per effect]
+ */
+public class EffectPeerBenchmark extends Application {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 800;
+    private static final int WARMUP_SECONDS = 2;
+
+    private static final List<String> NAMES = List.of(
+            "BoxBlur 5x5x1", "BoxBlur 15x15x3", "BoxBlur 31x31x3",
+            "DropShadow THREE_PASS_BOX 10", "DropShadow THREE_PASS_BOX 40",
+            "InnerShadow TWO_PASS_BOX 20");
+
+    private static final List<Supplier<Effect>> EFFECTS = List.of(
+            () -> new BoxBlur(5, 5, 1),
+            () -> new BoxBlur(15, 15, 3),
+            () -> new BoxBlur(31, 31, 3),
+            () -> new DropShadow(BlurType.THREE_PASS_BOX, Color.DARKBLUE, 10, 0.2, 4, 4),
+            () -> new DropShadow(BlurType.THREE_PASS_BOX, Color.BLACK, 40, 0, 8, 8),
+            () -> new InnerShadow(BlurType.TWO_PASS_BOX, Color.DARKRED, 20, 0.1, 2, 2));
+
+    private int seconds = 5;
+
+    @Override
+    public void start(Stage stage) {
+        var params = getParameters().getUnnamed();
+        if (params.size() > 0) seconds = Integer.parseInt(params.get(0));
+
+        Group root = new Group();
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 6; x++) {
+                Rectangle r = new Rectangle(20 + x * 210, 20 + y * 195, 170, 155);
+                r.setFill(Color.hsb((x * 4 + y) * 15, 0.7, 0.9));
+                r.setArcWidth(30);
+                r.setArcHeight(30);
+                root.getChildren().add(r);
+            }
+        }
+
+        stage.setScene(new Scene(root, WIDTH, HEIGHT));
+        stage.setTitle("Effect peers, decora.vector="
+                + System.getProperty("decora.vector", "default"));
+        stage.show();
+
+        new AnimationTimer() {
+            private int effect = -1;
+            private long start;
+            private long frames;
+            private boolean measuring;
+
+            @Override
+            public void handle(long now) {
+                if (effect < 0 || (measuring && now - start >= seconds * 1_000_000_000L)) {
+                    if (effect >= 0) {
+                        System.out.printf("%-30s %.1f fps%n", NAMES.get(effect),
+                                frames / ((now - start) / 1e9));
+                    }
+                    if (++effect == EFFECTS.size()) {
+                        stop();
+                        Platform.exit();
+                        return;
+                    }
+                    root.getChildren().forEach(n -> n.setEffect(EFFECTS.get(effect).get()));
+                    start = now;
+                    measuring = false;
+                } else if (!measuring && now - start >= WARMUP_SECONDS * 1_000_000_000L) {
+                    measuring = true;
+                    start = now;
+                    frames = 0;
+                }
+                // keep the effects dirty
+                root.getChildren().forEach(n -> n.setRotate(n.getRotate() == 0 ? 0.001 : 0));
+                frames++;
+            }
+        }.start();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package glyphlookup;
+
+import com.sun.javafx.font.CharToGlyphMapper;
+import com.sun.javafx.font.FontResource;
+import com.sun.javafx.font.FontStrike;
+import com.sun.javafx.font.PGFont;
+import com.sun.javafx.font.PrismFontFactory;
+import com.sun.javafx.geom.transform.BaseTransform;
+
+/**
+ * Measures the lookups of glyphs and glyph bounds that text rendering does
+ * for every glyph drawn, for a small set of glyphs, as in Latin text, and for
+ * a set larger than the glyph caches, as in a log viewer showing CJK text.
+ *
+ * <pre>
+ * java --add-exports javafx.graphics/com.sun.javafx.font=ALL-UNNAMED \
+ *      --add-exports javafx.graphics/com.sun.javafx.geom.transform=ALL-UNNAMED \
+ *      glyphlookup.GlyphLookupBenchmark
+ * </pre>
+ *
+ * Usage: GlyphLookupBenchmark [font name] [rounds]
+ */
+public class GlyphLookupBenchmark {
+
+    private static final int LOOKUPS = 10_000_000;
+
+    public static void main(String[] args) {
+        String name = args.length > 0 ? args[0] : "System Regular";
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        PGFont font = PrismFontFactory.getFontFactory().createFont(name, 13);
+        FontStrike strike = font.getStrike(BaseTransform.IDENTITY_TRANSFORM);
+        FontResource resource = font.getFontResource();
+        CharToGlyphMapper mapper = resource.getGlyphMapper();
+
+        int[] latin = glyphs(mapper, 0x20, 0x7F);
+        int[] cjk = glyphs(mapper, 0x4E00, 0x4E00 + 8000);
+        for (int round = 0; round < rounds; round++) {
+            run(round, "Latin", strike, resource, latin);
+            run(round, "CJK  ", strike, resource, cjk);
+        }
+    }
+
+    private static int[] glyphs(CharToGlyphMapper mapper, int first, int limit) {
+        int[] glyphs = new int[limit - first];
+        for (int i = 0; i < glyphs.length; i++) {
+            glyphs[i] = mapper.charToGlyph(first + i);
+        }
+        return glyphs;
+    }
+
+    private static void run(int round, String name, FontStrike strike,
+                            FontResource resource, int[] glyphs) {
+        // a step coprime with the count visits every glyph in a scattered order
+        int step = 7919;
+        int n = glyphs.length;
+        long start = System.nanoTime();
+        int count = 0;
+        for (int i = 0, g = 0; i < LOOKUPS; i++, g = (g + step) % n) {
+            if (strike.getGlyph(glyphs[g]) != null) {
+                count++;
+            }
+        }
+        long glyphTime = System.nanoTime() - start;
+
+        float[] bounds = new float[4];
+        float width = 0;
+        start = System.nanoTime();
+        for (int i = 0, g = 0; i < LOOKUPS; i++, g = (g + step) % n) {
+            resource.getGlyphBoundingBox(glyphs[g], 13, bounds);
+            width += bounds[2] - bounds[0];
+        }
+        long boundsTime = System.nanoTime() - start;
+
+        System.out.printf("round %d %s (%,5d glyphs): getGlyph %6.2f ns, getGlyphBoundingBox %6.2f ns (%d, %.0f)%n",
+                round, name, n, (double)glyphTime / LOOKUPS, (double)boundsTime / LOOKUPS, count, width);
+    }
+}
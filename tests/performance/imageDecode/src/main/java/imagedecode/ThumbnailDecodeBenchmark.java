@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package imagedecode;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+/**
+ * Loads a set of large photos as thumbnails, i.e. with a small requested
+ * size, and reports the load time and the peak heap usage while loading.
+ * Without a directory, a set of 24 megapixel JPEG and PNG files is
+ * generated in a temporary directory.
+ *
+ * Usage: ThumbnailDecodeBenchmark [directory] [thumbnail size]
+ */
+public class ThumbnailDecodeBenchmark {
+
+    private static final int DEFAULT_SIZE = 200;
+    private static final int GENERATED_WIDTH = 6000;
+    private static final int GENERATED_HEIGHT = 4000;
+    private static final int GENERATED_COUNT = 4;
+
+    public static void main(String[] args) throws Exception {
+        File dir = args.length > 0 ? new File(args[0]) : generateImages();
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIZE;
+
+        List<File> files = new ArrayList<>();
+        for (File file : dir.listFiles()) {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png")) {
+                files.add(file);
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("No JPEG or PNG files in " + dir);
+            System.exit(1);
+        }
+
+        Platform.startup(() -> {});
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+
+        // warm up
+        for (File file : files) {
+            new Image(file.toURI().toString(), size, size, true, true);
+        }
+
+        System.out.println("Thumbnail size: " + size + ", files: " + files.size());
+        long totalTime = 0;
+        long maxPeak = 0;
+        for (File file : files) {
+            System.gc();
+            long before = used(heapPools, false);
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            long start = System.nanoTime();
+            Image image = new Image(file.toURI().toString(), size, size, true, true);
+            long elapsed = System.nanoTime() - start;
+            long peak = used(heapPools, true) - before;
+            if (image.isError()) {
+                System.out.println(file.getName() + ": " + image.getException());
+                continue;
+            }
+            totalTime += elapsed;
+            maxPeak = Math.max(maxPeak, peak);
+            System.out.printf("%-30s %6.0fx%-6.0f %8.1f ms, peak heap +%8.1f MB%n",
+                    file.getName(), image.getWidth(), image.getHeight(),
+                    elapsed / 1e6, peak / 1e6);
+        }
+        System.out.printf("total %8.1f ms, max peak heap +%8.1f MB%n", totalTime / 1e6, maxPeak / 1e6);
+        Platform.exit();
+    }
+
+    // the peak usage of each pool is reached at a different time, so
+    // their sum overestimates the peak of the heap, but not by much when
+    // a single large array is allocated
+    private static long used(List<MemoryPoolMXBean> pools, boolean peak) {
+        long used = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            used += (peak ? pool.getPeakUsage() : pool.getUsage()).getUsed();
+        }
+        return used;
+    }
+
+    private static File generateImages() throws IOException {
+        File dir = File.createTempFile("thumbnails", "");
+        dir.delete();
+        dir.mkdir();
+        dir.deleteOnExit();
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(GENERATED_WIDTH, GENERATED_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int i = 0; i < GENERATED_COUNT; i++) {
+            Graphics2D g = image.createGraphics();
+            g.setPaint(new GradientPaint(0, 0, new Color(random.nextInt()),
+                    GENERATED_WIDTH, GENERATED_HEIGHT, new Color(random.nextInt())));
+            g.fillRect(0, 0, GENERATED_WIDTH, GENERATED_HEIGHT);
+            for (int j = 0; j < 200; j++) {
+                g.setColor(new Color(random.nextInt()));
+                g.fillOval(random.nextInt(GENERATED_WIDTH), random.nextInt(GENERATED_HEIGHT), 400, 300);
+            }
+            g.dispose();
+            String format = (i % 2 == 0) ? "jpg" : "png";
+            File file = new File(dir, "photo" + i + "." + format);
+            file.deleteOnExit();
+            ImageIO.write(image, format, file);
+        }
+        return dir;
+    }
+}
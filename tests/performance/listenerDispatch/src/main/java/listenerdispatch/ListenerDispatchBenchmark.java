@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package listenerdispatch;
+
+import java.lang.management.ManagementFactory;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ListProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleListProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Measures listener dispatch on properties with several listeners, which use
+ * the generic ExpressionHelper and ListExpressionHelper implementations. Each
+ * scenario reports the time and the number of bytes allocated per operation:
+ * <ul>
+ * <li>fire: a value change notifying all listeners</li>
+ * <li>add/remove: adding a listener and removing it again</li>
+ * <li>reentrant fire: a value change where one listener adds and removes
+ * another listener during the notification</li>
+ * </ul>
+ *
+ * Usage: ListenerDispatchBenchmark [operations]
+ */
+public class ListenerDispatchBenchmark {
+
+    private static final int DEFAULT_OPERATIONS = 2_000_000;
+    private static final int[] LISTENER_COUNTS = { 2, 8, 64 };
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_OPERATIONS;
+
+        System.out.printf("%-28s %9s %12s %14s%n", "scenario", "listeners", "ns/op", "bytes/op");
+        for (int pass = 0; pass < 2; pass++) {
+            boolean report = pass == 1; // the first pass warms up
+            for (int listeners : LISTENER_COUNTS) {
+                valueScenarios(listeners, operations, report);
+            }
+            for (int listeners : LISTENER_COUNTS) {
+                listScenarios(listeners, operations, report);
+            }
+        }
+    }
+
+    private static void valueScenarios(int listeners, int operations, boolean report) {
+        ObjectProperty<Integer> property = new SimpleObjectProperty<>(0);
+        for (int i = 0; i < listeners / 2; i++) {
+            property.addListener(o -> sink++);
+            property.addListener((ChangeListener<Integer>) (o, oldValue, newValue) -> sink += newValue);
+        }
+        Integer[] values = { 1, 2 }; // avoid boxing in the measured loop
+
+        measure("value fire", listeners, operations, report,
+                i -> property.set(values[i & 1]));
+
+        InvalidationListener extra = o -> sink--;
+        measure("value add/remove", listeners, operations, report, i -> {
+            property.addListener(extra);
+            property.removeListener(extra);
+        });
+
+        InvalidationListener churning = o -> {
+            property.addListener(extra);
+            property.removeListener(extra);
+        };
+        property.addListener(churning);
+        measure("value reentrant fire", listeners, operations, report,
+                i -> property.set(values[i & 1]));
+        property.removeListener(churning);
+    }
+
+    private static void listScenarios(int listeners, int operations, boolean report) {
+        ObservableList<Integer> list1 = FXCollections.observableArrayList(1, 2, 3);
+        ObservableList<Integer> list2 = FXCollections.observableArrayList(4, 5, 6);
+        ListProperty<Integer> property = new SimpleListProperty<>(list1);
+        for (int i = 0; i < listeners / 2; i++) {
+            property.addListener((InvalidationListener) o -> sink++);
+            property.addListener((ChangeListener<ObservableList<Integer>>) (o, oldValue, newValue) -> sink += newValue.size());
+        }
+        ObservableList<?>[] values = { list1, list2 };
+
+        @SuppressWarnings("unchecked")
+        Op fire = i -> property.set((ObservableList<Integer>) values[i & 1]);
+        measure("list fire", listeners, operations, report, fire);
+
+        InvalidationListener extra = o -> sink--;
+        measure("list add/remove", listeners, operations, report, i -> {
+            property.addListener(extra);
+            property.removeListener(extra);
+        });
+
+        InvalidationListener churning = o -> {
+            property.addListener(extra);
+            property.removeListener(extra);
+        };
+        property.addListener(churning);
+        measure("list reentrant fire", listeners, operations, report, fire);
+        property.removeListener(churning);
+    }
+
+    private interface Op {
+        void run(int i);
+    }
+
+    private static void measure(String name, int listeners, int operations, boolean report, Op op) {
+        long thread = Thread.currentThread().getId();
+        long bytes = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            op.run(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        bytes = THREADS.getThreadAllocatedBytes(thread) - bytes;
+
+        if (report) {
+            System.out.printf("%-28s %9d %12.1f %14.1f%n", name, listeners,
+                    elapsed / (double) operations, bytes / (double) operations);
+        }
+    }
+}
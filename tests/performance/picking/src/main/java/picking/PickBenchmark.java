@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package picking;
+
+import java.util.Random;
+
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.shape.Rectangle;
+
+import com.sun.javafx.geom.PickRay;
+import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.scene.input.PickResultChooser;
+
+/**
+ * Measures picking in a group with many children, as done by the scene for
+ * every mouse move. Run it with and without the spatial index of children:
+ *
+ * <pre>
+ * java --add-exports javafx.graphics/com.sun.javafx.geom=ALL-UNNAMED \
+ *      --add-exports javafx.graphics/com.sun.javafx.scene=ALL-UNNAMED \
+ *      --add-exports javafx.graphics/com.sun.javafx.scene.input=ALL-UNNAMED \
+ *      picking.PickBenchmark
+ * java -Djavafx.sg.pickIndexThreshold=1000 ... picking.PickBenchmark
+ * </pre>
+ *
+ * Usage: PickBenchmark [child counts...]
+ */
+public class PickBenchmark {
+
+    private static final double SIZE = 10_000;
+    private static final int PICKS = 2_000;
+    private static final int MOVES = 100;
+
+    public static void main(String[] args) throws Exception {
+        int[] counts = args.length == 0
+                ? new int[] { 10_000, 50_000, 100_000, 500_000 }
+                : java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.println("pickIndexThreshold=" + System.getProperty("javafx.sg.pickIndexThreshold", "0"));
+
+        Platform.startup(() -> {});
+        for (int count : counts) {
+            runOnFxThread(() -> run(count));
+        }
+        Platform.exit();
+    }
+
+    private static void run(int count) {
+        Random random = new Random(1);
+        Node[] children = new Node[count];
+        for (int i = 0; i < count; i++) {
+            children[i] = new Rectangle(random.nextDouble() * SIZE, random.nextDouble() * SIZE,
+                                        5 + random.nextDouble() * 20, 5 + random.nextDouble() * 20);
+        }
+        Group root = new Group(children);
+        new Scene(root, SIZE, SIZE);
+
+        // the first pick builds the index, if there is one
+        long start = System.nanoTime();
+        pick(root, 0, 0);
+        long firstPick = System.nanoTime() - start;
+
+        for (int i = 0; i < PICKS; i++) {
+            pick(root, random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+        }
+        start = System.nanoTime();
+        int hits = 0;
+        for (int i = 0; i < PICKS; i++) {
+            if (pick(root, random.nextDouble() * SIZE, random.nextDouble() * SIZE) != null) {
+                hits++;
+            }
+        }
+        long picks = System.nanoTime() - start;
+
+        // picks while a few children move, as in an animated view
+        start = System.nanoTime();
+        for (int i = 0; i < PICKS; i++) {
+            for (int j = 0; j < MOVES / 10; j++) {
+                Node node = root.getChildren().get(random.nextInt(count));
+                node.setTranslateX(random.nextDouble() * 10);
+            }
+            pick(root, random.nextDouble() * SIZE, random.nextDouble() * SIZE);
+        }
+        long movingPicks = System.nanoTime() - start;
+
+        System.out.printf("%,9d children: first pick %8.3f ms, pick %8.4f ms, pick with moves %8.4f ms (%d hits)%n",
+                count, firstPick / 1e6, picks / 1e6 / PICKS, movingPicks / 1e6 / PICKS, hits);
+    }
+
+    private static Node pick(Node root, double x, double y) {
+        PickRay ray = new PickRay(x, y, 1, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        PickResultChooser result = new PickResultChooser();
+        NodeHelper.pickNode(root, ray, result);
+        return result.getIntersectedNode();
+    }
+
+    private static void runOnFxThread(Runnable r) throws InterruptedException {
+        java.util.concurrent.CountDownLatch done = new java.util.concurrent.CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                r.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package sortedlist;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import javafx.beans.Observable;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+
+/**
+ * Simulates a feed of single element changes (mostly updates, some additions
+ * and removals) on a large source list that is observed through a SortedList,
+ * and reports the throughput and the size of the change events, once with a
+ * full re-sort on update and once in incremental mode.
+ *
+ * Usage: SortedListFeedBenchmark [size] [operations]
+ */
+public class SortedListFeedBenchmark {
+
+    private static final int DEFAULT_SIZE = 1_000_000;
+    private static final int DEFAULT_OPERATIONS = 10_000;
+    private static final int TARGET_OPS_PER_SECOND = 10_000;
+
+    static final class Quote {
+        final DoubleProperty price = new SimpleDoubleProperty();
+
+        Quote(double price) {
+            this.price.set(price);
+        }
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OPERATIONS;
+
+        System.out.println("Source size: " + size + ", operations: " + operations);
+        run(size, Math.min(operations, 200), false); // the full re-sort is too slow for a long feed
+        run(size, operations, true);
+    }
+
+    private static void run(int size, int operations, boolean incremental) {
+        Random random = new Random(42);
+        ObservableList<Quote> source = FXCollections.observableArrayList(q -> new Observable[] { q.price });
+        Quote[] initial = new Quote[size];
+        for (int i = 0; i < size; i++) {
+            initial[i] = new Quote(random.nextDouble() * 1000);
+        }
+        source.setAll(initial);
+
+        SortedList<Quote> sorted = new SortedList<>(source, Comparator.comparingDouble(q -> q.price.get()));
+        sorted.setIncremental(incremental);
+
+        long[] reportedElements = new long[1];
+        sorted.addListener((ListChangeListener<Quote>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated() || c.wasUpdated()) {
+                    reportedElements[0] += c.getTo() - c.getFrom();
+                } else {
+                    reportedElements[0] += c.getRemovedSize() + c.getAddedSize();
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            int op = random.nextInt(10);
+            if (op == 0) {
+                source.add(random.nextInt(source.size()), new Quote(random.nextDouble() * 1000));
+            } else if (op == 1) {
+                source.remove(random.nextInt(source.size()));
+            } else {
+                Quote q = source.get(random.nextInt(source.size()));
+                q.price.set(q.price.get() + random.nextGaussian());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double opsPerSecond = operations / (elapsed / 1e9);
+        System.out.printf("%-12s: %8d ops in %8.1f ms, %10.0f ops/s (%s %d ops/s), %8.1f elements reported per op%n",
+                incremental ? "incremental" : "full sort",
+                operations, elapsed / 1e6, opsPerSecond,
+                opsPerSecond >= TARGET_OPS_PER_SECOND ? "meets" : "below",
+                TARGET_OPS_PER_SECOND,
+                reportedElements[0] / (double) operations);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package swtiles;
+
+import java.util.Random;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.CubicCurve;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import javafx.stage.Stage;
+
+/**
+ * Repaints a full HD scene of large antialiased shapes on every pulse and
+ * reports the frame rate of the software pipeline. Run it once with the
+ * serial rasterizer and once with tiles rasterized in parallel, e.g.:
+ *
+ * <pre>
+ * java -Dprism.order=sw -Dprism.sw.threads=1 swtiles.SWTileBenchmark
+ * java -Dprism.order=sw -Dprism.sw.threads=8 -Dprism.sw.tilesize=64 swtiles.SWTileBenchmark
+ * </pre>
+ *
+ * Usage: SWTileBenchmark [shapes] [seconds]
+ */
+public class SWTileBenchmark extends Application {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int WARMUP_SECONDS = 3;
+
+    private int shapes = 60;
+    private int seconds = 10;
+
+    @Override
+    public void start(Stage stage) {
+        var params = getParameters().getUnnamed();
+        if (params.size() > 0) shapes = Integer.parseInt(params.get(0));
+        if (params.size() > 1) seconds = Integer.parseInt(params.get(1));
+
+        Random random = new Random(42);
+        Group root = new Group();
+        for (int i = 0; i < shapes; i++) {
+            Shape shape;
+            switch (i % 3) {
+                case 0:
+                    shape = new Circle(random.nextInt(WIDTH), random.nextInt(HEIGHT), 200 + random.nextInt(300));
+                    break;
+                case 1:
+                    shape = new CubicCurve(random.nextInt(WIDTH), 0,
+                            random.nextInt(WIDTH), random.nextInt(HEIGHT),
+                            random.nextInt(WIDTH), random.nextInt(HEIGHT),
+                            random.nextInt(WIDTH), HEIGHT);
+                    break;
+                default:
+                    Rectangle r = new Rectangle(random.nextInt(WIDTH / 2), random.nextInt(HEIGHT / 2),
+                            WIDTH / 2, HEIGHT / 2);
+                    r.setArcWidth(80);
+                    r.setArcHeight(80);
+                    r.setRotate(random.nextInt(90));
+                    shape = r;
+                    break;
+            }
+            shape.setFill(Color.hsb(random.nextInt(360), 0.7, 0.9, 0.3));
+            shape.setStroke(Color.hsb(random.nextInt(360), 0.8, 0.6));
+            shape.setStrokeWidth(4 + random.nextInt(12));
+            root.getChildren().add(shape);
+        }
+
+        stage.setScene(new Scene(root, WIDTH, HEIGHT));
+        stage.setTitle("SW tiles: " + shapes + " shapes, prism.sw.threads="
+                + System.getProperty("prism.sw.threads", "1")
+                + ", prism.sw.tilesize=" + System.getProperty("prism.sw.tilesize", "64"));
+        stage.show();
+
+        new AnimationTimer() {
+            private long start;
+            private long frames;
+            private boolean measuring;
+
+            @Override
+            public void handle(long now) {
+                // keep the whole scene dirty
+                root.setRotate(root.getRotate() == 0 ? 0.001 : 0);
+                if (start == 0) {
+                    start = now;
+                } else if (!measuring && now - start >= WARMUP_SECONDS * 1_000_000_000L) {
+                    measuring = true;
+                    start = now;
+                    frames = 0;
+                } else if (measuring && now - start >= seconds * 1_000_000_000L) {
+                    System.out.printf("%d shapes, threads %s, tile size %s: %.1f fps%n",
+                            shapes,
+                            System.getProperty("prism.sw.threads", "1"),
+                            System.getProperty("prism.sw.tilesize", "64"),
+                            frames / ((now - start) / 1e9));
+                    stop();
+                    Platform.exit();
+                }
+                frames++;
+            }
+        }.start();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package textlayout;
+
+import java.util.concurrent.CountDownLatch;
+
+import javafx.application.Platform;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Measures the layout of many short labels, as in a table or a form.
+ * Every label has a different text, so the layouts are not shared. Labels
+ * with only Latin-1 characters take the simple text layout, the ones with
+ * a euro sign take the full analysis of bidi levels and scripts. Run it
+ * with and without the simple layout:
+ *
+ * <pre>
+ * java textlayout.TextLayoutBenchmark
+ * java -Dprism.latinLayout=false textlayout.TextLayoutBenchmark
+ * </pre>
+ *
+ * Usage: TextLayoutBenchmark [label count] [rounds]
+ */
+public class TextLayoutBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        System.out.println("latinLayout=" + System.getProperty("prism.latinLayout", "true"));
+
+        Platform.startup(() -> {});
+        for (int round = 0; round < rounds; round++) {
+            int r = round;
+            runOnFxThread(() -> {
+                run("Latin-1", count, r, "Customer %d: Caf\u00e9 order");
+                run("euro   ", count, r, "Customer %d: \u20ac order");
+            });
+        }
+        Platform.exit();
+    }
+
+    private static void run(String name, int count, int round, String format) {
+        Font font = Font.font("System", 13);
+        Text[] labels = new Text[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = new Text(String.format(format, round * count + i));
+            labels[i].setFont(font);
+        }
+        double width = 0;
+        long start = System.nanoTime();
+        for (Text label : labels) {
+            width += label.getLayoutBounds().getWidth();
+        }
+        long time = System.nanoTime() - start;
+        System.out.printf("round %d %s: %,d labels in %8.2f ms, %6.3f us per label (width %.0f)%n",
+                round, name, count, time / 1e6, time / 1e3 / count, width);
+    }
+
+    private static void runOnFxThread(Runnable r) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                r.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package virtualflow;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Random;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.stage.Stage;
+
+/**
+ * Scrolls a ListView with a large number of variable height rows, and reports
+ * the time spent per operation for random {@code scrollTo(int)} calls, pixel
+ * scrolling and scroll bar (position) changes.
+ *
+ * Usage: VariableHeightScrollBenchmark [rowCount] [iterations]
+ */
+public class VariableHeightScrollBenchmark extends Application {
+
+    private static final int DEFAULT_ROWS = 2_000_000;
+    private static final int DEFAULT_ITERATIONS = 2_000;
+    private static final int WARMUP_ITERATIONS = 200;
+
+    private int rows = DEFAULT_ROWS;
+    private int iterations = DEFAULT_ITERATIONS;
+
+    private ListView<Integer> listView;
+    private VirtualFlow<?> flow;
+
+    @Override
+    public void start(Stage stage) {
+        var params = getParameters().getUnnamed();
+        if (params.size() > 0) rows = Integer.parseInt(params.get(0));
+        if (params.size() > 1) iterations = Integer.parseInt(params.get(1));
+
+        final int count = rows;
+        ObservableList<Integer> items = FXCollections.observableList(new AbstractList<>() {
+            @Override public Integer get(int index) { return index; }
+            @Override public int size() { return count; }
+        });
+
+        listView = new ListView<>(items);
+        listView.setCellFactory(lv -> new ListCell<>() {
+            @Override protected void updateItem(Integer item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                    setPrefHeight(USE_COMPUTED_SIZE);
+                } else {
+                    setText("Row " + item);
+                    // deterministic, strongly varying row heights
+                    setPrefHeight(18 + (item * 7919 % 5) * 11);
+                }
+            }
+        });
+
+        stage.setScene(new Scene(listView, 400, 800));
+        stage.setTitle("VirtualFlow: " + rows + " variable height rows");
+        stage.show();
+
+        Platform.runLater(this::runBenchmark);
+    }
+
+    private void runBenchmark() {
+        flow = (VirtualFlow<?>) listView.lookup(".virtual-flow");
+
+        Random random = new Random(42);
+        measure("scrollTo(int)       ", () -> flow.scrollTo(random.nextInt(rows)));
+        measure("scrollPixels(double)", () -> flow.scrollPixels(random.nextInt(4000) - 2000));
+        measure("setPosition(double) ", () -> flow.setPosition(random.nextDouble()));
+        measure("scrollPixels(fling) ", () -> flow.scrollPixels(120));
+
+        Platform.exit();
+    }
+
+    private void measure(String name, Runnable op) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            op.run();
+            listView.layout();
+        }
+
+        long[] times = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            op.run();
+            listView.layout();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+
+        long total = 0;
+        for (long t : times) total += t;
+        System.out.printf("%s: avg %8.1f us, p50 %8.1f us, p99 %8.1f us, max %8.1f us%n",
+                name,
+                total / 1000.0 / iterations,
+                times[iterations / 2] / 1000.0,
+                times[(int) (iterations * 0.99)] / 1000.0,
+                times[iterations - 1] / 1000.0);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}